@@ -0,0 +1,143 @@
+package com.openquartz.easyfile.benchmark;
+
+import com.openquartz.easyfile.benchmark.support.BenchmarkAsyncFileHandler;
+import com.openquartz.easyfile.benchmark.support.BenchmarkDownloadProperty;
+import com.openquartz.easyfile.benchmark.support.BenchmarkExportExecutor;
+import com.openquartz.easyfile.common.bean.BaseDownloaderRequestContext;
+import com.openquartz.easyfile.common.bean.Notifier;
+import com.openquartz.easyfile.common.dictionary.UploadStatusEnum;
+import com.openquartz.easyfile.common.i18n.LocaleContext;
+import com.openquartz.easyfile.common.request.AutoTaskRegisterRequest;
+import com.openquartz.easyfile.common.request.RegisterDownloadRequest;
+import com.openquartz.easyfile.common.response.ExportResult;
+import com.openquartz.easyfile.common.util.page.PageTotalContext;
+import com.openquartz.easyfile.storage.file.local.LocalUploadServiceImpl;
+import com.openquartz.easyfile.storage.local.impl.LocalDownloadStorageServiceImpl;
+import com.openquartz.easyfile.storage.local.mapper.impl.AsyncDownloadRecordMapperImpl;
+import com.openquartz.easyfile.storage.local.mapper.impl.AsyncDownloadTaskMapperImpl;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * 异步导出全链路基准测试
+ * 每次调用: 注册下载记录 -> {@link BenchmarkAsyncFileHandler#handleResult} (生成文件、上传、回调)
+ * 存储使用 H2 内存库上的{@link LocalDownloadStorageServiceImpl}, 上传使用{@link LocalUploadServiceImpl}
+ *
+ * @author svnee
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsyncFileHandlerBenchmark {
+
+    private static final String SCHEMA_SCRIPT = "benchmark-schema.sql";
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private Path tempDir;
+    private LocalDownloadStorageServiceImpl storageService;
+    private BenchmarkAsyncFileHandler fileHandler;
+    private BenchmarkExportExecutor executor;
+    private BenchmarkDownloadProperty downloadProperty;
+    private BaseDownloaderRequestContext requestContext;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        tempDir = Files.createTempDirectory("easyfile-benchmark-export");
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:easyfile-" + rows + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        dataSource.setDriverClassName("org.h2.Driver");
+        new ResourceDatabasePopulator(new ClassPathResource(SCHEMA_SCRIPT)).execute(dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        downloadProperty = new BenchmarkDownloadProperty();
+        downloadProperty.setLocalFileTempPath(tempDir.toString());
+
+        storageService = new LocalDownloadStorageServiceImpl(new AsyncDownloadTaskMapperImpl(jdbcTemplate),
+            new AsyncDownloadRecordMapperImpl(jdbcTemplate));
+        storageService.autoRegisterTask(new AutoTaskRegisterRequest()
+            .setAppId(downloadProperty.getAppId())
+            .setUnifiedAppId(downloadProperty.getUnifiedAppId())
+            .setDownloadCodeMap(Collections.singletonMap(BenchmarkExportExecutor.DOWNLOAD_CODE, "基准测试导出")));
+
+        fileHandler = new BenchmarkAsyncFileHandler(downloadProperty, new LocalUploadServiceImpl(), storageService);
+        executor = new BenchmarkExportExecutor();
+
+        Notifier notifier = new Notifier();
+        notifier.setUserBy("10086");
+        notifier.setUserName("benchmark");
+        notifier.setEmail("benchmark@openquartz.com");
+        Map<String, Object> otherMap = new HashMap<>();
+        otherMap.put(BenchmarkExportExecutor.ROWS_PARAM, rows);
+        requestContext = new BaseDownloaderRequestContext();
+        requestContext.setNotifier(notifier);
+        requestContext.setFileSuffix(".xlsx");
+        requestContext.setExportRemark("benchmark");
+        requestContext.setOtherMap(otherMap);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> pathStream = Files.walk(tempDir)) {
+            pathStream.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public ExportResult handleResult() {
+        Long registerId = storageService.register(buildRegisterRequest());
+        try {
+            ExportResult exportResult = fileHandler.handleResult(executor, requestContext, registerId);
+            if (!UploadStatusEnum.SUCCESS.equals(exportResult.getUploadStatus())) {
+                throw new IllegalStateException("export fail!registerId:" + registerId);
+            }
+            return exportResult;
+        } finally {
+            PageTotalContext.clear();
+        }
+    }
+
+    private RegisterDownloadRequest buildRegisterRequest() {
+        RegisterDownloadRequest registerRequest = new RegisterDownloadRequest();
+        registerRequest.setAppId(downloadProperty.getAppId());
+        registerRequest.setDownloadCode(BenchmarkExportExecutor.DOWNLOAD_CODE);
+        registerRequest.setEnableNotify(false);
+        registerRequest.setNotifier(requestContext.getNotifier());
+        registerRequest.setExportRemark(requestContext.getExportRemark());
+        registerRequest.setFileSuffix(requestContext.getFileSuffix());
+        registerRequest.setOtherMap(requestContext.getOtherMap());
+        registerRequest.setMaxServerRetry(0);
+        registerRequest.setLocale(LocaleContext.currentLocaleLanguage());
+        return registerRequest;
+    }
+}
@@ -0,0 +1,111 @@
+package com.openquartz.easyfile.benchmark;
+
+import com.openquartz.easyfile.benchmark.model.BenchmarkRow;
+import com.openquartz.easyfile.benchmark.support.BlackholeOutputStream;
+import com.openquartz.easyfile.common.util.CompressUtils;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link CompressUtils} 基准测试
+ * 源文件为按{@link BenchmarkRow} 生成的CSV文本, 压缩率接近真实导出文件
+ *
+ * @author svnee
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompressUtilsBenchmark {
+
+    @Param({"16"})
+    private int fileMbSize;
+
+    private Path workDir;
+    private Path srcDir;
+    private File srcFile;
+    private File targetFile;
+
+    /**
+     * 并行压缩线程数
+     */
+    @State(Scope.Benchmark)
+    public static class ParallelState {
+
+        @Param({"1", "2", "4"})
+        private int threadNum;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        workDir = Files.createTempDirectory("easyfile-benchmark-compress");
+        srcDir = Files.createDirectories(workDir.resolve("src"));
+        srcFile = srcDir.resolve("export.csv").toFile();
+        targetFile = workDir.resolve("export.zip").toFile();
+
+        long limit = (long) fileMbSize * 1024 * 1024;
+        long written = 0;
+        long id = 1;
+        try (Writer writer = new BufferedWriter(Files.newBufferedWriter(srcFile.toPath(), StandardCharsets.UTF_8))) {
+            while (written < limit) {
+                for (BenchmarkRow row : BenchmarkRow.generate(id, 1000)) {
+                    String line = row.getId() + "," + row.getName() + "," + row.getAge() + "," + row.getAmount() + ","
+                        + row.getEmail() + "," + row.getAddress() + "," + row.getScore() + "," + row.getEnabled()
+                        + "," + row.getRemark() + "\n";
+                    writer.write(line);
+                    written += line.length();
+                }
+                id += 1000;
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> pathStream = Files.walk(workDir)) {
+            pathStream.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    /**
+     * 压缩目录到输出流(压缩后数据丢弃)
+     */
+    @Benchmark
+    public long zip() throws IOException {
+        BlackholeOutputStream outputStream = new BlackholeOutputStream();
+        CompressUtils.zip(srcDir.toString(), outputStream);
+        return outputStream.getCount();
+    }
+
+    /**
+     * 分块并行压缩单文件
+     */
+    @Benchmark
+    public long zipFile(ParallelState state) throws IOException {
+        CompressUtils.zipFile(srcFile, targetFile, state.threadNum, -1);
+        return targetFile.length();
+    }
+}
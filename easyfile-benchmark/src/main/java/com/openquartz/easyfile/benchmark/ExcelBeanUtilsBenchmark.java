@@ -0,0 +1,41 @@
+package com.openquartz.easyfile.benchmark;
+
+import com.openquartz.easyfile.benchmark.model.BenchmarkRow;
+import com.openquartz.easyfile.common.bean.excel.ExcelBeanUtils;
+import com.openquartz.easyfile.common.bean.excel.ExcelFiled;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link ExcelBeanUtils#getExcelFiledByGroup} 基准测试
+ * 字段解析结果有缓存, 测试的是命中缓存后的分组过滤及下标计算
+ *
+ * @author svnee
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExcelBeanUtilsBenchmark {
+
+    @Benchmark
+    public List<ExcelFiled> defaultGroup() {
+        return ExcelBeanUtils.getExcelFiledByGroup(BenchmarkRow.class);
+    }
+
+    @Benchmark
+    public List<ExcelFiled> detailGroup() {
+        return ExcelBeanUtils.getExcelFiledByGroup(BenchmarkRow.class, BenchmarkRow.Detail.class);
+    }
+}
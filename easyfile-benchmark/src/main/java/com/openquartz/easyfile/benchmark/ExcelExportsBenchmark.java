@@ -0,0 +1,91 @@
+package com.openquartz.easyfile.benchmark;
+
+import com.openquartz.easyfile.benchmark.model.BenchmarkRow;
+import com.openquartz.easyfile.benchmark.support.BlackholeOutputStream;
+import com.openquartz.easyfile.common.bean.excel.ExcelBean;
+import com.openquartz.easyfile.common.bean.excel.ExcelBeanUtils;
+import com.openquartz.easyfile.common.bean.excel.ExcelExports;
+import com.openquartz.easyfile.common.bean.excel.ExcelFiled;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link ExcelExports#writeData} 基准测试
+ * 每次调用写入 batchRows 行, 列数通过重复{@link BenchmarkRow} 的10个字段扩展
+ *
+ * @author svnee
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExcelExportsBenchmark {
+
+    @Param({"10", "50", "200"})
+    private int columns;
+
+    @Param({"100"})
+    private int batchRows;
+
+    /**
+     * SXSSF: 经过 SXSSF 临时文件; DIRECT: 直写模式
+     */
+    @Param({"SXSSF", "DIRECT"})
+    private String writeMode;
+
+    private List<ExcelFiled> fieldList;
+    private List<BenchmarkRow> rowList;
+    private ExcelBean excelBean;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        List<ExcelFiled> baseFieldList = ExcelBeanUtils.getExcelFiledByGroup(BenchmarkRow.class);
+        fieldList = new ArrayList<>(columns);
+        for (int i = 0; i < columns; i++) {
+            ExcelFiled base = baseFieldList.get(i % baseFieldList.size());
+            ExcelFiled excelFiled = new ExcelFiled(base.getField(), base.getExcelProperty());
+            excelFiled.setFrmColumnIndex(i);
+            fieldList.add(excelFiled);
+        }
+        rowList = BenchmarkRow.generate(1, batchRows);
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        excelBean = "DIRECT".equals(writeMode)
+            ? ExcelExports.createDirectWorkbook(new BlackholeOutputStream())
+            : ExcelExports.createWorkbook();
+        ExcelExports.writeHeader(excelBean, fieldList, ExcelBean.DEFAULT_SHEET_GROUP);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() {
+        if (!excelBean.isDirectWrite()) {
+            ((SXSSFWorkbook) excelBean.getWorkbook()).dispose();
+        }
+        excelBean.close();
+    }
+
+    @Benchmark
+    public ExcelBean writeData() {
+        ExcelExports.writeData(excelBean, fieldList, rowList, ExcelBean.DEFAULT_SHEET_GROUP);
+        return excelBean;
+    }
+}
@@ -0,0 +1,93 @@
+package com.openquartz.easyfile.benchmark;
+
+import com.openquartz.easyfile.benchmark.support.BenchmarkExportExecutor;
+import com.openquartz.easyfile.common.bean.BaseDownloaderRequestContext;
+import com.openquartz.easyfile.common.bean.DownloadRequestInfo;
+import com.openquartz.easyfile.common.bean.Notifier;
+import com.openquartz.easyfile.common.util.JSONUtil;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link JSONUtil} 序列化/反序列化{@link DownloadRequestInfo} 基准测试
+ *
+ * @author svnee
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    private DownloadRequestInfo requestInfo;
+    private String json;
+    private String classJson;
+
+    @Setup
+    public void setup() {
+        Notifier notifier = new Notifier();
+        notifier.setUserBy("10086");
+        notifier.setUserName("benchmark");
+        notifier.setEmail("benchmark@openquartz.com");
+
+        Map<String, Object> otherMap = new HashMap<>();
+        otherMap.put(BenchmarkExportExecutor.ROWS_PARAM, 10000);
+        otherMap.put("startTime", "2022-01-01 00:00:00");
+        otherMap.put("endTime", "2022-12-31 23:59:59");
+        otherMap.put("status", 1);
+
+        BaseDownloaderRequestContext requestContext = new BaseDownloaderRequestContext();
+        requestContext.setNotifier(notifier);
+        requestContext.setFileSuffix(".xlsx");
+        requestContext.setExportRemark("benchmark");
+        requestContext.setOtherMap(otherMap);
+
+        requestInfo = new DownloadRequestInfo();
+        requestInfo.setDownloadCode(BenchmarkExportExecutor.DOWNLOAD_CODE);
+        requestInfo.setRequestContext(requestContext);
+
+        json = JSONUtil.toJson(requestInfo);
+        classJson = JSONUtil.toClassJson(requestInfo);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return JSONUtil.toJson(requestInfo);
+    }
+
+    @Benchmark
+    public DownloadRequestInfo parseObject() {
+        return JSONUtil.parseObject(json, DownloadRequestInfo.class);
+    }
+
+    @Benchmark
+    public DownloadRequestInfo jsonRoundTrip() {
+        return JSONUtil.parseObject(JSONUtil.toJson(requestInfo), DownloadRequestInfo.class);
+    }
+
+    /**
+     * 注册下载记录时执行参数使用带类型信息的JSON
+     */
+    @Benchmark
+    public DownloadRequestInfo classJsonRoundTrip() {
+        return JSONUtil.parseClassObject(JSONUtil.toClassJson(requestInfo), DownloadRequestInfo.class);
+    }
+
+    @Benchmark
+    public DownloadRequestInfo parseClassObject() {
+        return JSONUtil.parseClassObject(classJson, DownloadRequestInfo.class);
+    }
+}
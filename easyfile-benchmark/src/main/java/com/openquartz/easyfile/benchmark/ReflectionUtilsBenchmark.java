@@ -0,0 +1,60 @@
+package com.openquartz.easyfile.benchmark;
+
+import com.openquartz.easyfile.benchmark.model.BenchmarkRow;
+import com.openquartz.easyfile.common.bean.excel.ExcelBeanUtils;
+import com.openquartz.easyfile.common.bean.excel.ExcelFiled;
+import com.openquartz.easyfile.common.util.ReflectionUtils;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 字段取值基准测试
+ * 对比{@link ReflectionUtils#reflectiveGetFieldValue} 与导出时使用的{@link ExcelFiled#readValue}
+ *
+ * @author svnee
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReflectionUtilsBenchmark {
+
+    private List<ExcelFiled> fieldList;
+    private BenchmarkRow row;
+
+    @Setup
+    public void setup() {
+        fieldList = ExcelBeanUtils.getExcelFiledByGroup(BenchmarkRow.class);
+        row = BenchmarkRow.generate(1, 1).get(0);
+    }
+
+    /**
+     * 每次调用读取一行的全部(10个)字段
+     */
+    @Benchmark
+    public void reflectiveGetFieldValue(Blackhole blackhole) {
+        for (ExcelFiled excelFiled : fieldList) {
+            blackhole.consume(ReflectionUtils.reflectiveGetFieldValue(row, excelFiled.getField()));
+        }
+    }
+
+    @Benchmark
+    public void readValue(Blackhole blackhole) {
+        for (ExcelFiled excelFiled : fieldList) {
+            blackhole.consume(excelFiled.readValue(row));
+        }
+    }
+}
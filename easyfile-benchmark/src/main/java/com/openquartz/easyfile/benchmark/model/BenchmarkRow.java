@@ -0,0 +1,83 @@
+package com.openquartz.easyfile.benchmark.model;
+
+import com.openquartz.easyfile.common.annotations.ExcelProperty;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import javax.validation.groups.Default;
+import lombok.Data;
+
+/**
+ * 基准测试导出行(10列)
+ *
+ * @author svnee
+ */
+@Data
+public class BenchmarkRow {
+
+    /**
+     * 明细分组
+     */
+    public interface Detail {
+
+    }
+
+    @ExcelProperty(value = "ID", order = 1)
+    private Long id;
+
+    @ExcelProperty(value = "名称", order = 2)
+    private String name;
+
+    @ExcelProperty(value = "年龄", order = 3)
+    private Integer age;
+
+    @ExcelProperty(value = "金额", order = 4, numberFormat = "0.00")
+    private BigDecimal amount;
+
+    @ExcelProperty(value = "创建时间", order = 5)
+    private Date createTime;
+
+    @ExcelProperty(value = "邮箱", order = 6, group = {Default.class, Detail.class})
+    private String email;
+
+    @ExcelProperty(value = "地址", order = 7, group = {Default.class, Detail.class})
+    private String address;
+
+    @ExcelProperty(value = "分数", order = 8, group = {Default.class, Detail.class})
+    private Double score;
+
+    @ExcelProperty(value = "是否启用", order = 9, group = {Default.class, Detail.class})
+    private Boolean enabled;
+
+    @ExcelProperty(value = "备注", order = 10, group = {Default.class, Detail.class})
+    private String remark;
+
+    /**
+     * 生成数据
+     *
+     * @param startId 起始ID
+     * @param size 行数
+     * @return 数据
+     */
+    public static List<BenchmarkRow> generate(long startId, int size) {
+        List<BenchmarkRow> rowList = new ArrayList<>(size);
+        Date now = new Date();
+        for (int i = 0; i < size; i++) {
+            long id = startId + i;
+            BenchmarkRow row = new BenchmarkRow();
+            row.setId(id);
+            row.setName("name-" + id);
+            row.setAge((int) (id % 100));
+            row.setAmount(BigDecimal.valueOf(id * 31 % 100000, 2));
+            row.setCreateTime(now);
+            row.setEmail("user" + id + "@openquartz.com");
+            row.setAddress("Road " + (id % 997) + ", District " + (id % 31));
+            row.setScore(id % 1000 / 10.0D);
+            row.setEnabled(id % 2 == 0);
+            row.setRemark("remark of row " + id);
+            rowList.add(row);
+        }
+        return rowList;
+    }
+}
@@ -0,0 +1,20 @@
+package com.openquartz.easyfile.benchmark.support;
+
+import com.openquartz.easyfile.core.executor.AsyncFileHandlerAdapter;
+import com.openquartz.easyfile.core.property.IEasyFileDownloadProperty;
+import com.openquartz.easyfile.storage.download.DownloadStorageService;
+import com.openquartz.easyfile.storage.file.UploadService;
+
+/**
+ * 基准测试异步文件处理器
+ * 在当前线程中同步执行{@link #handleResult}
+ *
+ * @author svnee
+ */
+public class BenchmarkAsyncFileHandler extends AsyncFileHandlerAdapter {
+
+    public BenchmarkAsyncFileHandler(IEasyFileDownloadProperty downloadProperties, UploadService uploadService,
+        DownloadStorageService storageService) {
+        super(downloadProperties, uploadService, storageService);
+    }
+}
@@ -0,0 +1,34 @@
+package com.openquartz.easyfile.benchmark.support;
+
+import com.openquartz.easyfile.core.property.IEasyFileDownloadProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 基准测试下载配置
+ *
+ * @author svnee
+ */
+@Getter
+@Setter
+public class BenchmarkDownloadProperty implements IEasyFileDownloadProperty {
+
+    private String appId = "easyfile-benchmark";
+
+    private String unifiedAppId = "easyfile-benchmark";
+
+    /**
+     * 基准测试生成的文件上传后删除,避免占满磁盘
+     */
+    private boolean cleanFileAfterUpload = true;
+
+    private String localFileTempPath;
+
+    private boolean enableCompressFile = false;
+
+    private int minEnableCompressMbSize = Integer.MAX_VALUE;
+
+    private int compressThreadNum = 1;
+
+    private int compressLevel = -1;
+}
@@ -0,0 +1,59 @@
+package com.openquartz.easyfile.benchmark.support;
+
+import com.openquartz.easyfile.benchmark.model.BenchmarkRow;
+import com.openquartz.easyfile.common.bean.BaseDownloaderRequestContext;
+import com.openquartz.easyfile.common.bean.Pair;
+import com.openquartz.easyfile.common.util.page.Page;
+import com.openquartz.easyfile.common.util.page.PageTotal;
+import com.openquartz.easyfile.common.util.page.PageTotalContext;
+import com.openquartz.easyfile.core.annotations.FileExportExecutor;
+import com.openquartz.easyfile.core.executor.impl.AbstractPageDownloadExcelExecutor;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基准测试分页导出执行器
+ * 数据在内存中生成,不包含业务查询耗时
+ *
+ * @author svnee
+ */
+@FileExportExecutor(value = BenchmarkExportExecutor.DOWNLOAD_CODE, desc = "基准测试导出")
+public class BenchmarkExportExecutor extends AbstractPageDownloadExcelExecutor<BenchmarkRow> {
+
+    public static final String DOWNLOAD_CODE = "BenchmarkExportExecutor";
+
+    /**
+     * 导出行数参数
+     */
+    public static final String ROWS_PARAM = "rows";
+
+    private static final int PAGE_SIZE = 500;
+
+    @Override
+    public boolean enableAsync(BaseDownloaderRequestContext context) {
+        return true;
+    }
+
+    @Override
+    public PageTotal count(Map<String, Object> othersMap) {
+        PageTotal pageTotal = PageTotalContext.currentPageToTal(sheetPrefix());
+        if (pageTotal != null) {
+            return pageTotal;
+        }
+        int rows = ((Number) othersMap.get(ROWS_PARAM)).intValue();
+        PageTotalContext.cache(sheetPrefix(), PageTotal.of(rows, PAGE_SIZE));
+        return PageTotalContext.currentPageToTal(sheetPrefix());
+    }
+
+    @Override
+    public Pair<Long, List<BenchmarkRow>> shardingData(BaseDownloaderRequestContext context, Page page,
+        Long cursorId) {
+        int rows = ((Number) context.getOtherMap().get(ROWS_PARAM)).intValue();
+        int size = (int) Math.min(page.getPageSize(), rows - cursorId);
+        if (size <= 0) {
+            return Pair.of(cursorId, Collections.emptyList());
+        }
+        return Pair.of(cursorId + size, BenchmarkRow.generate(cursorId + 1, size));
+    }
+}
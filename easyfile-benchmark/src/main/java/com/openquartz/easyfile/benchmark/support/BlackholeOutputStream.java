@@ -0,0 +1,27 @@
+package com.openquartz.easyfile.benchmark.support;
+
+import java.io.OutputStream;
+
+/**
+ * 丢弃写入数据的输出流, 仅统计写入字节数
+ *
+ * @author svnee
+ */
+public class BlackholeOutputStream extends OutputStream {
+
+    private long count;
+
+    @Override
+    public void write(int b) {
+        count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        count += len;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,50 @@
+CREATE TABLE IF NOT EXISTS ef_async_download_task
+(
+    id                BIGINT      NOT NULL AUTO_INCREMENT,
+    task_code         VARCHAR(50) NOT NULL DEFAULT '',
+    task_desc         VARCHAR(50) NOT NULL DEFAULT '',
+    app_id            VARCHAR(50) NOT NULL DEFAULT '',
+    unified_app_id    VARCHAR(50) NOT NULL DEFAULT '',
+    enable_status     TINYINT     NOT NULL DEFAULT 0,
+    limiting_strategy VARCHAR(50) NOT NULL DEFAULT '',
+    version           INT         NOT NULL DEFAULT 0,
+    create_time       TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    update_time       TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    create_by         VARCHAR(50) NOT NULL DEFAULT '',
+    update_by         VARCHAR(50) NOT NULL DEFAULT '',
+    is_deleted        BIGINT      NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT uniq_app_id_task_code UNIQUE (task_code, app_id)
+);
+
+CREATE TABLE IF NOT EXISTS ef_async_download_record
+(
+    id                    BIGINT       NOT NULL AUTO_INCREMENT,
+    download_task_id      BIGINT       NOT NULL DEFAULT 0,
+    app_id                VARCHAR(50)  NOT NULL DEFAULT '',
+    download_code         VARCHAR(50)  NOT NULL DEFAULT '',
+    upload_status         VARCHAR(50)  NOT NULL DEFAULT '',
+    file_url              VARCHAR(512) NOT NULL DEFAULT '',
+    file_name             VARCHAR(512) NOT NULL DEFAULT '',
+    file_system           VARCHAR(50)  NOT NULL DEFAULT '',
+    download_operate_by   VARCHAR(50)  NOT NULL DEFAULT '',
+    download_operate_name VARCHAR(50)  NOT NULL DEFAULT '',
+    remark                VARCHAR(50)  NOT NULL DEFAULT '',
+    notify_enable_status  TINYINT      NOT NULL DEFAULT 0,
+    notify_email          VARCHAR(50)  NOT NULL DEFAULT '',
+    max_server_retry      INT          NOT NULL DEFAULT 0,
+    current_retry         INT          NOT NULL DEFAULT 0,
+    execute_param         CLOB         NULL,
+    error_msg             VARCHAR(256) NOT NULL DEFAULT '',
+    last_execute_time     TIMESTAMP    NULL,
+    invalid_time          TIMESTAMP    NULL,
+    download_num          INT          NOT NULL DEFAULT 0,
+    execute_process       INT          NOT NULL DEFAULT 0,
+    version               INT          NOT NULL DEFAULT 0,
+    create_time           TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    update_time           TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    create_by             VARCHAR(50)  NOT NULL DEFAULT '',
+    update_by             VARCHAR(50)  NOT NULL DEFAULT '',
+    locale                VARCHAR(16)  NOT NULL DEFAULT '',
+    PRIMARY KEY (id)
+);
@@ -40,6 +40,13 @@ public @interface ExcelProperty {
      */
     String dateFormatter() default "yyyy-MM-dd HH:mm:ss";
 
+    /**
+     * 数值单元格格式
+     * 针对数值属性写入单元格的Excel数据格式 例如：0.00、#,##0
+     * 默认为空,即常规格式
+     */
+    String numberFormat() default "";
+
     /**
      * 默认分组
      */
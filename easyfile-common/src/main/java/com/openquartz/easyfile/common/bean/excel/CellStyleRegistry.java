@@ -0,0 +1,57 @@
+package com.openquartz.easyfile.common.bean.excel;
+
+import com.openquartz.easyfile.common.util.MapUtils;
+import com.openquartz.easyfile.common.util.StringUtils;
+import java.util.Map;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormat;
+import org.apache.poi.ss.usermodel.Workbook;
+
+/**
+ * 单元格格式注册表
+ * <p>
+ * 按单元格数据格式(例如: 0.00)缓存基于基础格式克隆的{@link CellStyle}。
+ * 工作簿中可创建的单元格格式数量有限,同一数据格式在同一工作簿中只创建一次。
+ *
+ * @author svnee
+ */
+public class CellStyleRegistry {
+
+    private final Workbook workbook;
+    private final CellStyle baseStyle;
+
+    /**
+     * key: dataFormat ---> value: cellStyle
+     */
+    private final Map<String, CellStyle> cellStyleMap = MapUtils.newHashMapWithExpectedSize(8);
+
+    private DataFormat dataFormat;
+
+    public CellStyleRegistry(Workbook workbook, CellStyle baseStyle) {
+        this.workbook = workbook;
+        this.baseStyle = baseStyle;
+    }
+
+    /**
+     * 获取指定数据格式的单元格格式
+     *
+     * @param format 数据格式, 为空时返回基础格式
+     * @return cellStyle
+     */
+    public CellStyle getStyle(String format) {
+        if (StringUtils.isBlank(format)) {
+            return baseStyle;
+        }
+        CellStyle cellStyle = cellStyleMap.get(format);
+        if (cellStyle == null) {
+            if (dataFormat == null) {
+                dataFormat = workbook.createDataFormat();
+            }
+            cellStyle = workbook.createCellStyle();
+            cellStyle.cloneStyleFrom(baseStyle);
+            cellStyle.setDataFormat(dataFormat.getFormat(format));
+            cellStyleMap.put(format, cellStyle);
+        }
+        return cellStyle;
+    }
+}
@@ -0,0 +1,142 @@
+package com.openquartz.easyfile.common.bean.excel;
+
+import com.openquartz.easyfile.common.annotations.ExcelProperty;
+import com.openquartz.easyfile.common.i18n.I18nTranslator;
+import com.openquartz.easyfile.common.util.CollectionUtils;
+import com.openquartz.easyfile.common.util.StringUtils;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * CSV导出工具类
+ * <p>
+ * 与{@link ExcelExports} 使用相同的{@link ExcelProperty} 元数据:
+ * <ul>
+ *     <li>表头为单行,自定义类型/集合类型字段使用子字段的标题</li>
+ *     <li>集合类型字段按元素展开为多行,其余列的值在每一行中重复写入(对应Excel中的合并单元格)</li>
+ * </ul>
+ *
+ * @author svnee
+ */
+public final class CsvExports {
+
+    private CsvExports() {
+    }
+
+    /**
+     * 写入表头
+     *
+     * @param csvWriter csvWriter
+     * @param exportFieldList 导出字段
+     */
+    public static void writeHeader(CsvWriter csvWriter, List<ExcelFiled> exportFieldList) {
+        if (CollectionUtils.isEmpty(exportFieldList)) {
+            return;
+        }
+        for (ExcelFiled field : exportFieldList) {
+            if (!field.isCollection() && !field.isCustomBean()) {
+                csvWriter.writeText(getTitle(field));
+            } else {
+                for (ExcelFiled subField : field.getSubFiledList()) {
+                    csvWriter.writeText(getTitle(subField));
+                }
+            }
+        }
+        csvWriter.endRow();
+    }
+
+    /**
+     * 写入数据
+     *
+     * @param csvWriter csvWriter
+     * @param exportFieldList 导出字段
+     * @param rowList 数据
+     * @param <T> T
+     */
+    public static <T> void writeData(CsvWriter csvWriter, List<ExcelFiled> exportFieldList, List<T> rowList) {
+        if (CollectionUtils.isEmpty(rowList) || CollectionUtils.isEmpty(exportFieldList)) {
+            return;
+        }
+        int collectionCount = 0;
+        for (ExcelFiled field : exportFieldList) {
+            if (field.isCollection()) {
+                collectionCount++;
+            }
+        }
+        if (collectionCount == 0) {
+            for (T dataRow : rowList) {
+                writeRow(csvWriter, exportFieldList, dataRow, null);
+            }
+            return;
+        }
+
+        Iterator<?>[] iteratorArray = new Iterator<?>[collectionCount];
+        for (T dataRow : rowList) {
+            int lines = 1;
+            int collectionIndex = 0;
+            for (ExcelFiled field : exportFieldList) {
+                if (field.isCollection()) {
+                    Collection<?> subDataCollection = (Collection<?>) field.readValue(dataRow);
+                    if (CollectionUtils.isNotEmpty(subDataCollection)) {
+                        lines = Math.max(lines, subDataCollection.size());
+                        iteratorArray[collectionIndex] = subDataCollection.iterator();
+                    } else {
+                        iteratorArray[collectionIndex] = null;
+                    }
+                    collectionIndex++;
+                }
+            }
+            for (int i = 0; i < lines; i++) {
+                writeRow(csvWriter, exportFieldList, dataRow, iteratorArray);
+            }
+        }
+    }
+
+    /**
+     * 写入一行, 集合类型字段取对应迭代器的下一个元素
+     */
+    private static void writeRow(CsvWriter csvWriter, List<ExcelFiled> exportFieldList, Object dataRow,
+        Iterator<?>[] iteratorArray) {
+        int collectionIndex = 0;
+        for (ExcelFiled field : exportFieldList) {
+            if (!field.isCollection() && !field.isCustomBean()) {
+                writeValue(csvWriter, field, field.readValue(dataRow));
+            } else if (field.isCustomBean()) {
+                writeSubValue(csvWriter, field, field.readValue(dataRow));
+            } else {
+                Iterator<?> iterator = iteratorArray[collectionIndex++];
+                Object subRowData = Objects.nonNull(iterator) && iterator.hasNext() ? iterator.next() : null;
+                writeSubValue(csvWriter, field, subRowData);
+            }
+        }
+        csvWriter.endRow();
+    }
+
+    private static void writeSubValue(CsvWriter csvWriter, ExcelFiled field, Object value) {
+        for (ExcelFiled subField : field.getSubFiledList()) {
+            if (Objects.isNull(value)) {
+                csvWriter.writeEmpty();
+            } else {
+                writeValue(csvWriter, subField, subField.readValue(value));
+            }
+        }
+    }
+
+    private static void writeValue(CsvWriter csvWriter, ExcelFiled field, Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            csvWriter.writeLong(((Number) value).longValue());
+        } else {
+            csvWriter.writeText(ExcelExports.getCellText(value, field));
+        }
+    }
+
+    private static String getTitle(ExcelFiled field) {
+        ExcelProperty excelProperty = field.getExcelProperty();
+        if (StringUtils.isNotBlank(excelProperty.value())) {
+            return ExcelExports.getCellText(I18nTranslator.translate(excelProperty.value()), field);
+        }
+        return field.getField().getName();
+    }
+}
@@ -0,0 +1,206 @@
+package com.openquartz.easyfile.common.bean.excel;
+
+import com.openquartz.easyfile.common.util.ExceptionUtils;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * CSV 写入
+ * <p>
+ * 按 RFC 4180 写出CSV:
+ * <ul>
+ *     <li>仅当值中包含逗号、双引号、换行时才使用双引号包裹,双引号转义为两个双引号</li>
+ *     <li>字符直接按 UTF-8 编码写入可复用的字节缓冲区,缓冲区满时写出到输出流</li>
+ *     <li>整数直接按数字写入,不生成中间字符串</li>
+ * </ul>
+ * 不会关闭原始输出流。非线程安全。
+ *
+ * @author svnee
+ */
+public class CsvWriter {
+
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final byte[] LINE_SEPARATOR = {'\r', '\n'};
+    private static final byte SEPARATOR = ',';
+    private static final byte QUOTE = '"';
+    private static final byte REPLACEMENT = '?';
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 单个字符 UTF-8 编码最大字节数
+     */
+    private static final int MAX_CHAR_BYTES = 4;
+
+    private final OutputStream outputStream;
+    private final byte[] bytes = new byte[BUFFER_SIZE];
+    private char[] chars = new char[256];
+    private int position;
+
+    /**
+     * 当前行是否还未写入值
+     */
+    private boolean lineStart = true;
+
+    /**
+     * @param outputStream 输出流
+     * @param withBom 是否写入 UTF-8 BOM(Excel 打开时依赖BOM识别编码)
+     */
+    public CsvWriter(OutputStream outputStream, boolean withBom) {
+        this.outputStream = outputStream;
+        if (withBom) {
+            System.arraycopy(UTF8_BOM, 0, bytes, 0, UTF8_BOM.length);
+            position = UTF8_BOM.length;
+        }
+    }
+
+    /**
+     * 写入文本值
+     *
+     * @param value 值, 为空时写入空值
+     */
+    public void writeText(String value) {
+        separate();
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        int length = value.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        value.getChars(0, length, chars, 0);
+        boolean quote = needQuote(chars, length);
+        if (quote) {
+            putByte(QUOTE);
+        }
+        for (int i = 0; i < length; i++) {
+            if (position > BUFFER_SIZE - MAX_CHAR_BYTES) {
+                flushBuffer();
+            }
+            char c = chars[i];
+            if (c < 0x80) {
+                if (c == '"' && quote) {
+                    bytes[position++] = QUOTE;
+                }
+                bytes[position++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[position++] = (byte) (0xC0 | (c >> 6));
+                bytes[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(chars[i + 1])) {
+                int codePoint = Character.toCodePoint(c, chars[++i]);
+                bytes[position++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // 不成对的代理字符,与 JDK 编码器一致替换为'?'
+                bytes[position++] = REPLACEMENT;
+            } else {
+                bytes[position++] = (byte) (0xE0 | (c >> 12));
+                bytes[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        if (quote) {
+            putByte(QUOTE);
+        }
+    }
+
+    /**
+     * 写入整数值
+     *
+     * @param value 值
+     */
+    public void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeText(Long.toString(value));
+            return;
+        }
+        separate();
+        if (position > BUFFER_SIZE - 20) {
+            flushBuffer();
+        }
+        if (value < 0) {
+            bytes[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long i = value; i >= 10; i /= 10) {
+            digits++;
+        }
+        int index = position + digits;
+        position = index;
+        do {
+            bytes[--index] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value > 0);
+    }
+
+    /**
+     * 写入空值
+     */
+    public void writeEmpty() {
+        separate();
+    }
+
+    /**
+     * 结束当前行
+     */
+    public void endRow() {
+        if (position > BUFFER_SIZE - LINE_SEPARATOR.length) {
+            flushBuffer();
+        }
+        System.arraycopy(LINE_SEPARATOR, 0, bytes, position, LINE_SEPARATOR.length);
+        position += LINE_SEPARATOR.length;
+        lineStart = true;
+    }
+
+    /**
+     * 写出缓冲区数据并刷新输出流
+     */
+    public void flush() {
+        flushBuffer();
+        try {
+            outputStream.flush();
+        } catch (IOException ex) {
+            ExceptionUtils.rethrow(ex);
+        }
+    }
+
+    private void separate() {
+        if (lineStart) {
+            lineStart = false;
+        } else {
+            putByte(SEPARATOR);
+        }
+    }
+
+    private void putByte(byte b) {
+        if (position == BUFFER_SIZE) {
+            flushBuffer();
+        }
+        bytes[position++] = b;
+    }
+
+    private void flushBuffer() {
+        if (position == 0) {
+            return;
+        }
+        try {
+            outputStream.write(bytes, 0, position);
+        } catch (IOException ex) {
+            ExceptionUtils.rethrow(ex);
+        }
+        position = 0;
+    }
+
+    private static boolean needQuote(char[] chars, int length) {
+        for (int i = 0; i < length; i++) {
+            char c = chars[i];
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,667 @@
+package com.openquartz.easyfile.common.bean.excel;
+
+import com.openquartz.easyfile.common.exception.CommonErrorCode;
+import com.openquartz.easyfile.common.exception.EasyFileException;
+import com.openquartz.easyfile.common.util.ExceptionUtils;
+import com.openquartz.easyfile.common.util.MapUtils;
+import com.openquartz.easyfile.common.util.StringUtils;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.util.WorkbookUtil;
+
+/**
+ * xlsx 直写
+ * <p>
+ * 不经过 SXSSF 的临时文件,按Sheet顺序直接将 SpreadsheetML 写入到输出流的Zip条目中:
+ * <ul>
+ *     <li>单元格文本使用内联字符串(inlineStr),无需维护共享字符串表</li>
+ *     <li>列宽、冻结行在首次提交行时写出,因此需要在写入数据前设置(与表头写入顺序一致)</li>
+ *     <li>合并单元格在Sheet结束时写出</li>
+ *     <li>同一时刻只有一个Sheet可以写入,创建下一个Sheet时结束当前Sheet,已结束的Sheet不可再写入</li>
+ * </ul>
+ * 工作簿级别的部件(workbook、styles、content types)在{@link #finish()} 时写出。
+ *
+ * @author svnee
+ */
+public class DirectXlsxWriter implements Closeable {
+
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    private static final String NS_MAIN = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String NS_RELATIONSHIPS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String NS_PACKAGE_RELATIONSHIPS = "http://schemas.openxmlformats.org/package/2006/relationships";
+
+    /**
+     * Excel 最大Sheet名称长度
+     */
+    private static final int MAX_SHEET_NAME_LENGTH = 31;
+
+    /**
+     * 自定义数据格式起始ID
+     */
+    private static final int FIRST_CUSTOM_NUM_FMT_ID = 164;
+
+    /**
+     * cellXfs 下标: 0-默认 1-基础格式 2-表头格式 3+-数据格式
+     */
+    private static final int BASE_STYLE_INDEX = 1;
+    private static final int HEADER_STYLE_INDEX = 2;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String[] COLUMN_NAME_CACHE = new String[256];
+
+    private final ZipOutputStream zipOutputStream;
+    private final Writer writer;
+    private final StringBuilder buffer = new StringBuilder(BUFFER_SIZE + 1024);
+    private char[] chars = new char[BUFFER_SIZE + 1024];
+
+    private final List<String> sheetNameList = new ArrayList<>();
+
+    /**
+     * key: dataFormat ---> value: cellXfs 下标
+     */
+    private final Map<String, Integer> styleIndexMap = MapUtils.newHashMapWithExpectedSize(8);
+
+    /**
+     * 数据格式对应的 numFmtId,下标为 cellXfs 下标 - 3
+     */
+    private final List<Integer> styleNumFmtIdList = new ArrayList<>();
+
+    /**
+     * key: 自定义数据格式 ---> value: numFmtId
+     */
+    private final Map<String, Integer> customNumFmtMap = new TreeMap<>();
+
+    private DirectSheetWriter currentSheet;
+
+    private boolean finished;
+
+    public DirectXlsxWriter(OutputStream outputStream) {
+        this.zipOutputStream = new ZipOutputStream(new UnclosableOutputStream(outputStream));
+        this.writer = new OutputStreamWriter(zipOutputStream, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 创建Sheet,并结束当前正在写入的Sheet
+     *
+     * @param sheetName sheet名称,规则与 POI 保持一致
+     * @return Sheet 写入
+     */
+    public ExcelSheetWriter createSheet(String sheetName) {
+        if (Objects.isNull(sheetName)) {
+            throw new IllegalArgumentException("sheetName must not be null");
+        }
+        if (sheetName.length() > MAX_SHEET_NAME_LENGTH) {
+            sheetName = sheetName.substring(0, MAX_SHEET_NAME_LENGTH);
+        }
+        WorkbookUtil.validateSheetName(sheetName);
+        for (String existSheetName : sheetNameList) {
+            if (existSheetName.equalsIgnoreCase(sheetName)) {
+                throw new IllegalArgumentException("The workbook already contains a sheet named '" + sheetName + "'");
+            }
+        }
+        finishCurrentSheet();
+        sheetNameList.add(sheetName);
+        currentSheet = new DirectSheetWriter(sheetNameList.size());
+        return currentSheet;
+    }
+
+    /**
+     * 结束写入,写出工作簿部件
+     * 不会关闭原始输出流
+     *
+     * @throws IOException IOException
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        if (sheetNameList.isEmpty()) {
+            createSheet(ExcelBean.DEFAULT_SHEET_GROUP);
+        }
+        finishCurrentSheet();
+        writeEntry("[Content_Types].xml", this::appendContentTypes);
+        writeEntry("_rels/.rels", this::appendRootRelationships);
+        writeEntry("xl/workbook.xml", this::appendWorkbook);
+        writeEntry("xl/_rels/workbook.xml.rels", this::appendWorkbookRelationships);
+        writeEntry("xl/styles.xml", this::appendStyles);
+        finished = true;
+        zipOutputStream.close();
+    }
+
+    @Override
+    public void close() {
+        if (!finished) {
+            finished = true;
+            try {
+                zipOutputStream.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private void finishCurrentSheet() {
+        if (Objects.nonNull(currentSheet)) {
+            currentSheet.finish();
+            currentSheet = null;
+        }
+    }
+
+    private int getStyleIndex(String numberFormat) {
+        if (StringUtils.isBlank(numberFormat)) {
+            return BASE_STYLE_INDEX;
+        }
+        Integer styleIndex = styleIndexMap.get(numberFormat);
+        if (Objects.isNull(styleIndex)) {
+            int numFmtId = BuiltinFormats.getBuiltinFormat(numberFormat);
+            if (numFmtId < 0) {
+                numFmtId = customNumFmtMap
+                    .computeIfAbsent(numberFormat, k -> FIRST_CUSTOM_NUM_FMT_ID + customNumFmtMap.size());
+            }
+            styleNumFmtIdList.add(numFmtId);
+            styleIndex = HEADER_STYLE_INDEX + styleNumFmtIdList.size();
+            styleIndexMap.put(numberFormat, styleIndex);
+        }
+        return styleIndex;
+    }
+
+    private void writeEntry(String entryName, Runnable contentAppender) throws IOException {
+        zipOutputStream.putNextEntry(new ZipEntry(entryName));
+        contentAppender.run();
+        flushBuffer();
+        writer.flush();
+        zipOutputStream.closeEntry();
+    }
+
+    private void appendContentTypes() {
+        buffer.append(XML_HEADER)
+            .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+            .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+            .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+            .append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>")
+            .append("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        for (int i = 1; i <= sheetNameList.size(); i++) {
+            buffer.append("<Override PartName=\"/xl/worksheets/sheet").append(i)
+                .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        buffer.append("</Types>");
+    }
+
+    private void appendRootRelationships() {
+        buffer.append(XML_HEADER)
+            .append("<Relationships xmlns=\"").append(NS_PACKAGE_RELATIONSHIPS).append("\">")
+            .append("<Relationship Id=\"rId1\" Type=\"").append(NS_RELATIONSHIPS)
+            .append("/officeDocument\" Target=\"xl/workbook.xml\"/>")
+            .append("</Relationships>");
+    }
+
+    private void appendWorkbook() {
+        buffer.append(XML_HEADER)
+            .append("<workbook xmlns=\"").append(NS_MAIN).append("\" xmlns:r=\"").append(NS_RELATIONSHIPS).append("\">")
+            .append("<bookViews><workbookView activeTab=\"0\"/></bookViews><sheets>");
+        for (int i = 1; i <= sheetNameList.size(); i++) {
+            buffer.append("<sheet name=\"");
+            appendEscaped(sheetNameList.get(i - 1));
+            buffer.append("\" sheetId=\"").append(i).append("\" r:id=\"rId").append(i).append("\"/>");
+        }
+        buffer.append("</sheets></workbook>");
+    }
+
+    private void appendWorkbookRelationships() {
+        buffer.append(XML_HEADER)
+            .append("<Relationships xmlns=\"").append(NS_PACKAGE_RELATIONSHIPS).append("\">");
+        for (int i = 1; i <= sheetNameList.size(); i++) {
+            buffer.append("<Relationship Id=\"rId").append(i).append("\" Type=\"").append(NS_RELATIONSHIPS)
+                .append("/worksheet\" Target=\"worksheets/sheet").append(i).append(".xml\"/>");
+        }
+        buffer.append("<Relationship Id=\"rId").append(sheetNameList.size() + 1).append("\" Type=\"")
+            .append(NS_RELATIONSHIPS).append("/styles\" Target=\"styles.xml\"/>")
+            .append("</Relationships>");
+    }
+
+    private void appendStyles() {
+        buffer.append(XML_HEADER)
+            .append("<styleSheet xmlns=\"").append(NS_MAIN).append("\">");
+        if (!customNumFmtMap.isEmpty()) {
+            buffer.append("<numFmts count=\"").append(customNumFmtMap.size()).append("\">");
+            for (Entry<String, Integer> entry : customNumFmtMap.entrySet()) {
+                buffer.append("<numFmt numFmtId=\"").append(entry.getValue()).append("\" formatCode=\"");
+                appendEscaped(entry.getKey());
+                buffer.append("\"/>");
+            }
+            buffer.append("</numFmts>");
+        }
+        buffer.append("<fonts count=\"2\">")
+            .append("<font><sz val=\"11\"/><name val=\"Calibri\"/><family val=\"2\"/></font>")
+            .append("<font><b/><sz val=\"11\"/><name val=\"Calibri\"/><family val=\"2\"/></font>")
+            .append("</fonts>")
+            .append("<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>")
+            .append("<fill><patternFill patternType=\"gray125\"/></fill></fills>")
+            .append("<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>")
+            .append("<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>")
+            .append("<cellXfs count=\"").append(HEADER_STYLE_INDEX + 1 + styleNumFmtIdList.size()).append("\">")
+            .append("<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>")
+            .append("<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyAlignment=\"1\">")
+            .append("<alignment horizontal=\"center\" vertical=\"center\"/></xf>")
+            .append("<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\" applyAlignment=\"1\">")
+            .append("<alignment horizontal=\"center\" vertical=\"center\" wrapText=\"1\"/></xf>");
+        for (Integer numFmtId : styleNumFmtIdList) {
+            buffer.append("<xf numFmtId=\"").append(numFmtId)
+                .append("\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\" applyAlignment=\"1\">")
+                .append("<alignment horizontal=\"center\" vertical=\"center\"/></xf>");
+        }
+        buffer.append("</cellXfs>")
+            .append("<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>")
+            .append("</styleSheet>");
+    }
+
+    /**
+     * 写入XML转义后的文本,非法的XML字符替换为'?'(与 SXSSF 保持一致)
+     */
+    private void appendEscaped(String text) {
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<':
+                    buffer.append("&lt;");
+                    break;
+                case '>':
+                    buffer.append("&gt;");
+                    break;
+                case '&':
+                    buffer.append("&amp;");
+                    break;
+                case '"':
+                    buffer.append("&quot;");
+                    break;
+                case '\t':
+                case '\n':
+                    buffer.append(c);
+                    break;
+                case '\r':
+                    buffer.append("&#xd;");
+                    break;
+                default:
+                    if (c < ' ' || c == '\uFFFE' || c == '\uFFFF') {
+                        buffer.append('?');
+                    } else {
+                        buffer.append(c);
+                    }
+            }
+        }
+    }
+
+    private void flushBufferIfNecessary() {
+        if (buffer.length() >= BUFFER_SIZE) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() {
+        int length = buffer.length();
+        if (length == 0) {
+            return;
+        }
+        if (chars.length < length) {
+            chars = new char[length];
+        }
+        buffer.getChars(0, length, chars, 0);
+        buffer.setLength(0);
+        try {
+            writer.write(chars, 0, length);
+        } catch (IOException ex) {
+            ExceptionUtils.rethrow(ex);
+        }
+    }
+
+    private static String columnName(int columnIndex) {
+        if (columnIndex < COLUMN_NAME_CACHE.length) {
+            String columnName = COLUMN_NAME_CACHE[columnIndex];
+            if (Objects.isNull(columnName)) {
+                columnName = buildColumnName(columnIndex);
+                COLUMN_NAME_CACHE[columnIndex] = columnName;
+            }
+            return columnName;
+        }
+        return buildColumnName(columnIndex);
+    }
+
+    private static String buildColumnName(int columnIndex) {
+        StringBuilder builder = new StringBuilder(3);
+        for (int i = columnIndex + 1; i > 0; i = (i - 1) / 26) {
+            builder.append((char) ('A' + (i - 1) % 26));
+        }
+        return builder.reverse().toString();
+    }
+
+    /**
+     * 直写Sheet
+     */
+    private class DirectSheetWriter implements ExcelSheetWriter {
+
+        private final int sheetIndex;
+
+        /**
+         * key: columnIndex ---> value: width
+         */
+        private final TreeMap<Integer, Integer> columnWidthMap = new TreeMap<>();
+
+        /**
+         * 待提交的行
+         */
+        private final List<DirectRowWriter> pendingRowList = new ArrayList<>();
+
+        /**
+         * 合并单元格, 每4位为一个区域: firstRow,lastRow,firstCol,lastCol
+         */
+        private int[] mergedRegions = new int[64];
+        private int mergedRegionLength;
+
+        private int freezeRows;
+        private int lastFlushedRowIndex = -1;
+        private boolean started;
+        private boolean finished;
+
+        private DirectSheetWriter(int sheetIndex) {
+            this.sheetIndex = sheetIndex;
+        }
+
+        @Override
+        public ExcelRowWriter createRow(int rowIndex) {
+            checkWritable();
+            if (rowIndex <= lastFlushedRowIndex) {
+                throw new IllegalArgumentException("Attempting to write a row[" + rowIndex + "] in the range [0,"
+                    + lastFlushedRowIndex + "] that is already written to disk.");
+            }
+            DirectRowWriter row = new DirectRowWriter(rowIndex);
+            pendingRowList.add(row);
+            return row;
+        }
+
+        @Override
+        public void setColumnWidth(int columnIndex, int width) {
+            checkWritable();
+            columnWidthMap.put(columnIndex, width);
+        }
+
+        @Override
+        public void addMergedRegion(int firstRow, int lastRow, int firstCol, int lastCol) {
+            checkWritable();
+            // 单个单元格无需合并(POI同样拒绝该合并)
+            if (firstRow == lastRow && firstCol == lastCol) {
+                return;
+            }
+            if (mergedRegionLength + 4 > mergedRegions.length) {
+                mergedRegions = Arrays.copyOf(mergedRegions, mergedRegions.length * 2);
+            }
+            mergedRegions[mergedRegionLength++] = Math.min(firstRow, lastRow);
+            mergedRegions[mergedRegionLength++] = Math.max(firstRow, lastRow);
+            mergedRegions[mergedRegionLength++] = Math.min(firstCol, lastCol);
+            mergedRegions[mergedRegionLength++] = Math.max(firstCol, lastCol);
+        }
+
+        @Override
+        public void createFreezePane(int rowSplit) {
+            checkWritable();
+            this.freezeRows = rowSplit;
+        }
+
+        @Override
+        public void flush() {
+            checkWritable();
+            if (pendingRowList.isEmpty()) {
+                return;
+            }
+            start();
+            pendingRowList.sort(Comparator.comparingInt(row -> row.rowIndex));
+            DirectRowWriter lastRow = null;
+            for (DirectRowWriter row : pendingRowList) {
+                // 重复创建的行以最后一次为准
+                if (Objects.nonNull(lastRow) && lastRow.rowIndex != row.rowIndex) {
+                    lastRow.appendTo();
+                }
+                lastRow = row;
+            }
+            lastRow.appendTo();
+            lastFlushedRowIndex = lastRow.rowIndex;
+            pendingRowList.clear();
+        }
+
+        private void finish() {
+            flush();
+            start();
+            buffer.append("</sheetData>");
+            int regionCount = mergedRegionLength / 4;
+            if (regionCount > 0) {
+                buffer.append("<mergeCells count=\"").append(regionCount).append("\">");
+                for (int i = 0; i < mergedRegionLength; i += 4) {
+                    buffer.append("<mergeCell ref=\"")
+                        .append(columnName(mergedRegions[i + 2])).append(mergedRegions[i] + 1).append(':')
+                        .append(columnName(mergedRegions[i + 3])).append(mergedRegions[i + 1] + 1)
+                        .append("\"/>");
+                    flushBufferIfNecessary();
+                }
+                buffer.append("</mergeCells>");
+            }
+            buffer.append("</worksheet>");
+            flushBuffer();
+            try {
+                writer.flush();
+                zipOutputStream.closeEntry();
+            } catch (IOException ex) {
+                ExceptionUtils.rethrow(ex);
+            }
+            finished = true;
+            mergedRegions = null;
+        }
+
+        /**
+         * 写出Sheet开头部分(视图/冻结行/列宽),此后不可再修改
+         */
+        private void start() {
+            if (started) {
+                return;
+            }
+            started = true;
+            try {
+                zipOutputStream.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheetIndex + ".xml"));
+            } catch (IOException ex) {
+                ExceptionUtils.rethrow(ex);
+            }
+            buffer.append(XML_HEADER)
+                .append("<worksheet xmlns=\"").append(NS_MAIN).append("\" xmlns:r=\"").append(NS_RELATIONSHIPS)
+                .append("\">")
+                .append("<sheetViews><sheetView workbookViewId=\"0\"");
+            if (sheetIndex == 1) {
+                buffer.append(" tabSelected=\"1\"");
+            }
+            if (freezeRows > 0) {
+                String topLeftCell = columnName(0) + (freezeRows + 1);
+                buffer.append("><pane ySplit=\"").append(freezeRows).append("\" topLeftCell=\"").append(topLeftCell)
+                    .append("\" activePane=\"bottomLeft\" state=\"frozen\"/>")
+                    .append("<selection pane=\"bottomLeft\" activeCell=\"").append(topLeftCell)
+                    .append("\" sqref=\"").append(topLeftCell).append("\"/></sheetView>");
+            } else {
+                buffer.append("/>");
+            }
+            buffer.append("</sheetViews><sheetFormatPr defaultRowHeight=\"15\"/>");
+            if (!columnWidthMap.isEmpty()) {
+                buffer.append("<cols>");
+                for (Entry<Integer, Integer> entry : columnWidthMap.entrySet()) {
+                    int column = entry.getKey() + 1;
+                    buffer.append("<col min=\"").append(column).append("\" max=\"").append(column)
+                        .append("\" width=\"").append(entry.getValue() / 256D).append("\" customWidth=\"1\"/>");
+                }
+                buffer.append("</cols>");
+            }
+            buffer.append("<sheetData>");
+        }
+
+        private void checkWritable() {
+            if (finished) {
+                throw new EasyFileException(CommonErrorCode.EXCEL_SHEET_ALREADY_FINISHED_ERROR);
+            }
+        }
+    }
+
+    /**
+     * 直写行
+     * 行内单元格按列下标排序后写出
+     */
+    private class DirectRowWriter implements ExcelRowWriter {
+
+        private static final byte BLANK = 0;
+        private static final byte STRING = 1;
+        private static final byte NUMERIC = 2;
+        private static final byte BOOLEAN = 3;
+
+        private final int rowIndex;
+        private final List<DirectCell> cellList = new ArrayList<>();
+        private boolean sorted = true;
+
+        private DirectRowWriter(int rowIndex) {
+            this.rowIndex = rowIndex;
+        }
+
+        @Override
+        public void writeHeader(int columnIndex, String value) {
+            addCell(columnIndex, HEADER_STYLE_INDEX, Objects.isNull(value) ? BLANK : STRING, value, 0);
+        }
+
+        @Override
+        public void writeString(int columnIndex, String numberFormat, String value) {
+            addCell(columnIndex, getStyleIndex(numberFormat), Objects.isNull(value) ? BLANK : STRING, value, 0);
+        }
+
+        @Override
+        public void writeNumeric(int columnIndex, String numberFormat, double value) {
+            addCell(columnIndex, getStyleIndex(numberFormat), NUMERIC, null, value);
+        }
+
+        @Override
+        public void writeBoolean(int columnIndex, String numberFormat, boolean value) {
+            addCell(columnIndex, getStyleIndex(numberFormat), BOOLEAN, null, value ? 1 : 0);
+        }
+
+        private void addCell(int columnIndex, int styleIndex, byte type, String text, double number) {
+            if (!cellList.isEmpty()) {
+                DirectCell lastCell = cellList.get(cellList.size() - 1);
+                if (lastCell.columnIndex == columnIndex) {
+                    cellList.remove(cellList.size() - 1);
+                } else if (lastCell.columnIndex > columnIndex) {
+                    sorted = false;
+                }
+            }
+            cellList.add(new DirectCell(columnIndex, styleIndex, type, text, number));
+        }
+
+        private void appendTo() {
+            if (cellList.isEmpty()) {
+                return;
+            }
+            if (!sorted) {
+                cellList.sort(Comparator.comparingInt(cell -> cell.columnIndex));
+            }
+            String rowNum = String.valueOf(rowIndex + 1);
+            buffer.append("<row r=\"").append(rowNum).append("\">");
+            for (int i = 0, size = cellList.size(); i < size; i++) {
+                DirectCell cell = cellList.get(i);
+                // 重复创建的单元格以最后一次为准
+                if (i + 1 < size && cellList.get(i + 1).columnIndex == cell.columnIndex) {
+                    continue;
+                }
+                buffer.append("<c r=\"").append(columnName(cell.columnIndex)).append(rowNum)
+                    .append("\" s=\"").append(cell.styleIndex).append('"');
+                switch (cell.type) {
+                    case STRING:
+                        buffer.append(" t=\"inlineStr\"><is><t");
+                        if (needPreserveSpace(cell.text)) {
+                            buffer.append(" xml:space=\"preserve\"");
+                        }
+                        buffer.append('>');
+                        appendEscaped(cell.text);
+                        buffer.append("</t></is></c>");
+                        break;
+                    case NUMERIC:
+                        buffer.append("><v>");
+                        appendNumber(cell.number);
+                        buffer.append("</v></c>");
+                        break;
+                    case BOOLEAN:
+                        buffer.append(" t=\"b\"><v>").append((int) cell.number).append("</v></c>");
+                        break;
+                    default:
+                        buffer.append("/>");
+                }
+            }
+            buffer.append("</row>");
+            flushBufferIfNecessary();
+        }
+
+        private void appendNumber(double number) {
+            if (number == Math.rint(number) && Math.abs(number) < 1e15) {
+                buffer.append((long) number);
+            } else {
+                buffer.append(number);
+            }
+        }
+
+        private boolean needPreserveSpace(String text) {
+            return !text.isEmpty()
+                && (Character.isWhitespace(text.charAt(0)) || Character.isWhitespace(text.charAt(text.length() - 1)));
+        }
+    }
+
+    private static final class DirectCell {
+
+        private final int columnIndex;
+        private final int styleIndex;
+        private final byte type;
+        private final String text;
+        private final double number;
+
+        private DirectCell(int columnIndex, int styleIndex, byte type, String text, double number) {
+            this.columnIndex = columnIndex;
+            this.styleIndex = styleIndex;
+            this.type = type;
+            this.text = text;
+            this.number = number;
+        }
+    }
+
+    /**
+     * 关闭时仅刷新,由调用方负责关闭原始输出流
+     */
+    private static final class UnclosableOutputStream extends FilterOutputStream {
+
+        private UnclosableOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
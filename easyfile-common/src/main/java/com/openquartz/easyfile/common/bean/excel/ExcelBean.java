@@ -35,11 +35,21 @@ public class ExcelBean implements Closeable {
      */
     private CellStyle baseStyle;
 
+    /**
+     * 单元格格式注册表
+     */
+    private CellStyleRegistry cellStyleRegistry;
+
     /**
      * 工作簿
      */
     private Workbook workbook;
 
+    /**
+     * 直写模式写入,不为空时不使用{@link #workbook}
+     */
+    private DirectXlsxWriter directXlsxWriter;
+
     /**
      * 当前Sheet
      * key: sheet-group ---> value: currentSheet
@@ -56,6 +66,9 @@ public class ExcelBean implements Closeable {
      */
     @Override
     public void close() {
+        if (Objects.nonNull(directXlsxWriter)) {
+            directXlsxWriter.close();
+        }
         if (Objects.nonNull(workbook)) {
             try {
                 workbook.close();
@@ -75,36 +88,71 @@ public class ExcelBean implements Closeable {
         return Objects.nonNull(workbook) ? workbook : new SXSSFWorkbook(ExcelGenProperty.getRowAccessWindowSize());
     }
 
+    public CellStyleRegistry getCellStyleRegistry() {
+        if (Objects.isNull(cellStyleRegistry)) {
+            cellStyleRegistry = new CellStyleRegistry(workbook, baseStyle);
+        }
+        return cellStyleRegistry;
+    }
+
+    /**
+     * 是否为直写模式
+     *
+     * @return 是否直写
+     */
+    public boolean isDirectWrite() {
+        return Objects.nonNull(directXlsxWriter);
+    }
+
     /**
      * 获取当前执行的Sheet
+     * 直写模式下不存在POI Sheet, 返回为空
      */
     public Sheet getCurrentSheet(String sheetGroup) {
+        getCurrentSheetWriter(sheetGroup);
+        return getSheetBean(sheetGroup).getCurrentSheet();
+    }
+
+    /**
+     * 获取当前执行的Sheet写入
+     */
+    public ExcelSheetWriter getCurrentSheetWriter(String sheetGroup) {
 
         SheetBean sheetBean = getSheetBean(sheetGroup);
-        if (Objects.isNull(sheetBean.getCurrentSheet()) || sheetBean.getCurrentRowIndex() >= segmentationSheetRows) {
+        if (Objects.isNull(sheetBean.getCurrentSheetWriter())
+            || sheetBean.getCurrentRowIndex() >= segmentationSheetRows) {
             return nextSheet(sheetGroup);
         }
-        return sheetBean.getCurrentSheet();
+        return sheetBean.getCurrentSheetWriter();
     }
 
     /**
      * 获取下一页
      */
-    private Sheet nextSheet(String sheetGroup) {
+    private ExcelSheetWriter nextSheet(String sheetGroup) {
         SheetBean sheetBean = getSheetBean(sheetGroup);
-        Sheet sheet = workbook
-            .createSheet(sheetGroup + (sheetBean.getSheetIndex() > 0 ? "-" + sheetBean.getSheetIndex() : ""));
-        sheetBean.nextSheet(sheet);
-        return sheet;
+        String sheetName = sheetGroup + (sheetBean.getSheetIndex() > 0 ? "-" + sheetBean.getSheetIndex() : "");
+        if (isDirectWrite()) {
+            ExcelSheetWriter sheetWriter = directXlsxWriter.createSheet(sheetName);
+            sheetBean.nextSheet(null, sheetWriter);
+            return sheetWriter;
+        }
+        Sheet sheet = workbook.createSheet(sheetName);
+        ExcelSheetWriter sheetWriter = new PoiSheetWriter(sheet, getCellStyleRegistry(), this::decorateHeader);
+        sheetBean.nextSheet(sheet, sheetWriter);
+        return sheetWriter;
     }
 
     /**
-     * 写入行数
+     * 写入行数,并提交当前Sheet已写入的行
      */
     public void writeRow(int rows, String sheetGroup) {
         SheetBean sheetBean = getSheetBean(sheetGroup);
         totalRows += rows;
         sheetBean.writeRows(rows);
+        if (Objects.nonNull(sheetBean.getCurrentSheetWriter())) {
+            sheetBean.getCurrentSheetWriter().flush();
+        }
     }
 
     /**
@@ -142,6 +190,7 @@ public class ExcelBean implements Closeable {
             "segmentationSheetRows=" + segmentationSheetRows +
             ", baseStyle=" + baseStyle +
             ", workbook=" + workbook +
+            ", directWrite=" + isDirectWrite() +
             ", currentSheetMap=" + currentSheetMap +
             ", totalRows=" + totalRows +
             '}';
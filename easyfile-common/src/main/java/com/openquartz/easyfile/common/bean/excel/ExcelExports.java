@@ -3,24 +3,21 @@ package com.openquartz.easyfile.common.bean.excel;
 import com.openquartz.easyfile.common.annotations.ExcelProperty;
 import com.openquartz.easyfile.common.i18n.I18nTranslator;
 import com.openquartz.easyfile.common.util.CollectionUtils;
-import com.openquartz.easyfile.common.util.ReflectionUtils;
+import com.openquartz.easyfile.common.util.DateFormatUtils;
 import com.openquartz.easyfile.common.util.StringUtils;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.text.SimpleDateFormat;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
-import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.HorizontalAlignment;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.VerticalAlignment;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
@@ -33,6 +30,16 @@ import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 @Slf4j
 public final class ExcelExports {
 
+    /**
+     * Excel 数值最大有效位数
+     */
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    /**
+     * Excel 可精确表示的最大整数(15位有效数字)
+     */
+    private static final long MAX_EXACT_NUMERIC = 999_999_999_999_999L;
+
     private ExcelExports() {
     }
 
@@ -44,7 +51,11 @@ public final class ExcelExports {
      */
     public static void writeWorkbook(ExcelBean excelBean, OutputStream outputStream) {
         try {
-            excelBean.getWorkbook().write(outputStream);
+            if (excelBean.isDirectWrite()) {
+                excelBean.getDirectXlsxWriter().finish();
+            } else {
+                excelBean.getWorkbook().write(outputStream);
+            }
             outputStream.flush();
         } catch (IOException e) {
             log.error("[ExcelExports#writeWorkbook] write data to workbook error,excelBean:{}", excelBean, e);
@@ -76,6 +87,20 @@ public final class ExcelExports {
         ExcelBean excelBean = new ExcelBean(ExcelGenProperty.getSegmentationSheetRows());
         excelBean.setWorkbook(workbook);
         excelBean.setBaseStyle(cellStyle);
+        excelBean.setCellStyleRegistry(new CellStyleRegistry(workbook, cellStyle));
+        return excelBean;
+    }
+
+    /**
+     * 创建直写模式的workbook
+     * Sheet 数据直接写入到输出流,不再经过 SXSSF 临时文件, 不支持获取{@link Workbook}
+     *
+     * @param outputStream 输出流
+     * @return excelBean
+     */
+    public static ExcelBean createDirectWorkbook(OutputStream outputStream) {
+        ExcelBean excelBean = new ExcelBean(ExcelGenProperty.getSegmentationSheetRows());
+        excelBean.setDirectXlsxWriter(new DirectXlsxWriter(outputStream));
         return excelBean;
     }
 
@@ -106,7 +131,7 @@ public final class ExcelExports {
         if (CollectionUtils.isEmpty(rowList)) {
             return;
         }
-        excelBean.getCurrentSheet(sheetGroup);
+        excelBean.getCurrentSheetWriter(sheetGroup);
         writeRows(excelBean, exportFieldList, rowList, sheetGroup);
     }
 
@@ -122,68 +147,63 @@ public final class ExcelExports {
         if (CollectionUtils.isEmpty(exportFields)) {
             return titleRow;
         }
-        Sheet sheet = excelBean.getCurrentSheet(sheetGroup);
+        ExcelSheetWriter sheet = excelBean.getCurrentSheetWriter(sheetGroup);
 
-        Row headerRow = sheet.createRow(0);
+        ExcelRowWriter headerRow = sheet.createRow(0);
         titleRow += 1;
 
         boolean needSubTitle = exportFields.stream()
                 .anyMatch(e -> CollectionUtils.isNotEmpty(e.getSubFiledList()) && StringUtils.isNotBlank(e.getExcelProperty().value()));
-        Row subHeaderRow = needSubTitle ? sheet.createRow(1) : headerRow;
+        ExcelRowWriter subHeaderRow = needSubTitle ? sheet.createRow(1) : headerRow;
         titleRow = needSubTitle ? titleRow + 1 : titleRow;
-        excelBean.writeRow(titleRow, sheetGroup);
 
-        // 装饰表头标题格式
-        CellStyle cellStyle = excelBean.decorateHeader();
         for (ExcelFiled field : exportFields) {
             ExcelProperty excelProperty = field.getExcelProperty();
             sheet.setColumnWidth(field.getFrmColumnIndex(), excelProperty.width());
             if (!field.isCollection() && CollectionUtils.isEmpty(field.getSubFiledList())) {
-                Cell cell = headerRow.createCell(field.getFrmColumnIndex());
-                cell.setCellStyle(cellStyle);
                 if (StringUtils.isNotBlank(excelProperty.value())) {
-                    setCellValue(cell, I18nTranslator.translate(excelProperty.value()), field);
+                    headerRow.writeHeader(field.getFrmColumnIndex(),
+                            getCellText(I18nTranslator.translate(excelProperty.value()), field));
                 } else {
-                    setCellValue(cell, field.getField().getName(), field);
+                    headerRow.writeHeader(field.getFrmColumnIndex(), getCellText(field.getField().getName(), field));
                 }
 
                 if (needSubTitle) {
-                    Cell subCell = subHeaderRow.createCell(field.getFrmColumnIndex());
-                    subCell.setCellStyle(cellStyle);
+                    subHeaderRow.writeHeader(field.getFrmColumnIndex(), null);
                     // 合并单元格到列
                     // 设置单元格并做合并 (index-->index+subIndex)
-                    PoiMergeCellUtil.addMergedRegion(sheet, 0, 1, field.getFrmColumnIndex(), field.getFrmColumnIndex());
+                    sheet.addMergedRegion(0, 1, field.getFrmColumnIndex(), field.getFrmColumnIndex());
                 }
             } else {
                 // 如果设置的单元格属性的为空则不设置子表头
                 if (StringUtils.isNotBlank(field.getExcelProperty().value())) {
-                    Cell cell = headerRow.createCell(field.getFrmColumnIndex());
-                    cell.setCellStyle(cellStyle);
-                    setCellValue(cell, I18nTranslator.translate(field.getExcelProperty().value()), field);
+                    headerRow.writeHeader(field.getFrmColumnIndex(),
+                            getCellText(I18nTranslator.translate(field.getExcelProperty().value()), field));
                     // 设置单元格并做合并 (index-->index+subIndex)
-                    PoiMergeCellUtil.addMergedRegion(sheet, 0, 0, field.getFrmColumnIndex(), field.getToColumnIndex());
+                    sheet.addMergedRegion(0, 0, field.getFrmColumnIndex(), field.getToColumnIndex());
                 }
                 for (ExcelFiled subField : field.getSubFiledList()) {
-                    Row customTitleRow =
+                    ExcelRowWriter customTitleRow =
                             StringUtils.isBlank(field.getExcelProperty().value()) ? headerRow : subHeaderRow;
                     sheet.setColumnWidth(subField.getFrmColumnIndex(), subField.getExcelProperty().width());
-                    Cell cell = customTitleRow.createCell(subField.getFrmColumnIndex());
-                    cell.setCellStyle(cellStyle);
                     if (StringUtils.isNotBlank(subField.getExcelProperty().value())) {
-                        setCellValue(cell, I18nTranslator.translate(subField.getExcelProperty().value()), subField);
+                        customTitleRow.writeHeader(subField.getFrmColumnIndex(),
+                                getCellText(I18nTranslator.translate(subField.getExcelProperty().value()), subField));
                     } else {
-                        setCellValue(cell, subField.getField().getName(), subField);
+                        customTitleRow.writeHeader(subField.getFrmColumnIndex(),
+                                getCellText(subField.getField().getName(), subField));
                     }
                     if (StringUtils.isBlank(field.getExcelProperty().value()) && needSubTitle) {
                         // 设置单元格并做合并 (0,index-->1,index)
-                        PoiMergeCellUtil
-                                .addMergedRegion(sheet, 0, 1, subField.getFrmColumnIndex(), subField.getToColumnIndex());
+                        sheet.addMergedRegion(0, 1, subField.getFrmColumnIndex(), subField.getToColumnIndex());
                     }
                 }
             }
         }
         //冻结标题行
-        sheet.createFreezePane(0, titleRow);
+        sheet.createFreezePane(titleRow);
+        // 表头写入完成后再计入行数(直写模式下在此时提交表头行)
+        excelBean.writeRow(titleRow, sheetGroup);
         return titleRow;
     }
 
@@ -197,41 +217,36 @@ public final class ExcelExports {
      */
     private static <T> void writeRows(ExcelBean excelBean, List<ExcelFiled> exportFields, List<T> dataRows,
                                       String sheetGroup) {
-        CellStyle cellStyle = excelBean.getBaseStyle();
         for (Object dataRow : dataRows) {
             writeHeader(excelBean, exportFields, sheetGroup);
             int rowIndex = excelBean.getCurrentRowIndex(sheetGroup);
 
-            Sheet sheet = excelBean.getCurrentSheet(sheetGroup);
-            Row row = sheet.createRow(rowIndex);
+            ExcelSheetWriter sheet = excelBean.getCurrentSheetWriter(sheetGroup);
+            ExcelRowWriter row = sheet.createRow(rowIndex);
             int maxCurrentSubRowIndex = rowIndex;
             for (ExcelFiled field : exportFields) {
                 // 基本类型数据
-                if (!field.isCollection()
-                        && ReflectionUtils.isJavaClass(field.getField().getType())) {
-                    Object value = ReflectionUtils.reflectiveGetFieldValue(dataRow, field.getField());
-
-                    Cell cell = row.createCell(field.getFrmColumnIndex());
-                    cell.setCellStyle(cellStyle);
-                    setCellValue(cell, value, field);
+                if (!field.isCollection() && !field.isCustomBean()) {
+                    Object value = field.readValue(dataRow);
+                    setCellValue(row, field, value);
                 } else if (field.isCustomBean()) {
                     // 用户自定义类型
-                    Object value = ReflectionUtils.reflectiveGetFieldValue(dataRow, field.getField());
-                    setSubCell(cellStyle, row, field, value);
+                    Object value = field.readValue(dataRow);
+                    setSubCell(row, field, value);
                 } else {
                     // 集合类型
-                    Object value = ReflectionUtils.reflectiveGetFieldValue(dataRow, field.getField());
+                    Object value = field.readValue(dataRow);
                     if (value != null) {
                         Collection<?> subDataCollection = (Collection<?>) value;
                         if (CollectionUtils.isNotEmpty(subDataCollection)) {
-                            Row subRow = row;
+                            ExcelRowWriter subRow = row;
                             int currentSubRowIndex = rowIndex;
                             for (Object subRowData : subDataCollection) {
                                 if (currentSubRowIndex > rowIndex) {
                                     subRow = sheet.createRow(currentSubRowIndex);
                                 }
                                 currentSubRowIndex++;
-                                setSubCell(cellStyle, subRow, field, subRowData);
+                                setSubCell(subRow, field, subRowData);
                             }
                             // 取最大的下标,第一行共用父列的第一行
                             maxCurrentSubRowIndex = Math.max(currentSubRowIndex - 1, maxCurrentSubRowIndex);
@@ -245,16 +260,14 @@ public final class ExcelExports {
                 for (ExcelFiled exportField : exportFields) {
                     if (!exportField.isCollection()) {
                         if (!exportField.isCustomBean()) {
-                            PoiMergeCellUtil
-                                    .addMergedRegion(sheet, rowIndex, maxCurrentSubRowIndex,
-                                            exportField.getFrmColumnIndex(),
-                                            exportField.getFrmColumnIndex());
+                            sheet.addMergedRegion(rowIndex, maxCurrentSubRowIndex,
+                                    exportField.getFrmColumnIndex(),
+                                    exportField.getFrmColumnIndex());
                         } else {
                             for (ExcelFiled subExcelFiled : exportField.getSubFiledList()) {
-                                PoiMergeCellUtil
-                                        .addMergedRegion(sheet, rowIndex, maxCurrentSubRowIndex,
-                                                subExcelFiled.getFrmColumnIndex(),
-                                                subExcelFiled.getFrmColumnIndex());
+                                sheet.addMergedRegion(rowIndex, maxCurrentSubRowIndex,
+                                        subExcelFiled.getFrmColumnIndex(),
+                                        subExcelFiled.getFrmColumnIndex());
                             }
                         }
                     }
@@ -263,38 +276,80 @@ public final class ExcelExports {
 
             // 如果此时已经大于当前sheet页则重新创建sheet
             excelBean.writeRow(maxCurrentSubRowIndex - rowIndex + 1, sheetGroup);
-            excelBean.getCurrentSheet(sheetGroup);
+            excelBean.getCurrentSheetWriter(sheetGroup);
         }
     }
 
     /**
      * 设置当前子列单元格的值
      *
-     * @param cellStyle 单元格式
-     * @param row       行
-     * @param field     字段
-     * @param value     值
+     * @param row   行
+     * @param field 字段
+     * @param value 值
      */
-    private static void setSubCell(CellStyle cellStyle, Row row, ExcelFiled field, Object value) {
+    private static void setSubCell(ExcelRowWriter row, ExcelFiled field, Object value) {
 
         for (ExcelFiled subField : field.getSubFiledList()) {
             Object subData =
-                    Objects.nonNull(value) ? ReflectionUtils.reflectiveGetFieldValue(value, subField.getField()) : null;
-            Cell cell = row.createCell(subField.getFrmColumnIndex());
-            cell.setCellStyle(cellStyle);
-            setCellValue(cell, subData, subField);
+                    Objects.nonNull(value) ? subField.readValue(value) : null;
+            setCellValue(row, subField, subData);
         }
     }
 
-    private static void setCellValue(Cell cell, Object obj, ExcelFiled field) {
+    private static void setCellValue(ExcelRowWriter row, ExcelFiled field, Object obj) {
+        int columnIndex = field.getFrmColumnIndex();
+        String numberFormat = field.getExcelProperty().numberFormat();
+        if (ExcelGenProperty.isNativeCellType()) {
+            // 数值/布尔类型写入原生单元格
+            if (obj instanceof Number && isExactNumeric((Number) obj)) {
+                row.writeNumeric(columnIndex, numberFormat, ((Number) obj).doubleValue());
+                return;
+            }
+            if (obj instanceof Boolean) {
+                row.writeBoolean(columnIndex, numberFormat, (Boolean) obj);
+                return;
+            }
+        }
+        row.writeString(columnIndex, numberFormat, getCellText(obj, field));
+    }
+
+    /**
+     * 获取单元格文本
+     * 过滤 null 值转换为 空格
+     */
+    static String getCellText(Object obj, ExcelFiled field) {
         String value = getValue(obj, field);
-        // 过滤 null 值转换为 空格
         if (Objects.isNull(value) || "null".equals(value)) {
-            cell.setCellValue(StringUtils.EMPTY);
-        } else {
-            cell.setCellValue(value);
+            return StringUtils.EMPTY;
+        }
+        return value;
+    }
+
+    /**
+     * 数值是否可以无精度损失的写入为Excel数值单元格(Excel数值精度为15位有效数字)
+     * 超出精度的数值(例如:雪花ID)仍按文本写入
+     *
+     * @param number 数值
+     * @return 是否可以写入为数值单元格
+     */
+    private static boolean isExactNumeric(Number number) {
+        if (number instanceof Integer || number instanceof Short || number instanceof Byte) {
+            return true;
         }
-        cell.setCellType(CellType.STRING);
+        if (number instanceof Long) {
+            return Math.abs(number.longValue()) <= MAX_EXACT_NUMERIC;
+        }
+        if (number instanceof Double || number instanceof Float) {
+            double value = number.doubleValue();
+            return !Double.isNaN(value) && !Double.isInfinite(value);
+        }
+        if (number instanceof BigDecimal) {
+            return ((BigDecimal) number).precision() <= MAX_EXACT_DIGITS;
+        }
+        if (number instanceof BigInteger) {
+            return ((BigInteger) number).abs().compareTo(BigInteger.valueOf(MAX_EXACT_NUMERIC)) <= 0;
+        }
+        return false;
     }
 
     /**
@@ -317,8 +372,11 @@ public final class ExcelExports {
     }
 
     private static String formatDate(Date date, ExcelFiled field) {
+        if (Objects.nonNull(field.getDateTimeFormatter())) {
+            return DateFormatUtils.format(date, field.getDateTimeFormatter());
+        }
         ExcelProperty excelProperty = field.getExcelProperty();
         assert Objects.nonNull(excelProperty);
-        return new SimpleDateFormat(excelProperty.dateFormatter()).format(date);
+        return DateFormatUtils.format(date, excelProperty.dateFormatter());
     }
 }
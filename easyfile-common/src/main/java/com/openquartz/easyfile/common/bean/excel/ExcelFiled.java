@@ -2,10 +2,16 @@ package com.openquartz.easyfile.common.bean.excel;
 
 
 import com.openquartz.easyfile.common.annotations.ExcelProperty;
+import com.openquartz.easyfile.common.util.DateFormatUtils;
+import com.openquartz.easyfile.common.util.FieldAccessor;
+import com.openquartz.easyfile.common.util.FieldAccessorCompiler;
 import com.openquartz.easyfile.common.util.ReflectionUtils;
 import java.lang.reflect.Field;
+import java.text.SimpleDateFormat;
 import java.util.List;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 /**
  * ExcelField
@@ -50,11 +56,38 @@ public class ExcelFiled {
      */
     private int toColumnIndex = -1;
 
+    /**
+     * 预编译的字段取值器
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final FieldAccessor accessor;
+
+    /**
+     * 预编译的日期格式化器 {@link ExcelProperty#dateFormatter()}
+     * 格式不合法时为空
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final ThreadLocal<SimpleDateFormat> dateTimeFormatter;
+
     public ExcelFiled(Field field, ExcelProperty excelProperty) {
         this.field = field;
         this.excelProperty = excelProperty;
         this.collection = ReflectionUtils.isCollection(field.getType());
         this.customBean = !ReflectionUtils.isJavaClass(field.getType()) && !collection;
+        this.accessor = FieldAccessorCompiler.compile(field);
+        this.dateTimeFormatter = DateFormatUtils.getFormatter(excelProperty.dateFormatter());
+    }
+
+    /**
+     * 读取目标对象上当前字段的值
+     *
+     * @param target 目标对象
+     * @return 字段值
+     */
+    public Object readValue(Object target) {
+        return accessor.get(target);
     }
 
 }
@@ -18,6 +18,18 @@ public final class ExcelGenProperty {
      */
     private static Integer segmentationSheetRows = 1000000;
 
+    /**
+     * 数值/布尔类型是否写入为原生单元格类型
+     * 为false时所有单元格均按文本写入
+     */
+    private static boolean nativeCellType = true;
+
+    /**
+     * 是否启用直写模式
+     * 启用后Sheet数据直接写入输出流,不再经过 SXSSF 临时文件
+     */
+    private static boolean directStreamWrite = false;
+
     public static void setRowAccessWindowSize(Integer rowAccessWindowSize) {
         ExcelGenProperty.rowAccessWindowSize = rowAccessWindowSize;
     }
@@ -26,6 +38,14 @@ public final class ExcelGenProperty {
         ExcelGenProperty.segmentationSheetRows = segmentationSheetRows;
     }
 
+    public static void setNativeCellType(boolean nativeCellType) {
+        ExcelGenProperty.nativeCellType = nativeCellType;
+    }
+
+    public static void setDirectStreamWrite(boolean directStreamWrite) {
+        ExcelGenProperty.directStreamWrite = directStreamWrite;
+    }
+
     public static Integer getRowAccessWindowSize() {
         return rowAccessWindowSize;
     }
@@ -33,4 +53,12 @@ public final class ExcelGenProperty {
     public static Integer getSegmentationSheetRows() {
         return segmentationSheetRows;
     }
+
+    public static boolean isNativeCellType() {
+        return nativeCellType;
+    }
+
+    public static boolean isDirectStreamWrite() {
+        return directStreamWrite;
+    }
 }
@@ -0,0 +1,44 @@
+package com.openquartz.easyfile.common.bean.excel;
+
+/**
+ * Excel 行写入
+ *
+ * @author svnee
+ */
+public interface ExcelRowWriter {
+
+    /**
+     * 写入表头单元格
+     *
+     * @param columnIndex 列下标
+     * @param value 表头标题,为空时仅写入表头格式
+     */
+    void writeHeader(int columnIndex, String value);
+
+    /**
+     * 写入文本单元格
+     *
+     * @param columnIndex 列下标
+     * @param numberFormat 数据格式
+     * @param value 值
+     */
+    void writeString(int columnIndex, String numberFormat, String value);
+
+    /**
+     * 写入数值单元格
+     *
+     * @param columnIndex 列下标
+     * @param numberFormat 数据格式
+     * @param value 值
+     */
+    void writeNumeric(int columnIndex, String numberFormat, double value);
+
+    /**
+     * 写入布尔单元格
+     *
+     * @param columnIndex 列下标
+     * @param numberFormat 数据格式
+     * @param value 值
+     */
+    void writeBoolean(int columnIndex, String numberFormat, boolean value);
+}
@@ -0,0 +1,52 @@
+package com.openquartz.easyfile.common.bean.excel;
+
+/**
+ * Excel Sheet 写入
+ * <p>
+ * 屏蔽 POI {@link org.apache.poi.ss.usermodel.Sheet} 与直写模式{@link DirectXlsxWriter} 的差异,
+ * 仅包含{@link ExcelExports} 写入表头与数据所需的操作。
+ *
+ * @author svnee
+ */
+public interface ExcelSheetWriter {
+
+    /**
+     * 创建行
+     *
+     * @param rowIndex 行下标
+     * @return 行写入
+     */
+    ExcelRowWriter createRow(int rowIndex);
+
+    /**
+     * 设置列宽
+     *
+     * @param columnIndex 列下标
+     * @param width 列宽(单位: 1/256 字符宽度)
+     */
+    void setColumnWidth(int columnIndex, int width);
+
+    /**
+     * 合并单元格
+     *
+     * @param firstRow firstRow
+     * @param lastRow lastRow
+     * @param firstCol firstCol
+     * @param lastCol lastCol
+     */
+    void addMergedRegion(int firstRow, int lastRow, int firstCol, int lastCol);
+
+    /**
+     * 冻结行
+     *
+     * @param rowSplit 冻结的行数
+     */
+    void createFreezePane(int rowSplit);
+
+    /**
+     * 提交已写入完成的行
+     * 直写模式下会将已完成的行写出到输出流,之后不可再写入
+     */
+    default void flush() {
+    }
+}
@@ -0,0 +1,98 @@
+package com.openquartz.easyfile.common.bean.excel;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+
+/**
+ * 基于 POI {@link Sheet} 的Sheet写入
+ *
+ * @author svnee
+ */
+public class PoiSheetWriter implements ExcelSheetWriter {
+
+    private final Sheet sheet;
+    private final CellStyleRegistry styleRegistry;
+    private final Supplier<CellStyle> headerStyleSupplier;
+
+    private CellStyle headerStyle;
+
+    public PoiSheetWriter(Sheet sheet, CellStyleRegistry styleRegistry, Supplier<CellStyle> headerStyleSupplier) {
+        this.sheet = sheet;
+        this.styleRegistry = styleRegistry;
+        this.headerStyleSupplier = headerStyleSupplier;
+    }
+
+    public Sheet getSheet() {
+        return sheet;
+    }
+
+    @Override
+    public ExcelRowWriter createRow(int rowIndex) {
+        return new PoiRowWriter(sheet.createRow(rowIndex));
+    }
+
+    @Override
+    public void setColumnWidth(int columnIndex, int width) {
+        sheet.setColumnWidth(columnIndex, width);
+    }
+
+    @Override
+    public void addMergedRegion(int firstRow, int lastRow, int firstCol, int lastCol) {
+        PoiMergeCellUtil.addMergedRegion(sheet, firstRow, lastRow, firstCol, lastCol);
+    }
+
+    @Override
+    public void createFreezePane(int rowSplit) {
+        sheet.createFreezePane(0, rowSplit);
+    }
+
+    private CellStyle getHeaderStyle() {
+        if (Objects.isNull(headerStyle)) {
+            headerStyle = headerStyleSupplier.get();
+        }
+        return headerStyle;
+    }
+
+    private class PoiRowWriter implements ExcelRowWriter {
+
+        private final Row row;
+
+        private PoiRowWriter(Row row) {
+            this.row = row;
+        }
+
+        @Override
+        public void writeHeader(int columnIndex, String value) {
+            Cell cell = row.createCell(columnIndex);
+            cell.setCellStyle(getHeaderStyle());
+            if (Objects.nonNull(value)) {
+                cell.setCellValue(value);
+            }
+        }
+
+        @Override
+        public void writeString(int columnIndex, String numberFormat, String value) {
+            createCell(columnIndex, numberFormat).setCellValue(value);
+        }
+
+        @Override
+        public void writeNumeric(int columnIndex, String numberFormat, double value) {
+            createCell(columnIndex, numberFormat).setCellValue(value);
+        }
+
+        @Override
+        public void writeBoolean(int columnIndex, String numberFormat, boolean value) {
+            createCell(columnIndex, numberFormat).setCellValue(value);
+        }
+
+        private Cell createCell(int columnIndex, String numberFormat) {
+            Cell cell = row.createCell(columnIndex);
+            cell.setCellStyle(styleRegistry.getStyle(numberFormat));
+            return cell;
+        }
+    }
+}
@@ -14,6 +14,11 @@ public class SheetBean {
      */
     private Sheet currentSheet;
 
+    /**
+     * 当前页写入
+     */
+    private ExcelSheetWriter currentSheetWriter;
+
     /**
      * 总行数
      */
@@ -33,8 +38,9 @@ public class SheetBean {
         return sheetIndex;
     }
 
-    public void nextSheet(Sheet nextSheet) {
+    public void nextSheet(Sheet nextSheet, ExcelSheetWriter nextSheetWriter) {
         currentSheet = nextSheet;
+        currentSheetWriter = nextSheetWriter;
         currentRowIndex = 0;
         sheetIndex++;
     }
@@ -43,6 +49,10 @@ public class SheetBean {
         return currentSheet;
     }
 
+    public ExcelSheetWriter getCurrentSheetWriter() {
+        return currentSheetWriter;
+    }
+
     public int getSumRow() {
         return sumRow;
     }
@@ -0,0 +1,141 @@
+package com.openquartz.easyfile.common.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 本地过期缓存
+ * <p>
+ * 容量有限, 超出时淘汰最近最少访问的数据; 数据写入超过过期时间后重新加载。
+ * 加载结果为null时同样缓存(负缓存), 使用单独的过期时间。加载异常不缓存。
+ *
+ * @author svnee
+ */
+public class ExpiringCache<K, V> {
+
+    private final String name;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final StatsListener statsListener;
+    private final Map<K, CacheEntry<V>> entryMap;
+
+    public ExpiringCache(String name, int maxSize, long ttlMillis, long negativeTtlMillis) {
+        this(name, maxSize, ttlMillis, negativeTtlMillis, null);
+    }
+
+    public ExpiringCache(String name, int maxSize, long ttlMillis, long negativeTtlMillis,
+        StatsListener statsListener) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive!");
+        }
+        this.name = name;
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.statsListener = statsListener;
+        this.entryMap = new LinkedHashMap<K, CacheEntry<V>>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * 获取缓存, 不存在或已过期时加载
+     *
+     * @param key key
+     * @param loader 加载
+     * @return value
+     */
+    public V get(K key, Function<K, V> loader) {
+        CacheEntry<V> entry;
+        synchronized (entryMap) {
+            entry = entryMap.get(key);
+            if (Objects.nonNull(entry) && entry.expireAt <= System.currentTimeMillis()) {
+                entryMap.remove(key);
+                entry = null;
+            }
+        }
+        if (Objects.nonNull(entry)) {
+            record(true);
+            return entry.value;
+        }
+        record(false);
+        V value = loader.apply(key);
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * 写入缓存
+     *
+     * @param key key
+     * @param value value
+     */
+    public void put(K key, V value) {
+        long expireMillis = Objects.nonNull(value) ? ttlMillis : negativeTtlMillis;
+        if (expireMillis > 0) {
+            synchronized (entryMap) {
+                entryMap.put(key, new CacheEntry<>(value, System.currentTimeMillis() + expireMillis));
+            }
+        }
+    }
+
+    /**
+     * 失效
+     *
+     * @param key key
+     */
+    public void invalidate(K key) {
+        synchronized (entryMap) {
+            entryMap.remove(key);
+        }
+    }
+
+    /**
+     * 全部失效
+     */
+    public void invalidateAll() {
+        synchronized (entryMap) {
+            entryMap.clear();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void record(boolean hit) {
+        if (Objects.nonNull(statsListener)) {
+            statsListener.record(name, hit);
+        }
+    }
+
+    private static final class CacheEntry<V> {
+
+        private final V value;
+        private final long expireAt;
+
+        private CacheEntry(V value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+
+    /**
+     * 缓存命中统计
+     */
+    @FunctionalInterface
+    public interface StatsListener {
+
+        /**
+         * 记录访问
+         *
+         * @param cacheName 缓存名
+         * @param hit 是否命中
+         */
+        void record(String cacheName, boolean hit);
+    }
+}
@@ -0,0 +1,73 @@
+package com.openquartz.easyfile.common.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 虚拟线程执行器
+ * JDK21+ 运行时通过反射创建每任务一个虚拟线程的执行器, 低版本JDK不可用
+ *
+ * @author svnee
+ */
+public final class VirtualThreadExecutors {
+
+    private static final Method OF_VIRTUAL_METHOD;
+    private static final Method BUILDER_NAME_METHOD;
+    private static final Method BUILDER_FACTORY_METHOD;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR_METHOD;
+
+    static {
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderFactory = null;
+        Method newThreadPerTaskExecutor = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builderName = builderClass.getMethod("name", String.class, long.class);
+            builderFactory = builderClass.getMethod("factory");
+            newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (Exception ignore) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL_METHOD = ofVirtual;
+        BUILDER_NAME_METHOD = builderName;
+        BUILDER_FACTORY_METHOD = builderFactory;
+        NEW_THREAD_PER_TASK_EXECUTOR_METHOD = newThreadPerTaskExecutor;
+    }
+
+    private VirtualThreadExecutors() {
+    }
+
+    /**
+     * 当前运行时是否支持虚拟线程
+     *
+     * @return 是否支持
+     */
+    public static boolean isSupported() {
+        return Objects.nonNull(OF_VIRTUAL_METHOD);
+    }
+
+    /**
+     * 创建每任务一个虚拟线程的执行器
+     *
+     * @param threadPrefix 线程名前缀
+     * @return 执行器, 不支持虚拟线程时返回null
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(String threadPrefix) {
+        if (!isSupported()) {
+            return null;
+        }
+        try {
+            Object builder = OF_VIRTUAL_METHOD.invoke(null);
+            builder = BUILDER_NAME_METHOD.invoke(builder, threadPrefix + "-virtual-", 0L);
+            ThreadFactory threadFactory = (ThreadFactory) BUILDER_FACTORY_METHOD.invoke(builder);
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR_METHOD.invoke(null, threadFactory);
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+}
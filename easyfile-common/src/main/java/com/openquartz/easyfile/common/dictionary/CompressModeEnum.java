@@ -0,0 +1,35 @@
+package com.openquartz.easyfile.common.dictionary;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 文件压缩模式
+ *
+ * @author svnee
+ */
+@Getter
+@AllArgsConstructor
+public enum CompressModeEnum implements BaseEnum<String> {
+
+    /**
+     * 按全局配置压缩: 可预估文件大小且超过压缩阈值时边生成边压缩,无法预估时生成完成后按文件大小压缩
+     * 预估文件大小由执行器的 estimateFileSize 提供, 分页Excel执行器默认按总条数及导出列数预估, 其他执行器默认无法预估
+     */
+    AUTO("auto", "自动"),
+
+    /**
+     * 强制边生成边压缩
+     */
+    STREAM("stream", "边生成边压缩"),
+
+    /**
+     * 不压缩
+     */
+    NONE("none", "不压缩"),
+    ;
+
+    private final String code;
+
+    private final String desc;
+}
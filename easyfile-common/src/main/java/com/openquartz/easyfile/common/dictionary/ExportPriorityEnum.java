@@ -0,0 +1,37 @@
+package com.openquartz.easyfile.common.dictionary;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 异步导出优先级
+ * 权重越大, 排队时分得的执行份额越多
+ *
+ * @author svnee
+ */
+@Getter
+@AllArgsConstructor
+public enum ExportPriorityEnum implements BaseEnum<String> {
+
+    /**
+     * 高优先级, 例如交互式小数据量导出
+     */
+    HIGH("high", "高", 4),
+
+    /**
+     * 普通优先级
+     */
+    NORMAL("normal", "普通", 2),
+
+    /**
+     * 低优先级, 例如批量导出
+     */
+    LOW("low", "低", 1),
+    ;
+
+    private final String code;
+
+    private final String desc;
+
+    private final int weight;
+}
@@ -19,6 +19,7 @@ public enum CommonErrorCode implements EasyFileErrorCode {
     PROPERTY_NOT_EXIST_ERROR("09", "Property Not Exist!"),
     REQUEST_PARAM_ERROR("10", "request param error"),
     CAN_NOT_GET_LOCK_ERROR("11", "Can not acquire lock!"),
+    EXCEL_SHEET_ALREADY_FINISHED_ERROR("12", "Excel sheet already finished,can not write again!"),
     ;
     private final String errorCode;
     private final String errorMsg;
@@ -0,0 +1,35 @@
+package com.openquartz.easyfile.common.response;
+
+import com.openquartz.easyfile.common.bean.DownloadRequestInfo;
+import lombok.Data;
+
+/**
+ * 准备执行结果
+ * 开启执行成功时返回执行所需的下载请求信息与语言, 此时执行进度已重置。
+ *
+ * @author svnee
+ **/
+@Data
+public class PrepareExecutionResult {
+
+    /**
+     * 是否开启执行成功(状态已变更为执行中)
+     */
+    private boolean running;
+
+    /**
+     * 下载请求信息
+     */
+    private DownloadRequestInfo requestInfo;
+
+    /**
+     * 语言 language tag
+     */
+    private String locale;
+
+    public static PrepareExecutionResult reject() {
+        PrepareExecutionResult result = new PrepareExecutionResult();
+        result.setRunning(false);
+        return result;
+    }
+}
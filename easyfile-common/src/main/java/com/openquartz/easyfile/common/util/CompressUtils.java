@@ -3,6 +3,7 @@ package com.openquartz.easyfile.common.util;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -13,6 +14,7 @@ import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Objects;
+import java.util.zip.Deflater;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.compress.archivers.ArchiveEntry;
 import org.apache.commons.compress.archivers.ArchiveInputStream;
@@ -30,6 +32,8 @@ import org.apache.commons.compress.utils.IOUtils;
 @Slf4j
 public final class CompressUtils {
 
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
     private CompressUtils() {
     }
 
@@ -89,6 +93,27 @@ public final class CompressUtils {
         }
     }
 
+    /**
+     * 压缩单个文件到指定zip文件
+     * 压缩线程数大于1时按块并行压缩,见{@link ParallelDeflateZipOutputStream}
+     *
+     * @param srcFile 源文件
+     * @param targetFile 目标zip文件
+     * @param threadNum 压缩线程数
+     * @param level 压缩级别 {@link Deflater#DEFAULT_COMPRESSION} 或 0-9
+     * @throws IOException IO异常，抛出给调用者处理
+     */
+    public static void zipFile(File srcFile, File targetFile, int threadNum, int level) throws IOException {
+        try (
+            InputStream input = Files.newInputStream(srcFile.toPath());
+            OutputStream out = threadNum > 1
+                ? new ParallelDeflateZipOutputStream(targetFile, srcFile.getName(), threadNum, level)
+                : zipEntry(new BufferedOutputStream(Files.newOutputStream(targetFile.toPath())), srcFile.getName(), level)
+        ) {
+            IOUtils.copy(input, out, COPY_BUFFER_SIZE);
+        }
+    }
+
     /**
      * 解压zip文件到指定文件夹
      *
@@ -139,4 +164,51 @@ public final class CompressUtils {
 
     }
 
-}
\ No newline at end of file
+    /**
+     * 包装为单文件zip输出流,写入的数据即为zip中指定文件的内容,用于生成文件的同时直接压缩
+     * 关闭返回的输出流时完成zip写入并关闭原始输出流,重复关闭无影响
+     *
+     * @param outputStream 压缩后文件的输出流
+     * @param entryName zip中的文件名
+     * @param level 压缩级别 {@link Deflater#DEFAULT_COMPRESSION} 或 0-9
+     * @return zip文件内容输出流
+     * @throws IOException IO异常，抛出给调用者处理
+     */
+    public static OutputStream zipEntry(OutputStream outputStream, String entryName, int level) throws IOException {
+        ZipArchiveOutputStream out = new ZipArchiveOutputStream(outputStream);
+        out.setLevel(level);
+        ZipArchiveEntry entry = new ZipArchiveEntry(entryName);
+        entry.setTime(System.currentTimeMillis());
+        out.putArchiveEntry(entry);
+        return new ZipEntryOutputStream(out);
+    }
+
+    private static final class ZipEntryOutputStream extends FilterOutputStream {
+
+        private boolean closed;
+
+        private ZipEntryOutputStream(ZipArchiveOutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            ZipArchiveOutputStream zipOut = (ZipArchiveOutputStream) out;
+            try {
+                zipOut.closeArchiveEntry();
+                zipOut.finish();
+            } finally {
+                zipOut.close();
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 数据时间格式化
@@ -14,6 +15,12 @@ public final class DateFormatUtils {
 
     private static final ThreadLocal<Map<String, SimpleDateFormat>> SIMPLE_DATE_FORMAT = new ThreadLocal<>();
 
+    /**
+     * 按格式缓存的线程内格式化器
+     * key: pattern ---> value: formatter
+     */
+    private static final Map<String, ThreadLocal<SimpleDateFormat>> DATE_FORMATTER_MAP = new ConcurrentHashMap<>();
+
     private DateFormatUtils() {
     }
 
@@ -29,6 +36,36 @@ public final class DateFormatUtils {
         return formatMap.get(pattern).format(date);
     }
 
+    /**
+     * 获取日期格式化器, 每个线程各自持有{@link SimpleDateFormat}, 与{@link #format(Date, String)} 格式语义一致
+     *
+     * @param pattern 日期格式
+     * @return 格式化器, 当格式不合法时返回null
+     */
+    public static ThreadLocal<SimpleDateFormat> getFormatter(String pattern) {
+        ThreadLocal<SimpleDateFormat> formatter = DATE_FORMATTER_MAP.get(pattern);
+        if (Objects.nonNull(formatter)) {
+            return formatter;
+        }
+        try {
+            new SimpleDateFormat(pattern);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+        return DATE_FORMATTER_MAP.computeIfAbsent(pattern, k -> ThreadLocal.withInitial(() -> new SimpleDateFormat(k)));
+    }
+
+    /**
+     * 格式化日期
+     *
+     * @param date 日期
+     * @param formatter 格式化器
+     * @return 格式化结果
+     */
+    public static String format(Date date, ThreadLocal<SimpleDateFormat> formatter) {
+        return formatter.get().format(date);
+    }
+
     public static void clear() {
         Map<String, SimpleDateFormat> formatMap = SIMPLE_DATE_FORMAT.get();
         if (Objects.nonNull(formatMap)) {
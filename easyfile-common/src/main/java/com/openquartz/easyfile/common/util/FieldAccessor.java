@@ -0,0 +1,19 @@
+package com.openquartz.easyfile.common.util;
+
+/**
+ * 字段取值器
+ * 由{@link FieldAccessorCompiler} 针对字段的Getter方法预编译生成,用于替代逐次的反射查找与调用
+ *
+ * @author svnee
+ */
+@FunctionalInterface
+public interface FieldAccessor {
+
+    /**
+     * 获取目标对象的字段值
+     *
+     * @param target 目标对象
+     * @return 字段值
+     */
+    Object get(Object target);
+}
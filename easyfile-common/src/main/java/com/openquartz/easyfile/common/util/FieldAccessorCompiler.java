@@ -0,0 +1,136 @@
+package com.openquartz.easyfile.common.util;
+
+import com.openquartz.easyfile.common.exception.CommonErrorCode;
+import com.openquartz.easyfile.common.exception.EasyFileException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 字段取值器编译
+ * <p>
+ * 针对字段的Getter方法(与{@link ReflectionUtils#reflectiveGetFieldValue(Object, Field)} 的查找规则一致)
+ * 只做一次方法查找,并生成取值器:
+ * <ul>
+ *     <li>公开类的公开Getter: 使用{@link LambdaMetafactory} 生成{@link Function} 实现,调用开销与直接调用Getter一致</li>
+ *     <li>其他可访问的Getter: 使用{@link MethodHandle} 调用</li>
+ *     <li>声明类上查找不到Getter: 降级为按运行时类型反射取值</li>
+ * </ul>
+ * 同一字段编译结果会被缓存。
+ *
+ * @author svnee
+ */
+@Slf4j
+public final class FieldAccessorCompiler {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType GENERIC_GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final Map<Field, FieldAccessor> ACCESSOR_CACHE_MAP = new ConcurrentHashMap<>();
+
+    private FieldAccessorCompiler() {
+    }
+
+    /**
+     * 编译字段取值器
+     *
+     * @param field 字段
+     * @return 取值器
+     */
+    public static FieldAccessor compile(Field field) {
+        return ACCESSOR_CACHE_MAP.computeIfAbsent(field, FieldAccessorCompiler::doCompile);
+    }
+
+    private static FieldAccessor doCompile(Field field) {
+        Method getterMethod = org.springframework.util.ReflectionUtils
+            .findMethod(field.getDeclaringClass(), ReflectionUtils.getterMethodName(field));
+        if (Objects.isNull(getterMethod) || Modifier.isStatic(getterMethod.getModifiers())) {
+            return target -> ReflectionUtils.reflectiveGetFieldValue(target, field);
+        }
+        if (isLambdaAccessible(getterMethod)) {
+            try {
+                return wrap(field, lambdaGetter(getterMethod));
+            } catch (Throwable ex) {
+                log.warn("[FieldAccessorCompiler#compile] lambda getter compile fail,use method-handle! field:{}",
+                    field, ex);
+            }
+        }
+        try {
+            getterMethod.setAccessible(true);
+            MethodHandle handle = LOOKUP.unreflect(getterMethod).asType(GENERIC_GETTER_TYPE);
+            return wrap(field, target -> {
+                try {
+                    return handle.invokeExact(target);
+                } catch (RuntimeException | Error ex) {
+                    throw ex;
+                } catch (Throwable ex) {
+                    return ExceptionUtils.rethrow(ex);
+                }
+            });
+        } catch (Exception ex) {
+            log.warn("[FieldAccessorCompiler#compile] method-handle compile fail,use reflection! field:{}", field, ex);
+            return target -> ReflectionUtils.reflectiveGetFieldValue(target, field);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> lambdaGetter(Method getterMethod) throws Throwable {
+        MethodHandle handle = LOOKUP.unreflect(getterMethod);
+        CallSite callSite = LambdaMetafactory.metafactory(LOOKUP,
+            "apply",
+            MethodType.methodType(Function.class),
+            MethodType.methodType(Object.class, Object.class),
+            handle,
+            MethodType.methodType(wrapperType(getterMethod.getReturnType()), getterMethod.getDeclaringClass()));
+        return (Function<Object, Object>) callSite.getTarget().invokeExact();
+    }
+
+    private static FieldAccessor wrap(Field field, Function<Object, Object> getter) {
+        return target -> {
+            try {
+                return getter.apply(target);
+            } catch (Exception e) {
+                log.error("FieldAccessorCompiler#get,obj:{},fieldName:{}", target, field.getName(), e);
+                throw new EasyFileException(CommonErrorCode.DOWNLOAD_EXECUTE_REFLECT_ERROR);
+            }
+        };
+    }
+
+    /**
+     * 生成的Lambda类由当前类加载器解析目标类, 因此要求目标类及其外部类均为公开类且对当前类加载器可见
+     */
+    private static boolean isLambdaAccessible(Method getterMethod) {
+        if (!Modifier.isPublic(getterMethod.getModifiers())) {
+            return false;
+        }
+        Class<?> clazz = getterMethod.getDeclaringClass();
+        try {
+            if (Class.forName(clazz.getName(), false, FieldAccessorCompiler.class.getClassLoader()) != clazz) {
+                return false;
+            }
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return false;
+        }
+        for (Class<?> c = clazz; c != null; c = c.getEnclosingClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Class<?> wrapperType(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+}
@@ -1,6 +1,8 @@
 package com.openquartz.easyfile.common.util;
 
 import java.net.InetAddress;
+import java.util.Objects;
+import java.util.UUID;
 
 /**
  * IP 工具类
@@ -9,6 +11,12 @@ import java.net.InetAddress;
  */
 public final class IpUtil {
 
+    /**
+     * 当前实例标识, IP加随机标识, 同一主机的多个实例互不相同
+     */
+    private static final String INSTANCE_ID =
+        (Objects.nonNull(getIp()) ? getIp() : "hostname-unknow") + "#" + UUID.randomUUID().toString().substring(0, 8);
+
     private IpUtil() {
     }
 
@@ -27,4 +35,13 @@ public final class IpUtil {
         return ip;
     }
 
+    /**
+     * 获取当前实例标识
+     *
+     * @return IP#实例标识
+     */
+    public static String getInstanceId() {
+        return INSTANCE_ID;
+    }
+
 }
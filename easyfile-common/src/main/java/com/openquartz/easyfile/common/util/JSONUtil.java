@@ -8,6 +8,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.io.InputStream;
 
 /**
  * JSON util.
@@ -112,6 +113,53 @@ public final class JSONUtil {
         return JSON_FACADE.parseObject(json, clazz);
     }
 
+    /**
+     * 从输入流反序列化成对象
+     *
+     * @param json json
+     * @param clazz clazz
+     * @param <T> T
+     * @return 对象
+     */
+    public static <T> T parseObject(InputStream json, Class<T> clazz) {
+        if (Objects.isNull(json)) {
+            return null;
+        }
+        return JSON_FACADE.parseObject(json, clazz);
+    }
+
+    /**
+     * 从输入流反序列化成对象
+     *
+     * @param json json
+     * @param clazz clazz
+     * @param <T> T
+     * @return 对象
+     */
+    public static <T> T parseObject(InputStream json, TypeReference<T> clazz) {
+        if (Objects.isNull(json)) {
+            return null;
+        }
+        return JSON_FACADE.parseObject(json, clazz);
+    }
+
+    /**
+     * 从输入流反序列化成泛型对象
+     *
+     * @param json json
+     * @param parametrized 泛型类
+     * @param parameterClasses 泛型参数类
+     * @param <T> T
+     * @return 对象
+     */
+    public static <T> T parseParametricObject(InputStream json, Class<?> parametrized,
+        Class<?>... parameterClasses) {
+        if (Objects.isNull(json)) {
+            return null;
+        }
+        return JSON_FACADE.parseParametricObject(json, parametrized, parameterClasses);
+    }
+
     /**
      * 反序列化成对象
      *
@@ -0,0 +1,392 @@
+package com.openquartz.easyfile.common.util;
+
+import com.openquartz.easyfile.common.concurrent.ThreadFactoryBuilder;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Calendar;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * 分块并行压缩的单文件zip输出流
+ * <p>
+ * 写入的数据按固定大小分块,每块使用独立的{@link Deflater} 在共享线程池中并行压缩:
+ * <ul>
+ *     <li>以前一块末尾32KB数据作为预置字典,压缩率与单线程压缩基本一致</li>
+ *     <li>非最后一块以 SYNC_FLUSH 结束,按块顺序拼接后即为完整的deflate数据</li>
+ *     <li>CRC在写入线程中按顺序计算</li>
+ * </ul>
+ * 压缩数据按块顺序直接写入zip文件,关闭时回写文件头中的CRC及大小并写入中央目录,超过4GB时使用ZIP64格式。
+ * 压缩线程池由全部输出流共享,线程数不超过CPU核数,单个输出流的在途块数按压缩线程数限制。
+ * 非线程安全。
+ *
+ * @author svnee
+ */
+public class ParallelDeflateZipOutputStream extends OutputStream {
+
+    private static final int BLOCK_SIZE = 128 * 1024;
+
+    /**
+     * deflate 滑动窗口大小
+     */
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    private static final int DEFLATE_BUFFER_SIZE = 16 * 1024;
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 在途(已提交未写出)块数为压缩线程数的倍数
+     */
+    private static final int PENDING_BLOCK_FACTOR = 2;
+
+    private static final int LOCAL_FILE_HEADER_SIG = 0x04034b50;
+    private static final int CENTRAL_FILE_HEADER_SIG = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIR_SIG = 0x06054b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIR_SIG = 0x06064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIR_LOCATOR_SIG = 0x07064b50;
+
+    private static final short ZIP64_EXTRA_ID = 0x0001;
+    private static final short ZIP64_EXTRA_DATA_SIZE = 16;
+    private static final short ZIP64_EXTRA_SIZE = 20;
+
+    private static final short VERSION_DEFAULT = 20;
+    private static final short VERSION_ZIP64 = 45;
+
+    /**
+     * 文件名使用UTF-8编码
+     */
+    private static final short FLAG_UTF8 = 0x0800;
+    private static final short METHOD_DEFLATED = 8;
+
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+    /**
+     * 本地文件头中CRC及版本的偏移
+     */
+    private static final int LOCAL_VERSION_OFFSET = 4;
+    private static final int LOCAL_CRC_OFFSET = 14;
+    private static final int LOCAL_HEADER_SIZE = 30;
+
+    private static final ThreadPoolExecutor DEFLATE_EXECUTOR;
+
+    static {
+        int nThreads = Runtime.getRuntime().availableProcessors();
+        DEFLATE_EXECUTOR = new ThreadPoolExecutor(nThreads, nThreads, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat("ParallelDeflate-thread-%d")
+                .setDaemon(true)
+                .build());
+        DEFLATE_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    private final byte[] entryName;
+    private final int level;
+    private final RandomAccessFile targetFile;
+    private final OutputStream out;
+    private final int maxPendingBlocks;
+    private final Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+    private final CRC32 crc = new CRC32();
+    private final long dosTime = toDosTime(System.currentTimeMillis());
+
+    private byte[] block = new byte[BLOCK_SIZE];
+    private int position;
+    private byte[] previousBlock;
+    private long size;
+    private long compressedSize;
+    private boolean closed;
+
+    /**
+     * @param targetFile 目标zip文件
+     * @param entryName zip中的文件名
+     * @param threadNum 压缩线程数
+     * @param level 压缩级别 {@link Deflater#DEFAULT_COMPRESSION} 或 0-9
+     * @throws IOException IO异常
+     */
+    public ParallelDeflateZipOutputStream(File targetFile, String entryName, int threadNum, int level)
+        throws IOException {
+        this.entryName = entryName.getBytes(StandardCharsets.UTF_8);
+        this.level = level;
+        this.maxPendingBlocks = Math.max(threadNum, 1) * PENDING_BLOCK_FACTOR;
+        this.targetFile = new RandomAccessFile(targetFile, "rw");
+        try {
+            this.targetFile.setLength(0);
+            this.out = new BufferedOutputStream(Channels.newOutputStream(this.targetFile.getChannel()),
+                WRITE_BUFFER_SIZE);
+            writeLocalFileHeader();
+        } catch (IOException ex) {
+            this.targetFile.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        block[position++] = (byte) b;
+        if (position == BLOCK_SIZE) {
+            submitBlock(false);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            int length = Math.min(len, BLOCK_SIZE - position);
+            System.arraycopy(b, off, block, position, length);
+            position += length;
+            off += length;
+            len -= length;
+            if (position == BLOCK_SIZE) {
+                submitBlock(false);
+            }
+        }
+    }
+
+    /**
+     * 数据按块压缩,不支持中途刷新
+     */
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            submitBlock(true);
+            while (!pendingBlocks.isEmpty()) {
+                writeBlock(pendingBlocks.pollFirst());
+            }
+            writeCentralDirectory();
+            out.flush();
+            rewriteLocalFileHeader();
+        } finally {
+            // 异常时取消未完成的压缩块
+            pendingBlocks.forEach(future -> future.cancel(true));
+            pendingBlocks.clear();
+            targetFile.close();
+        }
+    }
+
+    private void submitBlock(boolean last) throws IOException {
+        final byte[] input = block;
+        final int length = position;
+        final byte[] dictionary = previousBlock;
+        crc.update(input, 0, length);
+        size += length;
+        pendingBlocks.addLast(DEFLATE_EXECUTOR.submit(() -> deflate(dictionary, input, length, last)));
+
+        previousBlock = input;
+        block = new byte[BLOCK_SIZE];
+        position = 0;
+        while (pendingBlocks.size() > maxPendingBlocks) {
+            writeBlock(pendingBlocks.pollFirst());
+        }
+    }
+
+    private void writeBlock(Future<byte[]> future) throws IOException {
+        byte[] compressed;
+        try {
+            compressed = future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("parallel deflate interrupted");
+        } catch (ExecutionException ex) {
+            throw new IOException("parallel deflate error", ex.getCause());
+        }
+        out.write(compressed);
+        compressedSize += compressed.length;
+    }
+
+    private byte[] deflate(byte[] dictionary, byte[] input, int length, boolean last) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary, dictionary.length - DICTIONARY_SIZE, DICTIONARY_SIZE);
+            }
+            deflater.setInput(input, 0, length);
+            ByteArrayOutputStream blockOut = new ByteArrayOutputStream(length / 2 + DEFLATE_BUFFER_SIZE);
+            byte[] buffer = new byte[DEFLATE_BUFFER_SIZE];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    blockOut.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                int count;
+                do {
+                    count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    blockOut.write(buffer, 0, count);
+                } while (count == buffer.length);
+            }
+            return blockOut.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private boolean isZip64() {
+        return size >= ZIP64_MAGIC || compressedSize >= ZIP64_MAGIC;
+    }
+
+    /**
+     * 写入本地文件头, 大小未知时预留ZIP64扩展字段, 关闭时回写
+     */
+    private void writeLocalFileHeader() throws IOException {
+        ByteBuffer buffer = newBuffer(LOCAL_HEADER_SIZE + entryName.length + ZIP64_EXTRA_SIZE);
+        buffer.putInt(LOCAL_FILE_HEADER_SIG);
+        buffer.putShort(VERSION_ZIP64);
+        buffer.putShort(FLAG_UTF8);
+        buffer.putShort(METHOD_DEFLATED);
+        buffer.putInt((int) dosTime);
+        buffer.putInt(0);
+        buffer.putInt((int) ZIP64_MAGIC);
+        buffer.putInt((int) ZIP64_MAGIC);
+        buffer.putShort((short) entryName.length);
+        buffer.putShort(ZIP64_EXTRA_SIZE);
+        buffer.put(entryName);
+        buffer.putShort(ZIP64_EXTRA_ID);
+        buffer.putShort(ZIP64_EXTRA_DATA_SIZE);
+        buffer.putLong(0L);
+        buffer.putLong(0L);
+        out.write(buffer.array());
+    }
+
+    /**
+     * 回写本地文件头中的版本、CRC及大小
+     */
+    private void rewriteLocalFileHeader() throws IOException {
+        boolean zip64 = isZip64();
+        ByteBuffer version = newBuffer(2);
+        version.putShort(zip64 ? VERSION_ZIP64 : VERSION_DEFAULT);
+        targetFile.seek(LOCAL_VERSION_OFFSET);
+        targetFile.write(version.array());
+
+        ByteBuffer crcAndSize = newBuffer(12);
+        crcAndSize.putInt((int) crc.getValue());
+        crcAndSize.putInt((int) (zip64 ? ZIP64_MAGIC : compressedSize));
+        crcAndSize.putInt((int) (zip64 ? ZIP64_MAGIC : size));
+        targetFile.seek(LOCAL_CRC_OFFSET);
+        targetFile.write(crcAndSize.array());
+
+        ByteBuffer zip64Size = newBuffer(16);
+        zip64Size.putLong(size);
+        zip64Size.putLong(compressedSize);
+        targetFile.seek(LOCAL_HEADER_SIZE + entryName.length + 4L);
+        targetFile.write(zip64Size.array());
+    }
+
+    /**
+     * 写入中央目录及目录结束标识
+     */
+    private void writeCentralDirectory() throws IOException {
+        boolean zip64 = isZip64();
+        long centralDirectoryOffset = LOCAL_HEADER_SIZE + entryName.length + ZIP64_EXTRA_SIZE + compressedSize;
+        int extraSize = zip64 ? ZIP64_EXTRA_SIZE : 0;
+        short version = zip64 ? VERSION_ZIP64 : VERSION_DEFAULT;
+
+        ByteBuffer centralDirectory = newBuffer(46 + entryName.length + extraSize);
+        centralDirectory.putInt(CENTRAL_FILE_HEADER_SIG);
+        centralDirectory.putShort(version);
+        centralDirectory.putShort(version);
+        centralDirectory.putShort(FLAG_UTF8);
+        centralDirectory.putShort(METHOD_DEFLATED);
+        centralDirectory.putInt((int) dosTime);
+        centralDirectory.putInt((int) crc.getValue());
+        centralDirectory.putInt((int) (zip64 ? ZIP64_MAGIC : compressedSize));
+        centralDirectory.putInt((int) (zip64 ? ZIP64_MAGIC : size));
+        centralDirectory.putShort((short) entryName.length);
+        centralDirectory.putShort((short) extraSize);
+        // 注释长度、起始磁盘号、内部属性
+        centralDirectory.putShort((short) 0);
+        centralDirectory.putShort((short) 0);
+        centralDirectory.putShort((short) 0);
+        // 外部属性、本地文件头偏移
+        centralDirectory.putInt(0);
+        centralDirectory.putInt(0);
+        centralDirectory.put(entryName);
+        if (zip64) {
+            centralDirectory.putShort(ZIP64_EXTRA_ID);
+            centralDirectory.putShort(ZIP64_EXTRA_DATA_SIZE);
+            centralDirectory.putLong(size);
+            centralDirectory.putLong(compressedSize);
+        }
+        out.write(centralDirectory.array());
+
+        long centralDirectorySize = centralDirectory.capacity();
+        if (zip64) {
+            long zip64EndOffset = centralDirectoryOffset + centralDirectorySize;
+            ByteBuffer zip64End = newBuffer(56 + 20);
+            zip64End.putInt(ZIP64_END_OF_CENTRAL_DIR_SIG);
+            zip64End.putLong(44L);
+            zip64End.putShort(VERSION_ZIP64);
+            zip64End.putShort(VERSION_ZIP64);
+            zip64End.putInt(0);
+            zip64End.putInt(0);
+            zip64End.putLong(1L);
+            zip64End.putLong(1L);
+            zip64End.putLong(centralDirectorySize);
+            zip64End.putLong(centralDirectoryOffset);
+            zip64End.putInt(ZIP64_END_OF_CENTRAL_DIR_LOCATOR_SIG);
+            zip64End.putInt(0);
+            zip64End.putLong(zip64EndOffset);
+            zip64End.putInt(1);
+            out.write(zip64End.array());
+        }
+
+        // ZIP64格式时以ZIP64目录结束记录为准
+        ByteBuffer end = newBuffer(22);
+        end.putInt(END_OF_CENTRAL_DIR_SIG);
+        end.putShort((short) 0);
+        end.putShort((short) 0);
+        end.putShort((short) (zip64 ? ZIP64_MAGIC_COUNT : 1));
+        end.putShort((short) (zip64 ? ZIP64_MAGIC_COUNT : 1));
+        end.putInt((int) (zip64 ? ZIP64_MAGIC : centralDirectorySize));
+        end.putInt((int) (zip64 ? ZIP64_MAGIC : centralDirectoryOffset));
+        end.putShort((short) 0);
+        out.write(end.array());
+    }
+
+    private static ByteBuffer newBuffer(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * 转换为MS-DOS日期时间, 低16位为时间, 高16位为日期
+     */
+    private static long toDosTime(long millis) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(millis);
+        int year = calendar.get(Calendar.YEAR);
+        if (year < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return ((year - 1980L) << 25)
+            | ((long) (calendar.get(Calendar.MONTH) + 1) << 21)
+            | ((long) calendar.get(Calendar.DAY_OF_MONTH) << 16)
+            | ((long) calendar.get(Calendar.HOUR_OF_DAY) << 11)
+            | ((long) calendar.get(Calendar.MINUTE) << 5)
+            | ((long) calendar.get(Calendar.SECOND) >> 1);
+    }
+}
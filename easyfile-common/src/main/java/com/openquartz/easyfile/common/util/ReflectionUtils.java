@@ -61,14 +61,8 @@ public final class ReflectionUtils {
     public static Object reflectiveGetFieldValue(Object obj, Field filed) {
         Class<?> clazz = obj.getClass();
         try {
-            Method getterMethod;
-            if (boolean.class.isAssignableFrom((filed.getType()))) {
-                getterMethod = org.springframework.util.ReflectionUtils
-                    .findMethod(clazz, booleanGetterMethodName(filed.getName()));
-            } else {
-                getterMethod = org.springframework.util.ReflectionUtils
-                    .findMethod(clazz, commonGetterMethodName(filed.getName()));
-            }
+            Method getterMethod = org.springframework.util.ReflectionUtils
+                .findMethod(clazz, getterMethodName(filed));
             assert getterMethod != null;
             return getterMethod.invoke(obj);
         } catch (Exception e) {
@@ -77,6 +71,19 @@ public final class ReflectionUtils {
         }
     }
 
+    /**
+     * 获取字段对应的Getter方法名
+     *
+     * @param filed field
+     * @return getter method name
+     */
+    static String getterMethodName(Field filed) {
+        if (boolean.class.isAssignableFrom(filed.getType())) {
+            return booleanGetterMethodName(filed.getName());
+        }
+        return commonGetterMethodName(filed.getName());
+    }
+
     private static String booleanGetterMethodName(String fieldName) {
         return "is" + firstIndexToUpper(fieldName);
     }
@@ -3,11 +3,13 @@ package com.openquartz.easyfile.common.util.json;
 import static com.openquartz.easyfile.common.util.ExceptionUtils.rethrow;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.CollectionType;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.List;
@@ -91,6 +93,32 @@ public abstract class JacksonHandler implements JsonFacade {
         }
     }
 
+    @Override
+    public <T> T parseObject(InputStream json, Class<T> type) {
+        return parseObject(json, mapper.getTypeFactory().constructType(type));
+    }
+
+    @Override
+    public <T> T parseObject(InputStream json, TypeReference<T> typeReference) {
+        return parseObject(json, mapper.getTypeFactory().constructType(typeReference.getType()));
+    }
+
+    @Override
+    public <T> T parseParametricObject(InputStream json, Class<?> parametrized, Class<?>... parameterClasses) {
+        return parseObject(json, mapper.getTypeFactory().constructParametricType(parametrized, parameterClasses));
+    }
+
+    private <T> T parseObject(InputStream json, JavaType javaType) {
+        try (JsonParser parser = mapper.getFactory().createParser(json)) {
+            if (parser.nextToken() == null) {
+                return null;
+            }
+            return mapper.readValue(parser, javaType);
+        } catch (IOException e) {
+            return rethrow(e);
+        }
+    }
+
     @Override
     public <T> List<T> parseArray(String text, Class<T> clazz) {
         return parseCollection(text, List.class, clazz);
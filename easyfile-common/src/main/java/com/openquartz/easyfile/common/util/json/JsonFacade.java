@@ -2,6 +2,7 @@ package com.openquartz.easyfile.common.util.json;
 
 import java.util.List;
 import java.util.Set;
+import java.io.InputStream;
 
 /**
  * Json facade.
@@ -58,6 +59,37 @@ public interface JsonFacade {
      */
     <T> T parseObject(byte[] json, TypeReference<T> typeReference);
 
+    /**
+     * 从输入流反序列化, 输入流为空时返回null
+     *
+     * @param json json
+     * @param type type
+     * @param <T> T
+     * @return T
+     */
+    <T> T parseObject(InputStream json, Class<T> type);
+
+    /**
+     * 从输入流反序列化, 输入流为空时返回null
+     *
+     * @param json json
+     * @param typeReference type
+     * @param <T> T
+     * @return T
+     */
+    <T> T parseObject(InputStream json, TypeReference<T> typeReference);
+
+    /**
+     * 从输入流反序列化泛型对象, 输入流为空时返回null
+     *
+     * @param json json
+     * @param parametrized 泛型类
+     * @param parameterClasses 泛型参数类
+     * @param <T> T
+     * @return T
+     */
+    <T> T parseParametricObject(InputStream json, Class<?> parametrized, Class<?>... parameterClasses);
+
     /**
      * Parse array.
      *
@@ -1,5 +1,6 @@
 package com.openquartz.easyfile.common.util.page;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import com.openquartz.easyfile.common.bean.excel.ExcelBean;
@@ -58,6 +59,26 @@ public final class PageTotalContext {
         }
     }
 
+    /**
+     * 当前线程PageTotal快照, 用于将上下文显式传递到执行线程
+     *
+     * @return 快照
+     */
+    public static Map<Object, PageTotal> snapshot() {
+        return new HashMap<>(currentAllPageTotal());
+    }
+
+    /**
+     * 恢复PageTotal快照到当前线程
+     *
+     * @param snapshot 快照
+     */
+    public static void restore(Map<Object, PageTotal> snapshot) {
+        if (MapUtils.isNotEmpty(snapshot)) {
+            currentAllPageTotal().putAll(snapshot);
+        }
+    }
+
     /**
      * 清除
      */
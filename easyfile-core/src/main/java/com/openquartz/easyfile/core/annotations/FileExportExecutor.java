@@ -6,6 +6,8 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import com.openquartz.easyfile.common.bean.BaseDownloaderRequestContext;
+import com.openquartz.easyfile.common.dictionary.CompressModeEnum;
+import com.openquartz.easyfile.common.dictionary.ExportPriorityEnum;
 import com.openquartz.easyfile.common.util.StringUtils;
 
 /**
@@ -70,4 +72,38 @@ public @interface FileExportExecutor {
      * 支持SpringEL表达式
      */
     String[] cacheKey() default {};
+
+    /**
+     * 分页数据预取并发数
+     * 仅对分页导出执行器生效。小于等于0时在当前线程中串行拉取并写入。
+     * 大于0时由独立的拉取线程预取分页数据,与写入并行执行;游标分页时固定使用单个拉取线程按cursorId顺序预取
+     */
+    int pageFetchConcurrency() default 0;
+
+    /**
+     * 分页数据预取缓冲页数
+     * 即最多在途(已拉取未写入)的页数,小于等于0时默认为{@link #pageFetchConcurrency()}的2倍。
+     * 多Sheet并发导出时为每个Sheet分组最多缓冲的页数,小于等于0时不限制
+     */
+    int pageFetchBufferSize() default 0;
+
+    /**
+     * 多Sheet分组并发数
+     * 仅对多Sheet分页导出执行器生效。小于等于0时按分组顺序串行查询并写入。
+     * 大于0时各分组的查询在独立的拉取线程中并发执行,写入仍按分组顺序在当前线程中执行
+     */
+    int sheetConcurrency() default 0;
+
+    /**
+     * 文件压缩模式
+     * 默认按全局压缩配置执行;{@link CompressModeEnum#STREAM} 时强制在生成文件时直接写入zip;{@link CompressModeEnum#NONE} 时不压缩
+     * {@link CompressModeEnum#AUTO} 时仅在执行器可预估文件大小(BaseDownloadExecutor#estimateFileSize)时边生成边压缩
+     */
+    CompressModeEnum compressMode() default CompressModeEnum.AUTO;
+
+    /**
+     * 异步导出优先级
+     * 异步处理器排队时按优先级权重及预估数据量(PageTotal)在各请求用户之间公平调度
+     */
+    ExportPriorityEnum priority() default ExportPriorityEnum.NORMAL;
 }
@@ -13,6 +13,8 @@ public enum GenerateFileErrorCode implements EasyFileErrorCode {
     FILE_NAME_DUPLICATE_ERROR("01", "生成文件名重复"),
     /*本地临时文件目录创建失败*/
     CREATE_LOCAL_TEMP_FILE_ERROR("02", "创建本地临时目录失败"),
+    /*分片上传失败*/
+    UPLOAD_PART_ERROR("03", "分片上传失败"),
     ;
 
     /**
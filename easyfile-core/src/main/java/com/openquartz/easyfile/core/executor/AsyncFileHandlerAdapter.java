@@ -8,6 +8,7 @@ import com.openquartz.easyfile.common.bean.BaseDownloaderRequestContext;
 import com.openquartz.easyfile.common.bean.DownloaderRequestContext;
 import com.openquartz.easyfile.common.bean.Pair;
 import com.openquartz.easyfile.common.constants.Constants;
+import com.openquartz.easyfile.common.dictionary.CompressModeEnum;
 import com.openquartz.easyfile.common.dictionary.FileSuffixEnum;
 import com.openquartz.easyfile.common.dictionary.UploadStatusEnum;
 import com.openquartz.easyfile.common.exception.Asserts;
@@ -19,6 +20,7 @@ import com.openquartz.easyfile.common.util.CompressUtils;
 import com.openquartz.easyfile.common.util.DateFormatUtils;
 import com.openquartz.easyfile.common.util.ExceptionUtils;
 import com.openquartz.easyfile.common.util.FileUtils;
+import com.openquartz.easyfile.common.util.ParallelDeflateZipOutputStream;
 import com.openquartz.easyfile.common.util.SpringContextUtil;
 import com.openquartz.easyfile.common.util.StringUtils;
 import com.openquartz.easyfile.common.util.page.PageTotalContext;
@@ -27,15 +29,21 @@ import com.openquartz.easyfile.core.exception.GenerateFileErrorCode;
 import com.openquartz.easyfile.core.exception.GenerateFileException;
 import com.openquartz.easyfile.core.executor.bean.GenerateFileResult;
 import com.openquartz.easyfile.core.executor.bean.HandleFileResult;
+import com.openquartz.easyfile.core.executor.process.ExecuteProcessFlusher;
 import com.openquartz.easyfile.core.executor.process.ExecuteProcessReporterImpl;
+import com.openquartz.easyfile.core.executor.support.AdaptiveConcurrencyLimiter;
+import com.openquartz.easyfile.core.executor.support.MultipartFileUploader;
+import com.openquartz.easyfile.core.executor.support.FileExportTriggerContext;
 import com.openquartz.easyfile.core.intercept.DownloadExecutorInterceptor;
 import com.openquartz.easyfile.core.intercept.ExecutorInterceptorSupport;
 import com.openquartz.easyfile.core.intercept.InterceptorContext;
 import com.openquartz.easyfile.core.property.IEasyFileDownloadProperty;
 import com.openquartz.easyfile.storage.download.DownloadStorageService;
+import com.openquartz.easyfile.storage.file.MultipartUploadService;
 import com.openquartz.easyfile.storage.file.UploadService;
 import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.util.Comparator;
@@ -59,12 +67,28 @@ public abstract class AsyncFileHandlerAdapter implements BaseAsyncFileHandler {
     private final IEasyFileDownloadProperty downloadProperties;
     private final UploadService uploadService;
     private final DownloadStorageService downloadStorageService;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final ExecuteProcessFlusher processFlusher;
 
     protected AsyncFileHandlerAdapter(IEasyFileDownloadProperty downloadProperties, UploadService uploadService,
         DownloadStorageService storageService) {
         this.downloadProperties = downloadProperties;
         this.downloadStorageService = storageService;
         this.uploadService = uploadService;
+        this.concurrencyLimiter = initConcurrencyLimiter(downloadProperties);
+        this.processFlusher = downloadProperties.getProcessFlushIntervalMillis() > 0
+            ? new ExecuteProcessFlusher(storageService, downloadProperties.getProcessFlushIntervalMillis())
+            : null;
+    }
+
+    private AdaptiveConcurrencyLimiter initConcurrencyLimiter(IEasyFileDownloadProperty downloadProperties) {
+        if (!downloadProperties.isAdaptiveLimitEnable()) {
+            return null;
+        }
+        return new AdaptiveConcurrencyLimiter(downloadProperties.getAdaptiveLimitInitial(),
+            downloadProperties.getAdaptiveLimitMin(), downloadProperties.getAdaptiveLimitMax(),
+            downloadProperties.getAdaptiveLimitLatencyTolerance(),
+            downloadProperties.getAdaptiveLimitHeapUsageThreshold());
     }
 
     @Override
@@ -89,8 +113,9 @@ public abstract class AsyncFileHandlerAdapter implements BaseAsyncFileHandler {
             }
         }
 
-        // 校验是否可以执行运行
-        if (!downloadStorageService.enableRunning(registerId)) {
+        // 校验是否可以执行运行, 已准备执行的无需重复开启
+        boolean prepared = Objects.nonNull(FileExportTriggerContext.getPreparedExecution(registerId));
+        if (!prepared && !downloadStorageService.enableRunning(registerId)) {
             logger.error("[AsyncFileHandlerAdapter#handleResult] this registerId has running!skip,registerId:{}",
                 registerId);
             return buildDefaultRejectExportResult(registerId);
@@ -153,6 +178,23 @@ public abstract class AsyncFileHandlerAdapter implements BaseAsyncFileHandler {
      * @param registerId 注册ID
      */
     public void doExecute(BaseDownloadExecutor executor, BaseDownloaderRequestContext baseRequest, Long registerId) {
+        if (Objects.isNull(concurrencyLimiter)) {
+            doActualExecute(executor, baseRequest, registerId);
+            return;
+        }
+        concurrencyLimiter.acquire();
+        try {
+            // 拉取流水线将分页查询耗时上报到本处理器的并发限制
+            FileExportTriggerContext.setConcurrencyLimiter(concurrencyLimiter);
+            doActualExecute(executor, baseRequest, registerId);
+        } finally {
+            FileExportTriggerContext.setConcurrencyLimiter(null);
+            concurrencyLimiter.release();
+        }
+    }
+
+    private void doActualExecute(BaseDownloadExecutor executor, BaseDownloaderRequestContext baseRequest,
+        Long registerId) {
         logger.info("[AsyncFileHandlerAdapter#execute]start,execute!registerId:{}", registerId);
         ExportResult result = null;
         InterceptorContext interceptorContext = InterceptorContext.newInstance();
@@ -201,7 +243,9 @@ public abstract class AsyncFileHandlerAdapter implements BaseAsyncFileHandler {
         // 生成英文版文件名
         long startTime = System.currentTimeMillis();
         String fileName = generateEnFileName(baseRequest.getFileSuffix(), exportExecutor, tempLocalFilePath);
-        File file = new File(fileName);
+        // 边生成边压缩时直接生成zip文件
+        boolean streamCompress = enableStreamCompress(executor, exportExecutor, baseRequest, registerId);
+        File file = new File(streamCompress ? fileName + FileSuffixEnum.ZIP.getFullFileSuffix() : fileName);
         File parentFile = file.getParentFile();
 
         // 异常信息
@@ -236,14 +280,17 @@ public abstract class AsyncFileHandlerAdapter implements BaseAsyncFileHandler {
                 handleBreakFlag = true;
             }
         }
+        MultipartFileUploader multipartUploader = null;
         if (!handleBreakFlag) {
-            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file.toPath()))) {
+            multipartUploader = createStreamingUploader(exportExecutor, baseRequest, streamCompress, registerId);
+            try (OutputStream out = openFileOutputStream(file, streamCompress ? new File(fileName).getName() : null,
+                multipartUploader)) {
 
                 //report execute-process
                 ExecuteProcessReporterImpl reporter = new ExecuteProcessReporterImpl(registerId,
-                    downloadStorageService);
+                    downloadStorageService, processFlusher, downloadProperties.getProcessMinReportDelta());
                 ExecuteProcessProbe.setCurrentReporter(reporter);
-                reporter.start();
+                reporter.start(Objects.isNull(FileExportTriggerContext.getPreparedExecution(registerId)));
 
                 DownloaderRequestContext requestContext = buildRequestDownloaderRequest(out, baseRequest);
                 executor.export(requestContext);
@@ -261,24 +308,136 @@ public abstract class AsyncFileHandlerAdapter implements BaseAsyncFileHandler {
             }
         }
         // 执行文件压缩
-        Pair<Boolean, File> compressResult = compress(file, handleBreakFlag);
+        Pair<Boolean, File> compressResult = streamCompress ? Pair.of(Boolean.TRUE, null)
+            : compress(file, exportExecutor, handleBreakFlag);
         compress = compressResult.getKey();
         logger.info(
-            "[AbstractAsyncFileHandlerAdapter#generateFile] registerId:{},downloadCode:{},generate-file bytes:{} kb,cost-time:{}",
-            registerId, exportExecutor.value(), FileUtils.sizeOfKb(file), System.currentTimeMillis() - startTime);
-        return GenerateFileResult
+            "[AbstractAsyncFileHandlerAdapter#generateFile] registerId:{},downloadCode:{},generate-file bytes:{} kb,stream-compress:{},cost-time:{}",
+            registerId, exportExecutor.value(), FileUtils.sizeOfKb(file), streamCompress,
+            System.currentTimeMillis() - startTime);
+        GenerateFileResult genFileResult = GenerateFileResult
             .build(errorMsgJoiner, file, compressResult.getValue(), handleBreakFlag, compress);
+        genFileResult.setMultipartUploader(multipartUploader);
+        return genFileResult;
+    }
+
+    /**
+     * 创建边生成边上传的分片上传
+     * 上传服务支持分片上传,且生成的文件即为最终上传的文件(生成后不再压缩)时开启
+     *
+     * @param exportExecutor 执行器注解
+     * @param baseRequest 请求
+     * @param streamCompress 是否边生成边压缩
+     * @param registerId 注册ID
+     * @return 分片上传, 不支持时为空
+     */
+    private MultipartFileUploader createStreamingUploader(FileExportExecutor exportExecutor,
+        BaseDownloaderRequestContext baseRequest,
+        boolean streamCompress,
+        Long registerId) {
+        if (!(uploadService instanceof MultipartUploadService)) {
+            return null;
+        }
+        boolean postCompress = !streamCompress
+            && downloadProperties.isEnableCompressFile()
+            && exportExecutor.compressMode() != CompressModeEnum.NONE
+            && !isZipCompress(baseRequest.getFileSuffix());
+        // 并行压缩时在关闭输出流时才写入zip文件
+        boolean parallelCompress = streamCompress && downloadProperties.getCompressThreadNum() > 1;
+        if (postCompress || parallelCompress) {
+            return null;
+        }
+        MultipartFileUploader uploader = new MultipartFileUploader((MultipartUploadService) uploadService,
+            exportExecutor.value(), genCnFileName(baseRequest.getFileSuffix(), exportExecutor, streamCompress),
+            downloadProperties.getAppId());
+        try {
+            uploader.initiate();
+            return uploader;
+        } catch (Exception ex) {
+            logger.warn(
+                "[AsyncFileHandlerAdapter#createStreamingUploader] initiate multipart upload error,registerId:{},downloadCode:{}",
+                registerId, exportExecutor.value(), ex);
+            uploader.close();
+            return null;
+        }
+    }
+
+    /**
+     * 是否边生成边压缩
+     * 执行器指定{@link CompressModeEnum#STREAM} 时强制开启; {@link CompressModeEnum#AUTO} 时开启了文件压缩且预估文件大小不小于压缩阈值时开启
+     *
+     * @param executor 执行器
+     * @param exportExecutor 执行器注解
+     * @param baseRequest 请求
+     * @param registerId 注册ID
+     * @return 是否边生成边压缩
+     */
+    private boolean enableStreamCompress(BaseDownloadExecutor executor,
+        FileExportExecutor exportExecutor,
+        BaseDownloaderRequestContext baseRequest,
+        Long registerId) {
+        if (isZipCompress(baseRequest.getFileSuffix())) {
+            return false;
+        }
+        if (exportExecutor.compressMode() != CompressModeEnum.AUTO) {
+            return exportExecutor.compressMode() == CompressModeEnum.STREAM;
+        }
+        if (!downloadProperties.isEnableCompressFile()) {
+            return false;
+        }
+        try {
+            long estimateFileSize = executor.estimateFileSize(baseRequest);
+            long minCompressSize = downloadProperties.getMinEnableCompressMbSize() * Constants.ONE_MB.longValue();
+            return estimateFileSize >= 0 && estimateFileSize >= minCompressSize;
+        } catch (Exception ex) {
+            logger.warn(
+                "[AsyncFileHandlerAdapter#enableStreamCompress] estimate file size error,registerId:{},downloadCode:{}",
+                registerId, exportExecutor.value(), ex);
+            return false;
+        }
+    }
+
+    /**
+     * 打开生成文件输出流
+     *
+     * @param file 文件
+     * @param zipEntryName 边生成边压缩时zip中的文件名,为空时不压缩
+     * @param multipartUploader 边生成边上传的分片上传,为空时不上传
+     * @return 输出流
+     * @throws IOException IO异常
+     */
+    private OutputStream openFileOutputStream(File file, String zipEntryName,
+        MultipartFileUploader multipartUploader) throws IOException {
+        if (Objects.nonNull(zipEntryName) && downloadProperties.getCompressThreadNum() > 1) {
+            return new ParallelDeflateZipOutputStream(file, zipEntryName, downloadProperties.getCompressThreadNum(),
+                downloadProperties.getCompressLevel());
+        }
+        OutputStream fileOut = Files.newOutputStream(file.toPath());
+        OutputStream out = new BufferedOutputStream(
+            Objects.nonNull(multipartUploader) ? multipartUploader.wrap(fileOut) : fileOut);
+        if (Objects.isNull(zipEntryName)) {
+            return out;
+        }
+        try {
+            return new BufferedOutputStream(
+                CompressUtils.zipEntry(out, zipEntryName, downloadProperties.getCompressLevel()));
+        } catch (IOException ex) {
+            out.close();
+            throw ex;
+        }
     }
 
     /**
      * 压缩文件
      *
      * @param file 文件
+     * @param exportExecutor 执行器注解
      * @param handleBreakFlag 处理中断标记
      * @return key:是否执行压缩成功/value:压缩文件
      */
-    private Pair<Boolean, File> compress(final File file, boolean handleBreakFlag) {
-        if (handleBreakFlag || !downloadProperties.isEnableCompressFile()) {
+    private Pair<Boolean, File> compress(final File file, FileExportExecutor exportExecutor, boolean handleBreakFlag) {
+        if (handleBreakFlag || !downloadProperties.isEnableCompressFile()
+            || exportExecutor.compressMode() == CompressModeEnum.NONE) {
             return Pair.of(false, null);
         }
         // 是正常未压缩的文件.且文件当前的大小大于文件压缩的阀值
@@ -291,9 +450,10 @@ public abstract class AsyncFileHandlerAdapter implements BaseAsyncFileHandler {
             // 直接执行压缩
             // 获取文件的绝对路径
             try {
-                String path = file.getAbsolutePath();
-                CompressUtils.zip(path, path + FileSuffixEnum.ZIP.getFullFileSuffix());
-                return Pair.of(Boolean.TRUE, new File(path + FileSuffixEnum.ZIP.getFullFileSuffix()));
+                File compressFile = new File(file.getAbsolutePath() + FileSuffixEnum.ZIP.getFullFileSuffix());
+                CompressUtils.zipFile(file, compressFile, downloadProperties.getCompressThreadNum(),
+                    downloadProperties.getCompressLevel());
+                return Pair.of(Boolean.TRUE, compressFile);
             } catch (Exception ex) {
                 logger
                     .error("[AsyncFileHandleAdapter#compress] compress file fail! path:{}", file.getAbsolutePath(), ex);
@@ -302,6 +462,18 @@ public abstract class AsyncFileHandlerAdapter implements BaseAsyncFileHandler {
         return Pair.of(Boolean.FALSE, null);
     }
 
+    /**
+     * 是否已经是压缩文件
+     *
+     * @param fileSuffix 文件后缀
+     * @return 是否已经是zip压缩文件
+     */
+    private boolean isZipCompress(String fileSuffix) {
+        return StringUtils.isNotBlank(fileSuffix)
+            && (FileSuffixEnum.ZIP.getCode().equalsIgnoreCase(fileSuffix)
+            || FileSuffixEnum.ZIP.getFullFileSuffix().equalsIgnoreCase(fileSuffix));
+    }
+
     /**
      * 是否已经是压缩文件
      *
@@ -339,6 +511,15 @@ public abstract class AsyncFileHandlerAdapter implements BaseAsyncFileHandler {
         // 生成文件
         GenerateFileResult genFileResult = generateFile(executor, exportExecutor, baseRequest, registerId,
             downloadProperties.getLocalFileTempPath());
+        if (!genFileResult.isHandleBreakFlag()
+            && Objects.isNull(genFileResult.getMultipartUploader())
+            && uploadService instanceof MultipartUploadService) {
+            // 重试时复用同一分片上传,跳过已上传的分片
+            genFileResult.setMultipartUploader(new MultipartFileUploader((MultipartUploadService) uploadService,
+                exportExecutor.value(),
+                genCnFileName(baseRequest.getFileSuffix(), exportExecutor, genFileResult.isCompress()),
+                downloadProperties.getAppId()));
+        }
         try {
             return retryer.call(() -> {
                 Pair<String, String> fileUrl = null;
@@ -346,10 +527,16 @@ public abstract class AsyncFileHandlerAdapter implements BaseAsyncFileHandler {
                 String cnFileName = StringUtils.EMPTY;
                 if (!genFileResult.isHandleBreakFlag()) {
                     try {
-                        cnFileName = genCnFileName(baseRequest.getFileSuffix(), exportExecutor,
-                            genFileResult.isCompress());
-                        fileUrl = uploadService
-                            .upload(genFileResult.getUploadFile(), cnFileName, downloadProperties.getAppId());
+                        MultipartFileUploader multipartUploader = genFileResult.getMultipartUploader();
+                        if (Objects.nonNull(multipartUploader)) {
+                            cnFileName = multipartUploader.getFileName();
+                            fileUrl = multipartUploader.complete(genFileResult.getUploadFile());
+                        } else {
+                            cnFileName = genCnFileName(baseRequest.getFileSuffix(), exportExecutor,
+                                genFileResult.isCompress());
+                            fileUrl = uploadService
+                                .upload(genFileResult.getUploadFile(), cnFileName, downloadProperties.getAppId());
+                        }
                     } catch (GenerateFileException ex) {
                         throw ex;
                     } catch (Exception t) {
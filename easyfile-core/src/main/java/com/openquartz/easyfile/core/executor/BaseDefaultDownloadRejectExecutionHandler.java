@@ -1,5 +1,7 @@
 package com.openquartz.easyfile.core.executor;
 
+import com.openquartz.easyfile.core.exception.DownloadErrorCode;
+import com.openquartz.easyfile.core.exception.DownloadRejectExecuteException;
 import java.util.concurrent.RejectedExecutionHandler;
 
 /**
@@ -10,4 +12,13 @@ import java.util.concurrent.RejectedExecutionHandler;
  */
 public interface BaseDefaultDownloadRejectExecutionHandler extends RejectedExecutionHandler {
 
+    /**
+     * 虚拟线程执行时等待队列已满拒绝执行
+     *
+     * @param r 任务
+     */
+    default void rejectedExecution(Runnable r) {
+        throw new DownloadRejectExecuteException(DownloadErrorCode.DOWNLOAD_OVER_WAIT_NUM_REJECT);
+    }
+
 }
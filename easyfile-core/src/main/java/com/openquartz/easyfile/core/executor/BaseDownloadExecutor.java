@@ -56,6 +56,17 @@ public interface BaseDownloadExecutor {
         return Pair.of(Boolean.FALSE, null);
     }
 
+    /**
+     * 预估导出文件大小
+     * 异步导出开启压缩时,用于在生成文件前决定是否直接写入zip压缩流
+     *
+     * @param context 上下文请求对象
+     * @return 文件大小(字节),小于0时表示无法预估
+     */
+    default long estimateFileSize(BaseDownloaderRequestContext context) {
+        return -1L;
+    }
+
     /**
      * 异步下载执行完成回调
      *
@@ -5,6 +5,7 @@ import java.util.Map;
 import com.openquartz.easyfile.common.bean.BaseDownloaderRequestContext;
 import com.openquartz.easyfile.common.util.page.Page;
 import com.openquartz.easyfile.common.util.page.PageTotal;
+import com.openquartz.easyfile.common.util.page.PageTotalContext;
 import com.openquartz.easyfile.common.bean.Pair;
 
 /**
@@ -33,4 +34,48 @@ public interface PageShardingDownloadExecutor<T> extends BaseDownloadExecutor {
      */
     Pair<Long, List<T>> shardingData(BaseDownloaderRequestContext context, Page page, Long cursorId);
 
+    /**
+     * 是否基于游标分页
+     * 游标分页时每页查询依赖上一页返回的cursorId,只能顺序拉取;
+     * 偏移分页时(按{@link Page#getPageNum()}查询)各页相互独立,可以并发预取,此时cursorId恒为0
+     *
+     * @return 是否游标分页,默认:true
+     */
+    default boolean enableCursorSharding() {
+        return true;
+    }
+
+    /**
+     * 预估单行导出字节数
+     * 大于0时按{@link #count(Map)} 的总条数预估导出文件大小
+     *
+     * @return 单行字节数,默认:0 不预估
+     */
+    default int estimateRowSize() {
+        return 0;
+    }
+
+    /**
+     * 按总条数预估导出文件大小
+     * 查询的 PageTotal 会缓存到{@link PageTotalContext} 中,导出时不再重复查询
+     *
+     * @param context 上下文请求对象
+     * @return 文件大小(字节),小于0时表示无法预估
+     */
+    @Override
+    default long estimateFileSize(BaseDownloaderRequestContext context) {
+        if (estimateRowSize() <= 0) {
+            return -1L;
+        }
+        PageTotal total = PageTotalContext.currentPageToTal();
+        if (total == null) {
+            total = count(context.getOtherMap());
+            PageTotalContext.cache(total);
+        }
+        if (total == null || total.getTotal() == null) {
+            return -1L;
+        }
+        return (long) total.getTotal() * estimateRowSize();
+    }
+
 }
@@ -1,5 +1,6 @@
 package com.openquartz.easyfile.core.executor.bean;
 
+import com.openquartz.easyfile.core.executor.support.MultipartFileUploader;
 import java.io.File;
 import java.nio.file.Files;
 import java.util.Objects;
@@ -20,6 +21,7 @@ public class GenerateFileResult {
 
     /**
      * 生成文件
+     * 边生成边压缩时即为zip文件
      */
     private final File genFile;
 
@@ -34,10 +36,17 @@ public class GenerateFileResult {
     private boolean compress;
 
     /**
-     * 压缩文件
+     * 生成后压缩的文件
+     * 边生成边压缩时为空
      */
     private final File compressFile;
 
+    /**
+     * 分片上传
+     * 上传服务支持分片上传时不为空
+     */
+    private MultipartFileUploader multipartUploader;
+
     public GenerateFileResult(StringJoiner errorMsg, File genFile, File compressFile, boolean handleBreakFlag,
         boolean compress) {
         this.errorMsg = errorMsg;
@@ -85,13 +94,21 @@ public class GenerateFileResult {
         this.compress = compress;
     }
 
+    public MultipartFileUploader getMultipartUploader() {
+        return multipartUploader;
+    }
+
+    public void setMultipartUploader(MultipartFileUploader multipartUploader) {
+        this.multipartUploader = multipartUploader;
+    }
+
     /**
      * 获取需要上传的文件
      *
-     * @return 如果开启了压缩则走压缩文件, 否则使用原文件
+     * @return 如果生成后执行了压缩则走压缩文件, 否则使用原文件
      */
     public File getUploadFile() {
-        if (compress) {
+        if (compress && Objects.nonNull(compressFile)) {
             return compressFile;
         }
         return genFile;
@@ -99,9 +116,12 @@ public class GenerateFileResult {
 
     /**
      * 注销时,删除文件
-     * 删除原文件与压缩文件
+     * 删除原文件与压缩文件,释放分片上传
      */
     public void destroy(Logger logger, boolean cleanFileAfterUpload) {
+        if (Objects.nonNull(multipartUploader)) {
+            multipartUploader.close();
+        }
         try {
             // 上传完成时执行文件删除操作
             if (Objects.nonNull(genFile) && genFile.exists() && cleanFileAfterUpload) {
@@ -1,6 +1,8 @@
 package com.openquartz.easyfile.core.executor.impl;
 
 import javax.servlet.http.HttpServletResponse;
+import com.openquartz.easyfile.common.bean.DownloaderRequestContext;
+import com.openquartz.easyfile.common.bean.excel.CsvWriter;
 import com.openquartz.easyfile.core.executor.BaseDownloadExecutor;
 import com.openquartz.easyfile.core.executor.BaseWrapperSyncResponseHeader;
 
@@ -16,4 +18,24 @@ public abstract class AbstractDownloadCsvExecutor implements BaseDownloadExecuto
         ExportsResponseHeaderWrapper.wrapperCsv(response, "exports");
     }
 
+    /**
+     * 是否写入 UTF-8 BOM
+     * Excel 打开CSV文件时依赖BOM识别UTF-8编码
+     *
+     * @return 是否写入BOM
+     */
+    public boolean writeBom() {
+        return true;
+    }
+
+    /**
+     * 创建CSV写入
+     *
+     * @param context context
+     * @return csvWriter
+     */
+    protected CsvWriter createCsvWriter(DownloaderRequestContext context) {
+        return new CsvWriter(context.getOut(), writeBom());
+    }
+
 }
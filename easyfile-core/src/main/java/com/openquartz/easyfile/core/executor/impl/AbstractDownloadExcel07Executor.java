@@ -1,7 +1,15 @@
 package com.openquartz.easyfile.core.executor.impl;
 
+import com.openquartz.easyfile.common.bean.DownloaderRequestContext;
+import com.openquartz.easyfile.common.bean.excel.ExcelBean;
+import com.openquartz.easyfile.common.bean.excel.ExcelExports;
+import com.openquartz.easyfile.common.bean.excel.ExcelGenProperty;
+import com.openquartz.easyfile.common.util.CollectionUtils;
 import com.openquartz.easyfile.core.executor.BaseDownloadExecutor;
 import com.openquartz.easyfile.core.executor.BaseWrapperSyncResponseHeader;
+import com.openquartz.easyfile.core.executor.excel.ExcelIntensifier;
+import com.openquartz.easyfile.core.executor.excel.ExcelIntensifierExecutor;
+import java.util.List;
 import javax.servlet.http.HttpServletResponse;
 
 /**
@@ -17,4 +25,30 @@ public abstract class AbstractDownloadExcel07Executor implements BaseDownloadExe
         ExportsResponseHeaderWrapper.wrapperExcel07(response, "exports");
     }
 
+    /**
+     * 创建workbook
+     * 开启直写模式且不存在启用的Excel增强器时,Sheet数据直接写入{@link DownloaderRequestContext#getOut()}
+     *
+     * @param context context
+     * @return excelBean
+     */
+    protected ExcelBean createWorkbook(DownloaderRequestContext context) {
+        if (ExcelGenProperty.isDirectStreamWrite() && !requireWorkbook(context)) {
+            return ExcelExports.createDirectWorkbook(context.getOut());
+        }
+        return ExcelExports.createWorkbook();
+    }
+
+    /**
+     * Excel增强器需要基于完整的workbook执行
+     */
+    private boolean requireWorkbook(DownloaderRequestContext context) {
+        if (!(this instanceof ExcelIntensifierExecutor)) {
+            return false;
+        }
+        List<ExcelIntensifier> intensifierList = ((ExcelIntensifierExecutor) this).enhanceExcel();
+        return CollectionUtils.isNotEmpty(intensifierList)
+            && intensifierList.stream().anyMatch(e -> e.enable(context));
+    }
+
 }
@@ -2,6 +2,8 @@ package com.openquartz.easyfile.core.executor.impl;
 
 import com.openquartz.easyfile.core.executor.ExecuteProcessProbe;
 import com.openquartz.easyfile.core.executor.excel.ExcelIntensifierExecutor;
+import com.openquartz.easyfile.core.executor.support.SheetGroupFetchPipeline;
+import com.openquartz.easyfile.core.executor.support.SheetGroupFetchPipeline.GroupConsumer;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -20,12 +22,14 @@ import com.openquartz.easyfile.common.bean.excel.ExcelFiled;
 import com.openquartz.easyfile.common.constants.Constants;
 import com.openquartz.easyfile.common.util.CollectionUtils;
 import com.openquartz.easyfile.common.util.GenericUtils;
-import com.openquartz.easyfile.common.util.PageUtil;
+import com.openquartz.easyfile.common.util.SpringContextUtil;
 import com.openquartz.easyfile.common.annotations.ExcelProperty;
+import com.openquartz.easyfile.core.annotations.FileExportExecutor;
 import com.openquartz.easyfile.core.executor.BaseDownloadExecutor;
 
 /**
  * 多sheet分割导出
+ * 可通过{@link FileExportExecutor#sheetConcurrency()} 开启各Sheet分组并发查询,写入仍按分组顺序执行
  *
  * @param <T> 导出数据实体类对象
  * @param <G> 导出数据分组对象(按照Group 做分Sheet导出)
@@ -86,44 +90,48 @@ public abstract class AbstractMultiSheetPageDownloadExcelExecutor<T, G>
             return;
         }
 
-        try (ExcelBean excelBean = ExcelExports.createWorkbook()) {
+        try (ExcelBean excelBean = createWorkbook(context)) {
             List<ExcelFiled> fieldList = ExcelBeanUtils
                 .getExcelFiledByGroup(GenericUtils.getClassT(this, 0), exportGroup(context));
 
-            for (int j = 0; j < sheetGroupList.size(); j++) {
-                PageTotal total;
-                G sheetGroup = sheetGroupList.get(j);
-                if (PageTotalContext.currentPageToTal(sheetGroup) != null) {
-                    total = PageTotalContext.currentPageToTal(sheetGroup);
-                } else {
+            FileExportExecutor exportExecutor = SpringContextUtil.getRealClass(this)
+                .getAnnotation(FileExportExecutor.class);
+            SheetGroupFetchPipeline.<G, T>of(exportExecutor).execute(sheetGroupList,
+                sheetGroup -> {
+                    PageTotal total = PageTotalContext.currentPageToTal(sheetGroup);
                     // 执行 PageTotal 查询
-                    total = count(context.getOtherMap(), sheetGroup);
-                }
-                if (total.getTotal() <= 0) {
-                    // 无结果导出
-                    ExcelExports.writeHeader(excelBean, fieldList, sheetGroup.toString());
-                    continue;
-                }
-                int totalPage = PageUtil.totalPage(total.getTotal(), total.getPageSize());
-                Page page = new Page(1, total.getPageSize(), total.getTotal());
-                Long cursorId = 0L;
-                for (int i = 0; i < totalPage; i++) {
-                    page.setPageNum(i + 1);
-                    Pair<Long, List<T>> pair = shardingData(context, sheetGroup, page, cursorId);
-                    if (Objects.nonNull(pair)) {
-                        cursorId = pair.getKey();
-                        ExcelExports.writeData(excelBean, fieldList, pair.getValue(), sheetGroup.toString());
+                    return Objects.nonNull(total) ? total : count(context.getOtherMap(), sheetGroup);
+                },
+                (sheetGroup, page, cursorId) -> shardingData(context, sheetGroup, page, cursorId),
+                new GroupConsumer<G, T>() {
+
+                    @Override
+                    public void start(int groupIndex, G sheetGroup, PageTotal total) {
+                        if (total.getTotal() <= 0) {
+                            // 无结果导出
+                            ExcelExports.writeHeader(excelBean, fieldList, sheetGroup.toString());
+                        }
                     }
-                    // 执行进度
-                    int executeProcess = (int) (((i + 1) / (totalPage * Constants.DOUBLE_ONE))
-                        * ((j + 1) / (sheetGroupList.size() * Constants.DOUBLE_ONE)) * Constants.FULL_PROCESS);
-                    ExecuteProcessProbe.report(executeProcess);
-                }
-            }
+
+                    @Override
+                    public void accept(int groupIndex, G sheetGroup, int pageIndex, int totalPage,
+                        List<T> dataList) {
+                        if (Objects.nonNull(dataList)) {
+                            ExcelExports.writeData(excelBean, fieldList, dataList, sheetGroup.toString());
+                        }
+                        // 执行进度
+                        int executeProcess = (int) (((pageIndex + 1) / (totalPage * Constants.DOUBLE_ONE))
+                            * ((groupIndex + 1) / (sheetGroupList.size() * Constants.DOUBLE_ONE))
+                            * Constants.FULL_PROCESS);
+                        ExecuteProcessProbe.report(executeProcess);
+                    }
+                });
 
             excelBean.logExportInfo(log);
             // 增强Excel
-            executeEnhance(excelBean.getWorkbook(), context);
+            if (!excelBean.isDirectWrite()) {
+                executeEnhance(excelBean.getWorkbook(), context);
+            }
             ExcelExports.writeWorkbook(excelBean, context.getOut());
         }
     }
@@ -80,7 +80,7 @@ public abstract class AbstractMultiSheetStreamDownloadExcelExecutor<S extends Cl
         }
 
         // 创建workbook
-        try (ExcelBean excelBean = ExcelExports.createWorkbook()) {
+        try (ExcelBean excelBean = createWorkbook(context)) {
             List<ExcelFiled> fieldList = ExcelBeanUtils
                     .getExcelFiledByGroup(GenericUtils.getClassT(this, 2), exportGroup(context));
 
@@ -120,7 +120,9 @@ public abstract class AbstractMultiSheetStreamDownloadExcelExecutor<S extends Cl
                 }
                 excelBean.logExportInfo(log);
                 // 增强
-                this.executeEnhance(excelBean.getWorkbook(), context);
+                if (!excelBean.isDirectWrite()) {
+                    this.executeEnhance(excelBean.getWorkbook(), context);
+                }
                 ExcelExports.writeWorkbook(excelBean, context.getOut());
             } finally {
                 if (Objects.nonNull(session)) {
@@ -0,0 +1,77 @@
+package com.openquartz.easyfile.core.executor.impl;
+
+import com.openquartz.easyfile.common.annotations.ExcelProperty;
+import com.openquartz.easyfile.common.bean.BaseDownloaderRequestContext;
+import com.openquartz.easyfile.common.bean.DownloaderRequestContext;
+import com.openquartz.easyfile.common.bean.excel.CsvExports;
+import com.openquartz.easyfile.common.bean.excel.CsvWriter;
+import com.openquartz.easyfile.common.bean.excel.ExcelBeanUtils;
+import com.openquartz.easyfile.common.bean.excel.ExcelFiled;
+import com.openquartz.easyfile.common.constants.Constants;
+import com.openquartz.easyfile.common.util.GenericUtils;
+import com.openquartz.easyfile.common.util.SpringContextUtil;
+import com.openquartz.easyfile.common.util.page.PageTotal;
+import com.openquartz.easyfile.common.util.page.PageTotalContext;
+import com.openquartz.easyfile.core.annotations.FileExportExecutor;
+import com.openquartz.easyfile.core.executor.ExecuteProcessProbe;
+import com.openquartz.easyfile.core.executor.PageShardingDownloadExecutor;
+import com.openquartz.easyfile.core.executor.support.PageFetchPipeline;
+import java.util.List;
+import java.util.Objects;
+import javax.validation.groups.Default;
+
+/**
+ * 分页下载CSV执行器
+ * 同时 <T> 泛型为导出实体类对象
+ * 对象导出需要配合注解使用{@link ExcelProperty}
+ * 可通过{@link FileExportExecutor#pageFetchConcurrency()} 开启分页数据预取,使查询与写入并行执行
+ *
+ * @author svnee
+ */
+public abstract class AbstractPageDownloadCsvExecutor<T>
+    extends AbstractDownloadCsvExecutor
+    implements PageShardingDownloadExecutor<T> {
+
+    /**
+     * 导出模板类分组 {@link ExcelProperty#group()}
+     *
+     * @param context context
+     * @return export class group
+     */
+    public Class<?>[] exportGroup(BaseDownloaderRequestContext context) {
+        return new Class<?>[]{Default.class};
+    }
+
+    /**
+     * 导出实现
+     */
+    @Override
+    public void export(DownloaderRequestContext context) {
+        PageTotal total = PageTotalContext.currentPageToTal();
+        if (Objects.isNull(total)) {
+            // 执行 PageTotal 查询
+            total = count(context.getOtherMap());
+        }
+        List<ExcelFiled> fieldList = ExcelBeanUtils
+            .getExcelFiledByGroup(GenericUtils.getClassT(this, 0), exportGroup(context));
+        CsvWriter csvWriter = createCsvWriter(context);
+        // 设置表头header
+        CsvExports.writeHeader(csvWriter, fieldList);
+
+        if (total.getTotal() > 0) {
+            FileExportExecutor exportExecutor = SpringContextUtil.getRealClass(this)
+                .getAnnotation(FileExportExecutor.class);
+            PageFetchPipeline<T> pipeline = PageFetchPipeline.of(exportExecutor, enableCursorSharding());
+            pipeline.execute(total, (page, cursorId) -> shardingData(context, page, cursorId),
+                (pageIndex, totalPage, dataList) -> {
+                    CsvExports.writeData(csvWriter, fieldList, dataList);
+                    // 上报进度
+                    double process = (pageIndex + 1) / (totalPage * Constants.DOUBLE_ONE);
+                    int executeProcess = (int) (process * Constants.FULL_PROCESS);
+                    ExecuteProcessProbe.report(executeProcess);
+                });
+        }
+        csvWriter.flush();
+    }
+
+}
@@ -2,24 +2,24 @@ package com.openquartz.easyfile.core.executor.impl;
 
 import com.openquartz.easyfile.core.executor.ExecuteProcessProbe;
 import com.openquartz.easyfile.core.executor.excel.ExcelIntensifierExecutor;
+import com.openquartz.easyfile.core.executor.support.PageFetchPipeline;
 import java.util.List;
-import java.util.Objects;
 import javax.validation.groups.Default;
 import lombok.extern.slf4j.Slf4j;
 import com.openquartz.easyfile.common.bean.BaseDownloaderRequestContext;
 import com.openquartz.easyfile.common.bean.DownloaderRequestContext;
-import com.openquartz.easyfile.common.util.page.Page;
 import com.openquartz.easyfile.common.util.page.PageTotal;
 import com.openquartz.easyfile.common.util.page.PageTotalContext;
-import com.openquartz.easyfile.common.bean.Pair;
 import com.openquartz.easyfile.common.bean.excel.ExcelBean;
 import com.openquartz.easyfile.common.bean.excel.ExcelBeanUtils;
 import com.openquartz.easyfile.common.bean.excel.ExcelExports;
 import com.openquartz.easyfile.common.bean.excel.ExcelFiled;
 import com.openquartz.easyfile.common.constants.Constants;
+import com.openquartz.easyfile.common.dictionary.CompressModeEnum;
 import com.openquartz.easyfile.common.util.GenericUtils;
-import com.openquartz.easyfile.common.util.PageUtil;
+import com.openquartz.easyfile.common.util.SpringContextUtil;
 import com.openquartz.easyfile.common.annotations.ExcelProperty;
+import com.openquartz.easyfile.core.annotations.FileExportExecutor;
 import com.openquartz.easyfile.core.executor.PageShardingDownloadExecutor;
 
 /**
@@ -27,6 +27,7 @@ import com.openquartz.easyfile.core.executor.PageShardingDownloadExecutor;
  * 主要用于大 Excel 文件的导出。目前仅支持07版excel
  * 同时 <T> 泛型为导出实体类对象
  * 对象导出需要配合注解使用{@link ExcelProperty}
+ * 可通过{@link FileExportExecutor#pageFetchConcurrency()} 开启分页数据预取,使查询与写入并行执行
  *
  * @author svnee
  */
@@ -35,6 +36,11 @@ public abstract class AbstractPageDownloadExcelExecutor<T>
     extends AbstractDownloadExcel07Executor
     implements PageShardingDownloadExecutor<T>, ExcelIntensifierExecutor {
 
+    /**
+     * 未重写{@link #estimateRowSize()} 时单个单元格的预估字节数, xlsx 内部已压缩存储
+     */
+    private static final int DEFAULT_ESTIMATE_CELL_SIZE = 10;
+
     /**
      * 导出模板类分组 {@link ExcelProperty#group()}
      *
@@ -54,6 +60,31 @@ public abstract class AbstractPageDownloadExcelExecutor<T>
         return ExcelBean.DEFAULT_SHEET_GROUP;
     }
 
+    /**
+     * 按总条数预估导出文件大小, PageTotal 按{@link #sheetPrefix()} 缓存, 导出时不再重复查询
+     * 未重写{@link #estimateRowSize()} 时按导出列数预估单行字节数, {@link CompressModeEnum#AUTO} 默认即可按预估大小边生成边压缩
+     */
+    @Override
+    public long estimateFileSize(BaseDownloaderRequestContext context) {
+        int rowSize = estimateRowSize();
+        if (rowSize <= 0) {
+            rowSize = ExcelBeanUtils.getExcelFiledByGroup(GenericUtils.getClassT(this, 0), exportGroup(context)).size()
+                * DEFAULT_ESTIMATE_CELL_SIZE;
+        }
+        if (rowSize <= 0) {
+            return -1L;
+        }
+        PageTotal total = PageTotalContext.currentPageToTal(sheetPrefix());
+        if (total == null) {
+            total = count(context.getOtherMap());
+            PageTotalContext.cache(sheetPrefix(), total);
+        }
+        if (total == null || total.getTotal() == null) {
+            return -1L;
+        }
+        return (long) total.getTotal() * rowSize;
+    }
+
     /**
      * 导出实现
      */
@@ -66,7 +97,7 @@ public abstract class AbstractPageDownloadExcelExecutor<T>
             // 执行 PageTotal 查询
             total = count(context.getOtherMap());
         }
-        try (ExcelBean excelBean = ExcelExports.createWorkbook()) {
+        try (ExcelBean excelBean = createWorkbook(context)) {
             List<ExcelFiled> fieldList = ExcelBeanUtils
                 .getExcelFiledByGroup(GenericUtils.getClassT(this, 0), exportGroup(context));
 
@@ -76,23 +107,21 @@ public abstract class AbstractPageDownloadExcelExecutor<T>
                 ExcelExports.writeWorkbook(excelBean, context.getOut());
                 return;
             }
-            int totalPage = PageUtil.totalPage(total.getTotal(), total.getPageSize());
-            Page page = new Page(1, total.getPageSize(), total.getTotal());
-            Long cursorId = 0L;
-            for (int i = 0; i < totalPage; i++) {
-                page.setPageNum(i + 1);
-                Pair<Long, List<T>> pair = shardingData(context, page, cursorId);
-                if (Objects.nonNull(pair)) {
-                    cursorId = pair.getKey();
-                    ExcelExports.writeData(excelBean, fieldList, pair.getValue(), sheetPrefix());
-                }
-                // 上报进度
-                double process = (i + 1) / (totalPage * Constants.DOUBLE_ONE);
-                int executeProcess = (int) (process * Constants.FULL_PROCESS);
-                ExecuteProcessProbe.report(executeProcess);
-            }
+            FileExportExecutor exportExecutor = SpringContextUtil.getRealClass(this)
+                .getAnnotation(FileExportExecutor.class);
+            PageFetchPipeline<T> pipeline = PageFetchPipeline.of(exportExecutor, enableCursorSharding());
+            pipeline.execute(total, (page, cursorId) -> shardingData(context, page, cursorId),
+                (pageIndex, totalPage, dataList) -> {
+                    ExcelExports.writeData(excelBean, fieldList, dataList, sheetPrefix());
+                    // 上报进度
+                    double process = (pageIndex + 1) / (totalPage * Constants.DOUBLE_ONE);
+                    int executeProcess = (int) (process * Constants.FULL_PROCESS);
+                    ExecuteProcessProbe.report(executeProcess);
+                });
             excelBean.logExportInfo(log);
-            this.executeEnhance(excelBean.getWorkbook(), context);
+            if (!excelBean.isDirectWrite()) {
+                this.executeEnhance(excelBean.getWorkbook(), context);
+            }
             ExcelExports.writeWorkbook(excelBean, context.getOut());
         }
     }
@@ -71,7 +71,7 @@ public abstract class AbstractStreamDownloadExcelExecutor<S extends Closeable, R
     @Override
     public void export(DownloaderRequestContext context) {
         // 创建workbook
-        try (ExcelBean excelBean = ExcelExports.createWorkbook()) {
+        try (ExcelBean excelBean = createWorkbook(context)) {
             List<ExcelFiled> fieldList = ExcelBeanUtils
                 .getExcelFiledByGroup(GenericUtils.getClassT(this, 2), exportGroup(context));
             // 设置表头header
@@ -103,7 +103,9 @@ public abstract class AbstractStreamDownloadExcelExecutor<S extends Closeable, R
                 }
                 excelBean.logExportInfo(log);
                 // 增强Excel
-                this.executeEnhance(excelBean.getWorkbook(), context);
+                if (!excelBean.isDirectWrite()) {
+                    this.executeEnhance(excelBean.getWorkbook(), context);
+                }
                 ExcelExports.writeWorkbook(excelBean, context.getOut());
             } finally {
                 if (Objects.nonNull(session)) {
@@ -5,18 +5,29 @@ import com.openquartz.easyfile.common.bean.DownloadRequestInfo;
 import com.openquartz.easyfile.common.concurrent.ThreadFactoryBuilder;
 import com.openquartz.easyfile.common.request.DownloadTriggerRequest;
 import com.openquartz.easyfile.common.response.DownloadTriggerEntry;
+import com.openquartz.easyfile.common.response.PrepareExecutionResult;
+import com.openquartz.easyfile.common.util.CollectionUtils;
 import com.openquartz.easyfile.core.executor.AsyncFileHandlerAdapter;
 import com.openquartz.easyfile.core.executor.BaseDownloadExecutor;
 import com.openquartz.easyfile.core.executor.support.FileExportExecutorSupport;
 import com.openquartz.easyfile.core.executor.support.FileExportTriggerContext;
+import com.openquartz.easyfile.core.executor.support.TriggerRetryScheduler;
 import com.openquartz.easyfile.core.property.IDatabaseAsyncHandlerProperty;
 import com.openquartz.easyfile.core.property.IEasyFileDownloadProperty;
 import com.openquartz.easyfile.storage.download.DownloadStorageService;
 import com.openquartz.easyfile.storage.download.DownloadTriggerService;
 import com.openquartz.easyfile.storage.file.UploadService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 
 /**
@@ -25,7 +36,8 @@ import org.springframework.beans.factory.InitializingBean;
  * @author svnee
  **/
 @Slf4j
-public abstract class DatabaseAsyncFileHandlerAdapter extends AsyncFileHandlerAdapter implements InitializingBean {
+public abstract class DatabaseAsyncFileHandlerAdapter extends AsyncFileHandlerAdapter implements InitializingBean,
+    DisposableBean {
 
     private final DownloadTriggerService triggerService;
     private final DownloadStorageService storageService;
@@ -36,6 +48,26 @@ public abstract class DatabaseAsyncFileHandlerAdapter extends AsyncFileHandlerAd
             .setNameFormat("CompensateScheduleAsyncHandler-thread-%d")
             .build());
 
+    private final ScheduledThreadPoolExecutor leaseScheduleExecutorService = new ScheduledThreadPoolExecutor(1,
+        new ThreadFactoryBuilder()
+            .setNameFormat("LeaseHeartbeatAsyncHandler-thread-%d")
+            .build());
+
+    /**
+     * 当前节点持有租约的触发器, 按注册ID及认领后的触发次数区分
+     */
+    private final Set<DownloadTriggerEntry> runningTriggerSet = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 当前节点执行中触发器的执行线程, 失去租约时中断执行
+     */
+    private final Map<DownloadTriggerEntry, Thread> runningThreadMap = new ConcurrentHashMap<>();
+
+    /**
+     * 失败重试调度, 不支持失败重试时为空
+     */
+    private TriggerRetryScheduler retryScheduler;
+
     protected DatabaseAsyncFileHandlerAdapter(
         IEasyFileDownloadProperty downloadProperties,
         UploadService uploadService,
@@ -61,35 +93,186 @@ public abstract class DatabaseAsyncFileHandlerAdapter extends AsyncFileHandlerAd
     public void doCompensate() {
         log.info("[DatabaseAsyncFileHandlerAdapter#doCompensate] start...");
         try {
-            triggerService.handleExpirationTrigger(handlerProperties.getMaxExecuteTimeout());
-            triggerService
+            int archived = triggerService
                 .archiveHistoryTrigger(handlerProperties.getMaxArchiveHours(), handlerProperties.getMaxTriggerCount());
+            log.info("[DatabaseAsyncFileHandlerAdapter#doCompensate] archived:{}", archived);
         } catch (Exception ex) {
             log.error("[DatabaseAsyncFileHandlerAdapter#doCompensate] error!...", ex);
         }
         log.info("[DatabaseAsyncFileHandlerAdapter#doCompensate] end...");
     }
 
+    /**
+     * 过期处理
+     * 按租约时长周期执行, 租约过期(执行节点宕机)的执行中触发器及时置为失败以便重新触发
+     */
+    public void doExpire() {
+        try {
+            int expired = triggerService.handleExpirationTrigger(handlerProperties.getMaxExecuteTimeout());
+            if (expired > 0) {
+                log.info("[DatabaseAsyncFileHandlerAdapter#doExpire] expired:{}", expired);
+            }
+        } catch (Exception ex) {
+            log.error("[DatabaseAsyncFileHandlerAdapter#doExpire] error!...", ex);
+        }
+    }
+
+    /**
+     * 续约当前节点执行中的触发器
+     * 已失去租约(已被其他节点重新认领)的触发器停止执行
+     */
+    public void doHeartbeat() {
+        if (runningTriggerSet.isEmpty()) {
+            return;
+        }
+        try {
+            List<DownloadTriggerEntry> lostTriggerList = triggerService
+                .renewClaimedLease(new ArrayList<>(runningTriggerSet), handlerProperties.getLeaseSeconds());
+            if (CollectionUtils.isEmpty(lostTriggerList)) {
+                return;
+            }
+            log.warn("[DatabaseAsyncFileHandlerAdapter#doHeartbeat] lease lost!stop execute,triggerList:{}",
+                lostTriggerList);
+            for (DownloadTriggerEntry lostTrigger : lostTriggerList) {
+                runningTriggerSet.remove(lostTrigger);
+                runningThreadMap.computeIfPresent(lostTrigger, (key, thread) -> {
+                    thread.interrupt();
+                    return thread;
+                });
+            }
+        } catch (Exception ex) {
+            log.error("[DatabaseAsyncFileHandlerAdapter#doHeartbeat] error!...", ex);
+        }
+    }
+
+    /**
+     * 持有已进入执行中的触发器租约, 后续由心跳续约直至执行结束
+     *
+     * @param triggerEntryList 触发器
+     */
+    public void holdLease(List<DownloadTriggerEntry> triggerEntryList) {
+        if (CollectionUtils.isEmpty(triggerEntryList)) {
+            return;
+        }
+        runningTriggerSet.addAll(triggerEntryList);
+        try {
+            // 已失去租约的触发器由下次心跳中断执行
+            triggerService.renewClaimedLease(triggerEntryList, handlerProperties.getLeaseSeconds());
+        } catch (Exception ex) {
+            // 租约为空时按最大超时时间兜底
+            log.error("[DatabaseAsyncFileHandlerAdapter#holdLease] error!triggerList:{}", triggerEntryList, ex);
+        }
+    }
+
     public void doTrigger(DownloadTriggerEntry k) {
+        DownloadTriggerEntry claimedEntry = startExecute(k);
+        if (Objects.nonNull(claimedEntry)) {
+            doClaimedTrigger(claimedEntry);
+        }
+    }
+
+    /**
+     * 开始执行并持有租约
+     *
+     * @param k 触发器
+     * @return 认领后的触发器, 未能进入执行中时为null
+     */
+    protected DownloadTriggerEntry startExecute(DownloadTriggerEntry k) {
         boolean execute = triggerService.startExecute(k.getRegisterId(), k.getTriggerCount());
-        if (execute) {
+        if (!execute) {
+            return null;
+        }
+        DownloadTriggerEntry claimedEntry = DownloadTriggerEntry.of(k.getRegisterId(), k.getTriggerCount() + 1);
+        holdLease(Collections.singletonList(claimedEntry));
+        return claimedEntry;
+    }
+
+    /**
+     * 释放已认领但未能开始执行的触发器
+     * 停止续约并置为执行失败, 由重新触发或补偿重新执行
+     *
+     * @param k 触发器, 触发次数为认领后的触发次数
+     */
+    protected void releaseClaimedTrigger(DownloadTriggerEntry k) {
+        runningTriggerSet.remove(k);
+        try {
+            triggerService.exeClaimedFail(k.getRegisterId(), k.getTriggerCount());
+        } catch (Exception ex) {
+            // 租约到期后由过期处理兜底
+            log.error("[DatabaseAsyncFileHandlerAdapter#releaseClaimedTrigger] error!registerId:{}",
+                k.getRegisterId(), ex);
+        }
+    }
+
+    /**
+     * 是否支持失败重试
+     * 支持时执行失败的触发器按触发次数退避后通过{@link #doRetry(DownloadTriggerEntry)}重新触发, 补偿任务仅作为兜底
+     *
+     * @return 是否支持
+     */
+    protected boolean isRetrySupported() {
+        return false;
+    }
+
+    /**
+     * 失败重试
+     *
+     * @param k 触发器, 触发次数为已执行次数
+     */
+    protected void doRetry(DownloadTriggerEntry k) {
+    }
+
+    /**
+     * 执行已认领(已进入执行中)的触发器
+     * 执行前需先{@link #holdLease(List)}
+     *
+     * @param k 触发器, 触发次数为认领后的触发次数
+     * @see DownloadTriggerService#claimTrigger(Integer, Integer, Integer)
+     */
+    public void doClaimedTrigger(DownloadTriggerEntry k) {
+        runningThreadMap.put(k, Thread.currentThread());
+        try {
+            // 一次调用完成开启执行、重置进度并获取请求信息与语言
+            PrepareExecutionResult prepareResult = storageService.prepareExecution(k.getRegisterId());
+            if (!prepareResult.isRunning()) {
+                log.warn("[DatabaseAsyncFileHandlerAdapter#doTrigger] this registerId has running!skip,registerId:{}",
+                    k.getRegisterId());
+                triggerService.exeClaimedSuccess(k.getRegisterId(), k.getTriggerCount());
+                return;
+            }
+            DownloadRequestInfo requestInfo = prepareResult.getRequestInfo();
+            BaseDownloadExecutor executor;
             try {
-                DownloadRequestInfo requestInfo = storageService.getRequestInfoByRegisterId(k.getRegisterId());
-                BaseDownloadExecutor executor = FileExportExecutorSupport
-                    .get(requestInfo.getDownloadCode());
-
-                // set async trigger if absent
-                FileExportTriggerContext.setAsyncTriggerFlagIfAbsent(true);
-                doExecute(executor, requestInfo.getRequestContext(), k.getRegisterId());
-                triggerService.exeSuccess(k.getRegisterId());
+                executor = FileExportExecutorSupport.get(requestInfo.getDownloadCode());
             } catch (Exception ex) {
-                log.error("[DatabaseAsyncFileHandlerAdapter#doTrigger] execute-failed!registerId:{}", k.getRegisterId(),
-                    ex);
-                triggerService.exeFail(k.getRegisterId());
-            } finally {
-                // clear context
-                FileExportTriggerContext.clear();
+                // 已开启执行但未能开始导出, 回滚为未执行以便重试
+                storageService.revertRunning(k.getRegisterId());
+                throw ex;
             }
+
+            // set async trigger if absent
+            FileExportTriggerContext.setAsyncTriggerFlagIfAbsent(true);
+            FileExportTriggerContext.setPreparedExecution(k.getRegisterId(), prepareResult);
+            doExecute(executor, requestInfo.getRequestContext(), k.getRegisterId());
+            if (!triggerService.exeClaimedSuccess(k.getRegisterId(), k.getTriggerCount())) {
+                log.warn("[DatabaseAsyncFileHandlerAdapter#doTrigger] lease lost!ignore success,registerId:{}",
+                    k.getRegisterId());
+            }
+        } catch (Exception ex) {
+            log.error("[DatabaseAsyncFileHandlerAdapter#doTrigger] execute-failed!registerId:{}", k.getRegisterId(),
+                ex);
+            // 已被其他节点重新认领时由认领节点执行, 不再重试
+            if (triggerService.exeClaimedFail(k.getRegisterId(), k.getTriggerCount())
+                && Objects.nonNull(retryScheduler)) {
+                retryScheduler.schedule(k);
+            }
+        } finally {
+            // 先移除执行线程, 此后心跳不会再中断本线程; 再清除可能已收到的中断标识, 避免影响执行线程的后续任务
+            runningThreadMap.remove(k);
+            runningTriggerSet.remove(k);
+            Thread.interrupted();
+            // clear context
+            FileExportTriggerContext.clear();
         }
     }
 
@@ -98,5 +281,27 @@ public abstract class DatabaseAsyncFileHandlerAdapter extends AsyncFileHandlerAd
         compensateScheduleExecutorService
             .scheduleAtFixedRate(this::doCompensate, handlerProperties.getSchedulePeriod(),
                 handlerProperties.getMaxExecuteTimeout(), TimeUnit.SECONDS);
+        leaseScheduleExecutorService
+            .scheduleAtFixedRate(this::doHeartbeat, handlerProperties.getLeaseHeartbeatPeriod(),
+                handlerProperties.getLeaseHeartbeatPeriod(), TimeUnit.SECONDS);
+        leaseScheduleExecutorService
+            .scheduleAtFixedRate(this::doExpire, handlerProperties.getLeaseSeconds(),
+                handlerProperties.getLeaseSeconds(), TimeUnit.SECONDS);
+        if (isRetrySupported()) {
+            retryScheduler = new TriggerRetryScheduler("TriggerRetryAsyncHandler", this::doRetry,
+                TimeUnit.SECONDS.toMillis(handlerProperties.getRetryBaseDelaySeconds()),
+                TimeUnit.SECONDS.toMillis(handlerProperties.getRetryMaxDelaySeconds()),
+                handlerProperties.getMaxTriggerCount(), handlerProperties.getRetryQueueCapacity());
+            retryScheduler.start();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        compensateScheduleExecutorService.shutdown();
+        leaseScheduleExecutorService.shutdown();
+        if (Objects.nonNull(retryScheduler)) {
+            retryScheduler.shutdown();
+        }
     }
 }
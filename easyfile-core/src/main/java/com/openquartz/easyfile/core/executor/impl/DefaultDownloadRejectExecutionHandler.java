@@ -20,4 +20,10 @@ public class DefaultDownloadRejectExecutionHandler implements BaseDefaultDownloa
         throw new DownloadRejectExecuteException(DownloadErrorCode.DOWNLOAD_OVER_WAIT_NUM_REJECT);
     }
 
+    @Override
+    public void rejectedExecution(Runnable r) {
+        log.warn("[DefaultDownloadRejectExecutionHandler] reject execution,r:{}", r.toString());
+        throw new DownloadRejectExecuteException(DownloadErrorCode.DOWNLOAD_OVER_WAIT_NUM_REJECT);
+    }
+
 }
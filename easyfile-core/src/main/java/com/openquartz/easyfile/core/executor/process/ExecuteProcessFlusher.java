@@ -0,0 +1,103 @@
+package com.openquartz.easyfile.core.executor.process;
+
+import com.openquartz.easyfile.common.concurrent.ThreadFactoryBuilder;
+import com.openquartz.easyfile.common.dictionary.UploadStatusEnum;
+import com.openquartz.easyfile.common.request.RefreshExecuteProcessRequest;
+import com.openquartz.easyfile.storage.download.DownloadStorageService;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 执行进度合并刷新
+ * <p>
+ * 各导出上报的进度仅保留每个注册ID的最新值, 由单个刷新线程按周期合并为一次批量更新,
+ * 进度写入次数与分页数无关。刷新失败时丢弃本次进度, 由后续上报覆盖。
+ * 完成进度(进入上传中)不参与合并, 同步写入, 避免周期刷新晚于上传回调到达。
+ *
+ * @author svnee
+ */
+@Slf4j
+public class ExecuteProcessFlusher {
+
+    private final DownloadStorageService downloadStorageService;
+
+    /**
+     * 待刷新进度 registerId->进度
+     */
+    private final Map<Long, RefreshExecuteProcessRequest> pendingMap = new ConcurrentHashMap<>();
+
+    private final ScheduledThreadPoolExecutor flushScheduleExecutorService = new ScheduledThreadPoolExecutor(1,
+        new ThreadFactoryBuilder()
+            .setNameFormat("ExecuteProcessFlusher-thread-%d")
+            .setDaemon(true)
+            .build());
+
+    public ExecuteProcessFlusher(DownloadStorageService downloadStorageService, long flushIntervalMillis) {
+        this.downloadStorageService = downloadStorageService;
+        long intervalMillis = Math.max(flushIntervalMillis, 1L);
+        flushScheduleExecutorService
+            .scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 提交进度, 等待下次刷新
+     *
+     * @param registerId 注册ID
+     * @param executeProcess 执行进度
+     * @param nextUploadStatus 下一个状态
+     */
+    public void submit(Long registerId, Integer executeProcess, UploadStatusEnum nextUploadStatus) {
+        if (nextUploadStatus != UploadStatusEnum.EXECUTING) {
+            pendingMap.remove(registerId);
+            downloadStorageService.refreshExecuteProgress(registerId, executeProcess, nextUploadStatus);
+            return;
+        }
+        RefreshExecuteProcessRequest request = new RefreshExecuteProcessRequest();
+        request.setRegisterId(registerId);
+        request.setExecuteProcess(executeProcess);
+        request.setNextUploadStatus(nextUploadStatus);
+        pendingMap.merge(registerId, request,
+            (oldRequest, newRequest) -> newRequest.getExecuteProcess() >= oldRequest.getExecuteProcess()
+                ? newRequest : oldRequest);
+    }
+
+    /**
+     * 丢弃未刷新的进度
+     *
+     * @param registerId 注册ID
+     */
+    public void discard(Long registerId) {
+        pendingMap.remove(registerId);
+    }
+
+    /**
+     * 批量刷新全部待刷新进度
+     */
+    public void flush() {
+        if (pendingMap.isEmpty()) {
+            return;
+        }
+        List<RefreshExecuteProcessRequest> requestList = new ArrayList<>(pendingMap.size());
+        Iterator<Long> iterator = pendingMap.keySet().iterator();
+        while (iterator.hasNext()) {
+            RefreshExecuteProcessRequest request = pendingMap.remove(iterator.next());
+            if (request != null) {
+                requestList.add(request);
+            }
+        }
+        if (requestList.isEmpty()) {
+            return;
+        }
+        try {
+            downloadStorageService.refreshExecuteProgress(requestList);
+        } catch (Exception ex) {
+            log.error("[ExecuteProcessFlusher#flush] flush-error!,size:{}", requestList.size(), ex);
+        }
+    }
+}
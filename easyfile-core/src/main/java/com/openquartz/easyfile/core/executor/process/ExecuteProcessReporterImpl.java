@@ -1,5 +1,6 @@
 package com.openquartz.easyfile.core.executor.process;
 
+import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
 import com.openquartz.easyfile.common.constants.Constants;
 import com.openquartz.easyfile.common.dictionary.UploadStatusEnum;
@@ -7,6 +8,7 @@ import com.openquartz.easyfile.storage.download.DownloadStorageService;
 
 /**
  * 执行进度上报器
+ * 指定{@link ExecuteProcessFlusher}时, 进度变化达到最小变化量才提交, 由刷新线程合并批量更新; 否则同步更新。
  *
  * @author svnee
  **/
@@ -15,17 +17,48 @@ public class ExecuteProcessReporterImpl implements ExecuteProcessReporter {
 
     private final Long registerId;
     private final DownloadStorageService downloadStorageService;
+    private final ExecuteProcessFlusher processFlusher;
+    private final int minReportDelta;
+
+    /**
+     * 最近一次上报的进度
+     */
+    private int lastReportProcess;
 
     public ExecuteProcessReporterImpl(Long registerId,
         DownloadStorageService downloadStorageService) {
+        this(registerId, downloadStorageService, null, 1);
+    }
+
+    public ExecuteProcessReporterImpl(Long registerId,
+        DownloadStorageService downloadStorageService,
+        ExecuteProcessFlusher processFlusher,
+        int minReportDelta) {
         this.registerId = registerId;
         this.downloadStorageService = downloadStorageService;
+        this.processFlusher = processFlusher;
+        this.minReportDelta = Math.max(minReportDelta, 1);
     }
 
     @Override
     public void start() {
+        start(true);
+    }
+
+    /**
+     * 开始执行
+     *
+     * @param resetProcess 是否重置执行进度, 准备执行时已重置的无需重复重置
+     */
+    public void start(boolean resetProcess) {
+        lastReportProcess = 0;
         try {
-            downloadStorageService.resetExecuteProcess(registerId);
+            if (Objects.nonNull(processFlusher)) {
+                processFlusher.discard(registerId);
+            }
+            if (resetProcess) {
+                downloadStorageService.resetExecuteProcess(registerId);
+            }
         } catch (Exception ex) {
             log.error("[ExecuteProcessReporterImpl#start] start-error!,registerId:{}", registerId, ex);
         }
@@ -37,12 +70,21 @@ public class ExecuteProcessReporterImpl implements ExecuteProcessReporter {
             log.debug("[ExecuteProcessReporterImpl#report] registerId:{},executeProcess:{}", registerId,
                 executeProcess);
         }
+        if (executeProcess.compareTo(Constants.FULL_PROCESS) != 0
+            && executeProcess - lastReportProcess < minReportDelta) {
+            return;
+        }
+        lastReportProcess = executeProcess;
         try {
             UploadStatusEnum nextStatus = UploadStatusEnum.EXECUTING;
             if (executeProcess.compareTo(Constants.FULL_PROCESS) == 0) {
                 nextStatus = UploadStatusEnum.UPLOADING;
             }
-            downloadStorageService.refreshExecuteProgress(registerId, executeProcess, nextStatus);
+            if (Objects.nonNull(processFlusher)) {
+                processFlusher.submit(registerId, executeProcess, nextStatus);
+            } else {
+                downloadStorageService.refreshExecuteProgress(registerId, executeProcess, nextStatus);
+            }
         } catch (Exception ex) {
             log.error("[ExecuteProcessReporterImpl#report] report-error!,registerId:{},executeProcess:{}", registerId,
                 executeProcess, ex);
@@ -52,6 +94,10 @@ public class ExecuteProcessReporterImpl implements ExecuteProcessReporter {
     @Override
     public void complete() {
         try {
+            // 完成进度同步更新, 未刷新的进度不再需要
+            if (Objects.nonNull(processFlusher)) {
+                processFlusher.discard(registerId);
+            }
             downloadStorageService
                 .refreshExecuteProgress(registerId, Constants.FULL_PROCESS, UploadStatusEnum.UPLOADING);
         } catch (Exception ex) {
@@ -0,0 +1,191 @@
+package com.openquartz.easyfile.core.executor.support;
+
+import com.openquartz.easyfile.metrics.api.constants.MetricsKeyConstants;
+import com.openquartz.easyfile.metrics.api.reporter.MetricsReporter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 自适应导出并发限制(AIMD)
+ * <p>
+ * 按窗口统计分页查询({@code shardingData})平均耗时及JVM堆内存使用率, 分页查询耗时由执行中导出的拉取流水线上报:
+ * 平均耗时超过基线耗时的容忍倍数或堆内存使用率超过阈值时并发数乘性减少, 否则并发数已用满时加性增加1。
+ * 基线耗时取窗口平均耗时的指数加权平均(耗时下降时直接取新值)。当前并发数通过{@link MetricsKeyConstants#EXPORT_CONCURRENCY_LIMIT} 上报。
+ *
+ * @author svnee
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    /**
+     * 统计窗口 单位：毫秒
+     */
+    private static final long WINDOW_MILLIS = 1000L;
+
+    /**
+     * 过载时的并发数缩减比例
+     */
+    private static final double BACKOFF_RATIO = 0.9D;
+
+    /**
+     * 基线耗时平滑系数
+     */
+    private static final double BASELINE_SMOOTHING = 0.1D;
+
+    static {
+        MetricsReporter.registerGauge(MetricsKeyConstants.EXPORT_CONCURRENCY_LIMIT,
+            "easyfile adaptive export concurrency limit");
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final double heapUsageThreshold;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+
+    private int limit;
+    private int inflight;
+
+    /**
+     * 窗口内是否用满并发数
+     */
+    private boolean saturated;
+    private long windowStartMillis = System.currentTimeMillis();
+    private long windowLatencyNanos;
+    private long windowSampleCount;
+    private double baselineLatencyNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double latencyTolerance,
+        double heapUsageThreshold) {
+        if (minLimit <= 0 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("limit range is illegal!");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.heapUsageThreshold = heapUsageThreshold;
+        this.limit = Math.min(Math.max(initialLimit, minLimit), maxLimit);
+        MetricsReporter.gaugeSet(MetricsKeyConstants.EXPORT_CONCURRENCY_LIMIT, limit);
+    }
+
+    /**
+     * 获取执行许可, 当前执行数达到并发数时等待
+     */
+    public void acquire() {
+        lock.lock();
+        try {
+            adjustIfWindowElapsed();
+            while (inflight >= limit) {
+                saturated = true;
+                available.awaitUninterruptibly();
+            }
+            inflight++;
+            if (inflight >= limit) {
+                saturated = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 归还执行许可
+     */
+    public void release() {
+        lock.lock();
+        try {
+            inflight--;
+            adjustIfWindowElapsed();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * 上报分页查询耗时
+     *
+     * @param latencyNanos 耗时 单位：纳秒
+     */
+    public void recordPageLatency(long latencyNanos) {
+        lock.lock();
+        try {
+            windowLatencyNanos += latencyNanos;
+            windowSampleCount++;
+            if (adjustIfWindowElapsed()) {
+                available.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean adjustIfWindowElapsed() {
+        long now = System.currentTimeMillis();
+        if (now - windowStartMillis < WINDOW_MILLIS) {
+            return false;
+        }
+        int newLimit = limit;
+        double avgLatencyNanos = windowSampleCount > 0 ? (double) windowLatencyNanos / windowSampleCount : 0D;
+        boolean latencyOverload = avgLatencyNanos > 0 && baselineLatencyNanos > 0
+            && avgLatencyNanos > baselineLatencyNanos * latencyTolerance;
+        boolean heapOverload = heapUsage() > heapUsageThreshold;
+        if (latencyOverload || heapOverload) {
+            newLimit = Math.max(minLimit, (int) (limit * BACKOFF_RATIO));
+        } else if (saturated) {
+            newLimit = Math.min(maxLimit, limit + 1);
+        }
+        // 基线耗时跟随长期耗时变化, 数据量增长导致的持续耗时上升不会使并发数一直停留在最小值
+        if (avgLatencyNanos > 0) {
+            baselineLatencyNanos = baselineLatencyNanos <= 0 || avgLatencyNanos < baselineLatencyNanos
+                ? avgLatencyNanos
+                : baselineLatencyNanos * (1 - BASELINE_SMOOTHING) + avgLatencyNanos * BASELINE_SMOOTHING;
+        }
+        if (newLimit != limit) {
+            log.info("[AdaptiveConcurrencyLimiter] limit:{}->{},avg-latency:{}ms,baseline:{}ms,heap-overload:{}",
+                limit, newLimit, avgLatencyNanos / 1_000_000, baselineLatencyNanos / 1_000_000, heapOverload);
+            limit = newLimit;
+            MetricsReporter.gaugeSet(MetricsKeyConstants.EXPORT_CONCURRENCY_LIMIT, limit);
+        }
+        windowStartMillis = now;
+        windowLatencyNanos = 0L;
+        windowSampleCount = 0L;
+        saturated = inflight >= limit;
+        return true;
+    }
+
+    /**
+     * 堆内存使用率
+     * 优先取老年代最近一次GC后的使用率, 排除尚未回收的垃圾对象
+     */
+    private static double heapUsage() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP || !pool.isCollectionUsageThresholdSupported()) {
+                continue;
+            }
+            String name = pool.getName();
+            MemoryUsage usage = pool.getCollectionUsage();
+            if ((name.contains("Old") || name.contains("Tenured")) && Objects.nonNull(usage) && usage.getMax() > 0) {
+                return (double) usage.getUsed() / usage.getMax();
+            }
+        }
+        Runtime runtime = Runtime.getRuntime();
+        long maxMemory = runtime.maxMemory();
+        if (maxMemory <= 0 || maxMemory == Long.MAX_VALUE) {
+            return 0D;
+        }
+        return (double) (runtime.totalMemory() - runtime.freeMemory()) / maxMemory;
+    }
+}
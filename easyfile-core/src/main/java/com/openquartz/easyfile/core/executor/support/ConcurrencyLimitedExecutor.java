@@ -0,0 +1,106 @@
+package com.openquartz.easyfile.core.executor.support;
+
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 并发限制执行器
+ * <p>
+ * 用于每任务一个线程(如虚拟线程)的执行器: 同时执行的任务数不超过最大并发数, 超出的任务进入等待队列,
+ * 有任务执行结束时按等待队列的出队顺序(如{@link FairExportQueue} 的加权公平顺序)取下一个任务执行;
+ * 等待队列已满时拒绝提交, 替代线程池阻塞队列已满的拒绝逻辑。
+ * 关闭时与线程池一致, 不再接收新任务, 已在等待队列中的任务仍执行完成。
+ *
+ * @author svnee
+ */
+public class ConcurrencyLimitedExecutor {
+
+    private final ExecutorService delegate;
+
+    /**
+     * 执行许可
+     */
+    private final Semaphore runningPermits;
+
+    /**
+     * 等待队列
+     */
+    private final BlockingQueue<Runnable> waitingQueue;
+
+    private final int maxConcurrency;
+
+    private volatile boolean shutdown;
+
+    public ConcurrencyLimitedExecutor(ExecutorService delegate, int maxConcurrency,
+        BlockingQueue<Runnable> waitingQueue) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive!");
+        }
+        this.delegate = delegate;
+        this.maxConcurrency = maxConcurrency;
+        this.runningPermits = new Semaphore(maxConcurrency);
+        this.waitingQueue = Objects.requireNonNull(waitingQueue);
+    }
+
+    /**
+     * 提交执行
+     *
+     * @param runnable 任务
+     * @throws RejectedExecutionException 等待队列已满或执行器已关闭
+     */
+    public void execute(Runnable runnable) {
+        Objects.requireNonNull(runnable);
+        if (shutdown || !waitingQueue.offer(runnable)) {
+            throw new RejectedExecutionException("concurrency limit exceeded!");
+        }
+        dispatch();
+    }
+
+    /**
+     * 有空闲执行许可时从等待队列取任务执行
+     */
+    private void dispatch() {
+        while (!waitingQueue.isEmpty() && runningPermits.tryAcquire()) {
+            Runnable next = waitingQueue.poll();
+            if (Objects.isNull(next)) {
+                runningPermits.release();
+                continue;
+            }
+            try {
+                delegate.execute(() -> {
+                    try {
+                        next.run();
+                    } finally {
+                        runningPermits.release();
+                        dispatch();
+                        tryTerminate();
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                runningPermits.release();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 关闭
+     * 不再接收新任务, 等待队列中的任务执行完成后关闭执行器
+     */
+    public void shutdown() {
+        shutdown = true;
+        tryTerminate();
+    }
+
+    /**
+     * 已关闭且等待队列中的任务均已执行完成时关闭执行器
+     */
+    private void tryTerminate() {
+        if (shutdown && waitingQueue.isEmpty() && runningPermits.availablePermits() == maxConcurrency) {
+            delegate.shutdown();
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.openquartz.easyfile.core.executor.support;
+
+import com.openquartz.easyfile.common.dictionary.ExportPriorityEnum;
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 加权公平导出队列
+ * <p>
+ * 按调度分组(appId/请求用户)做加权公平排队: 任务的虚拟完成时间 = max(当前虚拟时间, 分组上一任务虚拟完成时间) + 预估成本 / 优先级权重,
+ * 出队取虚拟完成时间最小的任务。单个用户的大批量导出只会推迟该用户后续任务, 其他用户的小数据量导出优先执行。
+ * 非{@link FairExportTask} 的任务归入默认分组按普通优先级排队。
+ *
+ * @author svnee
+ */
+public class FairExportQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>(
+        Comparator.comparingDouble(Entry::getFinishTag).thenComparingLong(Entry::getSequence));
+
+    /**
+     * 各分组最近入队任务的虚拟完成时间
+     */
+    private final Map<String, Double> flowFinishTagMap = new HashMap<>();
+
+    private double virtualTime = 0D;
+    private long sequence = 0L;
+
+    public FairExportQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive!");
+        }
+        this.capacity = capacity;
+    }
+
+    @Override
+    public boolean offer(Runnable runnable) {
+        Objects.requireNonNull(runnable);
+        lock.lock();
+        try {
+            if (queue.size() >= capacity) {
+                return false;
+            }
+            enqueue(runnable);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Runnable runnable) throws InterruptedException {
+        Objects.requireNonNull(runnable);
+        lock.lockInterruptibly();
+        try {
+            while (queue.size() >= capacity) {
+                notFull.await();
+            }
+            enqueue(runnable);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(Runnable runnable, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(runnable);
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (queue.size() >= capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            enqueue(runnable);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (queue.isEmpty()) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (queue.isEmpty()) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll() {
+        lock.lock();
+        try {
+            return queue.isEmpty() ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable peek() {
+        lock.lock();
+        try {
+            Entry entry = queue.peek();
+            return Objects.nonNull(entry) ? entry.getTask() : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (Objects.isNull(o)) {
+            return false;
+        }
+        lock.lock();
+        try {
+            boolean removed = queue.removeIf(entry -> entry.getTask().equals(o));
+            if (removed) {
+                notFull.signal();
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            return capacity - queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        lock.lock();
+        try {
+            int n = 0;
+            while (n < maxElements && !queue.isEmpty()) {
+                c.add(dequeue());
+                n++;
+            }
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 快照迭代, 顺序不代表出队顺序
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        List<Runnable> snapshot = new ArrayList<>();
+        lock.lock();
+        try {
+            queue.forEach(entry -> snapshot.add(entry.getTask()));
+        } finally {
+            lock.unlock();
+        }
+        return new Iterator<Runnable>() {
+
+            private int cursor = 0;
+            private Runnable lastRet;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < snapshot.size();
+            }
+
+            @Override
+            public Runnable next() {
+                if (cursor >= snapshot.size()) {
+                    throw new NoSuchElementException();
+                }
+                lastRet = snapshot.get(cursor++);
+                return lastRet;
+            }
+
+            @Override
+            public void remove() {
+                if (Objects.isNull(lastRet)) {
+                    throw new IllegalStateException();
+                }
+                FairExportQueue.this.remove(lastRet);
+                lastRet = null;
+            }
+        };
+    }
+
+    private void enqueue(Runnable runnable) {
+        String flowKey = FairExportTask.DEFAULT_FLOW_KEY;
+        ExportPriorityEnum priority = ExportPriorityEnum.NORMAL;
+        long cost = 1L;
+        if (runnable instanceof FairExportTask) {
+            FairExportTask task = (FairExportTask) runnable;
+            flowKey = task.getFlowKey();
+            priority = task.getPriority();
+            cost = task.getCost();
+        }
+        double startTag = Math.max(virtualTime, flowFinishTagMap.getOrDefault(flowKey, 0D));
+        double finishTag = startTag + (double) cost / priority.getWeight();
+        flowFinishTagMap.put(flowKey, finishTag);
+        queue.add(new Entry(runnable, finishTag, sequence++));
+        notEmpty.signal();
+    }
+
+    private Runnable dequeue() {
+        Entry entry = queue.poll();
+        virtualTime = Math.max(virtualTime, entry.getFinishTag());
+        // 分组无排队任务时不再保留其虚拟完成时间
+        flowFinishTagMap.values().removeIf(finishTag -> finishTag <= virtualTime);
+        notFull.signal();
+        return entry.getTask();
+    }
+
+    private static class Entry {
+
+        private final Runnable task;
+        private final double finishTag;
+        private final long sequence;
+
+        Entry(Runnable task, double finishTag, long sequence) {
+            this.task = task;
+            this.finishTag = finishTag;
+            this.sequence = sequence;
+        }
+
+        Runnable getTask() {
+            return task;
+        }
+
+        double getFinishTag() {
+            return finishTag;
+        }
+
+        long getSequence() {
+            return sequence;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.openquartz.easyfile.core.executor.support;
+
+import com.openquartz.easyfile.common.bean.BaseDownloaderRequestContext;
+import com.openquartz.easyfile.common.dictionary.ExportPriorityEnum;
+import com.openquartz.easyfile.common.util.SpringContextUtil;
+import com.openquartz.easyfile.common.util.StringUtils;
+import com.openquartz.easyfile.common.util.page.PageTotal;
+import com.openquartz.easyfile.common.util.page.PageTotalContext;
+import com.openquartz.easyfile.core.annotations.FileExportExecutor;
+import com.openquartz.easyfile.core.executor.BaseDownloadExecutor;
+import java.util.Objects;
+import lombok.Getter;
+
+/**
+ * 公平调度导出任务
+ * 携带调度分组(appId/请求用户)、优先级及预估成本, 由{@link FairExportQueue} 排队
+ *
+ * @author svnee
+ */
+@Getter
+public class FairExportTask implements Runnable {
+
+    /**
+     * 默认调度分组
+     */
+    public static final String DEFAULT_FLOW_KEY = "default";
+
+    /**
+     * 每单位成本的数据行数
+     */
+    private static final long ROWS_PER_COST = 1000L;
+
+    /**
+     * 无法预估数据量时的成本
+     */
+    private static final long UNKNOWN_COST = 10L;
+
+    /**
+     * 调度分组
+     */
+    private final String flowKey;
+
+    /**
+     * 优先级
+     */
+    private final ExportPriorityEnum priority;
+
+    /**
+     * 预估成本
+     */
+    private final long cost;
+
+    private final Runnable runnable;
+
+    public FairExportTask(String flowKey, ExportPriorityEnum priority, long cost, Runnable runnable) {
+        this.flowKey = flowKey;
+        this.priority = priority;
+        this.cost = Math.max(cost, 1L);
+        this.runnable = runnable;
+    }
+
+    /**
+     * 根据导出执行器构建
+     * 调度分组为 appId + 请求用户(通知人userBy), 无请求用户时为 appId
+     * 预估成本取当前线程{@link PageTotalContext} 中缓存的总数据量, 需在清除前调用
+     *
+     * @param executor 导出执行器
+     * @param appId appId
+     * @param baseRequest 请求上下文
+     * @param runnable 执行
+     * @return 任务
+     */
+    public static FairExportTask of(BaseDownloadExecutor executor, String appId,
+        BaseDownloaderRequestContext baseRequest, Runnable runnable) {
+        String flowKey = getFlowKey(appId, baseRequest);
+        FileExportExecutor exportExecutor = SpringContextUtil.getRealClass(executor)
+            .getDeclaredAnnotation(FileExportExecutor.class);
+        if (Objects.isNull(exportExecutor)) {
+            return new FairExportTask(flowKey, ExportPriorityEnum.NORMAL, UNKNOWN_COST, runnable);
+        }
+        return new FairExportTask(flowKey, exportExecutor.priority(), estimateCost(), runnable);
+    }
+
+    private static String getFlowKey(String appId, BaseDownloaderRequestContext baseRequest) {
+        String flowKey = StringUtils.isBlank(appId) ? DEFAULT_FLOW_KEY : appId;
+        if (Objects.isNull(baseRequest) || Objects.isNull(baseRequest.getNotifier())
+            || StringUtils.isBlank(baseRequest.getNotifier().getUserBy())) {
+            return flowKey;
+        }
+        return flowKey + ":" + baseRequest.getNotifier().getUserBy();
+    }
+
+    private static long estimateCost() {
+        long total = 0;
+        for (PageTotal pageTotal : PageTotalContext.currentAllPageTotal().values()) {
+            if (Objects.nonNull(pageTotal) && Objects.nonNull(pageTotal.getTotal())) {
+                total += pageTotal.getTotal();
+            }
+        }
+        return total > 0 ? (total + ROWS_PER_COST - 1) / ROWS_PER_COST : UNKNOWN_COST;
+    }
+
+    @Override
+    public void run() {
+        runnable.run();
+    }
+}
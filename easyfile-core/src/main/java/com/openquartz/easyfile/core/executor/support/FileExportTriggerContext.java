@@ -1,7 +1,10 @@
 package com.openquartz.easyfile.core.executor.support;
 
+import com.openquartz.easyfile.common.bean.Pair;
+import com.openquartz.easyfile.common.response.PrepareExecutionResult;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import org.springframework.core.NamedThreadLocal;
 
@@ -15,6 +18,10 @@ public class FileExportTriggerContext {
 
     private static final String ASYNC_TRIGGER_FLAG = "ASYNC_TRIGGER";
 
+    private static final String PREPARED_EXECUTION = "PREPARED_EXECUTION";
+
+    private static final String CONCURRENCY_LIMITER = "CONCURRENCY_LIMITER";
+
     private FileExportTriggerContext() {
     }
 
@@ -35,6 +42,67 @@ public class FileExportTriggerContext {
 
     }
 
+    /**
+     * 设置已准备执行结果, 执行时不再重复开启执行与重置进度
+     *
+     * @param registerId 注册ID
+     * @param result 准备执行结果
+     */
+    public static void setPreparedExecution(Long registerId, PrepareExecutionResult result) {
+        Map<String, Object> extMap = currentFileExtend.get();
+        if (extMap == null) {
+            extMap = new HashMap<>();
+            currentFileExtend.set(extMap);
+        }
+        extMap.put(PREPARED_EXECUTION, Pair.of(registerId, result));
+    }
+
+    /**
+     * 获取已准备执行结果
+     *
+     * @param registerId 注册ID
+     * @return 准备执行结果, 未准备时为null
+     */
+    @SuppressWarnings("unchecked")
+    public static PrepareExecutionResult getPreparedExecution(Long registerId) {
+        return Optional.ofNullable(currentFileExtend.get())
+            .map(e -> (Pair<Long, PrepareExecutionResult>) e.get(PREPARED_EXECUTION))
+            .filter(e -> Objects.equals(e.getKey(), registerId))
+            .map(Pair::getValue)
+            .orElse(null);
+    }
+
+    /**
+     * 设置当前导出所属处理器的自适应并发限制, 由拉取流水线上报分页查询耗时
+     *
+     * @param limiter 自适应并发限制, 为空时移除
+     */
+    public static void setConcurrencyLimiter(AdaptiveConcurrencyLimiter limiter) {
+        Map<String, Object> extMap = currentFileExtend.get();
+        if (limiter == null) {
+            if (extMap != null) {
+                extMap.remove(CONCURRENCY_LIMITER);
+            }
+            return;
+        }
+        if (extMap == null) {
+            extMap = new HashMap<>();
+            currentFileExtend.set(extMap);
+        }
+        extMap.put(CONCURRENCY_LIMITER, limiter);
+    }
+
+    /**
+     * 获取当前导出所属处理器的自适应并发限制
+     *
+     * @return 自适应并发限制, 未开启时为null
+     */
+    public static AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return Optional.ofNullable(currentFileExtend.get())
+            .map(e -> (AdaptiveConcurrencyLimiter) e.get(CONCURRENCY_LIMITER))
+            .orElse(null);
+    }
+
     public static void clear() {
         currentFileExtend.remove();
     }
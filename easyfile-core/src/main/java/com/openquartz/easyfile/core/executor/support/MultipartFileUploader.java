@@ -0,0 +1,288 @@
+package com.openquartz.easyfile.core.executor.support;
+
+import com.openquartz.easyfile.common.bean.Pair;
+import com.openquartz.easyfile.common.concurrent.ThreadFactoryBuilder;
+import com.openquartz.easyfile.common.util.ExceptionUtils;
+import com.openquartz.easyfile.core.exception.GenerateFileErrorCode;
+import com.openquartz.easyfile.core.exception.GenerateFileException;
+import com.openquartz.easyfile.storage.file.MultipartUploadService;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 文件分片上传
+ * <p>
+ * <ul>
+ *     <li>生成文件时通过{@link #wrap(OutputStream)} 在写入本地文件的同时缓存分片数据,分片写满后提交并行上传,
+ *     在途分片数超过{@link MultipartUploadService#partParallelism()} 时阻塞写入</li>
+ *     <li>文件生成完成后通过{@link #complete(File)} 从本地文件读取未上传成功的分片(含最后一个分片)上传并合并</li>
+ *     <li>单个分片失败按{@link MultipartUploadService#partRetryTimes()} 重试,仍失败时抛出{@link GenerateFileException}
+ *     由调用方整体重试,整体重试时通过{@link MultipartUploadService#listUploadedParts(String)} 跳过已上传的分片</li>
+ * </ul>
+ * 非线程安全。
+ *
+ * @author svnee
+ */
+@Slf4j
+public final class MultipartFileUploader implements Closeable {
+
+    /**
+     * 分片重试间隔基数,第N次重试等待N倍
+     */
+    private static final long PART_RETRY_INTERVAL_MILLS = 200L;
+
+    private final MultipartUploadService uploadService;
+    private final String name;
+    private final String fileName;
+    private final String appId;
+    private final int partSize;
+    private final int parallelism;
+    private final Set<Integer> uploadedPartSet = ConcurrentHashMap.newKeySet();
+    private final List<Future<?>> streamingFutureList = new ArrayList<>();
+
+    private ExecutorService uploadExecutor;
+    private String uploadId;
+    private boolean completed;
+
+    /**
+     * @param uploadService 分片上传服务
+     * @param name 名称,用于上传线程命名
+     * @param fileName 上传的文件名
+     * @param appId 服务ID
+     */
+    public MultipartFileUploader(MultipartUploadService uploadService, String name, String fileName, String appId) {
+        this.uploadService = uploadService;
+        this.name = name;
+        this.fileName = fileName;
+        this.appId = appId;
+        this.partSize = uploadService.partSize();
+        this.parallelism = Math.max(uploadService.partParallelism(), 1);
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * 初始化分片上传
+     */
+    public void initiate() {
+        if (Objects.isNull(uploadId)) {
+            uploadId = uploadService.initiateMultipartUpload(fileName, appId);
+        }
+    }
+
+    /**
+     * 包装本地文件输出流,写入本地文件的同时按分片上传
+     * 写入的数据需与最终上传的文件内容一致(仅追加写入)
+     *
+     * @param out 本地文件输出流
+     * @return 输出流
+     */
+    public OutputStream wrap(OutputStream out) {
+        initiate();
+        return new PartUploadOutputStream(out);
+    }
+
+    /**
+     * 上传剩余分片并合并
+     *
+     * @param file 本地文件
+     * @return key: 文件系统, value:返回文件URL/KEY标识符
+     */
+    public Pair<String, String> complete(File file) {
+        initiate();
+        streamingFutureList.forEach(this::await);
+        streamingFutureList.clear();
+
+        long length = file.length();
+        int partCount = (int) Math.max((length + partSize - 1) / partSize, 1);
+        if (uploadedPartSet.size() < partCount) {
+            uploadedPartSet.addAll(uploadService.listUploadedParts(uploadId));
+        }
+
+        List<Future<?>> futureList = new ArrayList<>();
+        for (int partNumber = 1; partNumber <= partCount; partNumber++) {
+            if (uploadedPartSet.contains(partNumber)) {
+                continue;
+            }
+            int currentPartNumber = partNumber;
+            futureList.add(getUploadExecutor().submit(() -> {
+                byte[] data = readPart(file, currentPartNumber, length);
+                uploadPartWithRetry(currentPartNumber, data, data.length);
+                return null;
+            }));
+        }
+        int failCount = 0;
+        for (Future<?> future : futureList) {
+            if (!await(future)) {
+                failCount++;
+            }
+        }
+        if (failCount > 0) {
+            log.error("[MultipartFileUploader#complete] upload part fail!uploadId:{},fileName:{},failCount:{}",
+                uploadId, fileName, failCount);
+            throw new GenerateFileException(GenerateFileErrorCode.UPLOAD_PART_ERROR);
+        }
+        Pair<String, String> result = uploadService.completeMultipartUpload(uploadId, partCount, fileName, appId);
+        completed = true;
+        return result;
+    }
+
+    /**
+     * 释放上传线程,未完成上传时取消分片上传
+     */
+    @Override
+    public void close() {
+        if (Objects.nonNull(uploadExecutor)) {
+            uploadExecutor.shutdownNow();
+        }
+        if (Objects.nonNull(uploadId) && !completed) {
+            try {
+                uploadService.abortMultipartUpload(uploadId);
+            } catch (Exception ex) {
+                log.error("[MultipartFileUploader#close] abort multipart upload error!uploadId:{},fileName:{}",
+                    uploadId, fileName, ex);
+            }
+        }
+    }
+
+    private void uploadPartWithRetry(int partNumber, byte[] data, int length) throws InterruptedException {
+        int retryTimes = Math.max(uploadService.partRetryTimes(), 0);
+        for (int i = 0; ; i++) {
+            try {
+                uploadService.uploadPart(uploadId, partNumber, data, length);
+                uploadedPartSet.add(partNumber);
+                return;
+            } catch (Exception ex) {
+                if (i >= retryTimes) {
+                    log.warn("[MultipartFileUploader#uploadPart] upload part fail!uploadId:{},partNumber:{}",
+                        uploadId, partNumber, ex);
+                    ExceptionUtils.rethrow(ex);
+                }
+                TimeUnit.MILLISECONDS.sleep(PART_RETRY_INTERVAL_MILLS * (i + 1));
+            }
+        }
+    }
+
+    private byte[] readPart(File file, int partNumber, long length) throws IOException {
+        long position = (long) (partNumber - 1) * partSize;
+        int partLength = (int) Math.min(partSize, length - position);
+        ByteBuffer buffer = ByteBuffer.allocate(Math.max(partLength, 0));
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    break;
+                }
+            }
+        }
+        return buffer.array();
+    }
+
+    private boolean await(Future<?> future) {
+        try {
+            future.get();
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return ExceptionUtils.rethrow(ex);
+        } catch (ExecutionException ex) {
+            return false;
+        }
+    }
+
+    private ExecutorService getUploadExecutor() {
+        if (Objects.isNull(uploadExecutor)) {
+            uploadExecutor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder()
+                    .setNameFormat(name + "-MultipartUpload-thread-%d")
+                    .setDaemon(true)
+                    .build());
+        }
+        return uploadExecutor;
+    }
+
+    /**
+     * 写入本地文件的同时缓存分片数据,分片写满后提交上传
+     * 最后一个分片在{@link #complete(File)} 时从本地文件读取上传
+     */
+    private final class PartUploadOutputStream extends FilterOutputStream {
+
+        private final Semaphore inflightPermits = new Semaphore(parallelism);
+        private byte[] part = new byte[partSize];
+        private int position;
+        private int partNumber = 1;
+
+        private PartUploadOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            part[position++] = (byte) b;
+            if (position == partSize) {
+                submitPart();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            while (len > 0) {
+                int length = Math.min(len, partSize - position);
+                System.arraycopy(b, off, part, position, length);
+                position += length;
+                off += length;
+                len -= length;
+                if (position == partSize) {
+                    submitPart();
+                }
+            }
+        }
+
+        private void submitPart() throws IOException {
+            final byte[] data = part;
+            final int currentPartNumber = partNumber++;
+            try {
+                inflightPermits.acquire();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException("multipart upload interrupted", ex);
+            }
+            streamingFutureList.add(getUploadExecutor().submit(() -> {
+                try {
+                    uploadPartWithRetry(currentPartNumber, data, data.length);
+                } catch (Exception ex) {
+                    // 生成文件完成后从本地文件重新上传
+                    log.warn("[MultipartFileUploader#write] upload part fail,retry after generated!partNumber:{}",
+                        currentPartNumber);
+                } finally {
+                    inflightPermits.release();
+                }
+            }));
+            part = new byte[partSize];
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.openquartz.easyfile.core.executor.support;
+
+import com.openquartz.easyfile.common.bean.Pair;
+import com.openquartz.easyfile.common.concurrent.ThreadFactoryBuilder;
+import com.openquartz.easyfile.common.i18n.LocaleContext;
+import com.openquartz.easyfile.common.util.ExceptionUtils;
+import com.openquartz.easyfile.common.util.PageUtil;
+import com.openquartz.easyfile.common.util.page.Page;
+import com.openquartz.easyfile.common.util.page.PageTotal;
+import com.openquartz.easyfile.common.util.page.PageTotalContext;
+import com.openquartz.easyfile.core.annotations.FileExportExecutor;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 分页拉取流水线
+ * <p>
+ * 由一组有界的拉取线程预取分页数据,按页码顺序交付给当前线程(写入线程)消费,使数据库查询与文件写入重叠执行。
+ * 消费始终在调用线程中执行,因此{@link com.openquartz.easyfile.core.executor.ExecuteProcessProbe#report(Integer)}
+ * 等依赖当前线程上下文的逻辑可以在消费回调中直接使用。
+ * <ul>
+ *     <li>串行模式(并发数小于等于0): 在当前线程中顺序拉取并消费,与历史行为一致</li>
+ *     <li>游标分页: 每页依赖上一页返回的cursorId,使用单个拉取线程顺序预取,至多预取 bufferSize 页</li>
+ *     <li>偏移分页: 各页相互独立,使用 concurrency 个拉取线程并发拉取,至多 bufferSize 页在途</li>
+ * </ul>
+ *
+ * @param <T> 分页数据类型
+ * @author svnee
+ */
+public final class PageFetchPipeline<T> {
+
+    /**
+     * 默认预取缓冲页数为并发数的倍数
+     */
+    private static final int DEFAULT_BUFFER_FACTOR = 2;
+
+    private final String name;
+    private final boolean cursorSharding;
+    private final int concurrency;
+    private final int bufferSize;
+
+    /**
+     * 接收分页查询耗时的自适应并发限制, 可为空
+     */
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public PageFetchPipeline(String name, boolean cursorSharding, int concurrency, int bufferSize) {
+        this(name, cursorSharding, concurrency, bufferSize, null);
+    }
+
+    public PageFetchPipeline(String name, boolean cursorSharding, int concurrency, int bufferSize,
+        AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.name = name;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.cursorSharding = cursorSharding;
+        this.concurrency = cursorSharding ? Math.min(concurrency, 1) : concurrency;
+        this.bufferSize = Math.max(bufferSize > 0 ? bufferSize : concurrency * DEFAULT_BUFFER_FACTOR, this.concurrency);
+    }
+
+    /**
+     * 根据导出执行器注解构建流水线
+     * 分页查询耗时上报到当前导出所属处理器的自适应并发限制
+     *
+     * @param exportExecutor 执行器注解,为空时使用串行模式
+     * @param cursorSharding 是否游标分页
+     * @param <T> T
+     * @return 分页拉取流水线
+     */
+    public static <T> PageFetchPipeline<T> of(FileExportExecutor exportExecutor, boolean cursorSharding) {
+        AdaptiveConcurrencyLimiter limiter = FileExportTriggerContext.getConcurrencyLimiter();
+        if (Objects.isNull(exportExecutor)) {
+            return new PageFetchPipeline<>("PageFetch", cursorSharding, 0, 0, limiter);
+        }
+        return new PageFetchPipeline<>(exportExecutor.value(), cursorSharding, exportExecutor.pageFetchConcurrency(),
+            exportExecutor.pageFetchBufferSize(), limiter);
+    }
+
+    /**
+     * 执行分页拉取与消费
+     *
+     * @param total 分页汇总信息
+     * @param fetcher 分页数据拉取
+     * @param consumer 分页数据消费(在当前线程中按页码顺序执行)
+     */
+    public void execute(PageTotal total, PageFetcher<T> fetcher, PageConsumer<T> consumer) {
+        int totalPage = PageUtil.totalPage(total.getTotal(), total.getPageSize());
+        if (totalPage <= 0) {
+            return;
+        }
+        if (concurrency <= 0) {
+            executeSerial(total, totalPage, fetcher, consumer);
+            return;
+        }
+
+        ExecutorService fetchExecutor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat(name + "-PageFetch-thread-%d")
+                .setDaemon(true)
+                .build());
+        Locale locale = LocaleContext.currentLocale();
+        Map<Object, PageTotal> pageTotalMap = new HashMap<>(PageTotalContext.currentAllPageTotal());
+
+        // 按页码顺序排列的在途分页,队首即为下一个写入的分页
+        Deque<CompletableFuture<Pair<Long, List<T>>>> window = new ArrayDeque<>(bufferSize);
+        CompletableFuture<Pair<Long, List<T>>> tail = CompletableFuture.completedFuture(Pair.of(0L, null));
+        int nextPageIndex = 0;
+        try {
+            for (int i = 0; i < totalPage; i++) {
+                while (nextPageIndex < totalPage && window.size() < bufferSize) {
+                    Page page = new Page(nextPageIndex + 1, total.getPageSize(), total.getTotal());
+                    if (cursorSharding) {
+                        tail = tail.thenApplyAsync(prev -> withContext(locale, pageTotalMap,
+                            () -> fetch(fetcher, page, prev.getKey())), fetchExecutor);
+                    } else {
+                        tail = CompletableFuture.supplyAsync(() -> withContext(locale, pageTotalMap,
+                            () -> fetch(fetcher, page, 0L)), fetchExecutor);
+                    }
+                    window.addLast(tail);
+                    nextPageIndex++;
+                }
+                Pair<Long, List<T>> pair = await(window.pollFirst());
+                consumer.accept(i, totalPage, pair.getValue());
+            }
+        } finally {
+            window.forEach(future -> future.cancel(true));
+            fetchExecutor.shutdownNow();
+        }
+    }
+
+    private void executeSerial(PageTotal total, int totalPage, PageFetcher<T> fetcher, PageConsumer<T> consumer) {
+        Page page = new Page(1, total.getPageSize(), total.getTotal());
+        Long cursorId = 0L;
+        for (int i = 0; i < totalPage; i++) {
+            page.setPageNum(i + 1);
+            Pair<Long, List<T>> pair = fetch(fetcher, page, cursorId);
+            cursorId = pair.getKey();
+            consumer.accept(i, totalPage, pair.getValue());
+        }
+    }
+
+    /**
+     * 拉取分页数据,返回为空时沿用上一页的cursorId
+     */
+    private Pair<Long, List<T>> fetch(PageFetcher<T> fetcher, Page page, Long cursorId) {
+        long startNanos = System.nanoTime();
+        Pair<Long, List<T>> pair = fetcher.fetch(page, cursorId);
+        if (Objects.nonNull(concurrencyLimiter)) {
+            concurrencyLimiter.recordPageLatency(System.nanoTime() - startNanos);
+        }
+        return Objects.nonNull(pair) ? pair : Pair.of(cursorId, null);
+    }
+
+    /**
+     * 在拉取线程中还原调用线程的上下文
+     */
+    static <R> R withContext(Locale locale, Map<Object, PageTotal> pageTotalMap, Supplier<R> supplier) {
+        try {
+            LocaleContext.setCurrentLocale(locale);
+            pageTotalMap.forEach(PageTotalContext::cache);
+            return supplier.get();
+        } finally {
+            PageTotalContext.clear();
+            LocaleContext.clear();
+        }
+    }
+
+    private Pair<Long, List<T>> await(CompletableFuture<Pair<Long, List<T>>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            return ExceptionUtils.rethrow(Objects.nonNull(ex.getCause()) ? ex.getCause() : ex);
+        }
+    }
+
+    /**
+     * 分页数据拉取
+     *
+     * @param <T> T
+     */
+    @FunctionalInterface
+    public interface PageFetcher<T> {
+
+        /**
+         * 拉取分页数据
+         *
+         * @param page 页
+         * @param cursorId 游标ID,偏移分页时恒为0
+         * @return key: cursorId, value: resultList
+         */
+        Pair<Long, List<T>> fetch(Page page, Long cursorId);
+    }
+
+    /**
+     * 分页数据消费
+     *
+     * @param <T> T
+     */
+    @FunctionalInterface
+    public interface PageConsumer<T> {
+
+        /**
+         * 消费分页数据
+         *
+         * @param pageIndex 页下标(从0开始)
+         * @param totalPage 总页数
+         * @param dataList 分页数据,可能为空
+         */
+        void accept(int pageIndex, int totalPage, List<T> dataList);
+    }
+}
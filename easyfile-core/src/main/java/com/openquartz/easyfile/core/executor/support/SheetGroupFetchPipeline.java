@@ -0,0 +1,289 @@
+package com.openquartz.easyfile.core.executor.support;
+
+import com.openquartz.easyfile.common.bean.Pair;
+import com.openquartz.easyfile.common.concurrent.ThreadFactoryBuilder;
+import com.openquartz.easyfile.common.i18n.LocaleContext;
+import com.openquartz.easyfile.common.util.ExceptionUtils;
+import com.openquartz.easyfile.common.util.PageUtil;
+import com.openquartz.easyfile.common.util.page.Page;
+import com.openquartz.easyfile.common.util.page.PageTotal;
+import com.openquartz.easyfile.common.util.page.PageTotalContext;
+import com.openquartz.easyfile.core.annotations.FileExportExecutor;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多Sheet分组拉取流水线
+ * <p>
+ * 各分组的 count 及分页查询在拉取线程中并发执行,拉取结果缓冲在分组各自的队列中;
+ * 当前线程(写入线程)按分组顺序、页码顺序消费,因此Sheet顺序与串行导出一致,
+ * 导出耗时取决于最慢的分组而非所有分组之和。
+ * <ul>
+ *     <li>串行模式(并发数小于等于0): 在当前线程中按分组顺序拉取并消费,与历史行为一致</li>
+ *     <li>分组内按cursorId顺序拉取,每个分组至多缓冲 bufferSize 页(小于等于0时不限制)</li>
+ * </ul>
+ *
+ * @param <G> 分组类型
+ * @param <T> 分页数据类型
+ * @author svnee
+ */
+public final class SheetGroupFetchPipeline<G, T> {
+
+    private final String name;
+    private final int concurrency;
+    private final int bufferSize;
+
+    /**
+     * 接收分页查询耗时的自适应并发限制, 可为空
+     */
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public SheetGroupFetchPipeline(String name, int concurrency, int bufferSize) {
+        this(name, concurrency, bufferSize, null);
+    }
+
+    public SheetGroupFetchPipeline(String name, int concurrency, int bufferSize,
+        AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.name = name;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.concurrency = concurrency;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * 根据导出执行器注解构建流水线
+     * 分页查询耗时上报到当前导出所属处理器的自适应并发限制
+     *
+     * @param exportExecutor 执行器注解,为空时使用串行模式
+     * @param <G> G
+     * @param <T> T
+     * @return 多Sheet分组拉取流水线
+     */
+    public static <G, T> SheetGroupFetchPipeline<G, T> of(FileExportExecutor exportExecutor) {
+        AdaptiveConcurrencyLimiter limiter = FileExportTriggerContext.getConcurrencyLimiter();
+        if (Objects.isNull(exportExecutor)) {
+            return new SheetGroupFetchPipeline<>("SheetFetch", 0, 0, limiter);
+        }
+        return new SheetGroupFetchPipeline<>(exportExecutor.value(), exportExecutor.sheetConcurrency(),
+            exportExecutor.pageFetchBufferSize(), limiter);
+    }
+
+    /**
+     * 执行分组拉取与消费
+     *
+     * @param groupList 分组
+     * @param counter 分组分页汇总查询
+     * @param fetcher 分组分页数据拉取
+     * @param consumer 分组数据消费(在当前线程中按分组顺序、页码顺序执行)
+     */
+    public void execute(List<G> groupList, GroupCounter<G> counter, GroupPageFetcher<G, T> fetcher,
+        GroupConsumer<G, T> consumer) {
+        if (concurrency <= 0) {
+            executeSerial(groupList, counter, fetcher, consumer);
+            return;
+        }
+
+        int threadNum = Math.min(concurrency, groupList.size());
+        ExecutorService fetchExecutor = new ThreadPoolExecutor(threadNum, threadNum, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat(name + "-SheetFetch-thread-%d")
+                .setDaemon(true)
+                .build());
+        Locale locale = LocaleContext.currentLocale();
+        Map<Object, PageTotal> pageTotalMap = new HashMap<>(PageTotalContext.currentAllPageTotal());
+
+        List<BlockingQueue<Chunk<T>>> queueList = new ArrayList<>(groupList.size());
+        try {
+            for (G group : groupList) {
+                // 额外预留汇总信息及异常的位置
+                BlockingQueue<Chunk<T>> queue = bufferSize > 0 ? new LinkedBlockingQueue<>(bufferSize + 2)
+                    : new LinkedBlockingQueue<>();
+                queueList.add(queue);
+                fetchExecutor.execute(() -> PageFetchPipeline.withContext(locale, pageTotalMap, () -> {
+                    fetchGroup(group, counter, fetcher, queue);
+                    return null;
+                }));
+            }
+            for (int j = 0; j < groupList.size(); j++) {
+                G group = groupList.get(j);
+                BlockingQueue<Chunk<T>> queue = queueList.get(j);
+                PageTotal total = take(queue).total;
+                consumer.start(j, group, total);
+                int totalPage = totalPage(total);
+                for (int i = 0; i < totalPage; i++) {
+                    consumer.accept(j, group, i, totalPage, take(queue).dataList);
+                }
+                // 释放已消费分组的缓冲
+                queueList.set(j, null);
+            }
+        } finally {
+            fetchExecutor.shutdownNow();
+        }
+    }
+
+    private void executeSerial(List<G> groupList, GroupCounter<G> counter, GroupPageFetcher<G, T> fetcher,
+        GroupConsumer<G, T> consumer) {
+        for (int j = 0; j < groupList.size(); j++) {
+            G group = groupList.get(j);
+            PageTotal total = counter.count(group);
+            consumer.start(j, group, total);
+            int totalPage = totalPage(total);
+            Page page = new Page(1, total.getPageSize(), total.getTotal());
+            Long cursorId = 0L;
+            for (int i = 0; i < totalPage; i++) {
+                page.setPageNum(i + 1);
+                Pair<Long, List<T>> pair = fetch(fetcher, group, page, cursorId);
+                if (Objects.nonNull(pair)) {
+                    cursorId = pair.getKey();
+                }
+                consumer.accept(j, group, i, totalPage, Objects.nonNull(pair) ? pair.getValue() : null);
+            }
+        }
+    }
+
+    private void fetchGroup(G group, GroupCounter<G> counter, GroupPageFetcher<G, T> fetcher,
+        BlockingQueue<Chunk<T>> queue) {
+        try {
+            try {
+                PageTotal total = counter.count(group);
+                queue.put(new Chunk<>(total, null, null));
+                int totalPage = totalPage(total);
+                Page page = new Page(1, total.getPageSize(), total.getTotal());
+                Long cursorId = 0L;
+                for (int i = 0; i < totalPage; i++) {
+                    page.setPageNum(i + 1);
+                    Pair<Long, List<T>> pair = fetch(fetcher, group, page, cursorId);
+                    if (Objects.nonNull(pair)) {
+                        cursorId = pair.getKey();
+                    }
+                    queue.put(new Chunk<>(null, Objects.nonNull(pair) ? pair.getValue() : null, null));
+                }
+            } catch (InterruptedException ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                queue.put(new Chunk<>(null, null, ex));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 拉取分组分页数据并上报查询耗时
+     */
+    private Pair<Long, List<T>> fetch(GroupPageFetcher<G, T> fetcher, G group, Page page, Long cursorId) {
+        long startNanos = System.nanoTime();
+        Pair<Long, List<T>> pair = fetcher.fetch(group, page, cursorId);
+        if (Objects.nonNull(concurrencyLimiter)) {
+            concurrencyLimiter.recordPageLatency(System.nanoTime() - startNanos);
+        }
+        return pair;
+    }
+
+    private Chunk<T> take(BlockingQueue<Chunk<T>> queue) {
+        Chunk<T> chunk;
+        try {
+            chunk = queue.take();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return ExceptionUtils.rethrow(ex);
+        }
+        if (Objects.nonNull(chunk.error)) {
+            return ExceptionUtils.rethrow(chunk.error);
+        }
+        return chunk;
+    }
+
+    private static int totalPage(PageTotal total) {
+        return total.getTotal() <= 0 ? 0 : PageUtil.totalPage(total.getTotal(), total.getPageSize());
+    }
+
+    private static final class Chunk<T> {
+
+        private final PageTotal total;
+        private final List<T> dataList;
+        private final Throwable error;
+
+        private Chunk(PageTotal total, List<T> dataList, Throwable error) {
+            this.total = total;
+            this.dataList = dataList;
+            this.error = error;
+        }
+    }
+
+    /**
+     * 分组分页汇总查询
+     *
+     * @param <G> G
+     */
+    @FunctionalInterface
+    public interface GroupCounter<G> {
+
+        /**
+         * 查询分组分页汇总信息
+         *
+         * @param group 分组
+         * @return 分页汇总信息
+         */
+        PageTotal count(G group);
+    }
+
+    /**
+     * 分组分页数据拉取
+     *
+     * @param <G> G
+     * @param <T> T
+     */
+    @FunctionalInterface
+    public interface GroupPageFetcher<G, T> {
+
+        /**
+         * 拉取分组分页数据
+         *
+         * @param group 分组
+         * @param page 页
+         * @param cursorId 游标ID
+         * @return key: cursorId, value: resultList
+         */
+        Pair<Long, List<T>> fetch(G group, Page page, Long cursorId);
+    }
+
+    /**
+     * 分组数据消费
+     *
+     * @param <G> G
+     * @param <T> T
+     */
+    public interface GroupConsumer<G, T> {
+
+        /**
+         * 开始消费分组
+         *
+         * @param groupIndex 分组下标(从0开始)
+         * @param group 分组
+         * @param total 分页汇总信息
+         */
+        void start(int groupIndex, G group, PageTotal total);
+
+        /**
+         * 消费分组分页数据
+         *
+         * @param groupIndex 分组下标(从0开始)
+         * @param group 分组
+         * @param pageIndex 页下标(从0开始)
+         * @param totalPage 总页数
+         * @param dataList 分页数据,可能为空
+         */
+        void accept(int groupIndex, G group, int pageIndex, int totalPage, List<T> dataList);
+    }
+}
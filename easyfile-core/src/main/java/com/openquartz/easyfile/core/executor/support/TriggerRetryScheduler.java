@@ -0,0 +1,115 @@
+package com.openquartz.easyfile.core.executor.support;
+
+import com.openquartz.easyfile.common.concurrent.ThreadFactoryBuilder;
+import com.openquartz.easyfile.common.response.DownloadTriggerEntry;
+import java.util.Objects;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 触发器重试调度
+ * <p>
+ * 执行失败的触发器按触发次数指数退避(带随机抖动)后重试: 延迟 = min(最大延迟, 基础延迟 * 2^(触发次数-1)) * [0.5, 1)。
+ * 重试仅保存在内存中, 节点重启或队列已满时由DB补偿扫描兜底。
+ *
+ * @author svnee
+ */
+@Slf4j
+public class TriggerRetryScheduler {
+
+    private final DelayQueue<RetryTask> queue = new DelayQueue<>();
+    private final Consumer<DownloadTriggerEntry> retryHandler;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final int maxTriggerCount;
+    private final int capacity;
+    private final Thread dispatchThread;
+
+    private volatile boolean running = true;
+
+    public TriggerRetryScheduler(String name, Consumer<DownloadTriggerEntry> retryHandler, long baseDelayMillis,
+        long maxDelayMillis, int maxTriggerCount, int capacity) {
+        this.retryHandler = retryHandler;
+        this.baseDelayMillis = Math.max(baseDelayMillis, 1L);
+        this.maxDelayMillis = Math.max(maxDelayMillis, this.baseDelayMillis);
+        this.maxTriggerCount = maxTriggerCount;
+        this.capacity = capacity;
+        this.dispatchThread = new ThreadFactoryBuilder()
+            .setNameFormat(name + "-thread-%d")
+            .setDaemon(true)
+            .build()
+            .newThread(this::dispatch);
+    }
+
+    public void start() {
+        dispatchThread.start();
+    }
+
+    public void shutdown() {
+        running = false;
+        dispatchThread.interrupt();
+    }
+
+    /**
+     * 按触发次数退避后重试
+     *
+     * @param triggerEntry 触发器, 触发次数为已执行次数
+     * @return 是否加入重试
+     */
+    public boolean schedule(DownloadTriggerEntry triggerEntry) {
+        if (!running || Objects.isNull(triggerEntry.getTriggerCount())
+            || triggerEntry.getTriggerCount() > maxTriggerCount || queue.size() >= capacity) {
+            return false;
+        }
+        long delayMillis = backoffMillis(triggerEntry.getTriggerCount());
+        queue.offer(new RetryTask(triggerEntry, System.currentTimeMillis() + delayMillis));
+        log.info("[TriggerRetryScheduler#schedule] registerId:{},triggerCount:{},delay:{}ms",
+            triggerEntry.getRegisterId(), triggerEntry.getTriggerCount(), delayMillis);
+        return true;
+    }
+
+    private long backoffMillis(int triggerCount) {
+        int shift = Math.min(Math.max(triggerCount - 1, 0), 30);
+        long delayMillis = Math.min(maxDelayMillis, baseDelayMillis << shift);
+        return delayMillis / 2 + ThreadLocalRandom.current().nextLong(delayMillis / 2 + 1);
+    }
+
+    private void dispatch() {
+        while (running) {
+            try {
+                RetryTask task = queue.take();
+                retryHandler.accept(task.triggerEntry);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception ex) {
+                log.error("[TriggerRetryScheduler#dispatch] retry error!", ex);
+            }
+        }
+    }
+
+    private static final class RetryTask implements Delayed {
+
+        private final DownloadTriggerEntry triggerEntry;
+        private final long nextAttemptAt;
+
+        private RetryTask(DownloadTriggerEntry triggerEntry, long nextAttemptAt) {
+            this.triggerEntry = triggerEntry;
+            this.nextAttemptAt = nextAttemptAt;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(nextAttemptAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return Long.compare(nextAttemptAt, ((RetryTask) o).nextAttemptAt);
+        }
+    }
+}
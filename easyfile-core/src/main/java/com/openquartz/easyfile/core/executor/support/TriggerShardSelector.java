@@ -0,0 +1,72 @@
+package com.openquartz.easyfile.core.executor.support;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 触发器分片选择
+ * 分片为 register_id 对分片总数取模, 使用一致性哈希将分片分配到存活节点,
+ * 节点上下线时仅迁移该节点相邻的分片
+ *
+ * @author svnee
+ */
+public final class TriggerShardSelector {
+
+    /**
+     * 每个节点的虚拟节点数
+     */
+    private static final int VIRTUAL_NODE_NUM = 160;
+
+    private TriggerShardSelector() {
+    }
+
+    /**
+     * 选择节点负责的分片
+     *
+     * @param liveNodeList 存活节点
+     * @param node 当前节点
+     * @param shardCount 分片总数
+     * @return 当前节点负责的分片
+     */
+    public static List<Integer> select(Collection<String> liveNodeList, String node, int shardCount) {
+        TreeMap<Long, String> ring = new TreeMap<>();
+        for (String liveNode : liveNodeList) {
+            for (int i = 0; i < VIRTUAL_NODE_NUM; i++) {
+                ring.put(hash(liveNode + "#" + i), liveNode);
+            }
+        }
+        List<Integer> shardList = new ArrayList<>();
+        if (ring.isEmpty()) {
+            return shardList;
+        }
+        for (int shard = 0; shard < shardCount; shard++) {
+            Map.Entry<Long, String> entry = ring.ceilingEntry(hash("shard#" + shard));
+            if (entry == null) {
+                entry = ring.firstEntry();
+            }
+            if (entry.getValue().equals(node)) {
+                shardList.add(shard);
+            }
+        }
+        return shardList;
+    }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long hash = 0;
+            for (int i = 0; i < 8; i++) {
+                hash = (hash << 8) | (digest[i] & 0xFF);
+            }
+            return hash;
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
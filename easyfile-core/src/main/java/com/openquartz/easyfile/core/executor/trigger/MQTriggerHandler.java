@@ -1,5 +1,10 @@
 package com.openquartz.easyfile.core.executor.trigger;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * MQTriggerConsumer
  *
@@ -14,4 +19,24 @@ public interface MQTriggerHandler {
      */
     void handle(DownloadTriggerMessage message);
 
+    /**
+     * 批量处理消息
+     * 各消息交由执行器执行, 不等待执行完成
+     *
+     * @param messageList 消息
+     * @param executor 执行器
+     * @return 执行器拒绝执行需重新消费的消息
+     */
+    default List<DownloadTriggerMessage> handle(List<DownloadTriggerMessage> messageList, Executor executor) {
+        List<DownloadTriggerMessage> failMessageList = new ArrayList<>();
+        for (DownloadTriggerMessage message : messageList) {
+            try {
+                executor.execute(() -> handle(message));
+            } catch (RejectedExecutionException ex) {
+                failMessageList.add(message);
+            }
+        }
+        return failMessageList;
+    }
+
 }
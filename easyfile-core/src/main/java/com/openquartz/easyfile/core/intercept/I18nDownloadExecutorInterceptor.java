@@ -3,10 +3,14 @@ package com.openquartz.easyfile.core.intercept;
 import com.openquartz.easyfile.common.bean.BaseDownloaderRequestContext;
 import com.openquartz.easyfile.common.i18n.LocaleContext;
 import com.openquartz.easyfile.common.response.ExportResult;
+import com.openquartz.easyfile.common.response.PrepareExecutionResult;
+import com.openquartz.easyfile.common.util.StringUtils;
 import com.openquartz.easyfile.core.executor.BaseDownloadExecutor;
+import com.openquartz.easyfile.core.executor.support.FileExportTriggerContext;
 import com.openquartz.easyfile.storage.download.DownloadStorageService;
 
 import java.util.Locale;
+import java.util.Objects;
 
 /**
  * I18nDownloadExecutorInterceptor
@@ -29,7 +33,14 @@ public class I18nDownloadExecutorInterceptor implements DownloadExecutorIntercep
     @Override
     public void beforeExecute(BaseDownloadExecutor executor, BaseDownloaderRequestContext context, Long registerId, InterceptorContext interceptorContext) {
 
-        Locale currentLocale = downloadStorageService.getCurrentLocale(registerId);
+        PrepareExecutionResult prepareResult = FileExportTriggerContext.getPreparedExecution(registerId);
+        Locale currentLocale;
+        if (Objects.nonNull(prepareResult)) {
+            currentLocale = StringUtils.isNotBlank(prepareResult.getLocale())
+                ? Locale.forLanguageTag(prepareResult.getLocale()) : null;
+        } else {
+            currentLocale = downloadStorageService.getCurrentLocale(registerId);
+        }
         LocaleContext.setCurrentLocale(currentLocale);
 
     }
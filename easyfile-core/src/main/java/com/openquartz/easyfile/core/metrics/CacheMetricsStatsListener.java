@@ -0,0 +1,26 @@
+package com.openquartz.easyfile.core.metrics;
+
+import com.openquartz.easyfile.common.cache.ExpiringCache.StatsListener;
+import com.openquartz.easyfile.metrics.api.constants.MetricsKeyConstants;
+import com.openquartz.easyfile.metrics.api.reporter.MetricsReporter;
+
+/**
+ * 缓存命中指标上报
+ *
+ * @author svnee
+ */
+public class CacheMetricsStatsListener implements StatsListener {
+
+    static {
+        MetricsReporter.registerCounter(MetricsKeyConstants.STORAGE_CACHE_HIT_COUNTER, new String[]{"cache"},
+            "easyfile storage cache hit count");
+        MetricsReporter.registerCounter(MetricsKeyConstants.STORAGE_CACHE_MISS_COUNTER, new String[]{"cache"},
+            "easyfile storage cache miss count");
+    }
+
+    @Override
+    public void record(String cacheName, boolean hit) {
+        MetricsReporter.counterIncrement(hit ? MetricsKeyConstants.STORAGE_CACHE_HIT_COUNTER
+            : MetricsKeyConstants.STORAGE_CACHE_MISS_COUNTER, new String[]{cacheName});
+    }
+}
@@ -55,4 +55,57 @@ public interface IDatabaseAsyncHandlerProperty {
         return 10;
     }
 
+    /**
+     * 执行租约时长
+     * 单位：秒
+     * 执行节点超过租约时长未续约视为宕机, 其执行中的触发器可被其他节点重新认领
+     *
+     * @return 租约时长
+     */
+    default Integer getLeaseSeconds() {
+        return 60;
+    }
+
+    /**
+     * 租约续约周期
+     * 单位：秒
+     * 需小于租约时长, 建议不超过租约时长的1/3
+     *
+     * @return 续约周期
+     */
+    default Integer getLeaseHeartbeatPeriod() {
+        return 15;
+    }
+
+    /**
+     * 失败重试基础延迟
+     * 单位：秒
+     * 执行失败后按 基础延迟 * 2^(触发次数-1) 退避(带随机抖动)重新触发
+     *
+     * @return 基础延迟
+     */
+    default Integer getRetryBaseDelaySeconds() {
+        return 10;
+    }
+
+    /**
+     * 失败重试最大延迟
+     * 单位：秒
+     *
+     * @return 最大延迟
+     */
+    default Integer getRetryMaxDelaySeconds() {
+        return 300;
+    }
+
+    /**
+     * 失败重试队列容量
+     * 超出部分由补偿任务重新触发
+     *
+     * @return 队列容量
+     */
+    default Integer getRetryQueueCapacity() {
+        return 10000;
+    }
+
 }
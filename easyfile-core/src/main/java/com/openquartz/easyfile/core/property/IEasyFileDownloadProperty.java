@@ -37,4 +37,94 @@ public interface IEasyFileDownloadProperty extends IEasyFileCommonProperties {
      * @return file size mb
      */
     int getMinEnableCompressMbSize();
+
+    /**
+     * compress thread num, more than 1 enable block-parallel deflate
+     *
+     * @return thread num
+     */
+    default int getCompressThreadNum() {
+        return 1;
+    }
+
+    /**
+     * compress level, -1 (default compression) or 0-9
+     *
+     * @return compress level
+     */
+    default int getCompressLevel() {
+        return -1;
+    }
+
+    /**
+     * 是否开启自适应导出并发限制
+     *
+     * @return 是否开启
+     */
+    default boolean isAdaptiveLimitEnable() {
+        return false;
+    }
+
+    /**
+     * 自适应并发限制初始并发数
+     *
+     * @return 初始并发数
+     */
+    default int getAdaptiveLimitInitial() {
+        return 10;
+    }
+
+    /**
+     * 自适应并发限制最小并发数
+     *
+     * @return 最小并发数
+     */
+    default int getAdaptiveLimitMin() {
+        return 1;
+    }
+
+    /**
+     * 自适应并发限制最大并发数
+     *
+     * @return 最大并发数
+     */
+    default int getAdaptiveLimitMax() {
+        return 50;
+    }
+
+    /**
+     * 分页查询耗时容忍倍数, 平均耗时超过基线耗时的此倍数时减少并发数
+     *
+     * @return 耗时容忍倍数
+     */
+    default double getAdaptiveLimitLatencyTolerance() {
+        return 2.0D;
+    }
+
+    /**
+     * 堆内存使用率阈值(0-1), 超过时减少并发数
+     *
+     * @return 堆内存使用率阈值
+     */
+    default double getAdaptiveLimitHeapUsageThreshold() {
+        return 0.85D;
+    }
+
+    /**
+     * execute process flush interval (millis), not more than 0 report synchronously
+     *
+     * @return flush interval
+     */
+    default long getProcessFlushIntervalMillis() {
+        return 1000L;
+    }
+
+    /**
+     * execute process min report delta
+     *
+     * @return min report delta
+     */
+    default int getProcessMinReportDelta() {
+        return 1;
+    }
 }
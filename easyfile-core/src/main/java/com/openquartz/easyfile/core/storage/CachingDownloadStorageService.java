@@ -0,0 +1,148 @@
+package com.openquartz.easyfile.core.storage;
+
+import com.openquartz.easyfile.common.bean.DownloadRequestInfo;
+import com.openquartz.easyfile.common.cache.ExpiringCache;
+import com.openquartz.easyfile.common.cache.ExpiringCache.StatsListener;
+import com.openquartz.easyfile.common.dictionary.UploadStatusEnum;
+import com.openquartz.easyfile.common.request.AutoTaskRegisterRequest;
+import com.openquartz.easyfile.common.request.CancelUploadRequest;
+import com.openquartz.easyfile.common.request.DownloadRequest;
+import com.openquartz.easyfile.common.request.ListDownloadResultRequest;
+import com.openquartz.easyfile.common.request.LoadingExportCacheRequest;
+import com.openquartz.easyfile.common.request.RefreshExecuteProcessRequest;
+import com.openquartz.easyfile.common.request.RegisterDownloadRequest;
+import com.openquartz.easyfile.common.request.UploadCallbackRequest;
+import com.openquartz.easyfile.common.response.AppTree;
+import com.openquartz.easyfile.common.response.CancelUploadResult;
+import com.openquartz.easyfile.common.response.DownloadResult;
+import com.openquartz.easyfile.common.response.DownloadUrlResult;
+import com.openquartz.easyfile.common.response.ExportResult;
+import com.openquartz.easyfile.common.response.PrepareExecutionResult;
+import com.openquartz.easyfile.common.util.page.Pagination;
+import com.openquartz.easyfile.common.util.StringUtils;
+import com.openquartz.easyfile.storage.download.DownloadStorageService;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * 缓存下载存储服务
+ * <p>
+ * 缓存按注册ID查询且注册后不再变化的数据(下载请求信息、语言), 导出执行完成(上传回调)或取消时失效。
+ * 状态变更类接口(如{@link #enableRunning(Long)})直接调用被装饰的服务, 准备执行返回的数据同时写入缓存。
+ *
+ * @author svnee
+ */
+public class CachingDownloadStorageService implements DownloadStorageService {
+
+    private final DownloadStorageService delegate;
+    private final ExpiringCache<Long, DownloadRequestInfo> requestInfoCache;
+    private final ExpiringCache<Long, Locale> localeCache;
+
+    public CachingDownloadStorageService(DownloadStorageService delegate, int maxSize, long ttlMillis,
+        long negativeTtlMillis, StatsListener statsListener) {
+        this.delegate = delegate;
+        this.requestInfoCache = new ExpiringCache<>("requestInfo", maxSize, ttlMillis, negativeTtlMillis,
+            statsListener);
+        this.localeCache = new ExpiringCache<>("locale", maxSize, ttlMillis, negativeTtlMillis, statsListener);
+    }
+
+    @Override
+    public boolean enableRunning(Long registerId) {
+        return delegate.enableRunning(registerId);
+    }
+
+    @Override
+    public PrepareExecutionResult prepareExecution(Long registerId) {
+        PrepareExecutionResult result = delegate.prepareExecution(registerId);
+        if (Objects.nonNull(result) && result.isRunning()) {
+            requestInfoCache.put(registerId, result.getRequestInfo());
+            localeCache.put(registerId,
+                StringUtils.isNotBlank(result.getLocale()) ? Locale.forLanguageTag(result.getLocale()) : null);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean revertRunning(Long registerId) {
+        return delegate.revertRunning(registerId);
+    }
+
+    @Override
+    public ExportResult loadingCacheExportResult(LoadingExportCacheRequest request) {
+        return delegate.loadingCacheExportResult(request);
+    }
+
+    @Override
+    public void uploadCallback(UploadCallbackRequest request) {
+        try {
+            delegate.uploadCallback(request);
+        } finally {
+            invalidate(request.getRegisterId());
+        }
+    }
+
+    @Override
+    public Long register(RegisterDownloadRequest downloadRequest) {
+        return delegate.register(downloadRequest);
+    }
+
+    @Override
+    public void autoRegisterTask(AutoTaskRegisterRequest request) {
+        delegate.autoRegisterTask(request);
+    }
+
+    @Override
+    public DownloadUrlResult download(DownloadRequest request) {
+        return delegate.download(request);
+    }
+
+    @Override
+    public CancelUploadResult cancelUpload(CancelUploadRequest request) {
+        try {
+            return delegate.cancelUpload(request);
+        } finally {
+            invalidate(request.getRegisterId());
+        }
+    }
+
+    @Override
+    public DownloadRequestInfo getRequestInfoByRegisterId(Long registerId) {
+        return requestInfoCache.get(registerId, delegate::getRequestInfoByRegisterId);
+    }
+
+    @Override
+    public void refreshExecuteProgress(Long registerId, Integer executeProcess, UploadStatusEnum nextUploadStatus) {
+        delegate.refreshExecuteProgress(registerId, executeProcess, nextUploadStatus);
+    }
+
+    @Override
+    public void refreshExecuteProgress(List<RefreshExecuteProcessRequest> requestList) {
+        delegate.refreshExecuteProgress(requestList);
+    }
+
+    @Override
+    public void resetExecuteProcess(Long registerId) {
+        delegate.resetExecuteProcess(registerId);
+    }
+
+    @Override
+    public Pagination<DownloadResult> listExportResult(ListDownloadResultRequest request) {
+        return delegate.listExportResult(request);
+    }
+
+    @Override
+    public List<AppTree> getAppTree() {
+        return delegate.getAppTree();
+    }
+
+    @Override
+    public Locale getCurrentLocale(Long registerId) {
+        return localeCache.get(registerId, delegate::getCurrentLocale);
+    }
+
+    private void invalidate(Long registerId) {
+        requestInfoCache.invalidate(registerId);
+        localeCache.invalidate(registerId);
+    }
+}
@@ -36,4 +36,19 @@ public class MetricsKeyConstants {
      */
     public static final String ASYNC_INVOKE_DOWNLOAD_TIMER = "easyfile.download.invoke.async.timer";
 
+    /**
+     * adaptive export concurrency limit
+     */
+    public static final String EXPORT_CONCURRENCY_LIMIT = "easyfile.export.concurrency.limit";
+
+    /**
+     * storage cache hit counter
+     */
+    public static final String STORAGE_CACHE_HIT_COUNTER = "easyfile.storage.cache.hit";
+
+    /**
+     * storage cache miss counter
+     */
+    public static final String STORAGE_CACHE_MISS_COUNTER = "easyfile.storage.cache.miss";
+
 }
@@ -75,6 +75,17 @@ public interface MetricsRegister {
      */
     void gaugeDecrement(String name, String[] labelValues);
 
+    /**
+     * Gauge set.
+     * Ignored by default, registers without gauge set support keep working.
+     *
+     * @param name name
+     * @param labelValues label values
+     * @param value value
+     */
+    default void gaugeSet(String name, String[] labelValues, double value) {
+    }
+
     /**
      * Record time by duration.
      *
@@ -97,6 +97,16 @@ public final class PrometheusMetricsRegister implements MetricsRegister {
         }
     }
 
+    @Override
+    public void gaugeSet(final String name, final String[] labelValues, final double value) {
+        Gauge gauge = GAUGE_MAP.get(name);
+        if (null != labelValues) {
+            gauge.labels(labelValues).set(value);
+        } else {
+            gauge.set(value);
+        }
+    }
+
     @Override
     public void recordTime(final String name, final String[] labelValues, final long duration) {
         Histogram histogram = HISTOGRAM_MAP.get(name);
@@ -24,6 +24,7 @@ import com.openquartz.easyfile.common.response.CancelUploadResult;
 import com.openquartz.easyfile.common.response.DownloadResult;
 import com.openquartz.easyfile.common.response.DownloadUrlResult;
 import com.openquartz.easyfile.common.response.ExportResult;
+import com.openquartz.easyfile.common.response.PrepareExecutionResult;
 
 /**
  * 下载controller
@@ -98,6 +99,32 @@ public class DownloadController {
         return ResponseResult.ok(running);
     }
 
+    /**
+     * 准备执行
+     * 开启执行并重置执行进度, 同时返回下载请求信息与语言
+     *
+     * @param registerId registerId
+     * @return 准备执行结果
+     */
+    @PostMapping("/prepareExecution")
+    public ResponseResult<PrepareExecutionResult> prepareExecution(@RequestBody @Valid @NotNull Long registerId) {
+        PrepareExecutionResult result = asyncDownloadService.prepareExecution(registerId);
+        return ResponseResult.ok(result);
+    }
+
+    /**
+     * 回滚开启执行
+     * 执行中的下载记录重置为未执行
+     *
+     * @param registerId registerId
+     * @return 是否回滚成功
+     */
+    @PostMapping("/revertRunning")
+    public ResponseResult<Boolean> revertRunning(@RequestBody @Valid @NotNull Long registerId) {
+        boolean reverted = asyncDownloadService.revertRunning(registerId);
+        return ResponseResult.ok(reverted);
+    }
+
     /**
      * 导出结果查询
      *
@@ -160,6 +187,18 @@ public class DownloadController {
         return ResponseResult.ok();
     }
 
+    /**
+     * 批量刷新执行进度
+     *
+     * @param requestList 请求
+     * @return 刷新结果
+     */
+    @PostMapping("/batchRefreshExecuteProcess")
+    public ResponseResult<?> batchRefreshExecuteProcess(@RequestBody List<RefreshExecuteProcessRequest> requestList) {
+        asyncDownloadService.batchRefreshExecuteProcess(requestList);
+        return ResponseResult.ok();
+    }
+
     /**
      * get request info
      *
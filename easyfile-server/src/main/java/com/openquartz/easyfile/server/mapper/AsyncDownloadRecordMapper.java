@@ -8,6 +8,7 @@ import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import com.openquartz.easyfile.common.dictionary.UploadStatusEnum;
+import com.openquartz.easyfile.common.request.RefreshExecuteProcessRequest;
 import com.openquartz.easyfile.server.entity.AsyncDownloadRecord;
 
 /**
@@ -136,13 +137,27 @@ public interface AsyncDownloadRecordMapper {
 
     /**
      * 刷新执行进度
+     * 仅更新圈定状态的记录
      *
      * @param id id
      * @param executeProcess 执行进度
      * @param nextUploadStatus 下一个状态
+     * @param statusList 圈定状态
      * @return affect row
      */
     int refreshExecuteProcess(@Param("id") Long id,
         @Param("executeProcess") Integer executeProcess,
-        @Param("nextUploadStatus") UploadStatusEnum nextUploadStatus);
+        @Param("nextUploadStatus") UploadStatusEnum nextUploadStatus,
+        @Param("statusList") List<UploadStatusEnum> statusList);
+
+    /**
+     * 批量刷新执行进度
+     * 仅更新圈定状态的记录
+     *
+     * @param requestList 刷新请求
+     * @param statusList 圈定状态
+     * @return affect row
+     */
+    int batchRefreshExecuteProcess(@Param("requestList") List<RefreshExecuteProcessRequest> requestList,
+        @Param("statusList") List<UploadStatusEnum> statusList);
 }
@@ -10,12 +10,14 @@ import com.openquartz.easyfile.common.request.ExportLimitingRequest;
 import com.openquartz.easyfile.common.request.ListDownloadResultRequest;
 import com.openquartz.easyfile.common.request.LoadingExportCacheRequest;
 import com.openquartz.easyfile.common.request.RegisterDownloadRequest;
+import com.openquartz.easyfile.common.request.RefreshExecuteProcessRequest;
 import com.openquartz.easyfile.common.request.UploadCallbackRequest;
 import com.openquartz.easyfile.common.response.AppTree;
 import com.openquartz.easyfile.common.response.CancelUploadResult;
 import com.openquartz.easyfile.common.response.DownloadResult;
 import com.openquartz.easyfile.common.response.DownloadUrlResult;
 import com.openquartz.easyfile.common.response.ExportResult;
+import com.openquartz.easyfile.common.response.PrepareExecutionResult;
 
 /**
  * 异步下载任务服务
@@ -55,6 +57,24 @@ public interface AsyncDownloadService {
      */
     boolean enableRunning(Long registerId);
 
+    /**
+     * 准备执行
+     * 开启执行并重置执行进度, 成功时返回下载请求信息与语言
+     *
+     * @param registerId 注册ID
+     * @return 准备执行结果
+     */
+    PrepareExecutionResult prepareExecution(Long registerId);
+
+    /**
+     * 回滚开启执行
+     * 执行中的下载记录重置为未执行
+     *
+     * @param registerId 注册ID
+     * @return 是否回滚成功
+     */
+    boolean revertRunning(Long registerId);
+
     /**
      * 导出结果查询
      *
@@ -117,6 +137,13 @@ public interface AsyncDownloadService {
     void refreshExecuteProcess(Long registerId, Integer executeProcess,
         UploadStatusEnum nextUploadStatus);
 
+    /**
+     * 批量刷新执行进度
+     *
+     * @param requestList 执行进度
+     */
+    void batchRefreshExecuteProcess(List<RefreshExecuteProcessRequest> requestList);
+
     /**
      * 获取注册下载的请求信息
      *
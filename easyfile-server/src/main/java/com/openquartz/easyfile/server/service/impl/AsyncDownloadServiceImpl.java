@@ -5,6 +5,7 @@ import com.github.pagehelper.PageInfo;
 import com.openquartz.easyfile.server.convertor.AsyncDownloadRecordConverter;
 import com.openquartz.easyfile.server.entity.AsyncDownloadTask;
 import com.openquartz.easyfile.server.service.executor.ExportLimitingExecutor;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
@@ -44,12 +45,14 @@ import com.openquartz.easyfile.common.request.ExportLimitingRequest;
 import com.openquartz.easyfile.common.request.ListDownloadResultRequest;
 import com.openquartz.easyfile.common.request.LoadingExportCacheRequest;
 import com.openquartz.easyfile.common.request.RegisterDownloadRequest;
+import com.openquartz.easyfile.common.request.RefreshExecuteProcessRequest;
 import com.openquartz.easyfile.common.request.UploadCallbackRequest;
 import com.openquartz.easyfile.common.response.AppTree;
 import com.openquartz.easyfile.common.response.CancelUploadResult;
 import com.openquartz.easyfile.common.response.DownloadResult;
 import com.openquartz.easyfile.common.response.DownloadUrlResult;
 import com.openquartz.easyfile.common.response.ExportResult;
+import com.openquartz.easyfile.common.response.PrepareExecutionResult;
 import com.openquartz.easyfile.common.util.CollectionUtils;
 import com.openquartz.easyfile.common.util.JSONUtil;
 import com.openquartz.easyfile.common.util.MapUtils;
@@ -77,6 +80,12 @@ import com.openquartz.easyfile.common.util.DbUtils;
 @Service
 public class AsyncDownloadServiceImpl implements AsyncDownloadService, BeanPostProcessor {
 
+    /**
+     * 可刷新执行进度的状态, 已结束的记录不再回退
+     */
+    private static final List<UploadStatusEnum> EXECUTE_PROCESS_STATUS_LIST = Collections
+        .unmodifiableList(Arrays.asList(UploadStatusEnum.EXECUTING, UploadStatusEnum.UPLOADING));
+
     private final AsyncDownloadTaskMapper asyncDownloadTaskMapper;
     private final AsyncDownloadRecordMapper asyncDownloadRecordMapper;
     private final NotifyService notifyService;
@@ -250,6 +259,40 @@ public class AsyncDownloadServiceImpl implements AsyncDownloadService, BeanPostP
         return false;
     }
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public PrepareExecutionResult prepareExecution(Long registerId) {
+        AsyncDownloadRecord downloadRecord = asyncDownloadRecordMapper.findById(registerId);
+        if (Objects.isNull(downloadRecord) || downloadRecord.getUploadStatus() != UploadStatusEnum.NONE) {
+            return PrepareExecutionResult.reject();
+        }
+        int affect = asyncDownloadRecordMapper
+            .refreshUploadStatus(registerId, UploadStatusEnum.NONE, UploadStatusEnum.EXECUTING,
+                downloadRecord.getUpdateBy());
+        if (affect <= 0) {
+            return PrepareExecutionResult.reject();
+        }
+        asyncDownloadRecordMapper.resetExecuteProcess(registerId);
+
+        PrepareExecutionResult result = new PrepareExecutionResult();
+        result.setRunning(true);
+        result.setRequestInfo(buildRequestInfo(downloadRecord));
+        result.setLocale(downloadRecord.getLocale());
+        return result;
+    }
+
+    @Override
+    public boolean revertRunning(Long registerId) {
+        AsyncDownloadRecord downloadRecord = asyncDownloadRecordMapper.findById(registerId);
+        if (Objects.isNull(downloadRecord) || downloadRecord.getUploadStatus() != UploadStatusEnum.EXECUTING) {
+            return false;
+        }
+        int affect = asyncDownloadRecordMapper
+            .refreshUploadStatus(registerId, UploadStatusEnum.EXECUTING, UploadStatusEnum.NONE,
+                downloadRecord.getUpdateBy());
+        return affect > 0;
+    }
+
     private Pagination<DownloadResult> getDownloadResultPagination(Integer pageNum, Integer pageSize,
         BaseRecordQueryCondition condition) {
 
@@ -508,7 +551,16 @@ public class AsyncDownloadServiceImpl implements AsyncDownloadService, BeanPostP
     @Override
     public void refreshExecuteProcess(Long registerId, Integer executeProcess,
         UploadStatusEnum nextUploadStatus) {
-        asyncDownloadRecordMapper.refreshExecuteProcess(registerId, executeProcess, nextUploadStatus);
+        asyncDownloadRecordMapper
+            .refreshExecuteProcess(registerId, executeProcess, nextUploadStatus, EXECUTE_PROCESS_STATUS_LIST);
+    }
+
+    @Override
+    public void batchRefreshExecuteProcess(List<RefreshExecuteProcessRequest> requestList) {
+        if (CollectionUtils.isEmpty(requestList)) {
+            return;
+        }
+        asyncDownloadRecordMapper.batchRefreshExecuteProcess(requestList, EXECUTE_PROCESS_STATUS_LIST);
     }
 
     @Override
@@ -517,6 +569,10 @@ public class AsyncDownloadServiceImpl implements AsyncDownloadService, BeanPostP
         if (Objects.isNull(downloadRecord)) {
             return null;
         }
+        return buildRequestInfo(downloadRecord);
+    }
+
+    private DownloadRequestInfo buildRequestInfo(AsyncDownloadRecord downloadRecord) {
         RegisterDownloadRequest registerRequest = JSONUtil
             .parseClassObject(downloadRecord.getExecuteParam(), RegisterDownloadRequest.class);
         Asserts.notNull(registerRequest, CommonErrorCode.PARAM_ILLEGAL_ERROR);
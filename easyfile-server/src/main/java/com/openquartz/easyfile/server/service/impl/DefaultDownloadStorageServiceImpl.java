@@ -15,12 +15,14 @@ import com.openquartz.easyfile.common.request.DownloadRequest;
 import com.openquartz.easyfile.common.request.ListDownloadResultRequest;
 import com.openquartz.easyfile.common.request.LoadingExportCacheRequest;
 import com.openquartz.easyfile.common.request.RegisterDownloadRequest;
+import com.openquartz.easyfile.common.request.RefreshExecuteProcessRequest;
 import com.openquartz.easyfile.common.request.UploadCallbackRequest;
 import com.openquartz.easyfile.common.response.AppTree;
 import com.openquartz.easyfile.common.response.CancelUploadResult;
 import com.openquartz.easyfile.common.response.DownloadResult;
 import com.openquartz.easyfile.common.response.DownloadUrlResult;
 import com.openquartz.easyfile.common.response.ExportResult;
+import com.openquartz.easyfile.common.response.PrepareExecutionResult;
 import com.openquartz.easyfile.server.service.AsyncDownloadService;
 import com.openquartz.easyfile.server.service.AsyncDownloadTaskService;
 import com.openquartz.easyfile.storage.download.DownloadStorageService;
@@ -42,6 +44,16 @@ public class DefaultDownloadStorageServiceImpl implements DownloadStorageService
         return asyncDownloadService.enableRunning(registerId);
     }
 
+    @Override
+    public PrepareExecutionResult prepareExecution(Long registerId) {
+        return asyncDownloadService.prepareExecution(registerId);
+    }
+
+    @Override
+    public boolean revertRunning(Long registerId) {
+        return asyncDownloadService.revertRunning(registerId);
+    }
+
     @Override
     public ExportResult loadingCacheExportResult(LoadingExportCacheRequest request) {
         return asyncDownloadService.loadingExportCacheResult(request);
@@ -82,6 +94,11 @@ public class DefaultDownloadStorageServiceImpl implements DownloadStorageService
         asyncDownloadService.refreshExecuteProcess(registerId, executeProcess, nextUploadStatus);
     }
 
+    @Override
+    public void refreshExecuteProgress(List<RefreshExecuteProcessRequest> requestList) {
+        asyncDownloadService.batchRefreshExecuteProcess(requestList);
+    }
+
     @Override
     public void resetExecuteProcess(Long registerId) {
         asyncDownloadService.resetExecuteProcess(registerId);
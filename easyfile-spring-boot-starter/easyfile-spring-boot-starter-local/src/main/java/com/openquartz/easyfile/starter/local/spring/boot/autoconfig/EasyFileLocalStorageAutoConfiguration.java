@@ -7,6 +7,7 @@ import com.openquartz.easyfile.storage.local.expand.NoneExportLimitingExecutor;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Resource;
 import javax.sql.DataSource;
 import lombok.extern.slf4j.Slf4j;
@@ -27,19 +28,26 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 import org.springframework.jdbc.core.JdbcTemplate;
 import com.openquartz.easyfile.common.util.StringUtils;
+import com.openquartz.easyfile.core.metrics.CacheMetricsStatsListener;
+import com.openquartz.easyfile.core.storage.CachingDownloadStorageService;
+import com.openquartz.easyfile.storage.download.DownloadNodeRegistryService;
 import com.openquartz.easyfile.storage.download.DownloadStorageService;
 import com.openquartz.easyfile.storage.download.DownloadTriggerService;
 import com.openquartz.easyfile.storage.download.LimitingService;
 import com.openquartz.easyfile.storage.expand.ExportLimitingExecutor;
+import com.openquartz.easyfile.storage.local.impl.LocalDownloadNodeRegistryServiceImpl;
 import com.openquartz.easyfile.storage.local.impl.LocalDownloadStorageServiceImpl;
 import com.openquartz.easyfile.storage.local.impl.LocalDownloadTriggerServiceImpl;
 import com.openquartz.easyfile.storage.local.impl.LocalLimitingServiceImpl;
+import com.openquartz.easyfile.storage.local.mapper.AsyncDownloadNodeMapper;
 import com.openquartz.easyfile.storage.local.mapper.AsyncDownloadRecordMapper;
 import com.openquartz.easyfile.storage.local.mapper.AsyncDownloadTaskMapper;
 import com.openquartz.easyfile.storage.local.mapper.AsyncDownloadTriggerMapper;
+import com.openquartz.easyfile.storage.local.mapper.impl.AsyncDownloadNodeMapperImpl;
 import com.openquartz.easyfile.storage.local.mapper.impl.AsyncDownloadRecordMapperImpl;
 import com.openquartz.easyfile.storage.local.mapper.impl.AsyncDownloadTaskMapperImpl;
 import com.openquartz.easyfile.storage.local.mapper.impl.AsyncDownloadTriggerMapperImpl;
+import com.openquartz.easyfile.storage.local.mapper.impl.CachingAsyncDownloadTaskMapper;
 import com.openquartz.easyfile.storage.local.prop.EasyFileTableGeneratorSupplier;
 
 /**
@@ -49,7 +57,7 @@ import com.openquartz.easyfile.storage.local.prop.EasyFileTableGeneratorSupplier
  **/
 @Slf4j
 @Configuration
-@EnableConfigurationProperties({EasyFileLocalProperties.class})
+@EnableConfigurationProperties({EasyFileLocalProperties.class, EasyFileDownloadProperties.class})
 @ConditionalOnClass({LocalLimitingServiceImpl.class, LocalDownloadStorageServiceImpl.class})
 @AutoConfigureBefore(EasyFileCreatorAutoConfiguration.class)
 @ConditionalOnProperty(prefix = EasyFileDownloadProperties.PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
@@ -83,8 +91,19 @@ public class EasyFileLocalStorageAutoConfiguration implements InitializingBean {
 
     @Bean
     @ConditionalOnMissingBean(DownloadTriggerService.class)
-    public DownloadTriggerService localDownloadTriggerService(AsyncDownloadTriggerMapper asyncDownloadTriggerMapper) {
-        return new LocalDownloadTriggerServiceImpl(asyncDownloadTriggerMapper);
+    public DownloadTriggerService localDownloadTriggerService(AsyncDownloadTriggerMapper asyncDownloadTriggerMapper,
+        AsyncDownloadRecordMapper asyncDownloadRecordMapper,
+        EasyFileDownloadProperties downloadProperties) {
+        return new LocalDownloadTriggerServiceImpl(asyncDownloadTriggerMapper, asyncDownloadRecordMapper,
+            downloadProperties.getTriggerCompensateBatchSize(),
+            downloadProperties.getTriggerCompensateTimeBudgetMillis());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(DownloadNodeRegistryService.class)
+    public DownloadNodeRegistryService localDownloadNodeRegistryService(
+        AsyncDownloadNodeMapper asyncDownloadNodeMapper) {
+        return new LocalDownloadNodeRegistryServiceImpl(asyncDownloadNodeMapper);
     }
 
     private DataSource buildDataSource(EasyFileLocalProperties easyFileLocalProperties) {
@@ -122,8 +141,16 @@ public class EasyFileLocalStorageAutoConfiguration implements InitializingBean {
     @ConditionalOnMissingBean(AsyncDownloadTaskMapper.class)
     @ConditionalOnClass(AsyncDownloadTaskMapper.class)
     public AsyncDownloadTaskMapper asyncDownloadTaskMapper(
-        @Qualifier("localStorageJdbcTemplate") JdbcTemplate localStorageJdbcTemplate) {
-        return new AsyncDownloadTaskMapperImpl(localStorageJdbcTemplate);
+        @Qualifier("localStorageJdbcTemplate") JdbcTemplate localStorageJdbcTemplate,
+        EasyFileDownloadProperties downloadProperties) {
+        AsyncDownloadTaskMapper asyncDownloadTaskMapper = new AsyncDownloadTaskMapperImpl(localStorageJdbcTemplate);
+        if (!downloadProperties.isStorageCacheEnable()) {
+            return asyncDownloadTaskMapper;
+        }
+        return new CachingAsyncDownloadTaskMapper(asyncDownloadTaskMapper, downloadProperties.getStorageCacheMaxSize(),
+            TimeUnit.SECONDS.toMillis(downloadProperties.getStorageCacheTtlSeconds()),
+            TimeUnit.SECONDS.toMillis(downloadProperties.getStorageCacheNegativeTtlSeconds()),
+            new CacheMetricsStatsListener());
     }
 
     @Bean
@@ -142,6 +169,14 @@ public class EasyFileLocalStorageAutoConfiguration implements InitializingBean {
         return new AsyncDownloadTriggerMapperImpl(localStorageJdbcTemplate);
     }
 
+    @Bean
+    @ConditionalOnMissingBean(AsyncDownloadNodeMapper.class)
+    @ConditionalOnClass(AsyncDownloadNodeMapper.class)
+    public AsyncDownloadNodeMapper asyncDownloadNodeMapper(
+        @Qualifier("localStorageJdbcTemplate") JdbcTemplate localStorageJdbcTemplate) {
+        return new AsyncDownloadNodeMapperImpl(localStorageJdbcTemplate);
+    }
+
     @Bean
     @ConditionalOnClass(ExportLimitingExecutor.class)
     public ExportLimitingExecutor noneExportLimitingExecutor() {
@@ -152,8 +187,16 @@ public class EasyFileLocalStorageAutoConfiguration implements InitializingBean {
     @ConditionalOnMissingBean(DownloadStorageService.class)
     @ConditionalOnClass(LocalDownloadStorageServiceImpl.class)
     public DownloadStorageService localDownloadStorageServiceImpl(AsyncDownloadRecordMapper asyncDownloadRecordMapper,
-        AsyncDownloadTaskMapper asyncDownloadTaskMapper) {
-        return new LocalDownloadStorageServiceImpl(asyncDownloadTaskMapper, asyncDownloadRecordMapper);
+        AsyncDownloadTaskMapper asyncDownloadTaskMapper, EasyFileDownloadProperties downloadProperties) {
+        DownloadStorageService storageService = new LocalDownloadStorageServiceImpl(asyncDownloadTaskMapper,
+            asyncDownloadRecordMapper);
+        if (!downloadProperties.isStorageCacheEnable()) {
+            return storageService;
+        }
+        return new CachingDownloadStorageService(storageService, downloadProperties.getStorageCacheMaxSize(),
+            TimeUnit.SECONDS.toMillis(downloadProperties.getStorageCacheTtlSeconds()),
+            TimeUnit.SECONDS.toMillis(downloadProperties.getStorageCacheNegativeTtlSeconds()),
+            new CacheMetricsStatsListener());
     }
 
     @Bean
@@ -64,9 +64,10 @@ public class DisruptorAsyncFileHandlerAutoConfiguration {
     @ConditionalOnMissingBean(DisruptorTriggerConsumer.class)
     public DisruptorTriggerConsumer disruptorTriggerConsumer(EasyFileDownloadProperties downloadProperties,
         MQTriggerHandler mqTriggerHandler,
-        DisruptorTriggerProducer mqTriggerProducer) {
+        DisruptorTriggerProducer mqTriggerProducer,
+        DisruptorAsyncHandlerProperties mqAsyncHandlerProperties) {
         DisruptorTriggerConsumer consumer = new DisruptorTriggerConsumer(downloadProperties,
-            mqTriggerHandler);
+            mqTriggerHandler, mqAsyncHandlerProperties);
         mqTriggerProducer.registerAndStart(consumer);
         return consumer;
     }
@@ -4,6 +4,7 @@ import com.openquartz.easyfile.starter.spring.boot.autoconfig.properties.EasyFil
 import com.openquartz.easyfile.starter.spring.boot.autoconfig.properties.ScheduleAsyncHandlerProperties;
 import com.openquartz.easyfile.starter.trigger.handler.ScheduleTriggerAsyncFileHandler;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -13,6 +14,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import com.openquartz.easyfile.core.executor.BaseAsyncFileHandler;
 import com.openquartz.easyfile.core.executor.BaseDefaultDownloadRejectExecutionHandler;
+import com.openquartz.easyfile.storage.download.DownloadNodeRegistryService;
 import com.openquartz.easyfile.storage.download.DownloadStorageService;
 import com.openquartz.easyfile.storage.download.DownloadTriggerService;
 import com.openquartz.easyfile.storage.file.UploadService;
@@ -37,11 +39,13 @@ public class ScheduleAsyncFileHandlerAutoConfiguration {
         DownloadStorageService downloadStorageService,
         DownloadTriggerService downloadTriggerService,
         BaseDefaultDownloadRejectExecutionHandler baseDefaultDownloadRejectExecutionHandler,
-        ScheduleAsyncHandlerProperties scheduleAsyncHandlerProperties) {
+        ScheduleAsyncHandlerProperties scheduleAsyncHandlerProperties,
+        ObjectProvider<DownloadNodeRegistryService> nodeRegistryServiceProvider) {
         return new ScheduleTriggerAsyncFileHandler(easyFileDownloadProperties, uploadService, downloadStorageService,
             downloadTriggerService,
             scheduleAsyncHandlerProperties,
-            baseDefaultDownloadRejectExecutionHandler);
+            baseDefaultDownloadRejectExecutionHandler,
+            nodeRegistryServiceProvider.getIfAvailable());
     }
 
 }
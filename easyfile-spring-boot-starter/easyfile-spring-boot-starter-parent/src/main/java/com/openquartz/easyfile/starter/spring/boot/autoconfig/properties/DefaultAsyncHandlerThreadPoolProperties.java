@@ -47,6 +47,27 @@ public class DefaultAsyncHandlerThreadPoolProperties {
      */
     private Integer maxBlockingQueueSize = 2048;
 
+    /**
+     * 是否开启公平排队
+     * 开启后阻塞队列按导出优先级及预估数据量在各请求用户(appId/userBy)之间加权公平出队, 关闭时先进先出
+     * fair-queue-enable
+     */
+    private Boolean fairQueueEnable = false;
+
+    /**
+     * 是否使用虚拟线程执行
+     * 需JDK21+, 每个导出使用一个虚拟线程执行, 不支持时使用线程池执行
+     * virtual-thread-enable
+     */
+    private Boolean virtualThreadEnable = false;
+
+    /**
+     * 虚拟线程执行时的最大并发导出数
+     * 超出的导出进入阻塞队列等待, 等待数超过 max-blocking-queue-size 时拒绝
+     * virtual-thread-max-concurrency
+     */
+    private Integer virtualThreadMaxConcurrency = 200;
+
     @Override
     public String toString() {
         return "DefaultAsyncHandlerThreadPoolProperties{" +
@@ -54,6 +75,9 @@ public class DefaultAsyncHandlerThreadPoolProperties {
             ", maximumPoolSize=" + maximumPoolSize +
             ", keepAliveTime=" + keepAliveTime +
             ", maxBlockingQueueSize=" + maxBlockingQueueSize +
+            ", fairQueueEnable=" + fairQueueEnable +
+            ", virtualThreadEnable=" + virtualThreadEnable +
+            ", virtualThreadMaxConcurrency=" + virtualThreadMaxConcurrency +
             '}';
     }
 }
\ No newline at end of file
@@ -28,6 +28,34 @@ public class DisruptorAsyncHandlerProperties implements MqAsyncHandlerProperties
      */
     private String threadPoolThreadPrefix = "DisruptorAsyncHandler";
 
+    /**
+     * 消费线程数
+     * 大于1时使用WorkerPool多线程消费, 同一消息仅被一个消费线程处理
+     */
+    private Integer consumerSize = 1;
+
+    /**
+     * 消费等待策略
+     */
+    private DisruptorWaitStrategyType waitStrategy = DisruptorWaitStrategyType.BLOCKING;
+
+    /**
+     * 执行线程数
+     * 大于0时消费线程将导出交由执行线程池执行, 不阻塞RingBuffer消费; 执行线程全部繁忙时消费线程等待
+     */
+    private Integer executeThreadPoolSize = 0;
+
+    /**
+     * 执行线程前缀
+     */
+    private String executeThreadPoolThreadPrefix = "DisruptorAsyncWorker";
+
+    /**
+     * 执行线程是否使用虚拟线程
+     * 需JDK21+, 同时执行的导出数仍不超过执行线程数, 不支持时使用线程池执行
+     */
+    private Boolean executeVirtualThreadEnable = false;
+
     /**
      * 回溯时间
      * 单位：小时
@@ -39,6 +67,22 @@ public class DisruptorAsyncHandlerProperties implements MqAsyncHandlerProperties
      */
     private Integer maxTriggerCount = 5;
 
+    /**
+     * 失败重试基础延迟 单位：秒
+     * 执行失败后按 基础延迟 * 2^(触发次数-1) 退避(带随机抖动)重新触发
+     */
+    private Integer retryBaseDelaySeconds = 10;
+
+    /**
+     * 失败重试最大延迟 单位：秒
+     */
+    private Integer retryMaxDelaySeconds = 300;
+
+    /**
+     * 失败重试队列容量, 超出部分由补偿任务重新触发
+     */
+    private Integer retryQueueCapacity = 10000;
+
     /**
      * 最大归档小时
      */
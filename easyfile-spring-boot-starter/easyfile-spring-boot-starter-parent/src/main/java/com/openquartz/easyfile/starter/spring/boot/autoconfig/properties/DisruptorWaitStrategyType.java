@@ -0,0 +1,50 @@
+package com.openquartz.easyfile.starter.spring.boot.autoconfig.properties;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.BusySpinWaitStrategy;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
+
+/**
+ * Disruptor 消费等待策略
+ *
+ * @author svnee
+ */
+public enum DisruptorWaitStrategyType {
+
+    /**
+     * 锁等待, CPU占用最低
+     */
+    BLOCKING,
+
+    /**
+     * 自旋后休眠
+     */
+    SLEEPING,
+
+    /**
+     * 自旋后让出CPU
+     */
+    YIELDING,
+
+    /**
+     * 忙等, 独占CPU核心
+     */
+    BUSY_SPIN,
+    ;
+
+    public WaitStrategy newWaitStrategy() {
+        switch (this) {
+            case SLEEPING:
+                return new SleepingWaitStrategy();
+            case YIELDING:
+                return new YieldingWaitStrategy();
+            case BUSY_SPIN:
+                return new BusySpinWaitStrategy();
+            case BLOCKING:
+            default:
+                return new BlockingWaitStrategy();
+        }
+    }
+}
@@ -58,11 +58,25 @@ public class EasyFileDownloadProperties implements IEasyFileDownloadProperty {
 
     /**
      * 启用文件压缩最小的大小，单位:MB
-     * 在启用文件压缩后生效
+     * 在启用文件压缩后生效; 执行器可预估文件大小时按预估大小判断是否边生成边压缩, 否则生成完成后按文件大小判断
      * min-enable-compress-mb-size=1
      */
     private int minEnableCompressMbSize = 1;
 
+    /**
+     * 文件压缩线程数,大于1时按块并行压缩
+     * 在启用文件压缩后生效
+     * compress-thread-num=1
+     */
+    private int compressThreadNum = 1;
+
+    /**
+     * 文件压缩级别,-1(默认压缩级别) 或 0-9
+     * 在启用文件压缩后生效
+     * compress-level=-1
+     */
+    private int compressLevel = -1;
+
     /**
      * 切面顺序,默认 Integer.MAX_VALUE
      * export-advisor-order
@@ -81,6 +95,19 @@ public class EasyFileDownloadProperties implements IEasyFileDownloadProperty {
      */
     private Integer excelRowAccessWindowSize = 1000;
 
+    /**
+     * excel 数值/布尔类型写入为原生单元格类型,为false时所有单元格均按文本写入
+     * excel-native-cell-type
+     */
+    private boolean excelNativeCellType = true;
+
+    /**
+     * excel 直写模式,Sheet数据直接写入输出流,不再经过SXSSF临时文件。
+     * 存在启用的Excel增强器({@code ExcelIntensifier})时仍使用SXSSF
+     * excel-direct-stream-write
+     */
+    private boolean excelDirectStreamWrite = false;
+
     /**
      * 上传完成后删除文件
      * clean-file-after-upload
@@ -88,6 +115,91 @@ public class EasyFileDownloadProperties implements IEasyFileDownloadProperty {
      */
     private boolean cleanFileAfterUpload = true;
 
+    /**
+     * 是否开启自适应导出并发限制
+     * 按分页查询耗时及堆内存使用率动态调整异步导出的并发数
+     * adaptive-limit-enable
+     */
+    private boolean adaptiveLimitEnable = false;
+
+    /**
+     * 自适应并发限制-初始并发数
+     * adaptive-limit-initial
+     */
+    private int adaptiveLimitInitial = 10;
+
+    /**
+     * 自适应并发限制-最小并发数
+     * adaptive-limit-min
+     */
+    private int adaptiveLimitMin = 1;
+
+    /**
+     * 自适应并发限制-最大并发数
+     * adaptive-limit-max
+     */
+    private int adaptiveLimitMax = 50;
+
+    /**
+     * 自适应并发限制-分页查询耗时超过基线耗时的倍数时视为过载
+     * adaptive-limit-latency-tolerance
+     */
+    private double adaptiveLimitLatencyTolerance = 2.0D;
+
+    /**
+     * 自适应并发限制-堆内存使用率(0-1)超过该值时视为过载
+     * adaptive-limit-heap-usage-threshold
+     */
+    private double adaptiveLimitHeapUsageThreshold = 0.85D;
+
+    /**
+     * 执行进度合并刷新周期 单位：毫秒, 小于等于0时同步上报
+     * process-flush-interval-millis
+     */
+    private long processFlushIntervalMillis = 1000L;
+
+    /**
+     * 执行进度最小上报变化量
+     * process-min-report-delta
+     */
+    private int processMinReportDelta = 1;
+
+    /**
+     * 是否开启存储服务元数据缓存(下载请求信息、语言、下载任务)
+     * storage-cache-enable
+     */
+    private boolean storageCacheEnable = true;
+
+    /**
+     * 存储服务元数据缓存-最大条数
+     * storage-cache-max-size
+     */
+    private int storageCacheMaxSize = 1000;
+
+    /**
+     * 存储服务元数据缓存-过期时间 单位：秒
+     * storage-cache-ttl-seconds
+     */
+    private int storageCacheTtlSeconds = 60;
+
+    /**
+     * 存储服务元数据缓存-不存在数据的过期时间 单位：秒
+     * storage-cache-negative-ttl-seconds
+     */
+    private int storageCacheNegativeTtlSeconds = 10;
+
+    /**
+     * 触发器过期/归档-单批处理条数
+     * trigger-compensate-batch-size
+     */
+    private int triggerCompensateBatchSize = 500;
+
+    /**
+     * 触发器过期/归档-单次处理时间上限 单位：毫秒
+     * trigger-compensate-time-budget-millis
+     */
+    private long triggerCompensateTimeBudgetMillis = 5000L;
+
     /**
      * EasyFile 触发类型
      * 支持：default,schedule,rocketmq,disruptor
@@ -108,4 +220,14 @@ public class EasyFileDownloadProperties implements IEasyFileDownloadProperty {
         ExcelGenProperty.setRowAccessWindowSize(excelRowAccessWindowSize);
         this.excelRowAccessWindowSize = excelRowAccessWindowSize;
     }
+
+    public void setExcelNativeCellType(boolean excelNativeCellType) {
+        ExcelGenProperty.setNativeCellType(excelNativeCellType);
+        this.excelNativeCellType = excelNativeCellType;
+    }
+
+    public void setExcelDirectStreamWrite(boolean excelDirectStreamWrite) {
+        ExcelGenProperty.setDirectStreamWrite(excelDirectStreamWrite);
+        this.excelDirectStreamWrite = excelDirectStreamWrite;
+    }
 }
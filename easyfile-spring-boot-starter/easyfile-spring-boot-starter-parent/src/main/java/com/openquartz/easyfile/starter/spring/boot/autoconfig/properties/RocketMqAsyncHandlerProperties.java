@@ -69,6 +69,29 @@ public class RocketMqAsyncHandlerProperties implements MqAsyncHandlerProperties
      */
     private Integer consumeConcurrentlyMaxSpan = 10;
 
+    /**
+     * 单次消费的最大消息数
+     * 整批消息一次查询触发器
+     */
+    private Integer consumeMessageBatchMaxSize = 16;
+
+    /**
+     * 执行线程数
+     * 批量消费的消息交由执行线程并发执行
+     */
+    private Integer executeThreadPoolSize = 4;
+
+    /**
+     * 执行线程等待队列容量
+     * 执行线程及等待队列已满时消息稍后重新消费
+     */
+    private Integer executeQueueCapacity = 16;
+
+    /**
+     * 执行线程前缀
+     */
+    private String executeThreadPoolThreadPrefix = "RocketMQAsyncWorker";
+
     /**
      * 最大执行超时时间 单位秒
      * 超出此时间认定为执行失败。重新执行
@@ -98,6 +121,22 @@ public class RocketMqAsyncHandlerProperties implements MqAsyncHandlerProperties
      */
     private Integer maxTriggerCount = 5;
 
+    /**
+     * 失败重试基础延迟 单位：秒
+     * 执行失败后按 基础延迟 * 2^(触发次数-1) 退避(带随机抖动)重新触发
+     */
+    private Integer retryBaseDelaySeconds = 10;
+
+    /**
+     * 失败重试最大延迟 单位：秒
+     */
+    private Integer retryMaxDelaySeconds = 300;
+
+    /**
+     * 失败重试队列容量, 超出部分由补偿任务重新触发
+     */
+    private Integer retryQueueCapacity = 10000;
+
     /**
      * 最大归档小时
      */
@@ -42,18 +42,63 @@ public class ScheduleAsyncHandlerProperties implements IDatabaseAsyncHandlerProp
      */
     private Integer reaperTheadPoolCoreSize = 1;
 
+    /**
+     * 执行线程名前缀
+     */
+    private String workerThreadPrefix = "ScheduleAsyncWorker";
+
+    /**
+     * 执行线程数
+     * 调度线程批量认领触发器后交由执行线程执行, 单机同时执行的导出数不超过该值
+     */
+    private Integer workerPoolSize = 4;
+
+    /**
+     * 执行线程是否使用虚拟线程
+     * 需JDK21+, 同时执行的导出数仍不超过执行线程数, 不支持时使用线程池执行
+     */
+    private Boolean workerVirtualThreadEnable = false;
+
     /**
      * 最小收割时间
      * 处理时间为：lookBackHours->minReaperSeconds
      */
     private Integer minReaperSeconds = 3600;
 
+    /**
+     * 是否开启reaper分片调度
+     * 开启后各节点reaper仅认领一致性哈希分配到本节点的分片, 需要节点注册服务
+     */
+    private Boolean shardEnable = false;
+
+    /**
+     * 分片总数
+     */
+    private Integer shardCount = 64;
+
+    /**
+     * 窃取延迟时间 单位：秒
+     * 本节点分片无待认领触发器时, 认领其他分片超过 minReaperSeconds + stealDelaySeconds 仍未执行的触发器
+     */
+    private Integer stealDelaySeconds = 300;
+
     /**
      * 最大执行超时时间 单位秒
      * 超出此时间认定为执行失败。重新执行
      */
     private Integer maxExecuteTimeout = 1600;
 
+    /**
+     * 执行租约时长 单位：秒
+     * 执行节点超过此时间未续约视为宕机, 执行中的触发器由reaper重新认领
+     */
+    private Integer leaseSeconds = 60;
+
+    /**
+     * 租约续约周期 单位：秒
+     */
+    private Integer leaseHeartbeatPeriod = 15;
+
     /**
      * 调度周期 单位：秒
      */
@@ -61,6 +106,7 @@ public class ScheduleAsyncHandlerProperties implements IDatabaseAsyncHandlerProp
 
     /**
      * 一次触发处理条数
+     * 实际认领数不超过空闲的执行线程数
      */
     private Integer triggerOffset = 50;
 
@@ -1,31 +1,125 @@
 package com.openquartz.easyfile.starter.trigger;
 
 import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.WorkHandler;
+import com.openquartz.easyfile.common.concurrent.ThreadFactoryBuilder;
+import com.openquartz.easyfile.common.concurrent.VirtualThreadExecutors;
+import com.openquartz.easyfile.starter.spring.boot.autoconfig.properties.DisruptorAsyncHandlerProperties;
 import com.openquartz.easyfile.starter.spring.boot.autoconfig.properties.EasyFileDownloadProperties;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import com.openquartz.easyfile.core.executor.trigger.DownloadTriggerMessage;
 import com.openquartz.easyfile.core.executor.trigger.MQTriggerHandler;
 
 /**
  * Disruptor-消费
+ * 支持单线程消费({@link EventHandler})及WorkerPool多线程消费({@link WorkHandler})。
+ * 配置执行线程数时消费线程仅将导出交由执行线程池执行, 不阻塞RingBuffer消费
  *
  * @author svnee
  **/
 @Slf4j
-public class DisruptorTriggerConsumer implements EventHandler<DownloadTriggerMessage> {
+public class DisruptorTriggerConsumer implements EventHandler<DownloadTriggerMessage>,
+    WorkHandler<DownloadTriggerMessage>, DisposableBean {
 
     private final EasyFileDownloadProperties downloadProperties;
     private final MQTriggerHandler mqTriggerHandler;
+    private final ExecutorService executeExecutorService;
+
+    /**
+     * 空闲执行线程数
+     */
+    private final Semaphore idleExecutePermits;
 
     public DisruptorTriggerConsumer(EasyFileDownloadProperties downloadProperties,
         MQTriggerHandler mqTriggerHandler) {
         this.downloadProperties = downloadProperties;
         this.mqTriggerHandler = mqTriggerHandler;
+        this.executeExecutorService = null;
+        this.idleExecutePermits = null;
+    }
+
+    public DisruptorTriggerConsumer(EasyFileDownloadProperties downloadProperties,
+        MQTriggerHandler mqTriggerHandler,
+        DisruptorAsyncHandlerProperties handlerProperties) {
+        this.downloadProperties = downloadProperties;
+        this.mqTriggerHandler = mqTriggerHandler;
+        int executeThreadPoolSize = handlerProperties.getExecuteThreadPoolSize();
+        if (executeThreadPoolSize > 0) {
+            this.idleExecutePermits = new Semaphore(executeThreadPoolSize);
+            this.executeExecutorService = initExecutor(handlerProperties);
+        } else {
+            this.idleExecutePermits = null;
+            this.executeExecutorService = null;
+        }
+    }
+
+    private ExecutorService initExecutor(DisruptorAsyncHandlerProperties handlerProperties) {
+        if (Boolean.TRUE.equals(handlerProperties.getExecuteVirtualThreadEnable())) {
+            ExecutorService virtualExecutorService = VirtualThreadExecutors
+                .newVirtualThreadPerTaskExecutor(handlerProperties.getExecuteThreadPoolThreadPrefix());
+            if (Objects.nonNull(virtualExecutorService)) {
+                return virtualExecutorService;
+            }
+            log.warn("[DisruptorTriggerConsumer] virtual thread unsupported, fallback to thread-pool!");
+        }
+        int executeThreadPoolSize = handlerProperties.getExecuteThreadPoolSize();
+        return new ThreadPoolExecutor(executeThreadPoolSize, executeThreadPoolSize, 0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat(handlerProperties.getExecuteThreadPoolThreadPrefix() + "-thread-%d")
+                .build());
     }
 
     @Override
     public void onEvent(DownloadTriggerMessage triggerMessage, long l, boolean b) {
         log.info("[DisruptorTriggerConsumer#onEvent] message:{}", triggerMessage);
+        consume(triggerMessage);
+        log.info("[DisruptorTriggerConsumer#onEvent]Consumption Complete,magId:{}", l);
+    }
+
+    @Override
+    public void onEvent(DownloadTriggerMessage triggerMessage) {
+        log.info("[DisruptorTriggerConsumer#onEvent] message:{}", triggerMessage);
+        consume(triggerMessage);
+    }
+
+    private void consume(DownloadTriggerMessage triggerMessage) {
+        if (Objects.isNull(executeExecutorService)) {
+            handle(triggerMessage);
+            return;
+        }
+        // RingBuffer中的消息对象会被复用, 交由执行线程前复制
+        DownloadTriggerMessage message = new DownloadTriggerMessage();
+        message.setRegisterId(triggerMessage.getRegisterId());
+        message.setTriggerTimestamp(triggerMessage.getTriggerTimestamp());
+
+        idleExecutePermits.acquireUninterruptibly();
+        try {
+            executeExecutorService.execute(() -> {
+                try {
+                    handle(message);
+                } catch (Exception ex) {
+                    // 已记录日志, 由补偿任务重新触发
+                } finally {
+                    idleExecutePermits.release();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            idleExecutePermits.release();
+            log.error("[DisruptorTriggerConsumer#consume] execute rejected,message:{}", message, ex);
+        }
+    }
+
+    private void handle(DownloadTriggerMessage triggerMessage) {
         try {
             mqTriggerHandler.handle(triggerMessage);
         } catch (Exception ex) {
@@ -33,6 +127,12 @@ public class DisruptorTriggerConsumer implements EventHandler<DownloadTriggerMes
                 downloadProperties, ex);
             throw ex;
         }
-        log.info("[DisruptorTriggerConsumer#onEvent]Consumption Complete,magId:{}", l);
+    }
+
+    @Override
+    public void destroy() {
+        if (Objects.nonNull(executeExecutorService)) {
+            executeExecutorService.shutdown();
+        }
     }
 }
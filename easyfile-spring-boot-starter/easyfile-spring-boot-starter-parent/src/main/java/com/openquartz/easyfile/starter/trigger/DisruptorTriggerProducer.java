@@ -3,8 +3,11 @@ package com.openquartz.easyfile.starter.trigger;
 import com.lmax.disruptor.EventHandler;
 import com.lmax.disruptor.EventTranslatorVararg;
 import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.WorkHandler;
 import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
 import com.openquartz.easyfile.starter.spring.boot.autoconfig.properties.DisruptorAsyncHandlerProperties;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.concurrent.ThreadFactory;
 import org.springframework.beans.factory.DisposableBean;
@@ -14,6 +17,7 @@ import com.openquartz.easyfile.core.executor.trigger.MQTriggerProducer;
 
 /**
  * Disruptor-发送
+ * RingBuffer已满时发送失败, 由补偿任务重新发送
  *
  * @author svnee
  **/
@@ -21,6 +25,7 @@ public class DisruptorTriggerProducer implements MQTriggerProducer, DisposableBe
 
     private final Disruptor<DownloadTriggerMessage> disruptor;
     private final RingBuffer<DownloadTriggerMessage> ringBuffer;
+    private final int consumerSize;
 
     private static final EventTranslatorVararg<DownloadTriggerMessage> TRANSLATOR =
         (message, seq, objs) -> {
@@ -35,27 +40,44 @@ public class DisruptorTriggerProducer implements MQTriggerProducer, DisposableBe
             .build();
 
         this.disruptor = new Disruptor<>(new DownloadTriggerMessageEventFactory(),
-            mqAsyncHandlerProperties.getRingBufferSize(), factory);
+            mqAsyncHandlerProperties.getRingBufferSize(), factory, ProducerType.MULTI,
+            mqAsyncHandlerProperties.getWaitStrategy().newWaitStrategy());
         this.ringBuffer = disruptor.getRingBuffer();
+        this.consumerSize = Math.max(mqAsyncHandlerProperties.getConsumerSize(), 1);
     }
 
     public void register(EventHandler<DownloadTriggerMessage> eventHandler) {
         this.disruptor.handleEventsWith(eventHandler);
     }
 
+    /**
+     * 注册消费者
+     * 消费线程数大于1时使用WorkerPool
+     *
+     * @param consumer consumer
+     */
+    @SuppressWarnings("unchecked")
+    public void register(DisruptorTriggerConsumer consumer) {
+        if (consumerSize <= 1) {
+            register((EventHandler<DownloadTriggerMessage>) consumer);
+            return;
+        }
+        WorkHandler<DownloadTriggerMessage>[] workHandlers = new WorkHandler[consumerSize];
+        Arrays.fill(workHandlers, consumer);
+        this.disruptor.handleEventsWithWorkerPool(workHandlers);
+    }
+
     public void start() {
         this.disruptor.start();
     }
 
-    private void send(Long registerId, Long triggerTimestamp) {
-        this.ringBuffer.publishEvent(TRANSLATOR, registerId, triggerTimestamp);
+    private boolean send(Long registerId, Long triggerTimestamp) {
+        return this.ringBuffer.tryPublishEvent(TRANSLATOR, registerId, triggerTimestamp);
     }
 
-
     @Override
     public boolean send(DownloadTriggerMessage triggerMessage) {
-        send(triggerMessage.getRegisterId(), triggerMessage.getTriggerTimestamp());
-        return true;
+        return send(triggerMessage.getRegisterId(), triggerMessage.getTriggerTimestamp());
     }
 
     @Override
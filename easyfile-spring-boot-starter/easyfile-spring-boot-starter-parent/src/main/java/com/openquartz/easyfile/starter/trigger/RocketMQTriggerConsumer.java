@@ -2,11 +2,22 @@ package com.openquartz.easyfile.starter.trigger;
 
 import com.openquartz.easyfile.starter.spring.boot.autoconfig.properties.EasyFileDownloadProperties;
 import com.openquartz.easyfile.starter.spring.boot.autoconfig.properties.RocketMqAsyncHandlerProperties;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.rocketmq.client.consumer.DefaultMQPushConsumer;
 import org.apache.rocketmq.client.consumer.MQPushConsumer;
+import org.apache.rocketmq.client.consumer.listener.ConsumeConcurrentlyContext;
 import org.apache.rocketmq.client.consumer.listener.ConsumeConcurrentlyStatus;
 import org.apache.rocketmq.client.consumer.listener.MessageListenerConcurrently;
 import org.apache.rocketmq.client.exception.MQClientException;
@@ -14,7 +25,9 @@ import org.apache.rocketmq.common.UtilAll;
 import org.apache.rocketmq.common.consumer.ConsumeFromWhere;
 import org.apache.rocketmq.common.message.MessageExt;
 import org.apache.rocketmq.common.protocol.heartbeat.MessageModel;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
+import com.openquartz.easyfile.common.concurrent.ThreadFactoryBuilder;
 import com.openquartz.easyfile.common.util.IpUtil;
 import com.openquartz.easyfile.common.util.JSONUtil;
 import com.openquartz.easyfile.core.executor.trigger.DownloadTriggerMessage;
@@ -22,15 +35,18 @@ import com.openquartz.easyfile.core.executor.trigger.MQTriggerHandler;
 
 /**
  * RocketMQ 触发消费者
+ * 批量消费, 单次消费的消息数由{@link RocketMqAsyncHandlerProperties#getConsumeMessageBatchMaxSize()} 控制
+ * 消费线程仅将触发器交由执行线程执行, 不等待导出完成
  *
  * @author svnee
  **/
 @Slf4j
-public class RocketMQTriggerConsumer implements InitializingBean {
+public class RocketMQTriggerConsumer implements InitializingBean, DisposableBean {
 
     private final RocketMqAsyncHandlerProperties mqAsyncHandlerProperties;
     private final EasyFileDownloadProperties downloadProperties;
     private final MQTriggerHandler mqTriggerHandler;
+    private final ExecutorService executeExecutorService;
 
     public RocketMQTriggerConsumer(RocketMqAsyncHandlerProperties mqAsyncHandlerProperties,
         EasyFileDownloadProperties downloadProperties,
@@ -38,6 +54,13 @@ public class RocketMQTriggerConsumer implements InitializingBean {
         this.mqAsyncHandlerProperties = mqAsyncHandlerProperties;
         this.downloadProperties = downloadProperties;
         this.mqTriggerHandler = mqTriggerHandler;
+        int executeThreadPoolSize = Math.max(mqAsyncHandlerProperties.getExecuteThreadPoolSize(), 1);
+        this.executeExecutorService = new ThreadPoolExecutor(executeThreadPoolSize, executeThreadPoolSize, 0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(mqAsyncHandlerProperties.getExecuteQueueCapacity(), 1)),
+            new ThreadFactoryBuilder()
+                .setNameFormat(mqAsyncHandlerProperties.getExecuteThreadPoolThreadPrefix() + "-thread-%d")
+                .build());
     }
 
     @Override
@@ -67,23 +90,10 @@ public class RocketMQTriggerConsumer implements InitializingBean {
             //集群消费
             consumer.setMessageModel(MessageModel.CLUSTERING);
             consumer.setConsumeConcurrentlyMaxSpan(properties.getConsumeConcurrentlyMaxSpan());
+            consumer.setConsumeMessageBatchMaxSize(Math.max(properties.getConsumeMessageBatchMaxSize(), 1));
             // 开启内部类实现监听
-            consumer.registerMessageListener((MessageListenerConcurrently) (messageExtList, context) -> {
-                if (CollectionUtils.isEmpty(messageExtList)) {
-                    log.warn("[RocketMQTriggerConsumer#create]Message List is empty,properties:{}", properties);
-                    return ConsumeConcurrentlyStatus.CONSUME_SUCCESS;
-                }
-                MessageExt message = messageExtList.get(0);
-                try {
-                    mqTriggerHandler.handle(JSONUtil.parseObject(message.getBody(), DownloadTriggerMessage.class));
-                } catch (Throwable ex) {
-                    log.error("[RocketMQTriggerConsumer#create]Consumption failure,message:{},properties:{}", message,
-                        properties, ex);
-                    return ConsumeConcurrentlyStatus.RECONSUME_LATER;
-                }
-                log.info("[RocketMQTriggerConsumer#create]Consumption Complete,rocketMsgId:{}", message.getMsgId());
-                return ConsumeConcurrentlyStatus.CONSUME_SUCCESS;
-            });
+            consumer.registerMessageListener((MessageListenerConcurrently) (messageExtList, context) ->
+                consume(messageExtList, context, properties));
         } catch (MQClientException ex) {
             log.error("[RocketMQTriggerConsumer#create] create and start error,properties:{}", properties, ex);
             ExceptionUtils.rethrow(ex);
@@ -92,4 +102,59 @@ public class RocketMQTriggerConsumer implements InitializingBean {
         return consumer;
     }
 
+    /**
+     * 批量消费
+     * 整批消息一次查询触发器并交由执行线程执行;
+     * 通过ackIndex 确认第一条处理失败消息之前的消息, 其后的消息重新消费(已进入执行中的触发器重新消费时跳过)
+     */
+    private ConsumeConcurrentlyStatus consume(List<MessageExt> messageExtList,
+        ConsumeConcurrentlyContext context, RocketMqAsyncHandlerProperties properties) {
+        if (CollectionUtils.isEmpty(messageExtList)) {
+            log.warn("[RocketMQTriggerConsumer#create]Message List is empty,properties:{}", properties);
+            return ConsumeConcurrentlyStatus.CONSUME_SUCCESS;
+        }
+        Map<DownloadTriggerMessage, MessageExt> messageMap = new IdentityHashMap<>(messageExtList.size());
+        for (MessageExt messageExt : messageExtList) {
+            try {
+                messageMap.put(JSONUtil.parseObject(messageExt.getBody(), DownloadTriggerMessage.class), messageExt);
+            } catch (Exception ex) {
+                log.error("[RocketMQTriggerConsumer#consume]Illegal message,skip!message:{}", messageExt, ex);
+            }
+        }
+        if (messageMap.isEmpty()) {
+            return ConsumeConcurrentlyStatus.CONSUME_SUCCESS;
+        }
+
+        List<DownloadTriggerMessage> failMessageList;
+        try {
+            failMessageList = mqTriggerHandler.handle(new ArrayList<>(messageMap.keySet()), executeExecutorService);
+        } catch (Throwable ex) {
+            log.error("[RocketMQTriggerConsumer#consume]Consumption failure,size:{},properties:{}",
+                messageExtList.size(), properties, ex);
+            return ConsumeConcurrentlyStatus.RECONSUME_LATER;
+        }
+
+        Set<MessageExt> failMessageExtSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        failMessageList.forEach(failMessage -> failMessageExtSet.add(messageMap.get(failMessage)));
+        int ackIndex = messageExtList.size() - 1;
+        for (int i = 0; i < messageExtList.size(); i++) {
+            if (failMessageExtSet.contains(messageExtList.get(i))) {
+                ackIndex = i - 1;
+                break;
+            }
+        }
+        log.info("[RocketMQTriggerConsumer#consume]Consumption Complete,size:{},fail:{},ackIndex:{}",
+            messageExtList.size(), failMessageList.size(), ackIndex);
+        if (ackIndex < 0) {
+            return ConsumeConcurrentlyStatus.RECONSUME_LATER;
+        }
+        context.setAckIndex(ackIndex);
+        return ConsumeConcurrentlyStatus.CONSUME_SUCCESS;
+    }
+
+    @Override
+    public void destroy() {
+        executeExecutorService.shutdown();
+    }
+
 }
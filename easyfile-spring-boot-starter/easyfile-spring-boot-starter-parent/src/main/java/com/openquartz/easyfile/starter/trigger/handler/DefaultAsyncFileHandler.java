@@ -1,18 +1,30 @@
 package com.openquartz.easyfile.starter.trigger.handler;
 
+import com.openquartz.easyfile.common.concurrent.VirtualThreadExecutors;
+import com.openquartz.easyfile.common.i18n.LocaleContext;
+import com.openquartz.easyfile.common.util.page.PageTotal;
+import com.openquartz.easyfile.common.util.page.PageTotalContext;
 import com.openquartz.easyfile.core.exception.DownloadRejectExecuteException;
+import com.openquartz.easyfile.core.executor.support.ConcurrencyLimitedExecutor;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import com.openquartz.easyfile.common.bean.BaseDownloaderRequestContext;
 import com.openquartz.easyfile.common.concurrent.ThreadFactoryBuilder;
 import com.openquartz.easyfile.core.executor.AsyncFileHandlerAdapter;
 import com.openquartz.easyfile.core.executor.BaseDefaultDownloadRejectExecutionHandler;
 import com.openquartz.easyfile.core.executor.BaseDownloadExecutor;
+import com.openquartz.easyfile.core.executor.support.FairExportQueue;
+import com.openquartz.easyfile.core.executor.support.FairExportTask;
 import com.openquartz.easyfile.core.property.IEasyFileDownloadProperty;
 import com.openquartz.easyfile.starter.spring.boot.autoconfig.properties.DefaultAsyncHandlerThreadPoolProperties;
 import com.openquartz.easyfile.storage.download.DownloadStorageService;
@@ -23,25 +35,28 @@ import com.openquartz.easyfile.storage.file.UploadService;
  * <p>
  * 默认采用线程池实现。如果数量任务超限将抛出异常{@link DownloadRejectExecuteException}
  * 默认线程池配置{@link DefaultAsyncHandlerThreadPoolProperties} 可以进行自行覆盖
+ * 开启公平排队时使用{@link FairExportQueue} 排队, 按导出优先级及预估数据量在各请求用户之间公平调度
+ * 开启虚拟线程时(JDK21+)每个导出使用一个虚拟线程执行, 由{@link ConcurrencyLimitedExecutor} 限制并发, 超出并发的任务同样按上述队列排队
  * 可以做异常捕捉做自己的提示执行
  *
  * @author svnee
  */
-public class DefaultAsyncFileHandler extends AsyncFileHandlerAdapter {
+public class DefaultAsyncFileHandler extends AsyncFileHandlerAdapter implements DisposableBean {
 
     private final ExecutorService executorService;
+    private final ConcurrencyLimitedExecutor virtualThreadExecutor;
+    private final BaseDefaultDownloadRejectExecutionHandler rejectExecutionHandler;
+    private final IEasyFileDownloadProperty downloadProperties;
 
     private static final Logger log = LoggerFactory.getLogger(DefaultAsyncFileHandler.class);
 
     public ExecutorService init(DefaultAsyncHandlerThreadPoolProperties threadPoolConfig,
         BaseDefaultDownloadRejectExecutionHandler rejectHandler) {
-        BlockingQueue<Runnable> blockingQueue = new ArrayBlockingQueue<>(threadPoolConfig.getMaxBlockingQueueSize());
-
         return new ThreadPoolExecutor(threadPoolConfig.getCorePoolSize(),
             threadPoolConfig.getMaximumPoolSize(),
             threadPoolConfig.getKeepAliveTime(),
             TimeUnit.SECONDS,
-            blockingQueue,
+            newBlockingQueue(threadPoolConfig),
             new ThreadFactoryBuilder().setNameFormat(threadPoolConfig.getThreadPrefix() + "-thread-%d").build(),
             rejectHandler);
     }
@@ -52,12 +67,67 @@ public class DefaultAsyncFileHandler extends AsyncFileHandlerAdapter {
         BaseDefaultDownloadRejectExecutionHandler rejectExecutionHandler,
         DefaultAsyncHandlerThreadPoolProperties threadPoolConfig) {
         super(downloadProperties, uploadService, storageService);
-        executorService = init(threadPoolConfig, rejectExecutionHandler);
+        this.downloadProperties = downloadProperties;
+        this.rejectExecutionHandler = rejectExecutionHandler;
+        this.virtualThreadExecutor = initVirtualThreadExecutor(threadPoolConfig);
+        this.executorService = Objects.isNull(virtualThreadExecutor)
+            ? init(threadPoolConfig, rejectExecutionHandler)
+            : null;
         log.info(">>>>>>[DefaultAsyncFileHandler] Init,thread-pool-config:{}", threadPoolConfig);
     }
 
+    private ConcurrencyLimitedExecutor initVirtualThreadExecutor(DefaultAsyncHandlerThreadPoolProperties threadPoolConfig) {
+        if (!Boolean.TRUE.equals(threadPoolConfig.getVirtualThreadEnable())) {
+            return null;
+        }
+        ExecutorService virtualExecutorService = VirtualThreadExecutors
+            .newVirtualThreadPerTaskExecutor(threadPoolConfig.getThreadPrefix());
+        if (Objects.isNull(virtualExecutorService)) {
+            log.warn(">>>>>>[DefaultAsyncFileHandler] virtual thread unsupported, fallback to thread-pool!");
+            return null;
+        }
+        return new ConcurrencyLimitedExecutor(virtualExecutorService,
+            threadPoolConfig.getVirtualThreadMaxConcurrency(), newBlockingQueue(threadPoolConfig));
+    }
+
+    private BlockingQueue<Runnable> newBlockingQueue(DefaultAsyncHandlerThreadPoolProperties threadPoolConfig) {
+        return Boolean.TRUE.equals(threadPoolConfig.getFairQueueEnable())
+            ? new FairExportQueue(threadPoolConfig.getMaxBlockingQueueSize())
+            : new ArrayBlockingQueue<>(threadPoolConfig.getMaxBlockingQueueSize());
+    }
+
     @Override
     public void execute(BaseDownloadExecutor executor, BaseDownloaderRequestContext baseRequest, Long registerId) {
-        executorService.execute(() -> doExecute(executor, baseRequest, registerId));
+        // 请求线程中缓存的数据总量及语言显式传递到执行线程
+        Map<Object, PageTotal> pageTotalSnapshot = PageTotalContext.snapshot();
+        Locale locale = LocaleContext.currentLocale();
+        Runnable task = FairExportTask.of(executor, downloadProperties.getAppId(), baseRequest, () -> {
+            PageTotalContext.restore(pageTotalSnapshot);
+            LocaleContext.setCurrentLocale(locale);
+            try {
+                doExecute(executor, baseRequest, registerId);
+            } finally {
+                LocaleContext.clear();
+            }
+        });
+        if (Objects.isNull(virtualThreadExecutor)) {
+            executorService.execute(task);
+            return;
+        }
+        try {
+            virtualThreadExecutor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            rejectExecutionHandler.rejectedExecution(task);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (Objects.nonNull(virtualThreadExecutor)) {
+            virtualThreadExecutor.shutdown();
+        }
+        if (Objects.nonNull(executorService)) {
+            executorService.shutdown();
+        }
     }
 }
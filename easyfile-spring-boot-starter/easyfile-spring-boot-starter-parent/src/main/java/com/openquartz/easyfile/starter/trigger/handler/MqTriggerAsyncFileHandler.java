@@ -1,8 +1,13 @@
 package com.openquartz.easyfile.starter.trigger.handler;
 
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.transaction.support.TransactionSynchronizationAdapter;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
@@ -68,9 +73,21 @@ public class MqTriggerAsyncFileHandler extends DatabaseAsyncFileHandlerAdapter i
         boolean send = mqTriggerProducer.send(triggerMessage);
         if (send) {
             triggerService.enterWaiting(registerId);
+        } else {
+            log.warn("[MqTriggerAsyncFileHandler#doSend] send fail,wait for compensate!registerId:{}", registerId);
         }
     }
 
+    @Override
+    protected boolean isRetrySupported() {
+        return true;
+    }
+
+    @Override
+    protected void doRetry(DownloadTriggerEntry k) {
+        doSend(k.getRegisterId());
+    }
+
     @Override
     public void doCompensate() {
 
@@ -78,7 +95,8 @@ public class MqTriggerAsyncFileHandler extends DatabaseAsyncFileHandlerAdapter i
         super.doCompensate();
 
         // 处理超时等待过期触发器
-        triggerService.handleWaitingExpirationTrigger(handlerProperties.getMaxWaitingTimeout());
+        int waitingExpired = triggerService.handleWaitingExpirationTrigger(handlerProperties.getMaxWaitingTimeout());
+        log.info("[MqTriggerAsyncFileHandler#doCompensate] waiting-expired:{}", waitingExpired);
 
         // 查询需要回溯的补偿的触发器
         List<DownloadTriggerEntry> entryList = triggerService
@@ -90,6 +108,49 @@ public class MqTriggerAsyncFileHandler extends DatabaseAsyncFileHandlerAdapter i
             .forEach((k -> doSend(k.getRegisterId())));
     }
 
+    /**
+     * 批量处理消息
+     * 整批消息一次查询触发器, 同一registerId的重复消息只执行一次;
+     * 先交由执行器占用执行容量, 再由执行线程将触发器置为执行中并执行导出, 消费线程不等待执行完成;
+     * 执行器已满的消息需重新消费, 此时触发器尚未进入执行中, 不计入触发次数;
+     * 进入执行中失败由补偿重新触发, 执行导出失败由触发器状态记录并由失败重试及补偿重新触发
+     *
+     * @param messageList 消息
+     * @param executor 执行器
+     * @return 处理失败需重新消费的消息
+     */
+    @Override
+    public List<DownloadTriggerMessage> handle(List<DownloadTriggerMessage> messageList, Executor executor) {
+        List<Long> registerIdList = messageList.stream()
+            .map(DownloadTriggerMessage::getRegisterId)
+            .distinct()
+            .collect(Collectors.toList());
+        List<DownloadTriggerEntry> triggerEntryList = triggerService
+            .getTriggerRegisterId(registerIdList, handlerProperties.getMaxTriggerCount());
+
+        Set<Long> failRegisterIdSet = new HashSet<>();
+        for (DownloadTriggerEntry triggerEntry : triggerEntryList) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        doTrigger(triggerEntry);
+                    } catch (Exception ex) {
+                        log.error("[MqTriggerAsyncFileHandler#handle] start execute error!registerId:{}",
+                            triggerEntry.getRegisterId(), ex);
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                log.warn("[MqTriggerAsyncFileHandler#handle] executor is full,reconsume later!registerId:{}",
+                    triggerEntry.getRegisterId());
+                failRegisterIdSet.add(triggerEntry.getRegisterId());
+            }
+        }
+
+        return messageList.stream()
+            .filter(message -> failRegisterIdSet.contains(message.getRegisterId()))
+            .collect(Collectors.toList());
+    }
+
     @Override
     public void handle(DownloadTriggerMessage message) {
         // 查詢
@@ -1,26 +1,41 @@
 package com.openquartz.easyfile.starter.trigger.handler;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.InitializingBean;
 import com.openquartz.easyfile.common.response.DownloadTriggerEntry;
 import com.openquartz.easyfile.common.concurrent.ThreadFactoryBuilder;
+import com.openquartz.easyfile.common.concurrent.VirtualThreadExecutors;
 import com.openquartz.easyfile.common.util.CollectionUtils;
+import com.openquartz.easyfile.common.util.IpUtil;
 import com.openquartz.easyfile.core.executor.BaseDefaultDownloadRejectExecutionHandler;
 import com.openquartz.easyfile.core.executor.impl.DatabaseAsyncFileHandlerAdapter;
+import com.openquartz.easyfile.core.executor.support.TriggerShardSelector;
 import com.openquartz.easyfile.starter.spring.boot.autoconfig.properties.EasyFileDownloadProperties;
 import com.openquartz.easyfile.starter.spring.boot.autoconfig.properties.ScheduleAsyncHandlerProperties;
+import com.openquartz.easyfile.storage.download.DownloadNodeRegistryService;
 import com.openquartz.easyfile.storage.download.DownloadStorageService;
 import com.openquartz.easyfile.storage.download.DownloadTriggerService;
 import com.openquartz.easyfile.storage.file.UploadService;
 
 /**
  * 定时调度的触发异步文件下载处理器
+ * <p>
+ * 调度线程按空闲执行线程数批量认领触发器,认领成功的触发器交由执行线程池执行,
+ * 单机吞吐取决于执行线程数而非调度周期。
+ * 开启分片后reaper仅认领一致性哈希分配到本节点的分片, 本节点分片空闲时窃取其他分片积压的触发器。
  *
  * @author svnee
  **/
@@ -31,6 +46,25 @@ public class ScheduleTriggerAsyncFileHandler extends DatabaseAsyncFileHandlerAda
     private final ScheduledThreadPoolExecutor scheduleExecutorService;
     private final ScheduleAsyncHandlerProperties handlerProperties;
     private final ScheduledThreadPoolExecutor reaperScheduleExecutorService;
+    private final ExecutorService workerExecutorService;
+
+    /**
+     * 空闲执行线程数
+     */
+    private final Semaphore idleWorkerPermits;
+
+    private final DownloadNodeRegistryService nodeRegistryService;
+    private final String node;
+
+    /**
+     * 当前存活节点
+     */
+    private volatile List<String> liveNodeList = Collections.emptyList();
+
+    /**
+     * 当前节点负责的分片
+     */
+    private volatile List<Integer> shardList = Collections.emptyList();
 
     private ScheduledThreadPoolExecutor init(ScheduleAsyncHandlerProperties handlerProperties,
                                              BaseDefaultDownloadRejectExecutionHandler rejectHandler) {
@@ -48,8 +82,22 @@ public class ScheduleTriggerAsyncFileHandler extends DatabaseAsyncFileHandlerAda
             DownloadTriggerService triggerService,
             ScheduleAsyncHandlerProperties scheduleAsyncHandlerProperties,
             BaseDefaultDownloadRejectExecutionHandler rejectExecutionHandler) {
+        this(downloadProperties, uploadService, storageService, triggerService, scheduleAsyncHandlerProperties,
+                rejectExecutionHandler, null);
+    }
+
+    public ScheduleTriggerAsyncFileHandler(
+            EasyFileDownloadProperties downloadProperties,
+            UploadService uploadService,
+            DownloadStorageService storageService,
+            DownloadTriggerService triggerService,
+            ScheduleAsyncHandlerProperties scheduleAsyncHandlerProperties,
+            BaseDefaultDownloadRejectExecutionHandler rejectExecutionHandler,
+            DownloadNodeRegistryService nodeRegistryService) {
         super(downloadProperties, uploadService, storageService, triggerService, scheduleAsyncHandlerProperties);
         this.triggerService = triggerService;
+        this.nodeRegistryService = nodeRegistryService;
+        this.node = IpUtil.getInstanceId();
         this.handlerProperties = scheduleAsyncHandlerProperties;
         this.scheduleExecutorService = init(scheduleAsyncHandlerProperties, rejectExecutionHandler);
         // reaper
@@ -59,38 +107,150 @@ public class ScheduleTriggerAsyncFileHandler extends DatabaseAsyncFileHandlerAda
                         .setNameFormat(handlerProperties.getReaperThreadPoolThreadPrefix() + "-thread-%d")
                         .build(),
                 rejectExecutionHandler);
+        // worker
+        int workerPoolSize = Math.max(handlerProperties.getWorkerPoolSize(), 1);
+        this.idleWorkerPermits = new Semaphore(workerPoolSize);
+        this.workerExecutorService = initWorker(workerPoolSize);
+    }
+
+    private ExecutorService initWorker(int workerPoolSize) {
+        if (Boolean.TRUE.equals(handlerProperties.getWorkerVirtualThreadEnable())) {
+            ExecutorService virtualExecutorService = VirtualThreadExecutors
+                    .newVirtualThreadPerTaskExecutor(handlerProperties.getWorkerThreadPrefix());
+            if (Objects.nonNull(virtualExecutorService)) {
+                return virtualExecutorService;
+            }
+            log.warn("[ScheduleTriggerAsyncFileHandler] virtual thread unsupported, fallback to thread-pool!");
+        }
+        return new ThreadPoolExecutor(workerPoolSize, workerPoolSize, 0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder()
+                        .setNameFormat(handlerProperties.getWorkerThreadPrefix() + "-thread-%d")
+                        .build());
     }
 
     public void doTrigger() {
-        List<DownloadTriggerEntry> registerIdList = triggerService
-                .getTriggerRegisterId(handlerProperties.getLookBackHours(), handlerProperties.getMaxTriggerCount(),
-                        handlerProperties.getTriggerOffset());
-        doActualTrigger(registerIdList);
+        doActualTrigger(claimCount -> triggerService
+                .claimTrigger(handlerProperties.getLookBackHours(), handlerProperties.getMaxTriggerCount(),
+                        claimCount));
     }
 
     public void doReaperTrigger() {
-        List<DownloadTriggerEntry> registerIdList = triggerService
-                .getTriggerRegisterId(handlerProperties.getLookBackHours(), handlerProperties.getMaxTriggerCount(),
-                        handlerProperties.getMinReaperSeconds(), handlerProperties.getTriggerOffset());
-        doActualTrigger(registerIdList);
+        if (!isShardEnable()) {
+            doActualTrigger(claimCount -> triggerService
+                    .claimTrigger(handlerProperties.getLookBackHours(), handlerProperties.getMaxTriggerCount(),
+                            handlerProperties.getMinReaperSeconds(), claimCount));
+            return;
+        }
+        doActualTrigger(claimCount -> {
+            List<DownloadTriggerEntry> triggerEntryList = new ArrayList<>(triggerService
+                    .claimTrigger(handlerProperties.getLookBackHours(), handlerProperties.getMaxTriggerCount(),
+                            handlerProperties.getMinReaperSeconds(), handlerProperties.getShardCount(), shardList,
+                            claimCount));
+            // 本节点分片不足时窃取其他分片积压的触发器
+            if (triggerEntryList.size() < claimCount) {
+                try {
+                    triggerEntryList.addAll(triggerService
+                            .claimTrigger(handlerProperties.getLookBackHours(), handlerProperties.getMaxTriggerCount(),
+                                    handlerProperties.getMinReaperSeconds() + handlerProperties.getStealDelaySeconds(),
+                                    claimCount - triggerEntryList.size()));
+                } catch (Exception ex) {
+                    // 已认领本节点分片的触发器仍需分发
+                    log.error("[ScheduleTriggerAsyncFileHandler#doReaperTrigger] steal error!", ex);
+                }
+            }
+            return triggerEntryList;
+        });
     }
 
-    private void doActualTrigger(List<DownloadTriggerEntry> registerIdList) {
-        log.info("[ScheduleTriggerAsyncFileHandler#doTrigger] start.....");
+    /**
+     * 节点心跳并按存活节点重新计算本节点负责的分片
+     */
+    public void doRefreshShard() {
         try {
+            nodeRegistryService.heartbeat(node);
+            List<String> currentLiveNodeList = nodeRegistryService
+                    .getLiveNodeList(handlerProperties.getLeaseSeconds());
+            if (!currentLiveNodeList.contains(node)) {
+                currentLiveNodeList = new ArrayList<>(currentLiveNodeList);
+                currentLiveNodeList.add(node);
+            }
+            if (!currentLiveNodeList.equals(liveNodeList)) {
+                shardList = TriggerShardSelector.select(currentLiveNodeList, node, handlerProperties.getShardCount());
+                liveNodeList = currentLiveNodeList;
+                log.info("[ScheduleTriggerAsyncFileHandler#doRefreshShard] live-node:{},shard:{}", liveNodeList,
+                        shardList);
+            }
+        } catch (Exception ex) {
+            log.error("[ScheduleTriggerAsyncFileHandler#doRefreshShard] error!", ex);
+        }
+    }
 
-            if (CollectionUtils.isEmpty(registerIdList)) {
-                log.info("[ScheduleTriggerAsyncFileHandler#doTrigger] end.....");
-                return;
+    @Override
+    public void doCompensate() {
+        super.doCompensate();
+        if (!isShardEnable()) {
+            return;
+        }
+        // 删除超过执行超时时间未心跳的下线节点, 存活节点下次心跳时重新注册
+        try {
+            int removed = nodeRegistryService.removeExpiredNode(
+                    Math.max(handlerProperties.getMaxExecuteTimeout(), handlerProperties.getLeaseSeconds()));
+            log.info("[ScheduleTriggerAsyncFileHandler#doCompensate] removed-expired-node:{}", removed);
+        } catch (Exception ex) {
+            log.error("[ScheduleTriggerAsyncFileHandler#doCompensate] remove expired node error!", ex);
+        }
+    }
+
+    private boolean isShardEnable() {
+        return Boolean.TRUE.equals(handlerProperties.getShardEnable()) && Objects.nonNull(nodeRegistryService);
+    }
+
+    /**
+     * 认领并分发
+     *
+     * @param claimer 按认领数认领触发器
+     */
+    private void doActualTrigger(IntFunction<List<DownloadTriggerEntry>> claimer) {
+        log.info("[ScheduleTriggerAsyncFileHandler#doTrigger] start.....");
+        // 占用全部空闲执行线程后归还超出一次触发处理条数的部分
+        int idleWorkers = idleWorkerPermits.drainPermits();
+        int claimCount = Math.min(idleWorkers, handlerProperties.getTriggerOffset());
+        idleWorkerPermits.release(idleWorkers - claimCount);
+        if (claimCount <= 0) {
+            log.info("[ScheduleTriggerAsyncFileHandler#doTrigger] end.....no idle worker!");
+            return;
+        }
+
+        int dispatchCount = 0;
+        List<DownloadTriggerEntry> triggerEntryList = Collections.emptyList();
+        try {
+            triggerEntryList = claimer.apply(claimCount);
+            if (CollectionUtils.isNotEmpty(triggerEntryList)) {
+                holdLease(triggerEntryList);
+                for (DownloadTriggerEntry triggerEntry : triggerEntryList) {
+                    workerExecutorService.execute(() -> {
+                        try {
+                            doClaimedTrigger(triggerEntry);
+                        } finally {
+                            idleWorkerPermits.release();
+                        }
+                    });
+                    dispatchCount++;
+                }
             }
-            registerIdList
-                    .stream()
-                    .sorted(Comparator.comparing(DownloadTriggerEntry::getRegisterId))
-                    .forEach(this::doTrigger);
         } catch (Exception ex) {
             log.error("[ScheduleTriggerAsyncFileHandler#doTrigger] error!", ex);
+            // 已认领但未分发的触发器释放认领, 不等待租约过期
+            for (int i = dispatchCount; i < triggerEntryList.size(); i++) {
+                releaseClaimedTrigger(triggerEntryList.get(i));
+            }
+        } finally {
+            // 归还未分发的执行线程
+            idleWorkerPermits.release(claimCount - dispatchCount);
         }
-        log.info("[ScheduleTriggerAsyncFileHandler#doTrigger] end.....");
+        log.info("[ScheduleTriggerAsyncFileHandler#doTrigger] end.....dispatch:{}", dispatchCount);
     }
 
 
@@ -101,10 +261,27 @@ public class ScheduleTriggerAsyncFileHandler extends DatabaseAsyncFileHandlerAda
         scheduleExecutorService
                 .scheduleAtFixedRate(this::doTrigger, (int) initDelaySeconds, handlerProperties.getSchedulePeriod(),
                         TimeUnit.SECONDS);
+        // shard
+        if (isShardEnable()) {
+            doRefreshShard();
+            reaperScheduleExecutorService
+                    .scheduleAtFixedRate(this::doRefreshShard, handlerProperties.getLeaseHeartbeatPeriod(),
+                            handlerProperties.getLeaseHeartbeatPeriod(), TimeUnit.SECONDS);
+        } else if (Boolean.TRUE.equals(handlerProperties.getShardEnable())) {
+            log.warn("[ScheduleTriggerAsyncFileHandler#afterPropertiesSet] shard disabled, node registry absent!");
+        }
         // do reaper
         reaperScheduleExecutorService
                 .scheduleAtFixedRate(this::doReaperTrigger, (int) initDelaySeconds, handlerProperties.getSchedulePeriod(),
                         TimeUnit.SECONDS);
     }
 
+    @Override
+    public void destroy() {
+        super.destroy();
+        scheduleExecutorService.shutdown();
+        reaperScheduleExecutorService.shutdown();
+        workerExecutorService.shutdown();
+    }
+
 }
@@ -11,6 +11,7 @@ import javax.net.ssl.X509TrustManager;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.OkHttpClient;
+import okhttp3.ConnectionPool;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -19,6 +20,8 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import com.openquartz.easyfile.common.constants.Constants;
+import com.openquartz.easyfile.core.metrics.CacheMetricsStatsListener;
+import com.openquartz.easyfile.core.storage.CachingDownloadStorageService;
 import com.openquartz.easyfile.storage.remote.EasyFileClient;
 import com.openquartz.easyfile.storage.download.DownloadStorageService;
 import com.openquartz.easyfile.storage.download.LimitingService;
@@ -31,6 +34,7 @@ import com.openquartz.easyfile.storage.remote.common.RemoteBootstrapProperties;
 import com.openquartz.easyfile.storage.remote.common.RemoteClient;
 import com.openquartz.easyfile.storage.remote.common.ServerHealthCheck;
 import com.openquartz.easyfile.storage.remote.common.ServerHttpAgent;
+import com.openquartz.easyfile.storage.remote.common.ServerListManager;
 
 /**
  * EasyFileLocalStorageAutoConfiguration
@@ -39,7 +43,7 @@ import com.openquartz.easyfile.storage.remote.common.ServerHttpAgent;
  **/
 @Slf4j
 @Configuration
-@EnableConfigurationProperties({EasyFileRemoteProperties.class})
+@EnableConfigurationProperties({EasyFileRemoteProperties.class, EasyFileDownloadProperties.class})
 @ConditionalOnClass({RemoteDownloadStorageServiceImpl.class, RemoteLimitingServiceImpl.class})
 @AutoConfigureBefore(EasyFileCreatorAutoConfiguration.class)
 @ConditionalOnProperty(prefix = EasyFileDownloadProperties.PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
@@ -48,8 +52,16 @@ public class EasyFileRemoteStorageAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean(DownloadStorageService.class)
     @ConditionalOnClass(RemoteDownloadStorageServiceImpl.class)
-    public DownloadStorageService remoteDownloadStorageService(EasyFileClient easyFileClient) {
-        return new RemoteDownloadStorageServiceImpl(easyFileClient);
+    public DownloadStorageService remoteDownloadStorageService(EasyFileClient easyFileClient,
+        EasyFileDownloadProperties downloadProperties) {
+        DownloadStorageService storageService = new RemoteDownloadStorageServiceImpl(easyFileClient);
+        if (!downloadProperties.isStorageCacheEnable()) {
+            return storageService;
+        }
+        return new CachingDownloadStorageService(storageService, downloadProperties.getStorageCacheMaxSize(),
+            TimeUnit.SECONDS.toMillis(downloadProperties.getStorageCacheTtlSeconds()),
+            TimeUnit.SECONDS.toMillis(downloadProperties.getStorageCacheNegativeTtlSeconds()),
+            new CacheMetricsStatsListener());
     }
 
     @Bean
@@ -72,24 +84,39 @@ public class EasyFileRemoteStorageAutoConfiguration {
 
     @Bean
     @ConditionalOnClass(RemoteClient.class)
-    public RemoteClient remoteClient() {
-        return new RemoteClient(new OkHttpClient());
+    public RemoteClient remoteClient(OkHttpClient okHttpClient) {
+        return new RemoteClient(okHttpClient);
+    }
+
+    @Bean
+    @ConditionalOnClass(ServerListManager.class)
+    @ConditionalOnMissingBean(ServerListManager.class)
+    public ServerListManager serverListManager(RemoteBootstrapProperties properties) {
+        return new ServerListManager(properties);
     }
 
     @Bean
     @ConditionalOnClass(HttpAgent.class)
     @ConditionalOnMissingBean(HttpAgent.class)
-    public HttpAgent serverHttpAgent(RemoteBootstrapProperties properties, RemoteClient remoteClient) {
-        return new ServerHttpAgent(properties, remoteClient);
+    public HttpAgent serverHttpAgent(RemoteBootstrapProperties properties, ServerListManager serverListManager,
+        RemoteClient remoteClient) {
+        return new ServerHttpAgent(properties, serverListManager, remoteClient);
     }
 
     @Bean
     @ConditionalOnClass(OkHttpClient.class)
     @ConditionalOnMissingBean(OkHttpClient.class)
-    public OkHttpClient okHttpClient() {
+    public OkHttpClient okHttpClient(EasyFileRemoteProperties easyFileRemoteProperties,
+        ServerListManager serverListManager) {
+        // 连接池按服务节点数放大, 各节点均可复用长连接
+        int serverNum = Math.max(serverListManager.getServerNodes().size(), 1);
+        ConnectionPool connectionPool = new ConnectionPool(
+            easyFileRemoteProperties.getMaxIdleConnectionsPerServer() * serverNum,
+            easyFileRemoteProperties.getKeepAliveSeconds(), TimeUnit.SECONDS);
         OkHttpClient.Builder build = new OkHttpClient.Builder();
         build.connectTimeout(10, TimeUnit.SECONDS)
             .readTimeout(30, TimeUnit.SECONDS)
+            .connectionPool(connectionPool)
             .build();
         supportHttps(build);
         return build.build();
@@ -122,8 +149,9 @@ public class EasyFileRemoteStorageAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean(ServerHealthCheck.class)
     @ConditionalOnClass(ServerHealthCheck.class)
-    public ServerHealthCheck serverHealthCheck(HttpAgent httpAgent) {
-        return new HttpScheduledHealthCheck(httpAgent);
+    public ServerHealthCheck serverHealthCheck(HttpAgent httpAgent, ServerListManager serverListManager,
+        RemoteClient remoteClient) {
+        return new HttpScheduledHealthCheck(httpAgent, serverListManager, remoteClient);
     }
 
     @Bean
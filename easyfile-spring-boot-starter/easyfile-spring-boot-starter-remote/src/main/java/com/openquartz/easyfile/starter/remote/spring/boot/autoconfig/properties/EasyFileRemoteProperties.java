@@ -36,6 +36,18 @@ public class EasyFileRemoteProperties {
      */
     private String namespace;
 
+    /**
+     * 每个服务节点最大空闲连接数
+     * max-idle-connections-per-server
+     */
+    private int maxIdleConnectionsPerServer = 5;
+
+    /**
+     * 空闲连接保持时间(秒)
+     * keep-alive-seconds
+     */
+    private long keepAliveSeconds = 300;
+
     public String getUsername() {
         return username;
     }
@@ -68,6 +80,22 @@ public class EasyFileRemoteProperties {
         this.namespace = namespace;
     }
 
+    public int getMaxIdleConnectionsPerServer() {
+        return maxIdleConnectionsPerServer;
+    }
+
+    public void setMaxIdleConnectionsPerServer(int maxIdleConnectionsPerServer) {
+        this.maxIdleConnectionsPerServer = maxIdleConnectionsPerServer;
+    }
+
+    public long getKeepAliveSeconds() {
+        return keepAliveSeconds;
+    }
+
+    public void setKeepAliveSeconds(long keepAliveSeconds) {
+        this.keepAliveSeconds = keepAliveSeconds;
+    }
+
     @Override
     public String toString() {
         return "EasyFileRemoteProperties{" +
@@ -75,6 +103,8 @@ public class EasyFileRemoteProperties {
             ", password='" + password + '\'' +
             ", serverAddr='" + serverAddr + '\'' +
             ", namespace='" + namespace + '\'' +
+            ", maxIdleConnectionsPerServer=" + maxIdleConnectionsPerServer +
+            ", keepAliveSeconds=" + keepAliveSeconds +
             '}';
     }
 }
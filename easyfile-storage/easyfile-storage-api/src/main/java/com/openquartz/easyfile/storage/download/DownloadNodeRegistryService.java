@@ -0,0 +1,38 @@
+package com.openquartz.easyfile.storage.download;
+
+import java.util.List;
+
+/**
+ * 触发节点注册服务
+ * 用于触发器按节点分片调度
+ *
+ * @author svnee
+ */
+public interface DownloadNodeRegistryService {
+
+    /**
+     * 节点心跳(不存在时注册)
+     *
+     * @param node 节点
+     */
+    void heartbeat(String node);
+
+    /**
+     * 查询存活节点
+     *
+     * @param expireSeconds 超过此时间未心跳视为下线 单位：秒
+     * @return 存活节点
+     */
+    List<String> getLiveNodeList(Integer expireSeconds);
+
+    /**
+     * 删除已下线节点
+     *
+     * @param expireSeconds 超过此时间未心跳的节点删除 单位：秒
+     * @return 删除节点数
+     */
+    default int removeExpiredNode(Integer expireSeconds) {
+        return 0;
+    }
+
+}
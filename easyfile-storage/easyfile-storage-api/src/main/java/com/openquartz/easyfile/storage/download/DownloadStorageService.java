@@ -2,6 +2,7 @@ package com.openquartz.easyfile.storage.download;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
 import com.openquartz.easyfile.common.bean.DownloadRequestInfo;
 import com.openquartz.easyfile.common.util.page.Pagination;
@@ -11,6 +12,7 @@ import com.openquartz.easyfile.common.request.CancelUploadRequest;
 import com.openquartz.easyfile.common.request.DownloadRequest;
 import com.openquartz.easyfile.common.request.ListDownloadResultRequest;
 import com.openquartz.easyfile.common.request.LoadingExportCacheRequest;
+import com.openquartz.easyfile.common.request.RefreshExecuteProcessRequest;
 import com.openquartz.easyfile.common.request.RegisterDownloadRequest;
 import com.openquartz.easyfile.common.request.UploadCallbackRequest;
 import com.openquartz.easyfile.common.response.AppTree;
@@ -18,6 +20,7 @@ import com.openquartz.easyfile.common.response.CancelUploadResult;
 import com.openquartz.easyfile.common.response.DownloadResult;
 import com.openquartz.easyfile.common.response.DownloadUrlResult;
 import com.openquartz.easyfile.common.response.ExportResult;
+import com.openquartz.easyfile.common.response.PrepareExecutionResult;
 
 /**
  * 下载存储服务
@@ -34,6 +37,35 @@ public interface DownloadStorageService {
      */
     boolean enableRunning(Long registerId);
 
+    /**
+     * 准备执行
+     * 开启执行, 成功时重置执行进度并返回下载请求信息与语言。
+     *
+     * @param registerId 注册下载ID
+     * @return 准备执行结果
+     */
+    default PrepareExecutionResult prepareExecution(Long registerId) {
+        if (!enableRunning(registerId)) {
+            return PrepareExecutionResult.reject();
+        }
+        resetExecuteProcess(registerId);
+        PrepareExecutionResult result = new PrepareExecutionResult();
+        result.setRunning(true);
+        result.setRequestInfo(getRequestInfoByRegisterId(registerId));
+        Locale locale = getCurrentLocale(registerId);
+        result.setLocale(Objects.nonNull(locale) ? locale.toLanguageTag() : null);
+        return result;
+    }
+
+    /**
+     * 回滚开启执行
+     * 开启执行后未能开始导出时将执行中的下载记录重置为未执行, 以便重新触发
+     *
+     * @param registerId 注册下载ID
+     * @return 是否回滚成功
+     */
+    boolean revertRunning(Long registerId);
+
     /**
      * 加载导出缓存结果
      *
@@ -97,6 +129,18 @@ public interface DownloadStorageService {
      */
     void refreshExecuteProgress(Long registerId, Integer executeProcess, UploadStatusEnum nextUploadStatus);
 
+    /**
+     * 批量更新执行进度
+     *
+     * @param requestList 执行进度
+     */
+    default void refreshExecuteProgress(List<RefreshExecuteProcessRequest> requestList) {
+        for (RefreshExecuteProcessRequest request : requestList) {
+            refreshExecuteProgress(request.getRegisterId(), request.getExecuteProcess(),
+                request.getNextUploadStatus());
+        }
+    }
+
     /**
      * 重置执行进度
      *
@@ -61,6 +61,66 @@ public interface DownloadTriggerService {
      */
     DownloadTriggerEntry getTriggerRegisterId(Long registerId, Integer maxTriggerCount);
 
+    /**
+     * 根据registerId 批量查询DownloadTriggerEntry
+     * 已执行成功或超过最大触发次数的触发器不返回
+     *
+     * @param registerIdList registerId
+     * @param maxTriggerCount 最大触发次数
+     * @return entry
+     */
+    List<DownloadTriggerEntry> getTriggerRegisterId(List<Long> registerIdList, Integer maxTriggerCount);
+
+    /**
+     * 批量认领当前节点创建的待触发任务
+     * 认领成功的触发器已进入执行中(等同于{@link #startExecute(Long, Integer)} 成功),可直接执行
+     *
+     * @param lookBackHours 回溯时间
+     * @param maxTriggerCount 最大触发次数
+     * @param claimCount 最多认领数
+     * @return 认领成功的触发器
+     */
+    List<DownloadTriggerEntry> claimTrigger(Integer lookBackHours, Integer maxTriggerCount, Integer claimCount);
+
+    /**
+     * 批量认领超过最小收割时间仍未执行的待触发任务(不区分创建节点)
+     * 同时认领租约已过期(执行节点宕机)的执行中任务, 其下载记录重置为未执行后重新执行
+     * 认领成功的触发器已进入执行中(等同于{@link #startExecute(Long, Integer)} 成功),可直接执行
+     *
+     * @param lookBackHours 回溯时间
+     * @param maxTriggerCount 最大触发次数
+     * @param minReaperSeconds 最小收割时间
+     * @param claimCount 最多认领数
+     * @return 认领成功的触发器
+     */
+    List<DownloadTriggerEntry> claimTrigger(Integer lookBackHours, Integer maxTriggerCount,
+        Integer minReaperSeconds, Integer claimCount);
+
+    /**
+     * 按分片批量认领超过最小收割时间仍未执行的待触发任务及租约已过期的执行中任务
+     * 分片为 register_id 对分片总数取模
+     *
+     * @param lookBackHours 回溯时间
+     * @param maxTriggerCount 最大触发次数
+     * @param minReaperSeconds 最小收割时间
+     * @param shardCount 分片总数
+     * @param shardList 当前节点负责的分片
+     * @param claimCount 最多认领数
+     * @return 认领成功的触发器
+     */
+    List<DownloadTriggerEntry> claimTrigger(Integer lookBackHours, Integer maxTriggerCount,
+        Integer minReaperSeconds, Integer shardCount, List<Integer> shardList, Integer claimCount);
+
+    /**
+     * 批量续约当前节点执行中的触发器, 并返回已失去租约的触发器
+     * 仅续约执行者及触发次数一致的触发器, 已被其他节点重新认领或已结束的触发器视为失去租约, 执行节点需停止执行
+     *
+     * @param triggerEntryList 触发器, 触发次数为认领后的触发次数
+     * @param leaseSeconds 租约时长 单位：秒
+     * @return 失去租约的触发器
+     */
+    List<DownloadTriggerEntry> renewClaimedLease(List<DownloadTriggerEntry> triggerEntryList, Integer leaseSeconds);
+
     /**
      * 开始执行
      *
@@ -84,6 +144,32 @@ public interface DownloadTriggerService {
      */
     void exeFail(Long registerId);
 
+    /**
+     * 已认领的触发器执行成功
+     * 仅更新当前节点本次认领的触发器, 已被其他节点重新认领时不做处理
+     *
+     * @param registerId 注册ID
+     * @param triggerCount 认领后的触发次数
+     * @return 是否更新成功
+     */
+    default boolean exeClaimedSuccess(Long registerId, Integer triggerCount) {
+        exeSuccess(registerId);
+        return true;
+    }
+
+    /**
+     * 已认领的触发器执行失败
+     * 仅更新当前节点本次认领的触发器, 已被其他节点重新认领时不做处理
+     *
+     * @param registerId 注册ID
+     * @param triggerCount 认领后的触发次数
+     * @return 是否更新成功
+     */
+    default boolean exeClaimedFail(Long registerId, Integer triggerCount) {
+        exeFail(registerId);
+        return true;
+    }
+
     /**
      * 进入排队
      *
@@ -93,24 +179,28 @@ public interface DownloadTriggerService {
 
     /**
      * 最大过期时间
+     * 租约已过期的执行中触发器直接过期, 无租约的执行中触发器超过最大过期时间后过期
      *
-     * @param maxExpireSeconds 过期时间
+     * @param maxExpireSeconds 无租约时的过期时间
+     * @return 处理条数
      */
-    void handleExpirationTrigger(Integer maxExpireSeconds);
+    int handleExpirationTrigger(Integer maxExpireSeconds);
 
     /**
      * 触发最大等待过期时间处理
      *
      * @param maxWaitingSeconds 最大等待时间超时
+     * @return 处理条数
      */
-    void handleWaitingExpirationTrigger(Integer maxWaitingSeconds);
+    int handleWaitingExpirationTrigger(Integer maxWaitingSeconds);
 
     /**
      * 多久归档
      *
      * @param archiveHours 归档时间
      * @param maxTriggerCount 最大触发次数
+     * @return 归档条数
      */
-    void archiveHistoryTrigger(Integer archiveHours, Integer maxTriggerCount);
+    int archiveHistoryTrigger(Integer archiveHours, Integer maxTriggerCount);
 
 }
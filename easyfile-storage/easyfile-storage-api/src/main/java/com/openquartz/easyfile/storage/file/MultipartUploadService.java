@@ -0,0 +1,95 @@
+package com.openquartz.easyfile.storage.file;
+
+import com.openquartz.easyfile.common.bean.Pair;
+import java.util.Set;
+
+/**
+ * 分片上传服务
+ * <p>
+ * 实现该接口时,异步导出会在生成文件的同时按分片上传,文件生成完成后仅需上传剩余分片并合并。
+ * 分片编号从1开始连续递增,除最后一个分片外,每个分片大小均为{@link #partSize()}。
+ * 分片上传失败时会按{@link #partRetryTimes()} 重试,仍失败时整体重试,此时通过{@link #listUploadedParts(String)} 跳过已上传的分片。
+ *
+ * @author svnee
+ */
+public interface MultipartUploadService extends UploadService {
+
+    /**
+     * 默认分片大小:8MB
+     */
+    int DEFAULT_PART_SIZE = 8 * 1024 * 1024;
+
+    /**
+     * 分片大小
+     *
+     * @return 分片大小(字节),默认:{@link #DEFAULT_PART_SIZE}
+     */
+    default int partSize() {
+        return DEFAULT_PART_SIZE;
+    }
+
+    /**
+     * 分片并行上传数
+     *
+     * @return 并行上传数,默认:4
+     */
+    default int partParallelism() {
+        return 4;
+    }
+
+    /**
+     * 单个分片上传失败时的重试次数
+     *
+     * @return 重试次数,默认:3
+     */
+    default int partRetryTimes() {
+        return 3;
+    }
+
+    /**
+     * 初始化分片上传
+     *
+     * @param fileName 自定义生成的文件名
+     * @param appId 服务ID
+     * @return 分片上传ID
+     */
+    String initiateMultipartUpload(String fileName, String appId);
+
+    /**
+     * 上传分片
+     * 同一分片可能被重复上传,需要支持覆盖
+     *
+     * @param uploadId 分片上传ID
+     * @param partNumber 分片编号,从1开始
+     * @param data 分片数据
+     * @param length 分片数据长度
+     */
+    void uploadPart(String uploadId, int partNumber, byte[] data, int length);
+
+    /**
+     * 查询已上传成功的分片编号
+     * 用于整体重试时断点续传
+     *
+     * @param uploadId 分片上传ID
+     * @return 已上传的分片编号
+     */
+    Set<Integer> listUploadedParts(String uploadId);
+
+    /**
+     * 合并分片完成上传
+     *
+     * @param uploadId 分片上传ID
+     * @param partCount 分片总数
+     * @param fileName 自定义生成的文件名
+     * @param appId 服务ID
+     * @return key: 文件系统, value:返回文件URL/KEY标识符
+     */
+    Pair<String, String> completeMultipartUpload(String uploadId, int partCount, String fileName, String appId);
+
+    /**
+     * 取消分片上传,清理已上传的分片
+     *
+     * @param uploadId 分片上传ID
+     */
+    void abortMultipartUpload(String uploadId);
+}
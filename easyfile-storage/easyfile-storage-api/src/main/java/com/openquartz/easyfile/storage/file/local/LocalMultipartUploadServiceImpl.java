@@ -0,0 +1,148 @@
+package com.openquartz.easyfile.storage.file.local;
+
+import com.openquartz.easyfile.common.bean.Pair;
+import com.openquartz.easyfile.common.util.ExceptionUtils;
+import com.openquartz.easyfile.storage.file.MultipartUploadService;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 本地文件系统分片上传
+ * <p>
+ * 分片写入存储目录下的 .multipart/{uploadId}/ 目录,合并后的文件存放于 {storagePath}/{uploadId}/{fileName}。
+ * 可用于本地测试分片上传及断点续传流程。
+ *
+ * @author svnee
+ **/
+public class LocalMultipartUploadServiceImpl extends LocalUploadServiceImpl implements MultipartUploadService {
+
+    private static final String MULTIPART_DIR = ".multipart";
+    private static final String PART_FILE_SUFFIX = ".part";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private final Path storagePath;
+    private final int partSize;
+
+    public LocalMultipartUploadServiceImpl(String storagePath) {
+        this(storagePath, DEFAULT_PART_SIZE);
+    }
+
+    public LocalMultipartUploadServiceImpl(String storagePath, int partSize) {
+        this.storagePath = Paths.get(storagePath);
+        this.partSize = partSize;
+    }
+
+    @Override
+    public int partSize() {
+        return partSize;
+    }
+
+    @Override
+    public String initiateMultipartUpload(String fileName, String appId) {
+        String uploadId = UUID.randomUUID().toString().replace("-", "");
+        try {
+            Files.createDirectories(partDir(uploadId));
+        } catch (IOException ex) {
+            ExceptionUtils.rethrow(ex);
+        }
+        return uploadId;
+    }
+
+    @Override
+    public void uploadPart(String uploadId, int partNumber, byte[] data, int length) {
+        Path partFile = partDir(uploadId).resolve(partNumber + PART_FILE_SUFFIX);
+        Path tempFile = partDir(uploadId).resolve(partNumber + PART_FILE_SUFFIX + TEMP_FILE_SUFFIX);
+        try {
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                out.write(data, 0, length);
+            }
+            // 写入完成后再重命名,避免未写完的分片被视为已上传
+            Files.move(tempFile, partFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            ExceptionUtils.rethrow(ex);
+        }
+    }
+
+    @Override
+    public Set<Integer> listUploadedParts(String uploadId) {
+        Set<Integer> partNumberSet = new HashSet<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(partDir(uploadId), "*" + PART_FILE_SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                partNumberSet.add(Integer.parseInt(name.substring(0, name.length() - PART_FILE_SUFFIX.length())));
+            }
+        } catch (IOException ex) {
+            ExceptionUtils.rethrow(ex);
+        }
+        return partNumberSet;
+    }
+
+    @Override
+    public Pair<String, String> completeMultipartUpload(String uploadId, int partCount, String fileName,
+        String appId) {
+        Path target = resolveInStorage(storagePath.resolve(pathSegment(uploadId)), pathSegment(fileName));
+        try {
+            Files.createDirectories(target.getParent());
+            try (OutputStream out = Files.newOutputStream(target)) {
+                for (int partNumber = 1; partNumber <= partCount; partNumber++) {
+                    Files.copy(partDir(uploadId).resolve(partNumber + PART_FILE_SUFFIX), out);
+                }
+            }
+        } catch (IOException ex) {
+            ExceptionUtils.rethrow(ex);
+        }
+        abortMultipartUpload(uploadId);
+        return Pair.of(LOCAL, target.toAbsolutePath().toString());
+    }
+
+    @Override
+    public void abortMultipartUpload(String uploadId) {
+        Path partDir = partDir(uploadId);
+        if (!Files.exists(partDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(partDir)) {
+            for (Path path : stream) {
+                Files.deleteIfExists(path);
+            }
+            Files.deleteIfExists(partDir);
+        } catch (IOException ex) {
+            ExceptionUtils.rethrow(ex);
+        }
+    }
+
+    private Path partDir(String uploadId) {
+        return resolveInStorage(storagePath.resolve(MULTIPART_DIR), pathSegment(uploadId));
+    }
+
+    /**
+     * 仅保留最后一级路径名, 防止路径穿越
+     */
+    private static String pathSegment(String name) {
+        String segment = name.substring(Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\')) + 1);
+        if (segment.isEmpty() || ".".equals(segment) || "..".equals(segment)) {
+            throw new IllegalArgumentException("illegal path name:" + name);
+        }
+        return segment;
+    }
+
+    /**
+     * 解析目录下的路径, 规范化后不在存储目录下时拒绝
+     */
+    private Path resolveInStorage(Path dir, String name) {
+        Path base = storagePath.toAbsolutePath().normalize();
+        Path path = dir.resolve(name).toAbsolutePath().normalize();
+        if (!path.startsWith(base) || path.equals(base)) {
+            throw new IllegalArgumentException("illegal path name:" + name);
+        }
+        return path;
+    }
+}
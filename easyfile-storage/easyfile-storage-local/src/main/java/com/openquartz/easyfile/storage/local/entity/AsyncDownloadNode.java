@@ -0,0 +1,36 @@
+package com.openquartz.easyfile.storage.local.entity;
+
+import java.util.Date;
+import javax.persistence.Column;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import lombok.Data;
+
+/**
+ * 异步下载触发节点
+ *
+ * @author svnee
+ **/
+@Data
+@Table(name = "ef_async_download_node")
+public class AsyncDownloadNode {
+
+    /**
+     * Id
+     */
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * 节点 (IP)
+     */
+    @Column(name = "node_owner")
+    private String nodeOwner;
+
+    /**
+     * 最近心跳时间
+     */
+    @Column(name = "heartbeat_time")
+    private Date heartbeatTime;
+}
@@ -67,6 +67,20 @@ public class AsyncDownloadTrigger {
     @Column(name = "processing_owner")
     private String processingOwner;
 
+    /**
+     * 认领批次标识
+     * 批量认领时一次认领的触发器使用同一标识
+     */
+    @Column(name = "claim_token")
+    private String claimToken;
+
+    /**
+     * 租约到期时间
+     * 执行节点定期续约, 过期视为执行节点宕机, 可被其他节点重新认领
+     */
+    @Column(name = "lease_expire_time")
+    private Date leaseExpireTime;
+
     public boolean isSuccess() {
         return triggerStatus == DownloadTriggerStatusEnum.SUCCESS;
     }
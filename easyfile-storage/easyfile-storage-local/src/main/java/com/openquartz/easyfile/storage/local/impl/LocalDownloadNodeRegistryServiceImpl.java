@@ -0,0 +1,39 @@
+package com.openquartz.easyfile.storage.local.impl;
+
+import com.openquartz.easyfile.storage.download.DownloadNodeRegistryService;
+import com.openquartz.easyfile.storage.local.entity.AsyncDownloadNode;
+import com.openquartz.easyfile.storage.local.mapper.AsyncDownloadNodeMapper;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 本地DB触发节点注册
+ *
+ * @author svnee
+ **/
+@RequiredArgsConstructor
+public class LocalDownloadNodeRegistryServiceImpl implements DownloadNodeRegistryService {
+
+    private final AsyncDownloadNodeMapper asyncDownloadNodeMapper;
+
+    @Override
+    public void heartbeat(String node) {
+        asyncDownloadNodeMapper.heartbeat(node, LocalDateTime.now());
+    }
+
+    @Override
+    public List<String> getLiveNodeList(Integer expireSeconds) {
+        return asyncDownloadNodeMapper.selectLive(LocalDateTime.now().plusSeconds(-expireSeconds))
+            .stream()
+            .map(AsyncDownloadNode::getNodeOwner)
+            .distinct()
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public int removeExpiredNode(Integer expireSeconds) {
+        return asyncDownloadNodeMapper.deleteExpired(LocalDateTime.now().plusSeconds(-expireSeconds));
+    }
+}
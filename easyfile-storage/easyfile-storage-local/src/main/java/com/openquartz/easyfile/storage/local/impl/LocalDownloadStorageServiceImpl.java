@@ -42,6 +42,7 @@ import com.openquartz.easyfile.common.request.DownloadRequest;
 import com.openquartz.easyfile.common.request.ListDownloadResultRequest;
 import com.openquartz.easyfile.common.request.LoadingExportCacheRequest;
 import com.openquartz.easyfile.common.request.RegisterDownloadRequest;
+import com.openquartz.easyfile.common.request.RefreshExecuteProcessRequest;
 import com.openquartz.easyfile.common.request.UploadCallbackRequest;
 import com.openquartz.easyfile.common.response.AppTree;
 import com.openquartz.easyfile.common.response.CancelUploadResult;
@@ -85,6 +86,18 @@ public class LocalDownloadStorageServiceImpl implements DownloadStorageService {
         return affect > 0;
     }
 
+    @Override
+    public boolean revertRunning(Long registerId) {
+        AsyncDownloadRecord downloadRecord = asyncDownloadRecordMapper.findById(registerId);
+        if (Objects.isNull(downloadRecord) || downloadRecord.getUploadStatus() != UploadStatusEnum.EXECUTING) {
+            return false;
+        }
+        int affect = asyncDownloadRecordMapper
+                .refreshUploadStatus(registerId, UploadStatusEnum.EXECUTING, UploadStatusEnum.NONE,
+                        downloadRecord.getUpdateBy());
+        return affect > 0;
+    }
+
     @Override
     public ExportResult loadingCacheExportResult(LoadingExportCacheRequest request) {
         AsyncDownloadRecord downloadRecord = asyncDownloadRecordMapper.findById(request.getRegisterId());
@@ -381,6 +394,11 @@ public class LocalDownloadStorageServiceImpl implements DownloadStorageService {
         asyncDownloadRecordMapper.refreshExecuteProcess(registerId, executeProcess, uploadStatus);
     }
 
+    @Override
+    public void refreshExecuteProgress(List<RefreshExecuteProcessRequest> requestList) {
+        asyncDownloadRecordMapper.refreshExecuteProcess(requestList);
+    }
+
     @Override
     public void resetExecuteProcess(Long registerId) {
         asyncDownloadRecordMapper.resetExecuteProcess(registerId);
@@ -2,17 +2,25 @@ package com.openquartz.easyfile.storage.local.impl;
 
 import com.openquartz.easyfile.storage.local.dictionary.DownloadTriggerStatusEnum;
 import com.openquartz.easyfile.storage.download.DownloadTriggerService;
+import com.openquartz.easyfile.storage.local.entity.AsyncDownloadRecord;
 import com.openquartz.easyfile.storage.local.entity.AsyncDownloadTrigger;
+import com.openquartz.easyfile.storage.local.mapper.AsyncDownloadRecordMapper;
 import com.openquartz.easyfile.storage.local.mapper.AsyncDownloadTriggerMapper;
 import com.openquartz.easyfile.storage.local.mapper.condition.QueryDownloadTriggerCondition;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
 import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import com.openquartz.easyfile.common.dictionary.UploadStatusEnum;
 import com.openquartz.easyfile.common.request.DownloadTriggerRequest;
 import com.openquartz.easyfile.common.response.DownloadTriggerEntry;
 import com.openquartz.easyfile.common.util.CollectionUtils;
@@ -25,10 +33,46 @@ import com.openquartz.easyfile.common.util.StringUtils;
  * @author svnee
  **/
 @Slf4j
-@RequiredArgsConstructor
 public class LocalDownloadTriggerServiceImpl implements DownloadTriggerService {
 
+    /**
+     * 默认过期/归档单批处理条数
+     */
+    private static final int DEFAULT_COMPENSATE_BATCH_SIZE = 500;
+
+    /**
+     * 默认过期/归档单次处理时间上限 单位：毫秒
+     */
+    private static final long DEFAULT_COMPENSATE_TIME_BUDGET_MILLIS = 5000L;
+
     private final AsyncDownloadTriggerMapper asyncDownloadTriggerMapper;
+    private final AsyncDownloadRecordMapper asyncDownloadRecordMapper;
+
+    /**
+     * 过期/归档单批处理条数
+     */
+    private final int compensateBatchSize;
+
+    /**
+     * 过期/归档单次处理时间上限 单位：毫秒
+     */
+    private final long compensateTimeBudgetMillis;
+
+    public LocalDownloadTriggerServiceImpl(AsyncDownloadTriggerMapper asyncDownloadTriggerMapper,
+        AsyncDownloadRecordMapper asyncDownloadRecordMapper) {
+        this(asyncDownloadTriggerMapper, asyncDownloadRecordMapper, DEFAULT_COMPENSATE_BATCH_SIZE,
+            DEFAULT_COMPENSATE_TIME_BUDGET_MILLIS);
+    }
+
+    public LocalDownloadTriggerServiceImpl(AsyncDownloadTriggerMapper asyncDownloadTriggerMapper,
+        AsyncDownloadRecordMapper asyncDownloadRecordMapper,
+        int compensateBatchSize,
+        long compensateTimeBudgetMillis) {
+        this.asyncDownloadTriggerMapper = asyncDownloadTriggerMapper;
+        this.asyncDownloadRecordMapper = asyncDownloadRecordMapper;
+        this.compensateBatchSize = compensateBatchSize > 0 ? compensateBatchSize : DEFAULT_COMPENSATE_BATCH_SIZE;
+        this.compensateTimeBudgetMillis = compensateTimeBudgetMillis;
+    }
 
     @Override
     public void trigger(DownloadTriggerRequest request) {
@@ -128,6 +172,189 @@ public class LocalDownloadTriggerServiceImpl implements DownloadTriggerService {
         return DownloadTriggerEntry.of(trigger.getRegisterId(), trigger.getTriggerCount());
     }
 
+    @Override
+    public List<DownloadTriggerEntry> getTriggerRegisterId(List<Long> registerIdList, Integer maxTriggerCount) {
+        if (CollectionUtils.isEmpty(registerIdList)) {
+            return Collections.emptyList();
+        }
+        return asyncDownloadTriggerMapper.selectByRegisterIds(registerIdList)
+            .stream()
+            .filter(trigger -> !trigger.isSuccess() && trigger.getTriggerCount() <= maxTriggerCount)
+            .map(trigger -> DownloadTriggerEntry.of(trigger.getRegisterId(), trigger.getTriggerCount()))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<DownloadTriggerEntry> claimTrigger(Integer lookBackHours, Integer maxTriggerCount,
+        Integer claimCount) {
+        QueryDownloadTriggerCondition triggerCondition = new QueryDownloadTriggerCondition();
+        triggerCondition.setOffset(claimCount);
+        triggerCondition.setMaxTriggerCount(maxTriggerCount);
+        triggerCondition.setTriggerStatusList(DownloadTriggerStatusEnum.EXE_TRIGGER_STATUS_LIST);
+
+        LocalDateTime now = LocalDateTime.now();
+        triggerCondition.setLastExecuteStartTime(now.plusHours(-lookBackHours));
+        triggerCondition.setLastExecuteEndTime(now);
+        // 触发专属IP
+        triggerCondition.setCreatingOwner(IpUtil.getIp());
+        return claim(triggerCondition);
+    }
+
+    @Override
+    public List<DownloadTriggerEntry> claimTrigger(Integer lookBackHours, Integer maxTriggerCount,
+        Integer minReaperSeconds, Integer claimCount) {
+        return claimTrigger(lookBackHours, maxTriggerCount, minReaperSeconds, null, null, claimCount);
+    }
+
+    @Override
+    public List<DownloadTriggerEntry> claimTrigger(Integer lookBackHours, Integer maxTriggerCount,
+        Integer minReaperSeconds, Integer shardCount, List<Integer> shardList, Integer claimCount) {
+        // 指定分片总数时仅认领负责的分片
+        if (Objects.nonNull(shardCount) && CollectionUtils.isEmpty(shardList)) {
+            return Collections.emptyList();
+        }
+        QueryDownloadTriggerCondition triggerCondition = new QueryDownloadTriggerCondition();
+        triggerCondition.setMaxTriggerCount(maxTriggerCount);
+        triggerCondition.setTriggerStatusList(DownloadTriggerStatusEnum.EXE_TRIGGER_STATUS_LIST);
+        triggerCondition.setShardCount(shardCount);
+        triggerCondition.setShardList(shardList);
+
+        LocalDateTime now = LocalDateTime.now();
+        triggerCondition.setLastExecuteStartTime(now.plusHours(-lookBackHours));
+        triggerCondition.setLastExecuteEndTime(now.plusSeconds(-minReaperSeconds));
+
+        // 优先认领租约已过期的执行中触发器
+        List<DownloadTriggerEntry> reclaimedList = reclaimExpiredLease(now, maxTriggerCount, shardCount, shardList,
+            claimCount);
+        triggerCondition.setOffset(claimCount - reclaimedList.size());
+        List<DownloadTriggerEntry> claimedList = claim(triggerCondition);
+        if (CollectionUtils.isEmpty(reclaimedList)) {
+            return claimedList;
+        }
+        List<DownloadTriggerEntry> triggerEntryList = new ArrayList<>(reclaimedList);
+        triggerEntryList.addAll(claimedList);
+        return triggerEntryList;
+    }
+
+    /**
+     * 查询租约已过期的执行中触发器后一条语句批量重新认领
+     * 并发认领时租约已被置空, 同一触发器只会被一个批次更新成功
+     * 重新认领成功后将宕机节点遗留的执行中下载记录重置为未执行, 以便重新开启执行
+     */
+    private List<DownloadTriggerEntry> reclaimExpiredLease(LocalDateTime now, Integer maxTriggerCount,
+        Integer shardCount, List<Integer> shardList, Integer claimCount) {
+        if (Objects.isNull(claimCount) || claimCount <= 0) {
+            return Collections.emptyList();
+        }
+        QueryDownloadTriggerCondition leaseCondition = new QueryDownloadTriggerCondition();
+        leaseCondition.setOffset(claimCount);
+        leaseCondition.setMaxTriggerCount(maxTriggerCount);
+        leaseCondition.setTriggerStatusList(CollectionUtils.newArrayList(DownloadTriggerStatusEnum.EXECUTING));
+        leaseCondition.setLeaseExpireEndTime(now);
+        leaseCondition.setShardCount(shardCount);
+        leaseCondition.setShardList(shardList);
+
+        List<Long> registerIdList = asyncDownloadTriggerMapper.select(leaseCondition)
+            .stream()
+            .map(AsyncDownloadTrigger::getRegisterId)
+            .distinct()
+            .collect(Collectors.toList());
+        if (CollectionUtils.isEmpty(registerIdList)) {
+            return Collections.emptyList();
+        }
+
+        String claimToken = UUID.randomUUID().toString().replace("-", "");
+        int reclaimed = asyncDownloadTriggerMapper
+            .reclaimExpiredLease(registerIdList, now, maxTriggerCount, claimToken);
+        if (reclaimed <= 0) {
+            return Collections.emptyList();
+        }
+        log.warn("[LocalDownloadTriggerServiceImpl#reclaimExpiredLease] reclaim expired lease trigger! count:{}",
+            reclaimed);
+        List<DownloadTriggerEntry> reclaimedList = asyncDownloadTriggerMapper.selectByClaimToken(claimToken)
+            .stream()
+            .map(e -> DownloadTriggerEntry.of(e.getRegisterId(), e.getTriggerCount()))
+            .collect(Collectors.toList());
+        reclaimedList.forEach(e -> resetRunningRecord(e.getRegisterId()));
+        return reclaimedList;
+    }
+
+    /**
+     * 重置执行中(上传中)的下载记录为未执行
+     */
+    private void resetRunningRecord(Long registerId) {
+        AsyncDownloadRecord downloadRecord = asyncDownloadRecordMapper.findById(registerId);
+        if (Objects.isNull(downloadRecord) || (downloadRecord.getUploadStatus() != UploadStatusEnum.EXECUTING
+            && downloadRecord.getUploadStatus() != UploadStatusEnum.UPLOADING)) {
+            return;
+        }
+        asyncDownloadRecordMapper.refreshUploadStatus(registerId, downloadRecord.getUploadStatus(),
+            UploadStatusEnum.NONE, downloadRecord.getUpdateBy());
+    }
+
+    /**
+     * 查询候选触发器后一条语句批量认领,再按认领批次标识查询认领成功的触发器
+     * 并发认领时同一触发器只会被一个批次更新成功
+     */
+    private List<DownloadTriggerEntry> claim(QueryDownloadTriggerCondition triggerCondition) {
+        if (Objects.isNull(triggerCondition.getOffset()) || triggerCondition.getOffset() <= 0) {
+            return Collections.emptyList();
+        }
+        List<Long> registerIdList = asyncDownloadTriggerMapper.select(triggerCondition)
+            .stream()
+            .map(AsyncDownloadTrigger::getRegisterId)
+            .distinct()
+            .collect(Collectors.toList());
+        if (CollectionUtils.isEmpty(registerIdList)) {
+            return Collections.emptyList();
+        }
+
+        String claimToken = UUID.randomUUID().toString().replace("-", "");
+        int claimed = asyncDownloadTriggerMapper.claim(registerIdList, DownloadTriggerStatusEnum.EXECUTING,
+            triggerCondition.getTriggerStatusList(), triggerCondition.getMaxTriggerCount(), claimToken);
+        if (claimed <= 0) {
+            return Collections.emptyList();
+        }
+        return asyncDownloadTriggerMapper.selectByClaimToken(claimToken)
+            .stream()
+            .map(e -> DownloadTriggerEntry.of(e.getRegisterId(), e.getTriggerCount()))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<DownloadTriggerEntry> renewClaimedLease(List<DownloadTriggerEntry> triggerEntryList,
+        Integer leaseSeconds) {
+        if (CollectionUtils.isEmpty(triggerEntryList)) {
+            return Collections.emptyList();
+        }
+        // 同一批执行中触发器的触发次数通常只有少数几种, 按触发次数分组续约
+        LocalDateTime leaseExpireTime = LocalDateTime.now().plusSeconds(leaseSeconds);
+        Map<Integer, List<Long>> triggerCountMap = triggerEntryList.stream()
+            .collect(Collectors.groupingBy(DownloadTriggerEntry::getTriggerCount,
+                Collectors.mapping(DownloadTriggerEntry::getRegisterId, Collectors.toList())));
+        int renewed = 0;
+        for (Map.Entry<Integer, List<Long>> entry : triggerCountMap.entrySet()) {
+            renewed += asyncDownloadTriggerMapper.renewLease(entry.getValue(), entry.getKey(), leaseExpireTime);
+        }
+        if (renewed >= triggerEntryList.size()) {
+            return Collections.emptyList();
+        }
+        List<Long> registerIdList = triggerEntryList.stream()
+            .map(DownloadTriggerEntry::getRegisterId)
+            .collect(Collectors.toList());
+        // 触发次数在每次认领时递增, 不一致即已被其他节点重新认领
+        Map<Long, AsyncDownloadTrigger> triggerMap = asyncDownloadTriggerMapper.selectByRegisterIds(registerIdList)
+            .stream()
+            .collect(Collectors.toMap(AsyncDownloadTrigger::getRegisterId, Function.identity(), (k1, k2) -> k1));
+        return triggerEntryList.stream()
+            .filter(e -> {
+                AsyncDownloadTrigger trigger = triggerMap.get(e.getRegisterId());
+                return Objects.isNull(trigger) || trigger.getTriggerStatus() != DownloadTriggerStatusEnum.EXECUTING
+                    || !Objects.equals(trigger.getTriggerCount(), e.getTriggerCount());
+            })
+            .collect(Collectors.toList());
+    }
+
     @Override
     public boolean startExecute(Long registerId, Integer triggerCount) {
         int execute = asyncDownloadTriggerMapper.execute(registerId, DownloadTriggerStatusEnum.EXECUTING,
@@ -151,6 +378,20 @@ public class LocalDownloadTriggerServiceImpl implements DownloadTriggerService {
                 DownloadTriggerStatusEnum.WAITING));
     }
 
+    @Override
+    public boolean exeClaimedSuccess(Long registerId, Integer triggerCount) {
+        // 租约过期后被置为失败但未被重新认领时仍可更新为成功
+        return asyncDownloadTriggerMapper.refreshClaimedStatus(registerId, DownloadTriggerStatusEnum.SUCCESS,
+            CollectionUtils.newArrayList(DownloadTriggerStatusEnum.EXECUTING, DownloadTriggerStatusEnum.FAIL),
+            triggerCount) > 0;
+    }
+
+    @Override
+    public boolean exeClaimedFail(Long registerId, Integer triggerCount) {
+        return asyncDownloadTriggerMapper.refreshClaimedStatus(registerId, DownloadTriggerStatusEnum.FAIL,
+            CollectionUtils.newArrayList(DownloadTriggerStatusEnum.EXECUTING), triggerCount) > 0;
+    }
+
     @Override
     public void enterWaiting(Long registerId) {
         asyncDownloadTriggerMapper.refreshStatus(registerId, DownloadTriggerStatusEnum.WAITING,
@@ -158,72 +399,64 @@ public class LocalDownloadTriggerServiceImpl implements DownloadTriggerService {
     }
 
     @Override
-    public void handleExpirationTrigger(Integer maxExpireSeconds) {
+    public int handleExpirationTrigger(Integer maxExpireSeconds) {
         LocalDateTime now = LocalDateTime.now(ZoneId.systemDefault());
         LocalDateTime beforeSeconds = now.plusSeconds(-maxExpireSeconds);
 
-        QueryDownloadTriggerCondition triggerCondition = new QueryDownloadTriggerCondition();
-        triggerCondition.setOffset(10);
-        triggerCondition.setTriggerStatusList(CollectionUtils.newArrayList(DownloadTriggerStatusEnum.EXECUTING));
-
-        triggerCondition.setLastExecuteEndTime(beforeSeconds);
-        triggerCondition.setLastExecuteStartTime(now.plusHours(-48));
-
-        List<AsyncDownloadTrigger> triggerList = asyncDownloadTriggerMapper.select(triggerCondition);
-
-        for (AsyncDownloadTrigger trigger : triggerList) {
-            asyncDownloadTriggerMapper.refreshStatus(trigger.getRegisterId(), DownloadTriggerStatusEnum.FAIL,
-                CollectionUtils.newArrayList(DownloadTriggerStatusEnum.EXECUTING));
+        int expired = drain(limit -> asyncDownloadTriggerMapper.expireExecuting(beforeSeconds, now, limit));
+        if (expired > 0) {
+            log.warn("[LocalDownloadTriggerServiceImpl#handleExpirationTrigger] expire executing trigger! count:{}",
+                expired);
         }
+        return expired;
     }
 
     @Override
-    public void handleWaitingExpirationTrigger(Integer maxWaitingSeconds) {
+    public int handleWaitingExpirationTrigger(Integer maxWaitingSeconds) {
         LocalDateTime now = LocalDateTime.now(ZoneId.systemDefault());
         LocalDateTime beforeSeconds = now.plusSeconds(-maxWaitingSeconds);
 
-        QueryDownloadTriggerCondition triggerCondition = new QueryDownloadTriggerCondition();
-        triggerCondition.setOffset(10);
-        triggerCondition.setTriggerStatusList(CollectionUtils.newArrayList(DownloadTriggerStatusEnum.WAITING));
-
-        triggerCondition.setLastExecuteEndTime(beforeSeconds);
-
-        List<AsyncDownloadTrigger> triggerList = asyncDownloadTriggerMapper.select(triggerCondition);
-
-        for (AsyncDownloadTrigger trigger : triggerList) {
-            asyncDownloadTriggerMapper.refreshStatus(trigger.getRegisterId(), DownloadTriggerStatusEnum.FAIL,
-                CollectionUtils.newArrayList(DownloadTriggerStatusEnum.WAITING));
+        int expired = drain(limit -> asyncDownloadTriggerMapper.expireWaiting(beforeSeconds, limit));
+        if (expired > 0) {
+            log.warn("[LocalDownloadTriggerServiceImpl#handleWaitingExpirationTrigger] expire waiting trigger! count:{}",
+                expired);
         }
+        return expired;
     }
 
     @Override
-    public void archiveHistoryTrigger(Integer archiveHours, Integer maxTriggerCount) {
+    public int archiveHistoryTrigger(Integer archiveHours, Integer maxTriggerCount) {
 
         // 当归档配置小于等于0 时默认不归档
         if (archiveHours <= 0) {
-            return;
+            return 0;
         }
 
         LocalDateTime now = LocalDateTime.now(ZoneId.systemDefault());
         LocalDateTime beforeTime = now.plusHours(-archiveHours);
 
-        QueryDownloadTriggerCondition triggerCondition = new QueryDownloadTriggerCondition();
-        triggerCondition.setOffset(100);
-        triggerCondition.setTriggerStatusList(CollectionUtils.newArrayList(DownloadTriggerStatusEnum.SUCCESS));
-
-        triggerCondition.setLastExecuteEndTime(beforeTime);
-
-        List<AsyncDownloadTrigger> triggerList = asyncDownloadTriggerMapper.select(triggerCondition);
-
-        for (AsyncDownloadTrigger trigger : triggerList) {
-            asyncDownloadTriggerMapper.deleteById(trigger.getId());
-        }
+        int archived = drain(limit -> asyncDownloadTriggerMapper
+            .deleteHistory(CollectionUtils.newArrayList(DownloadTriggerStatusEnum.SUCCESS), beforeTime, null, limit));
+        archived += drain(limit -> asyncDownloadTriggerMapper
+            .deleteHistory(CollectionUtils.newArrayList(DownloadTriggerStatusEnum.FAIL), beforeTime, maxTriggerCount,
+                limit));
+        return archived;
+    }
 
-        triggerCondition.setMinTriggerCount(maxTriggerCount);
-        triggerCondition.setTriggerStatusList(CollectionUtils.newArrayList(DownloadTriggerStatusEnum.FAIL));
-        triggerList = asyncDownloadTriggerMapper.select(triggerCondition);
-        for (AsyncDownloadTrigger trigger : triggerList) {
-            asyncDownloadTriggerMapper.deleteById(trigger.getId());
-        }
+    /**
+     * 分批执行直至处理完或超出单次处理时间
+     *
+     * @param batchHandler 按批次大小处理, 返回处理条数
+     * @return 总处理条数
+     */
+    private int drain(IntUnaryOperator batchHandler) {
+        long deadline = System.currentTimeMillis() + compensateTimeBudgetMillis;
+        int total = 0;
+        int affected;
+        do {
+            affected = batchHandler.applyAsInt(compensateBatchSize);
+            total += affected;
+        } while (affected >= compensateBatchSize && System.currentTimeMillis() < deadline);
+        return total;
     }
 }
@@ -0,0 +1,40 @@
+package com.openquartz.easyfile.storage.local.mapper;
+
+import com.openquartz.easyfile.storage.local.entity.AsyncDownloadNode;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * AsyncDownloadNodeMapper
+ *
+ * @author svnee
+ */
+public interface AsyncDownloadNodeMapper {
+
+    /**
+     * 心跳
+     * 节点不存在时插入, 存在时刷新心跳时间
+     *
+     * @param nodeOwner 节点
+     * @param heartbeatTime 心跳时间
+     * @return 影响行数
+     */
+    int heartbeat(String nodeOwner, LocalDateTime heartbeatTime);
+
+    /**
+     * 查询心跳时间不早于指定时间的节点
+     *
+     * @param heartbeatStartTime 心跳时间
+     * @return 节点
+     */
+    List<AsyncDownloadNode> selectLive(LocalDateTime heartbeatStartTime);
+
+    /**
+     * 删除心跳时间早于指定时间的节点
+     *
+     * @param heartbeatEndTime 心跳时间
+     * @return 影响行数
+     */
+    int deleteExpired(LocalDateTime heartbeatEndTime);
+
+}
@@ -4,6 +4,7 @@ import com.openquartz.easyfile.storage.local.mapper.condition.BaseRecordQueryCon
 import com.openquartz.easyfile.storage.local.mapper.condition.UploadInfoChangeCondition;
 import java.util.List;
 import com.openquartz.easyfile.common.dictionary.UploadStatusEnum;
+import com.openquartz.easyfile.common.request.RefreshExecuteProcessRequest;
 import com.openquartz.easyfile.storage.local.entity.AsyncDownloadRecord;
 
 /**
@@ -78,6 +79,13 @@ public interface AsyncDownloadRecordMapper {
      */
     int refreshExecuteProcess(Long registerId, Integer executeProcess, UploadStatusEnum nextStatus);
 
+    /**
+     * 批量刷新执行进度
+     *
+     * @param requestList 执行进度
+     */
+    void refreshExecuteProcess(List<RefreshExecuteProcessRequest> requestList);
+
     /**
      * 重置执行进度
      *
@@ -2,6 +2,7 @@ package com.openquartz.easyfile.storage.local.mapper;
 
 import com.openquartz.easyfile.storage.local.dictionary.DownloadTriggerStatusEnum;
 import com.openquartz.easyfile.storage.local.mapper.condition.QueryDownloadTriggerCondition;
+import java.time.LocalDateTime;
 import java.util.List;
 import com.openquartz.easyfile.storage.local.entity.AsyncDownloadTrigger;
 
@@ -31,6 +32,19 @@ public interface AsyncDownloadTriggerMapper {
     int refreshStatus(Long registerId, DownloadTriggerStatusEnum triggerStatus,
         List<DownloadTriggerStatusEnum> delineateStatusList);
 
+    /**
+     * 刷新当前节点认领的触发器状态
+     * 仅更新当前节点执行者且触发次数一致的触发器, 已被其他节点重新认领时不更新
+     *
+     * @param registerId ID
+     * @param triggerStatus 触发器状态
+     * @param delineateStatusList 圈定状态
+     * @param triggerCount 认领后的触发次数
+     * @return 影响行数
+     */
+    int refreshClaimedStatus(Long registerId, DownloadTriggerStatusEnum triggerStatus,
+        List<DownloadTriggerStatusEnum> delineateStatusList, Integer triggerCount);
+
     /**
      * 执行
      *
@@ -43,6 +57,84 @@ public interface AsyncDownloadTriggerMapper {
     int execute(Long registerId, DownloadTriggerStatusEnum triggerStatus,
         List<DownloadTriggerStatusEnum> delineateStatusList, Integer triggerCount);
 
+    /**
+     * 批量认领
+     * 一条语句将满足圈定状态的触发器更新为执行中并标记认领批次
+     *
+     * @param registerIdList 注册ID
+     * @param triggerStatus 触发器状态
+     * @param delineateStatusList 圈定状态
+     * @param maxTriggerCount 最大触发次数
+     * @param claimToken 认领批次标识
+     * @return 影响行数
+     */
+    int claim(List<Long> registerIdList, DownloadTriggerStatusEnum triggerStatus,
+        List<DownloadTriggerStatusEnum> delineateStatusList, Integer maxTriggerCount, String claimToken);
+
+    /**
+     * 批量重新认领租约已过期的执行中触发器
+     * 租约置空, 由认领节点续约
+     *
+     * @param registerIdList 注册ID
+     * @param leaseExpireEndTime 租约到期时间早于此时间
+     * @param maxTriggerCount 最大触发次数
+     * @param claimToken 认领批次标识
+     * @return 影响行数
+     */
+    int reclaimExpiredLease(List<Long> registerIdList, LocalDateTime leaseExpireEndTime, Integer maxTriggerCount,
+        String claimToken);
+
+    /**
+     * 批量续约
+     * 仅续约当前节点执行中且触发次数一致的触发器
+     *
+     * @param registerIdList 注册ID
+     * @param triggerCount 认领后的触发次数
+     * @param leaseExpireTime 租约到期时间
+     * @return 影响行数
+     */
+    int renewLease(List<Long> registerIdList, Integer triggerCount, LocalDateTime leaseExpireTime);
+
+    /**
+     * 批量将租约已过期的执行中触发器置为失败
+     * 无租约的执行中触发器按最后执行时间判断执行超时
+     *
+     * @param lastExecuteEndTime 无租约时最后执行时间早于此时间
+     * @param leaseExpireEndTime 租约到期时间早于此时间
+     * @param limit 单次最多处理条数
+     * @return 影响行数
+     */
+    int expireExecuting(LocalDateTime lastExecuteEndTime, LocalDateTime leaseExpireEndTime, int limit);
+
+    /**
+     * 批量将等待超时的排队中触发器置为失败
+     *
+     * @param lastExecuteEndTime 最后执行时间早于此时间
+     * @param limit 单次最多处理条数
+     * @return 影响行数
+     */
+    int expireWaiting(LocalDateTime lastExecuteEndTime, int limit);
+
+    /**
+     * 批量删除历史触发器
+     *
+     * @param triggerStatusList 触发状态
+     * @param lastExecuteEndTime 最后执行时间早于此时间
+     * @param minTriggerCount 触发次数大于此值,为空时不限制
+     * @param limit 单次最多删除条数
+     * @return 影响行数
+     */
+    int deleteHistory(List<DownloadTriggerStatusEnum> triggerStatusList, LocalDateTime lastExecuteEndTime,
+        Integer minTriggerCount, int limit);
+
+    /**
+     * 根据认领批次标识查询
+     *
+     * @param claimToken 认领批次标识
+     * @return 触发器
+     */
+    List<AsyncDownloadTrigger> selectByClaimToken(String claimToken);
+
     /**
      * 查询
      *
@@ -59,6 +151,14 @@ public interface AsyncDownloadTriggerMapper {
      */
     AsyncDownloadTrigger selectByRegisterId(Long registerId);
 
+    /**
+     * 根据registerId 批量查询
+     *
+     * @param registerIdList registerId
+     * @return 注册器
+     */
+    List<AsyncDownloadTrigger> selectByRegisterIds(List<Long> registerIdList);
+
     /**
      * 根据
      *
@@ -33,6 +33,11 @@ public class QueryDownloadTriggerCondition {
      */
     private LocalDateTime lastExecuteEndTime;
 
+    /**
+     * 租约到期时间-结束时间
+     */
+    private LocalDateTime leaseExpireEndTime;
+
     /**
      * 最大触发次数
      */
@@ -43,6 +48,17 @@ public class QueryDownloadTriggerCondition {
      */
     private Integer minTriggerCount;
 
+    /**
+     * 分片总数
+     * 按 register_id 取模分片
+     */
+    private Integer shardCount;
+
+    /**
+     * 分片
+     */
+    private List<Integer> shardList;
+
     /**
      * 一次请求多少量
      */
@@ -0,0 +1,54 @@
+package com.openquartz.easyfile.storage.local.mapper.impl;
+
+import com.openquartz.easyfile.storage.local.entity.AsyncDownloadNode;
+import com.openquartz.easyfile.storage.local.mapper.AsyncDownloadNodeMapper;
+import com.openquartz.easyfile.storage.local.prop.EasyFileTableGeneratorSupplier;
+import java.sql.Timestamp;
+import java.text.MessageFormat;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * AsyncDownloadNodeMapperImpl
+ *
+ * @author svnee
+ **/
+@RequiredArgsConstructor
+public class AsyncDownloadNodeMapperImpl implements AsyncDownloadNodeMapper {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String HEARTBEAT_SQL =
+        "insert into {0}(node_owner, heartbeat_time) values (?,?) on duplicate key update heartbeat_time= values(heartbeat_time)";
+    private static final String SELECT_LIVE_SQL =
+        "select id,node_owner,heartbeat_time from {0} where heartbeat_time>= ? order by node_owner";
+    private static final String DELETE_EXPIRED_SQL =
+        "delete from {0} where heartbeat_time< ?";
+
+    @Override
+    public int heartbeat(String nodeOwner, LocalDateTime heartbeatTime) {
+        String sql = MessageFormat.format(HEARTBEAT_SQL, EasyFileTableGeneratorSupplier.genAsyncDownloadNodeTable());
+        return jdbcTemplate.update(sql, nodeOwner, Timestamp.valueOf(heartbeatTime));
+    }
+
+    @Override
+    public List<AsyncDownloadNode> selectLive(LocalDateTime heartbeatStartTime) {
+        String sql = MessageFormat.format(SELECT_LIVE_SQL, EasyFileTableGeneratorSupplier.genAsyncDownloadNodeTable());
+        return jdbcTemplate.query(sql, (resultSet, rowNum) -> {
+            AsyncDownloadNode downloadNode = new AsyncDownloadNode();
+            downloadNode.setId(resultSet.getLong("id"));
+            downloadNode.setNodeOwner(resultSet.getString("node_owner"));
+            downloadNode.setHeartbeatTime(resultSet.getTimestamp("heartbeat_time"));
+            return downloadNode;
+        }, Timestamp.valueOf(heartbeatStartTime));
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime heartbeatEndTime) {
+        String sql = MessageFormat.format(DELETE_EXPIRED_SQL,
+            EasyFileTableGeneratorSupplier.genAsyncDownloadNodeTable());
+        return jdbcTemplate.update(sql, Timestamp.valueOf(heartbeatEndTime));
+    }
+}
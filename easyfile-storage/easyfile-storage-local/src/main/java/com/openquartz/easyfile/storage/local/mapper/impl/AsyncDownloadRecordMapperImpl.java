@@ -26,6 +26,7 @@ import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import com.openquartz.easyfile.common.bean.Pair;
 import com.openquartz.easyfile.common.dictionary.UploadStatusEnum;
+import com.openquartz.easyfile.common.request.RefreshExecuteProcessRequest;
 import com.openquartz.easyfile.common.util.CollectionUtils;
 import com.openquartz.easyfile.common.util.StringUtils;
 import com.openquartz.easyfile.storage.local.entity.AsyncDownloadRecord;
@@ -55,7 +56,7 @@ public class AsyncDownloadRecordMapperImpl implements AsyncDownloadRecordMapper
 
     private static final String UPDATE_EXECUTE_PROCESS_SQL = "update {0} set execute_process = ? where id = ? and execute_process <= ? ";
 
-    private static final String UPDATE_EXECUTE_PROCESS_NEXT_STATUS_SQL = "update {0} set execute_process = ?,upload_status=? where id = ? and execute_process <= ? ";
+    private static final String UPDATE_EXECUTE_PROCESS_NEXT_STATUS_SQL = "update {0} set execute_process = ?,upload_status=? where id = ? and execute_process <= ? and upload_status in (?, ?) ";
 
     private static final String LIST_SQL =
             "select id,download_task_id, app_id,download_code,upload_status, file_url, file_name, file_system, download_operate_by,"
@@ -231,7 +232,25 @@ public class AsyncDownloadRecordMapperImpl implements AsyncDownloadRecordMapper
         String sql = MessageFormat
                 .format(UPDATE_EXECUTE_PROCESS_NEXT_STATUS_SQL,
                         EasyFileTableGeneratorSupplier.genAsyncDownloadRecordTable());
-        return jdbcTemplate.update(sql, executeProcess, nextStatus.getCode(), registerId, executeProcess);
+        return jdbcTemplate.update(sql, executeProcess, nextStatus.getCode(), registerId, executeProcess,
+                UploadStatusEnum.EXECUTING.getCode(), UploadStatusEnum.UPLOADING.getCode());
+    }
+
+    @Override
+    public void refreshExecuteProcess(List<RefreshExecuteProcessRequest> requestList) {
+        if (CollectionUtils.isEmpty(requestList)) {
+            return;
+        }
+        String sql = MessageFormat
+                .format(UPDATE_EXECUTE_PROCESS_NEXT_STATUS_SQL,
+                        EasyFileTableGeneratorSupplier.genAsyncDownloadRecordTable());
+        List<Object[]> argsList = new ArrayList<>(requestList.size());
+        for (RefreshExecuteProcessRequest request : requestList) {
+            argsList.add(new Object[]{request.getExecuteProcess(), request.getNextUploadStatus().getCode(),
+                    request.getRegisterId(), request.getExecuteProcess(), UploadStatusEnum.EXECUTING.getCode(),
+                    UploadStatusEnum.UPLOADING.getCode()});
+        }
+        jdbcTemplate.batchUpdate(sql, argsList);
     }
 
     @Override
@@ -9,6 +9,7 @@ import java.sql.Statement;
 import java.sql.Timestamp;
 import java.text.MessageFormat;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,16 +40,39 @@ public class AsyncDownloadTriggerMapperImpl implements AsyncDownloadTriggerMappe
 
     private final JdbcTemplate jdbcTemplate;
 
+    /**
+     * 执行者, IP加实例标识, 同一主机的多个实例互不影响
+     */
+    private static final String PROCESSING_OWNER = IpUtil.getInstanceId();
+
     private static final String INSERT_SQL =
         "insert into {0}(register_id, trigger_status, start_time, last_execute_time,trigger_count,creating_owner,processing_owner) values (?,?,?,?,?,?,?)";
     private static final String REFRESH_STATUS_SQL =
-        "update {0} set trigger_status= :triggerStatus,last_execute_time= :lastExecuteTime where register_id = :registerId and trigger_status in (:taskStatusList) ";
+        "update {0} set trigger_status= :triggerStatus,last_execute_time= :lastExecuteTime,lease_expire_time=null where register_id = :registerId and trigger_status in (:taskStatusList) ";
+    private static final String REFRESH_CLAIMED_STATUS_SQL =
+        "update {0} set trigger_status= :triggerStatus,last_execute_time= :lastExecuteTime,lease_expire_time=null where register_id = :registerId and trigger_status in (:taskStatusList) and trigger_count= :triggerCount and processing_owner= :processingOwner";
     private static final String TRIGGER_EXECUTE_SQL =
-        "update {0} set trigger_status= :triggerStatus,last_execute_time= :lastExecuteTime,trigger_count=trigger_count+1,processing_owner= :processingOwner where register_id = :registerId and trigger_status in (:taskStatusList) and trigger_count= :triggerCount";
+        "update {0} set trigger_status= :triggerStatus,last_execute_time= :lastExecuteTime,trigger_count=trigger_count+1,processing_owner= :processingOwner,lease_expire_time=null where register_id = :registerId and trigger_status in (:taskStatusList) and trigger_count= :triggerCount";
+    private static final String TRIGGER_CLAIM_SQL =
+        "update {0} set trigger_status= :triggerStatus,last_execute_time= :lastExecuteTime,trigger_count=trigger_count+1,processing_owner= :processingOwner,claim_token= :claimToken,lease_expire_time=null where register_id in (:registerIdList) and trigger_status in (:taskStatusList) and trigger_count<= :maxTriggerCount";
+    private static final String TRIGGER_RECLAIM_SQL =
+        "update {0} set last_execute_time= :lastExecuteTime,trigger_count=trigger_count+1,processing_owner= :processingOwner,claim_token= :claimToken,lease_expire_time=null where register_id in (:registerIdList) and trigger_status= :triggerStatus and lease_expire_time< :leaseExpireEndTime and trigger_count<= :maxTriggerCount";
+    private static final String RENEW_LEASE_SQL =
+        "update {0} set lease_expire_time= :leaseExpireTime where register_id in (:registerIdList) and trigger_status= :triggerStatus and trigger_count= :triggerCount and processing_owner= :processingOwner";
+    private static final String EXPIRE_EXECUTING_SQL =
+        "update {0} set trigger_status= :triggerStatus,last_execute_time= :lastExecuteTime,lease_expire_time=null where trigger_status= :executingStatus and (lease_expire_time< :leaseExpireEndTime or (lease_expire_time is null and last_execute_time< :lastExecuteEndTime)) limit :limit";
+    private static final String EXPIRE_WAITING_SQL =
+        "update {0} set trigger_status= :triggerStatus,last_execute_time= :lastExecuteTime where trigger_status= :waitingStatus and last_execute_time< :lastExecuteEndTime limit :limit";
+    private static final String DELETE_HISTORY_SQL =
+        "delete from {0} where trigger_status in (:taskStatusList) and last_execute_time< :lastExecuteEndTime";
     private static final String SELECT_SQL =
-        "select id,register_id, trigger_status, start_time, last_execute_time,trigger_count,creating_owner,processing_owner from {0}";
+        "select id,register_id, trigger_status, start_time, last_execute_time,trigger_count,creating_owner,processing_owner,claim_token,lease_expire_time from {0}";
     private static final String SELECT_BY_ID_SQL =
-        "select id,register_id, trigger_status, start_time, last_execute_time,trigger_count,creating_owner,processing_owner from ef_async_download_trigger where register_id = ?";
+        "select id,register_id, trigger_status, start_time, last_execute_time,trigger_count,creating_owner,processing_owner,claim_token,lease_expire_time from ef_async_download_trigger where register_id = ?";
+    private static final String SELECT_BY_REGISTER_IDS_SQL =
+        "select id,register_id, trigger_status, start_time, last_execute_time,trigger_count,creating_owner,processing_owner,claim_token,lease_expire_time from {0} where register_id in (:registerIdList)";
+    private static final String SELECT_BY_CLAIM_TOKEN_SQL =
+        "select id,register_id, trigger_status, start_time, last_execute_time,trigger_count,creating_owner,processing_owner,claim_token,lease_expire_time from {0} where claim_token = ? order by register_id";
     private static final String DELETE_BY_ID_SQL = "delete from {0} where id = ?";
 
     @Override
@@ -97,6 +121,26 @@ public class AsyncDownloadTriggerMapperImpl implements AsyncDownloadTriggerMappe
         return new NamedParameterJdbcTemplate(jdbcTemplate).update(sql, paramMap);
     }
 
+    @Override
+    public int refreshClaimedStatus(Long registerId, DownloadTriggerStatusEnum triggerStatus,
+        List<DownloadTriggerStatusEnum> delineateStatusList, Integer triggerCount) {
+        List<String> taskStatusList = delineateStatusList.stream().map(DownloadTriggerStatusEnum::getCode)
+            .collect(Collectors.toList());
+
+        Map<String, Object> paramMap = new HashMap<>(6);
+        paramMap.put("taskStatusList", taskStatusList);
+        paramMap.put("triggerStatus", triggerStatus.getCode());
+        paramMap.put("lastExecuteTime", LocalDateTime.now());
+        paramMap.put("registerId", registerId);
+        paramMap.put("triggerCount", triggerCount);
+        paramMap.put("processingOwner", PROCESSING_OWNER);
+
+        String sql = MessageFormat
+            .format(REFRESH_CLAIMED_STATUS_SQL, EasyFileTableGeneratorSupplier.genAsyncDownloadTriggerTable());
+
+        return new NamedParameterJdbcTemplate(jdbcTemplate).update(sql, paramMap);
+    }
+
     @Override
     public int execute(Long registerId, DownloadTriggerStatusEnum triggerStatus,
         List<DownloadTriggerStatusEnum> delineateStatusList, Integer triggerCount) {
@@ -110,7 +154,7 @@ public class AsyncDownloadTriggerMapperImpl implements AsyncDownloadTriggerMappe
         paramMap.put("lastExecuteTime", now);
         paramMap.put("registerId", registerId);
         paramMap.put("triggerCount", triggerCount);
-        paramMap.put("processingOwner", Objects.nonNull(IpUtil.getIp()) ? IpUtil.getIp() : "hostname-unknow");
+        paramMap.put("processingOwner", PROCESSING_OWNER);
 
         String sql = MessageFormat
             .format(TRIGGER_EXECUTE_SQL, EasyFileTableGeneratorSupplier.genAsyncDownloadTriggerTable());
@@ -118,21 +162,150 @@ public class AsyncDownloadTriggerMapperImpl implements AsyncDownloadTriggerMappe
         return new NamedParameterJdbcTemplate(jdbcTemplate).update(sql, paramMap);
     }
 
+    @Override
+    public int claim(List<Long> registerIdList, DownloadTriggerStatusEnum triggerStatus,
+        List<DownloadTriggerStatusEnum> delineateStatusList, Integer maxTriggerCount, String claimToken) {
+        if (CollectionUtils.isEmpty(registerIdList)) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        List<String> taskStatusList = delineateStatusList.stream().map(DownloadTriggerStatusEnum::getCode)
+            .collect(Collectors.toList());
+        Map<String, Object> paramMap = new HashMap<>(7);
+        paramMap.put("registerIdList", registerIdList);
+        paramMap.put("taskStatusList", taskStatusList);
+        paramMap.put("triggerStatus", triggerStatus.getCode());
+        paramMap.put("lastExecuteTime", now);
+        paramMap.put("maxTriggerCount", maxTriggerCount);
+        paramMap.put("claimToken", claimToken);
+        paramMap.put("processingOwner", PROCESSING_OWNER);
+
+        String sql = MessageFormat
+            .format(TRIGGER_CLAIM_SQL, EasyFileTableGeneratorSupplier.genAsyncDownloadTriggerTable());
+
+        return new NamedParameterJdbcTemplate(jdbcTemplate).update(sql, paramMap);
+    }
+
+    @Override
+    public int reclaimExpiredLease(List<Long> registerIdList, LocalDateTime leaseExpireEndTime,
+        Integer maxTriggerCount, String claimToken) {
+        if (CollectionUtils.isEmpty(registerIdList)) {
+            return 0;
+        }
+        Map<String, Object> paramMap = new HashMap<>(7);
+        paramMap.put("registerIdList", registerIdList);
+        paramMap.put("triggerStatus", DownloadTriggerStatusEnum.EXECUTING.getCode());
+        paramMap.put("lastExecuteTime", LocalDateTime.now());
+        paramMap.put("leaseExpireEndTime", leaseExpireEndTime);
+        paramMap.put("maxTriggerCount", maxTriggerCount);
+        paramMap.put("claimToken", claimToken);
+        paramMap.put("processingOwner", PROCESSING_OWNER);
+
+        String sql = MessageFormat
+            .format(TRIGGER_RECLAIM_SQL, EasyFileTableGeneratorSupplier.genAsyncDownloadTriggerTable());
+
+        return new NamedParameterJdbcTemplate(jdbcTemplate).update(sql, paramMap);
+    }
+
+    @Override
+    public int renewLease(List<Long> registerIdList, Integer triggerCount, LocalDateTime leaseExpireTime) {
+        if (CollectionUtils.isEmpty(registerIdList)) {
+            return 0;
+        }
+        Map<String, Object> paramMap = new HashMap<>(6);
+        paramMap.put("registerIdList", registerIdList);
+        paramMap.put("triggerStatus", DownloadTriggerStatusEnum.EXECUTING.getCode());
+        paramMap.put("triggerCount", triggerCount);
+        paramMap.put("leaseExpireTime", leaseExpireTime);
+        paramMap.put("processingOwner", PROCESSING_OWNER);
+
+        String sql = MessageFormat
+            .format(RENEW_LEASE_SQL, EasyFileTableGeneratorSupplier.genAsyncDownloadTriggerTable());
+
+        return new NamedParameterJdbcTemplate(jdbcTemplate).update(sql, paramMap);
+    }
+
+    @Override
+    public int expireExecuting(LocalDateTime lastExecuteEndTime, LocalDateTime leaseExpireEndTime, int limit) {
+        Map<String, Object> paramMap = new HashMap<>(6);
+        paramMap.put("triggerStatus", DownloadTriggerStatusEnum.FAIL.getCode());
+        paramMap.put("executingStatus", DownloadTriggerStatusEnum.EXECUTING.getCode());
+        paramMap.put("lastExecuteTime", LocalDateTime.now());
+        paramMap.put("lastExecuteEndTime", lastExecuteEndTime);
+        paramMap.put("leaseExpireEndTime", leaseExpireEndTime);
+        paramMap.put("limit", limit);
+
+        String sql = MessageFormat
+            .format(EXPIRE_EXECUTING_SQL, EasyFileTableGeneratorSupplier.genAsyncDownloadTriggerTable());
+
+        return new NamedParameterJdbcTemplate(jdbcTemplate).update(sql, paramMap);
+    }
+
+    @Override
+    public int expireWaiting(LocalDateTime lastExecuteEndTime, int limit) {
+        Map<String, Object> paramMap = new HashMap<>(5);
+        paramMap.put("triggerStatus", DownloadTriggerStatusEnum.FAIL.getCode());
+        paramMap.put("waitingStatus", DownloadTriggerStatusEnum.WAITING.getCode());
+        paramMap.put("lastExecuteTime", LocalDateTime.now());
+        paramMap.put("lastExecuteEndTime", lastExecuteEndTime);
+        paramMap.put("limit", limit);
+
+        String sql = MessageFormat
+            .format(EXPIRE_WAITING_SQL, EasyFileTableGeneratorSupplier.genAsyncDownloadTriggerTable());
+
+        return new NamedParameterJdbcTemplate(jdbcTemplate).update(sql, paramMap);
+    }
+
+    @Override
+    public int deleteHistory(List<DownloadTriggerStatusEnum> triggerStatusList, LocalDateTime lastExecuteEndTime,
+        Integer minTriggerCount, int limit) {
+
+        List<String> taskStatusList = triggerStatusList.stream().map(DownloadTriggerStatusEnum::getCode)
+            .collect(Collectors.toList());
+
+        Map<String, Object> paramMap = new HashMap<>(4);
+        paramMap.put("taskStatusList", taskStatusList);
+        paramMap.put("lastExecuteEndTime", lastExecuteEndTime);
+        paramMap.put("minTriggerCount", minTriggerCount);
+        paramMap.put("limit", limit);
+
+        StringBuilder sqlBuilder = new StringBuilder(MessageFormat.format(DELETE_HISTORY_SQL,
+            EasyFileTableGeneratorSupplier.genAsyncDownloadTriggerTable()));
+        if (Objects.nonNull(minTriggerCount)) {
+            sqlBuilder.append(" and trigger_count> :minTriggerCount");
+        }
+        sqlBuilder.append(" limit :limit");
+        return new NamedParameterJdbcTemplate(jdbcTemplate).update(sqlBuilder.toString(), paramMap);
+    }
+
+    @Override
+    public List<AsyncDownloadTrigger> selectByClaimToken(String claimToken) {
+        String sql = MessageFormat
+            .format(SELECT_BY_CLAIM_TOKEN_SQL, EasyFileTableGeneratorSupplier.genAsyncDownloadTriggerTable());
+        return jdbcTemplate.query(sql, new AsyncDownloadTriggerRowMapper(), claimToken);
+    }
+
     @Override
     public List<AsyncDownloadTrigger> select(QueryDownloadTriggerCondition condition) {
 
         List<String> taskStatusList = condition.getTriggerStatusList().stream().map(DownloadTriggerStatusEnum::getCode)
             .collect(Collectors.toList());
 
-        Map<String, Object> paramMap = new HashMap<>(5);
+        Map<String, Object> paramMap = new HashMap<>(10);
         paramMap.put("taskStatusList", taskStatusList);
         paramMap.put("creatingOwner", condition.getCreatingOwner());
         paramMap.put("lastExecuteStartTime", condition.getLastExecuteStartTime());
         paramMap.put("lastExecuteEndTime", condition.getLastExecuteEndTime());
+        paramMap.put("leaseExpireEndTime", condition.getLeaseExpireEndTime());
+        paramMap.put("shardCount", condition.getShardCount());
+        paramMap.put("shardList", condition.getShardList());
         paramMap.put("maxTriggerCount", condition.getMaxTriggerCount());
         paramMap.put("minTriggerCount", condition.getMinTriggerCount());
         paramMap.put("offset", condition.getOffset());
 
+        boolean shardFilter = Objects.nonNull(condition.getShardCount())
+            && CollectionUtils.isNotEmpty(condition.getShardList());
         StringBuilder sqlBuilder = new StringBuilder(MessageFormat.format(SELECT_SQL,
             EasyFileTableGeneratorSupplier.genAsyncDownloadTriggerTable()));
         sqlBuilder.append(" where trigger_status in (:taskStatusList)");
@@ -142,6 +315,9 @@ public class AsyncDownloadTriggerMapperImpl implements AsyncDownloadTriggerMappe
         if (Objects.nonNull(condition.getLastExecuteEndTime())) {
             sqlBuilder.append(" and last_execute_time< :lastExecuteEndTime");
         }
+        if (Objects.nonNull(condition.getLeaseExpireEndTime())) {
+            sqlBuilder.append(" and lease_expire_time< :leaseExpireEndTime");
+        }
         if (Objects.nonNull(condition.getMaxTriggerCount())) {
             sqlBuilder.append(" and trigger_count<= :maxTriggerCount");
         }
@@ -151,6 +327,15 @@ public class AsyncDownloadTriggerMapperImpl implements AsyncDownloadTriggerMappe
         if (StringUtils.isNotBlank(condition.getCreatingOwner())) {
             sqlBuilder.append(" and creating_owner= :creatingOwner");
         }
+        if (shardFilter) {
+            // 先按状态/时间索引圈定候选触发器, 再在派生表上按分片取模过滤, 取模条件无法使用索引
+            // 候选数按本节点分片占比放大, 保证分片均匀时可圈定足够的触发器
+            int shardRatio = (condition.getShardCount() + condition.getShardList().size() - 1)
+                / condition.getShardList().size();
+            paramMap.put("scanLimit", condition.getOffset() * Math.max(shardRatio, 1));
+            sqlBuilder.append(" order by register_id limit :scanLimit");
+            sqlBuilder.insert(0, "select * from (").append(") t where mod(register_id, :shardCount) in (:shardList)");
+        }
         sqlBuilder.append(" order by register_id limit :offset");
         return new NamedParameterJdbcTemplate(jdbcTemplate)
             .query(sqlBuilder.toString(), paramMap, new AsyncDownloadTriggerRowMapper());
@@ -165,6 +350,19 @@ public class AsyncDownloadTriggerMapperImpl implements AsyncDownloadTriggerMappe
         return CollectionUtils.isNotEmpty(triggerList) ? triggerList.get(0) : null;
     }
 
+    @Override
+    public List<AsyncDownloadTrigger> selectByRegisterIds(List<Long> registerIdList) {
+        if (CollectionUtils.isEmpty(registerIdList)) {
+            return Collections.emptyList();
+        }
+        Map<String, Object> paramMap = new HashMap<>(1);
+        paramMap.put("registerIdList", registerIdList);
+
+        String sql = MessageFormat
+            .format(SELECT_BY_REGISTER_IDS_SQL, EasyFileTableGeneratorSupplier.genAsyncDownloadTriggerTable());
+        return new NamedParameterJdbcTemplate(jdbcTemplate).query(sql, paramMap, new AsyncDownloadTriggerRowMapper());
+    }
+
     private static class AsyncDownloadTriggerRowMapper implements RowMapper<AsyncDownloadTrigger> {
 
         @Override
@@ -178,6 +376,8 @@ public class AsyncDownloadTriggerMapperImpl implements AsyncDownloadTriggerMappe
             downloadTrigger.setTriggerCount(resultSet.getInt("trigger_count"));
             downloadTrigger.setCreatingOwner(resultSet.getString("creating_owner"));
             downloadTrigger.setProcessingOwner(resultSet.getString("processing_owner"));
+            downloadTrigger.setClaimToken(resultSet.getString("claim_token"));
+            downloadTrigger.setLeaseExpireTime(resultSet.getTimestamp("lease_expire_time"));
             return downloadTrigger;
         }
     }
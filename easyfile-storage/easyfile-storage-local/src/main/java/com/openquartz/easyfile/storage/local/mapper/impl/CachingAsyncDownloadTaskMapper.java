@@ -0,0 +1,69 @@
+package com.openquartz.easyfile.storage.local.mapper.impl;
+
+import com.openquartz.easyfile.common.bean.Pair;
+import com.openquartz.easyfile.common.cache.ExpiringCache;
+import com.openquartz.easyfile.common.cache.ExpiringCache.StatsListener;
+import com.openquartz.easyfile.storage.local.entity.AsyncDownloadAppEntity;
+import com.openquartz.easyfile.storage.local.entity.AsyncDownloadTask;
+import com.openquartz.easyfile.storage.local.mapper.AsyncDownloadTaskMapper;
+import java.util.List;
+
+/**
+ * 缓存异步下载任务Mapper
+ * 按(appId,下载编码)缓存下载任务, 包括不存在的任务。本节点写入时失效, 其他途径的变更在过期后生效。
+ *
+ * @author svnee
+ */
+public class CachingAsyncDownloadTaskMapper implements AsyncDownloadTaskMapper {
+
+    private final AsyncDownloadTaskMapper delegate;
+
+    /**
+     * (appId,downloadCode)->下载任务
+     */
+    private final ExpiringCache<Pair<String, String>, AsyncDownloadTask> taskCache;
+
+    public CachingAsyncDownloadTaskMapper(AsyncDownloadTaskMapper delegate, int maxSize, long ttlMillis,
+        long negativeTtlMillis, StatsListener statsListener) {
+        this.delegate = delegate;
+        this.taskCache = new ExpiringCache<>("downloadTask", maxSize, ttlMillis, negativeTtlMillis, statsListener);
+    }
+
+    @Override
+    public int insertSelective(AsyncDownloadTask asyncDownloadTask) {
+        try {
+            return delegate.insertSelective(asyncDownloadTask);
+        } finally {
+            taskCache.invalidate(Pair.of(asyncDownloadTask.getAppId(), asyncDownloadTask.getTaskCode()));
+        }
+    }
+
+    @Override
+    public AsyncDownloadTask selectByDownloadCode(String taskCode, String appId) {
+        return taskCache.get(Pair.of(appId, taskCode), key -> delegate.selectByDownloadCode(taskCode, appId));
+    }
+
+    @Override
+    public List<AsyncDownloadTask> listByDownloadCode(List<String> downloadCodeList, List<String> appIdList) {
+        return delegate.listByDownloadCode(downloadCodeList, appIdList);
+    }
+
+    @Override
+    public int refreshTaskDesc(Long id, String taskDesc) {
+        try {
+            return delegate.refreshTaskDesc(id, taskDesc);
+        } finally {
+            taskCache.invalidateAll();
+        }
+    }
+
+    @Override
+    public List<String> getByUnifiedAppId(String unifiedAppId) {
+        return delegate.getByUnifiedAppId(unifiedAppId);
+    }
+
+    @Override
+    public List<AsyncDownloadAppEntity> getAsyncDownloadAppEntity() {
+        return delegate.getAsyncDownloadAppEntity();
+    }
+}
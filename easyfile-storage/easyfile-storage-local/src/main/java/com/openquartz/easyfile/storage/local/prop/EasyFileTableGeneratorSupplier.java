@@ -22,6 +22,7 @@ public final class EasyFileTableGeneratorSupplier {
     private static final String TABLE_ASYNC_DOWNLOAD_RECORD_FORMAT_PATTERN = "{0}_async_download_record";
     private static final String TABLE_ASYNC_DOWNLOAD_TASK_FORMAT_PATTERN = "{0}_async_download_task";
     private static final String TABLE_ASYNC_DOWNLOAD_TRIGGER_FORMAT_PATTERN = "{0}_async_download_trigger";
+    private static final String TABLE_ASYNC_DOWNLOAD_NODE_FORMAT_PATTERN = "{0}_async_download_node";
 
     public static void setPrefix(String prefix) {
         if (StringUtils.isNotBlank(prefix)) {
@@ -40,4 +41,8 @@ public final class EasyFileTableGeneratorSupplier {
     public static String genAsyncDownloadTriggerTable() {
         return MessageFormat.format(TABLE_ASYNC_DOWNLOAD_TRIGGER_FORMAT_PATTERN, prefix);
     }
+
+    public static String genAsyncDownloadNodeTable() {
+        return MessageFormat.format(TABLE_ASYNC_DOWNLOAD_NODE_FORMAT_PATTERN, prefix);
+    }
 }
@@ -1,6 +1,7 @@
 package com.openquartz.easyfile.storage.remote;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import com.openquartz.easyfile.common.bean.DownloadRequestInfo;
 import com.openquartz.easyfile.common.util.page.Pagination;
 import com.openquartz.easyfile.common.bean.ResponseResult;
@@ -13,12 +14,14 @@ import com.openquartz.easyfile.common.request.ExportLimitingRequest;
 import com.openquartz.easyfile.common.request.ListDownloadResultRequest;
 import com.openquartz.easyfile.common.request.LoadingExportCacheRequest;
 import com.openquartz.easyfile.common.request.RegisterDownloadRequest;
+import com.openquartz.easyfile.common.request.RefreshExecuteProcessRequest;
 import com.openquartz.easyfile.common.request.UploadCallbackRequest;
 import com.openquartz.easyfile.common.response.AppTree;
 import com.openquartz.easyfile.common.response.CancelUploadResult;
 import com.openquartz.easyfile.common.response.DownloadResult;
 import com.openquartz.easyfile.common.response.DownloadUrlResult;
 import com.openquartz.easyfile.common.response.ExportResult;
+import com.openquartz.easyfile.common.response.PrepareExecutionResult;
 
 /**
  * EasyFileClient
@@ -66,6 +69,24 @@ public interface EasyFileClient {
      */
     ResponseResult<Boolean> enableRunning(EnableRunningRequest request);
 
+    /**
+     * 准备执行
+     * 开启运行并重置执行进度, 同时返回下载请求信息与语言
+     *
+     * @param registerId 注册ID
+     * @return 准备执行结果
+     */
+    ResponseResult<PrepareExecutionResult> prepareExecution(Long registerId);
+
+    /**
+     * 回滚开启运行
+     * 执行中的下载记录重置为未执行
+     *
+     * @param registerId 注册ID
+     * @return 回滚结果
+     */
+    ResponseResult<Boolean> revertRunning(Long registerId);
+
     /**
      * 下载导出结果
      *
@@ -125,6 +146,22 @@ public interface EasyFileClient {
     ResponseResult<?> refreshExecuteProcess(Long registerId, Integer executeProcess,
         UploadStatusEnum nextUploadStatus);
 
+    /**
+     * 批量刷新执行进度
+     *
+     * @param requestList 执行进度
+     * @return response
+     */
+    ResponseResult<?> batchRefreshExecuteProcess(List<RefreshExecuteProcessRequest> requestList);
+
+    /**
+     * 异步批量刷新执行进度
+     *
+     * @param requestList 执行进度
+     * @return response future
+     */
+    CompletableFuture<ResponseResult<?>> batchRefreshExecuteProcessAsync(List<RefreshExecuteProcessRequest> requestList);
+
     /**
      * get app tree
      *
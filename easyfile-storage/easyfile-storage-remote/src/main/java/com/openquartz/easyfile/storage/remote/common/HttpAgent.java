@@ -1,6 +1,7 @@
 package com.openquartz.easyfile.storage.remote.common;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import com.openquartz.easyfile.common.bean.ResponseResult;
 import com.openquartz.easyfile.common.util.json.TypeReference;
 
@@ -64,6 +65,39 @@ public interface HttpAgent {
      */
     ResponseResult<?> httpPost(String path, Object body);
 
+    /**
+     * Http post async.
+     * 不等待服务恢复健康, 请求失败时future异常完成.
+     *
+     * @param path path
+     * @param body body
+     * @param bodyClazz response body class
+     * @return Result future
+     */
+    <T> CompletableFuture<ResponseResult<T>> httpPostAsync(String path, Object body, Class<T> bodyClazz);
+
+    /**
+     * Http post async.
+     * 不等待服务恢复健康, 请求失败时future异常完成.
+     *
+     * @param path path
+     * @param body body
+     * @param reference response body class
+     * @return Result future
+     */
+    <T> CompletableFuture<ResponseResult<T>> httpPostAsync(String path, Object body,
+        TypeReference<ResponseResult<T>> reference);
+
+    /**
+     * Http post async.
+     * 不等待服务恢复健康, 请求失败时future异常完成.
+     *
+     * @param path path
+     * @param body body
+     * @return Result future
+     */
+    CompletableFuture<ResponseResult<?>> httpPostAsync(String path, Object body);
+
     /**
      * Send HTTP post request by discovery.
      * @param path path
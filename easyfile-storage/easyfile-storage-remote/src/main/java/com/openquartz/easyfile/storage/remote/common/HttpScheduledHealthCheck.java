@@ -4,9 +4,11 @@ import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
 import com.openquartz.easyfile.common.bean.ResponseResult;
 import com.openquartz.easyfile.common.constants.Constants;
+import com.openquartz.easyfile.storage.remote.common.ServerListManager.ServerNode;
 
 /**
  * Server health check.
+ * 指定{@link ServerListManager}时逐个检查服务节点并维护节点健康状态, 任一节点健康即为健康。
  *
  * @author svnee
  */
@@ -15,15 +17,40 @@ public class HttpScheduledHealthCheck extends AbstractHealthCheck {
 
     private final HttpAgent httpAgent;
 
+    private final ServerListManager serverListManager;
+
+    private final RemoteClient remoteClient;
+
     public HttpScheduledHealthCheck(HttpAgent httpAgent) {
+        this(httpAgent, null, null);
+    }
+
+    public HttpScheduledHealthCheck(HttpAgent httpAgent, ServerListManager serverListManager,
+        RemoteClient remoteClient) {
         this.httpAgent = httpAgent;
+        this.serverListManager = serverListManager;
+        this.remoteClient = remoteClient;
     }
 
     @Override
     protected boolean sendHealthCheck() {
+        if (Objects.isNull(serverListManager) || Objects.isNull(remoteClient)) {
+            return sendHealthCheck(() -> httpAgent.httpGetSimple(Constants.HEALTH_CHECK_PATH));
+        }
+        boolean healthStatus = false;
+        for (ServerNode node : serverListManager.getServerNodes()) {
+            boolean nodeHealthStatus = sendHealthCheck(() -> remoteClient
+                .restApiGetHealth(node.getAddress() + Constants.HEALTH_CHECK_PATH, ResponseResult.class));
+            node.setHealthy(nodeHealthStatus);
+            healthStatus = healthStatus || nodeHealthStatus;
+        }
+        return healthStatus;
+    }
+
+    private boolean sendHealthCheck(HealthCheckCall call) {
         boolean healthStatus = false;
         try {
-            ResponseResult<?> healthResponseResult = httpAgent.httpGetSimple(Constants.HEALTH_CHECK_PATH);
+            ResponseResult<?> healthResponseResult = call.call();
             if (healthResponseResult != null && Objects.equals(healthResponseResult.getData(), Constants.UP)) {
                 healthStatus = true;
             }
@@ -34,4 +61,10 @@ public class HttpScheduledHealthCheck extends AbstractHealthCheck {
         return healthStatus;
     }
 
+    @FunctionalInterface
+    private interface HealthCheckCall {
+
+        ResponseResult<?> call();
+    }
+
 }
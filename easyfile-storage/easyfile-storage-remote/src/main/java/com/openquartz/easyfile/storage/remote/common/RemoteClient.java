@@ -1,12 +1,14 @@
 package com.openquartz.easyfile.storage.remote.common;
 
 import com.openquartz.easyfile.storage.remote.exception.RemoteExceptionCode;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.Headers;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
@@ -14,7 +16,9 @@ import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
+import org.springframework.lang.NonNull;
 import org.springframework.util.CollectionUtils;
+import com.openquartz.easyfile.common.bean.ResponseResult;
 import com.openquartz.easyfile.common.exception.Asserts;
 import com.openquartz.easyfile.common.exception.EasyFileException;
 import com.openquartz.easyfile.common.util.JSONUtil;
@@ -48,7 +52,7 @@ public class RemoteClient {
     @SneakyThrows
     public String get(String url) {
         try {
-            return new String(doGet(url), StandardCharsets.UTF_8);
+            return doGet(url, ResponseBody::string);
         } catch (Exception e) {
             log.error("httpGet 调用失败. {}", url, e);
             throw e;
@@ -76,10 +80,8 @@ public class RemoteClient {
     /**
      * 调用健康检查.
      */
-    @SneakyThrows
     public <T> T restApiGetHealth(String url, Class<T> clazz) {
-        String resp = new String(doGet(url), StandardCharsets.UTF_8);
-        return JSONUtil.parseObject(resp, clazz);
+        return doGet(url, responseBody -> JSONUtil.parseObject(responseBody.byteStream(), clazz));
     }
 
     /**
@@ -95,12 +97,7 @@ public class RemoteClient {
      * Rest 接口 Post 调用.
      */
     public String restApiPost(String url, Object body) {
-        try {
-            return doPost(url, body);
-        } catch (Exception e) {
-            log.error("httpPost 调用失败. {} message :: {}", url, e.getMessage());
-            throw e;
-        }
+        return doPost(url, body, ResponseBody::string);
     }
 
     /**
@@ -108,8 +105,7 @@ public class RemoteClient {
      * 对返回值直接反序列化.
      */
     public <T> T restApiPost(String url, Object body, Class<T> clazz) {
-        String resp = restApiPost(url, body);
-        return JSONUtil.parseObject(resp, clazz);
+        return doPost(url, body, responseBody -> JSONUtil.parseObject(responseBody.byteStream(), clazz));
     }
 
     /**
@@ -117,8 +113,42 @@ public class RemoteClient {
      * 对返回值直接反序列化.
      */
     public <T> T restApiPost(String url, Object body, TypeReference<T> reference) {
-        String resp = restApiPost(url, body);
-        return JSONUtil.parseObject(resp, reference);
+        return doPost(url, body, responseBody -> JSONUtil.parseObject(responseBody.byteStream(), reference));
+    }
+
+    /**
+     * Rest 接口 Post 调用.
+     * 返回值反序列化为 {@link ResponseResult}, data 反序列化为指定类型.
+     */
+    public <T> ResponseResult<T> restApiPostForResult(String url, Object body, Class<T> dataClazz) {
+        return doPost(url, body, responseBody -> JSONUtil
+            .parseParametricObject(responseBody.byteStream(), ResponseResult.class, dataClazz));
+    }
+
+    /**
+     * Rest 接口 Post 异步调用.
+     * 对返回值直接反序列化.
+     */
+    public <T> CompletableFuture<T> restApiPostAsync(String url, Object body, Class<T> clazz) {
+        return doPostAsync(url, body, responseBody -> JSONUtil.parseObject(responseBody.byteStream(), clazz));
+    }
+
+    /**
+     * Rest 接口 Post 异步调用.
+     * 对返回值直接反序列化.
+     */
+    public <T> CompletableFuture<T> restApiPostAsync(String url, Object body, TypeReference<T> reference) {
+        return doPostAsync(url, body, responseBody -> JSONUtil.parseObject(responseBody.byteStream(), reference));
+    }
+
+    /**
+     * Rest 接口 Post 异步调用.
+     * 返回值反序列化为 {@link ResponseResult}, data 反序列化为指定类型.
+     */
+    public <T> CompletableFuture<ResponseResult<T>> restApiPostForResultAsync(String url, Object body,
+        Class<T> dataClazz) {
+        return doPostAsync(url, body, responseBody -> JSONUtil
+            .parseParametricObject(responseBody.byteStream(), ResponseResult.class, dataClazz));
     }
 
     /**
@@ -151,29 +181,62 @@ public class RemoteClient {
     }
 
     @SneakyThrows
-    private String doPost(String url, Object body) {
-        String jsonBody = JSONUtil.toJson(body);
-        RequestBody requestBody = RequestBody.create(jsonMediaType, jsonBody);
-        Request request = new Request.Builder()
+    private <T> T doPost(String url, Object body, ResponseBodyParser<T> parser) {
+        try (Response resp = okHttpClient.newCall(buildPostRequest(url, body)).execute()) {
+            return parsePostResponse(url, body, resp, parser);
+        } catch (Exception e) {
+            log.error("httpPost 调用失败. {} message :: {}", url, e.getMessage());
+            throw e;
+        }
+    }
+
+    private <T> CompletableFuture<T> doPostAsync(String url, Object body, ResponseBodyParser<T> parser) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        okHttpClient.newCall(buildPostRequest(url, body)).enqueue(new Callback() {
+            @Override
+            public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                log.error("httpPost 调用失败. {} message :: {}", url, e.getMessage());
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(@NonNull Call call, @NonNull Response response) {
+                try (Response resp = response) {
+                    future.complete(parsePostResponse(url, body, resp, parser));
+                } catch (Exception e) {
+                    log.error("httpPost 调用失败. {} message :: {}", url, e.getMessage());
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    private Request buildPostRequest(String url, Object body) {
+        RequestBody requestBody = RequestBody.create(jsonMediaType, JSONUtil.toJsonAsBytes(body));
+        return new Request.Builder()
             .url(url)
             .post(requestBody)
             .build();
-        try (Response resp = okHttpClient.newCall(request).execute()) {
-            try (ResponseBody responseBody = resp.body()) {
-                if (resp.code() != HTTP_OK_CODE) {
-                    String msg = String
-                        .format("HttpPost 响应 code 异常. [code] %s [url] %s [body] %s", resp.code(), url, jsonBody);
-                    throw new EasyFileException(RemoteExceptionCode.HTTP_ERROR, msg);
-                }
+    }
 
-                Asserts.notNull(responseBody, RemoteExceptionCode.HTTP_RESPONSE_BODY_NULL_ERROR);
-                return responseBody.string();
+    private <T> T parsePostResponse(String url, Object body, Response resp, ResponseBodyParser<T> parser)
+        throws IOException {
+        try (ResponseBody responseBody = resp.body()) {
+            if (resp.code() != HTTP_OK_CODE) {
+                String msg = String
+                    .format("HttpPost 响应 code 异常. [code] %s [url] %s [body] %s", resp.code(), url,
+                        JSONUtil.toJson(body));
+                throw new EasyFileException(RemoteExceptionCode.HTTP_ERROR, msg);
             }
+
+            Asserts.notNull(responseBody, RemoteExceptionCode.HTTP_RESPONSE_BODY_NULL_ERROR);
+            return parser.parse(responseBody);
         }
     }
 
     @SneakyThrows
-    private byte[] doGet(String url) {
+    private <T> T doGet(String url, ResponseBodyParser<T> parser) {
         Request request = new Request.Builder().get().url(url).build();
         try (Response resp = okHttpClient.newCall(request).execute()) {
             try (ResponseBody responseBody = resp.body()) {
@@ -182,7 +245,7 @@ public class RemoteClient {
                     throw new EasyFileException(RemoteExceptionCode.HTTP_ERROR, msg);
                 }
                 Asserts.notNull(responseBody, RemoteExceptionCode.HTTP_RESPONSE_BODY_NULL_ERROR);
-                return responseBody.bytes();
+                return parser.parse(responseBody);
             }
         }
     }
@@ -211,7 +274,7 @@ public class RemoteClient {
                 }
 
                 Asserts.notNull(responseBody, RemoteExceptionCode.HTTP_RESPONSE_BODY_NULL_ERROR);
-                return JSONUtil.parseObject(responseBody.string(), clazz);
+                return JSONUtil.parseObject(responseBody.byteStream(), clazz);
             }
         }
     }
@@ -239,9 +302,18 @@ public class RemoteClient {
                 }
 
                 Asserts.notNull(responseBody, RemoteExceptionCode.HTTP_RESPONSE_BODY_NULL_ERROR);
-                return JSONUtil.parseObject(responseBody.string(), clazz);
+                return JSONUtil.parseObject(responseBody.byteStream(), clazz);
             }
         }
     }
 
+    /**
+     * 响应体解析
+     */
+    @FunctionalInterface
+    private interface ResponseBodyParser<T> {
+
+        T parse(ResponseBody responseBody) throws IOException;
+    }
+
 }
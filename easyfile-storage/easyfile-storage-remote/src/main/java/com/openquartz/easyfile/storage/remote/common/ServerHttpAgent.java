@@ -1,9 +1,16 @@
 package com.openquartz.easyfile.storage.remote.common;
 
+import java.io.IOException;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import com.openquartz.easyfile.common.bean.ResponseResult;
+import com.openquartz.easyfile.common.util.ExceptionUtils;
 import com.openquartz.easyfile.common.util.SpringContextUtil;
 import com.openquartz.easyfile.common.util.json.TypeReference;
+import com.openquartz.easyfile.storage.remote.common.ServerListManager.ServerNode;
 
 /**
  * Server http agent.
@@ -21,9 +28,14 @@ public class ServerHttpAgent implements HttpAgent {
     private ServerHealthCheck serverHealthCheck;
 
     public ServerHttpAgent(RemoteBootstrapProperties properties, RemoteClient remoteClient) {
+        this(properties, new ServerListManager(properties), remoteClient);
+    }
+
+    public ServerHttpAgent(RemoteBootstrapProperties properties, ServerListManager serverListManager,
+        RemoteClient remoteClient) {
         this.remoteBootstrapProperties = properties;
+        this.serverListManager = serverListManager;
         this.remoteClient = remoteClient;
-        this.serverListManager = new ServerListManager(remoteBootstrapProperties);
     }
 
     @Override
@@ -43,55 +55,117 @@ public class ServerHttpAgent implements HttpAgent {
 
     @Override
     public ResponseResult<?> httpGetSimple(String path) {
-        return remoteClient.restApiGetHealth(buildUrl(path), ResponseResult.class);
+        return execute(path, url -> remoteClient.restApiGetHealth(url, ResponseResult.class));
     }
 
     @Override
     public <T>ResponseResult<T> httpPost(String path, Object body,Class<T> bodyClazz) {
         isHealthStatus();
-        return remoteClient.restApiPost(buildUrl(path), body, new TypeReference<ResponseResult<T>>() {
-        });
+        return execute(path, url -> remoteClient.restApiPostForResult(url, body, bodyClazz));
     }
 
     @Override
     public <T> ResponseResult<T> httpPost(String path, Object body, TypeReference<ResponseResult<T>> reference) {
         isHealthStatus();
-        return remoteClient.restApiPost(buildUrl(path), body, reference);
+        return execute(path, url -> remoteClient.restApiPost(url, body, reference));
     }
 
     @Override
     public ResponseResult<?> httpPost(String path, Object body) {
         isHealthStatus();
-        return remoteClient.restApiPost(buildUrl(path), body, ResponseResult.class);
+        return execute(path, url -> remoteClient.restApiPost(url, body, ResponseResult.class));
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseResult<T>> httpPostAsync(String path, Object body, Class<T> bodyClazz) {
+        return executeAsync(path, url -> remoteClient.restApiPostForResultAsync(url, body, bodyClazz));
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseResult<T>> httpPostAsync(String path, Object body,
+        TypeReference<ResponseResult<T>> reference) {
+        return executeAsync(path, url -> remoteClient.restApiPostAsync(url, body, reference));
+    }
+
+    @Override
+    public CompletableFuture<ResponseResult<?>> httpPostAsync(String path, Object body) {
+        return executeAsync(path, url -> remoteClient.restApiPostForResultAsync(url, body, Object.class)
+            .thenApply(result -> result));
     }
 
     @Override
     public ResponseResult<?> httpPostByDiscovery(String path, Object body) {
         isHealthStatus();
-        return remoteClient.restApiPost(buildUrl(path), body, ResponseResult.class);
+        return execute(path, url -> remoteClient.restApiPost(url, body, ResponseResult.class));
     }
 
     @Override
     public <T> ResponseResult<T> httpPostByDiscovery(String path, Object body, Class<T> bodyClazz) {
         isHealthStatus();
-        return remoteClient.restApiPost(buildUrl(path), body, new TypeReference<ResponseResult<T>>() {
-        });
+        return execute(path, url -> remoteClient.restApiPostForResult(url, body, bodyClazz));
     }
 
     @Override
     public ResponseResult<?> httpGetByConfig(String path, Map<String, String> headers, Map<String, String> paramValues, long readTimeoutMs) {
         isHealthStatus();
-        return remoteClient.restApiGetByThreadPool(buildUrl(path), headers, paramValues, readTimeoutMs, ResponseResult.class);
+        return execute(path, url -> remoteClient.restApiGetByThreadPool(url, headers, paramValues, readTimeoutMs, ResponseResult.class));
     }
 
     @Override
     public ResponseResult<?> httpPostByConfig(String path, Map<String, String> headers, Map<String, String> paramValues, long readTimeoutMs) {
         isHealthStatus();
-        return remoteClient.restApiPostByThreadPool(buildUrl(path), headers, paramValues, readTimeoutMs, ResponseResult.class);
+        return execute(path, url -> remoteClient.restApiPostByThreadPool(url, headers, paramValues, readTimeoutMs, ResponseResult.class));
     }
 
-    private String buildUrl(String path) {
-        return serverListManager.getCurrentServerAddr() + path;
+    /**
+     * 选取服务节点执行请求, 连接异常时摘除节点
+     *
+     * @param path path
+     * @param call 请求
+     * @return 响应
+     */
+    private <R> R execute(String path, Function<String, R> call) {
+        ServerNode node = serverListManager.select();
+        node.acquire();
+        try {
+            return call.apply(node.getAddress() + path);
+        } catch (Exception ex) {
+            if (ex instanceof IOException) {
+                node.setHealthy(false);
+            }
+            return ExceptionUtils.rethrow(ex);
+        } finally {
+            node.release();
+        }
+    }
+
+    /**
+     * 选取服务节点异步执行请求, 请求完成时释放节点, 连接异常时摘除节点
+     *
+     * @param path path
+     * @param call 请求
+     * @return 响应
+     */
+    private <R> CompletableFuture<R> executeAsync(String path, Function<String, CompletableFuture<R>> call) {
+        ServerNode node = serverListManager.select();
+        node.acquire();
+        CompletableFuture<R> future;
+        try {
+            future = call.apply(node.getAddress() + path);
+        } catch (Exception ex) {
+            node.release();
+            future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+            return future;
+        }
+        return future.whenComplete((result, ex) -> {
+            node.release();
+            // 依赖阶段的异常被包装为CompletionException
+            Throwable cause = ex instanceof CompletionException && Objects.nonNull(ex.getCause()) ? ex.getCause() : ex;
+            if (cause instanceof IOException) {
+                node.setHealthy(false);
+            }
+        });
     }
 
     private void isHealthStatus() {
@@ -2,15 +2,18 @@ package com.openquartz.easyfile.storage.remote.common;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.extern.slf4j.Slf4j;
-import com.openquartz.easyfile.common.util.ExceptionUtils;
 import com.openquartz.easyfile.common.util.StringUtils;
 
 /**
  * Server list manager.
+ * <p>
+ * 在健康节点中随机选取两个, 使用进行中请求数较少的节点(power of two choices)。
+ * 节点健康状态由健康检查维护, 请求连接失败时节点立即摘除, 待下次健康检查成功后恢复。
+ * 全部节点不健康时在全部节点中选取。
  *
  * @author svnee
  */
@@ -25,102 +28,120 @@ public class ServerListManager {
 
     private List<String> serverUrls = new ArrayList<>();
 
-    private volatile String currentServerAddr;
+    private List<ServerNode> serverNodes = new ArrayList<>();
 
     public ServerListManager(RemoteBootstrapProperties bootstrapProperties) {
         serverAddrsStr = bootstrapProperties.getServerAddr();
 
         if (!StringUtils.isEmpty(serverAddrsStr)) {
             List<String> serverAddrList = new ArrayList<>();
+            List<ServerNode> serverNodeList = new ArrayList<>();
             String[] serverAddrListArr = this.serverAddrsStr.split(",");
 
             for (String serverAddr : serverAddrListArr) {
-                boolean whetherJoint = StringUtils.isNotBlank(serverAddr)
-                        && !serverAddr.startsWith(HTTPS) && !serverAddr.startsWith(HTTP);
+                serverAddr = serverAddr.trim();
+                if (StringUtils.isBlank(serverAddr)) {
+                    continue;
+                }
+                boolean whetherJoint = !serverAddr.startsWith(HTTPS) && !serverAddr.startsWith(HTTP);
                 if (whetherJoint) {
                     serverAddr = HTTP + serverAddr;
                 }
 
-                currentServerAddr = serverAddr;
                 serverAddrList.add(serverAddr);
+                serverNodeList.add(new ServerNode(serverAddr));
             }
 
-            this.serverUrls = serverAddrList;
+            this.serverUrls = Collections.unmodifiableList(serverAddrList);
+            this.serverNodes = Collections.unmodifiableList(serverNodeList);
         }
     }
 
-    public String getCurrentServerAddr() {
-        if (StringUtils.isEmpty(currentServerAddr)) {
-            Iterator<String> iterator = iterator();
-            currentServerAddr = iterator.next();
+    /**
+     * 选取服务节点
+     *
+     * @return 服务节点
+     */
+    public ServerNode select() {
+        List<ServerNode> candidates = new ArrayList<>(serverNodes.size());
+        for (ServerNode node : serverNodes) {
+            if (node.isHealthy()) {
+                candidates.add(node);
+            }
+        }
+        if (candidates.isEmpty()) {
+            if (serverNodes.isEmpty()) {
+                throw new IllegalStateException("easyfile server addr is empty!");
+            }
+            candidates = serverNodes;
+        }
+        int size = candidates.size();
+        if (size == 1) {
+            return candidates.get(0);
         }
-        return currentServerAddr;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServerNode firstNode = candidates.get(first);
+        ServerNode secondNode = candidates.get(second);
+        return firstNode.getInFlight() <= secondNode.getInFlight() ? firstNode : secondNode;
     }
 
-    Iterator<String> iterator() {
-        return new ServerAddressIterator(serverUrls);
+    public List<ServerNode> getServerNodes() {
+        return serverNodes;
     }
 
     public List<String> getServerUrls() {
         return serverUrls;
     }
 
-    private static class ServerAddressIterator implements Iterator<String> {
+    /**
+     * 服务节点
+     */
+    public static class ServerNode {
 
-        final List<RandomizedServerAddress> sorted;
+        private final String address;
 
-        final Iterator<RandomizedServerAddress> iter;
+        /**
+         * 进行中请求数
+         */
+        private final AtomicInteger inFlight = new AtomicInteger();
 
-        public ServerAddressIterator(List<String> source) {
-            sorted = new ArrayList<>();
-            for (String address : source) {
-                sorted.add(new RandomizedServerAddress(address));
-            }
-            Collections.sort(sorted);
-            iter = sorted.iterator();
-        }
+        private volatile boolean healthy = true;
 
-        @Override
-        public boolean hasNext() {
-            return false;
+        ServerNode(String address) {
+            this.address = address;
         }
 
-        @Override
-        public String next() {
-            return null;
+        public String getAddress() {
+            return address;
         }
 
-        static class RandomizedServerAddress implements Comparable<RandomizedServerAddress> {
-
-            static Random random = new Random();
-
-            String serverIp;
+        public int getInFlight() {
+            return inFlight.get();
+        }
 
-            int priority = 0;
+        public void acquire() {
+            inFlight.incrementAndGet();
+        }
 
-            int seed;
+        public void release() {
+            inFlight.decrementAndGet();
+        }
 
-            public RandomizedServerAddress(String ip) {
-                try {
-                    this.serverIp = ip;
-                    /*
-                     change random scope from 32 to Integer.MAX_VALUE to fix load balance issue
-                     */
-                    this.seed = random.nextInt(Integer.MAX_VALUE);
-                } catch (Exception e) {
-                    ExceptionUtils.rethrow(e);
-                }
-            }
+        public boolean isHealthy() {
+            return healthy;
+        }
 
-            @Override
-            public int compareTo(RandomizedServerAddress other) {
-                if (this.priority != other.priority) {
-                    return other.priority - this.priority;
-                } else {
-                    return other.seed - this.seed;
-                }
+        public void setHealthy(boolean healthy) {
+            if (this.healthy != healthy) {
+                log.warn("[ServerListManager] server node health status changed,address:{},healthy:{}", address,
+                    healthy);
             }
+            this.healthy = healthy;
         }
     }
-
 }
@@ -3,6 +3,7 @@ package com.openquartz.easyfile.storage.remote.impl;
 import com.openquartz.easyfile.storage.remote.common.HttpAgent;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import lombok.extern.slf4j.Slf4j;
 import com.openquartz.easyfile.common.bean.DownloadRequestInfo;
@@ -24,6 +25,7 @@ import com.openquartz.easyfile.common.response.CancelUploadResult;
 import com.openquartz.easyfile.common.response.DownloadResult;
 import com.openquartz.easyfile.common.response.DownloadUrlResult;
 import com.openquartz.easyfile.common.response.ExportResult;
+import com.openquartz.easyfile.common.response.PrepareExecutionResult;
 import com.openquartz.easyfile.common.util.json.TypeReference;
 import com.openquartz.easyfile.storage.remote.EasyFileClient;
 
@@ -66,6 +68,18 @@ public class HttpEasyFileClientImpl implements EasyFileClient {
         return httpAgent.httpPost(RemoteUrlConstants.DOWNLOAD_ENABLE_RUNNING_URL, request, Boolean.class);
     }
 
+    @Override
+    public ResponseResult<PrepareExecutionResult> prepareExecution(Long registerId) {
+        return httpAgent.httpPost(RemoteUrlConstants.PREPARE_EXECUTION_URL, registerId,
+                new TypeReference<ResponseResult<PrepareExecutionResult>>() {
+                });
+    }
+
+    @Override
+    public ResponseResult<Boolean> revertRunning(Long registerId) {
+        return httpAgent.httpPost(RemoteUrlConstants.REVERT_RUNNING_URL, registerId, Boolean.class);
+    }
+
     @Override
     public ResponseResult<Pagination<DownloadResult>> listExportResult(ListDownloadResultRequest request) {
         return httpAgent.httpPost(RemoteUrlConstants.DOWNLOAD_RECORD_URL, request,
@@ -109,6 +123,17 @@ public class HttpEasyFileClientImpl implements EasyFileClient {
         return httpAgent.httpPost(RemoteUrlConstants.REFRESH_EXECUTE_PROCESS_URL, processRequest);
     }
 
+    @Override
+    public ResponseResult<?> batchRefreshExecuteProcess(List<RefreshExecuteProcessRequest> requestList) {
+        return httpAgent.httpPost(RemoteUrlConstants.BATCH_REFRESH_EXECUTE_PROCESS_URL, requestList);
+    }
+
+    @Override
+    public CompletableFuture<ResponseResult<?>> batchRefreshExecuteProcessAsync(
+            List<RefreshExecuteProcessRequest> requestList) {
+        return httpAgent.httpPostAsync(RemoteUrlConstants.BATCH_REFRESH_EXECUTE_PROCESS_URL, requestList);
+    }
+
     @Override
     public ResponseResult<List<AppTree>> getAppTree() {
         return httpAgent
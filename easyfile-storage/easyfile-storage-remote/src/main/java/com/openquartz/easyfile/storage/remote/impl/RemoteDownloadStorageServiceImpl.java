@@ -14,6 +14,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
@@ -30,12 +31,14 @@ import com.openquartz.easyfile.common.request.EnableRunningRequest;
 import com.openquartz.easyfile.common.request.ListDownloadResultRequest;
 import com.openquartz.easyfile.common.request.LoadingExportCacheRequest;
 import com.openquartz.easyfile.common.request.RegisterDownloadRequest;
+import com.openquartz.easyfile.common.request.RefreshExecuteProcessRequest;
 import com.openquartz.easyfile.common.request.UploadCallbackRequest;
 import com.openquartz.easyfile.common.response.AppTree;
 import com.openquartz.easyfile.common.response.CancelUploadResult;
 import com.openquartz.easyfile.common.response.DownloadResult;
 import com.openquartz.easyfile.common.response.DownloadUrlResult;
 import com.openquartz.easyfile.common.response.ExportResult;
+import com.openquartz.easyfile.common.response.PrepareExecutionResult;
 import com.openquartz.easyfile.common.util.JSONUtil;
 import com.openquartz.easyfile.storage.remote.EasyFileClient;
 
@@ -47,8 +50,18 @@ import com.openquartz.easyfile.storage.remote.EasyFileClient;
 @Slf4j
 public class RemoteDownloadStorageServiceImpl implements DownloadStorageService {
 
+    /**
+     * 最大进行中的异步批量进度刷新数
+     */
+    private static final int MAX_IN_FLIGHT_REFRESH = 2;
+
     private final EasyFileClient easyFileClient;
 
+    /**
+     * 异步批量进度刷新许可, 无许可时同步刷新
+     */
+    private final Semaphore refreshPermits = new Semaphore(MAX_IN_FLIGHT_REFRESH);
+
     public RemoteDownloadStorageServiceImpl(EasyFileClient easyFileClient) {
         this.easyFileClient = easyFileClient;
     }
@@ -66,6 +79,30 @@ public class RemoteDownloadStorageServiceImpl implements DownloadStorageService
         return false;
     }
 
+    @Override
+    public PrepareExecutionResult prepareExecution(Long registerId) {
+        log.info("[RemoteDownloadStorageServiceImpl#prepareExecution] request registerId:{}", registerId);
+        ResponseResult<PrepareExecutionResult> result = easyFileClient.prepareExecution(registerId);
+        log.info("[RemoteDownloadStorageServiceImpl#prepareExecution] response registerId:{},result:{}", registerId,
+                result);
+        if (Objects.nonNull(result) && result.isSuccess() && Objects.nonNull(result.getData())) {
+            return result.getData();
+        }
+        return PrepareExecutionResult.reject();
+    }
+
+    @Override
+    public boolean revertRunning(Long registerId) {
+        log.info("[RemoteDownloadStorageServiceImpl#revertRunning] request registerId:{}", registerId);
+        ResponseResult<Boolean> result = easyFileClient.revertRunning(registerId);
+        log.info("[RemoteDownloadStorageServiceImpl#revertRunning] response registerId:{},result:{}", registerId,
+                result);
+        if (Objects.nonNull(result) && result.isSuccess()) {
+            return Boolean.TRUE.equals(result.getData());
+        }
+        return false;
+    }
+
     @Override
     public ExportResult loadingCacheExportResult(LoadingExportCacheRequest request) {
         log.info("[RemoteDownloadStorageServiceImpl#loadingCacheExportResult] request:{}", request);
@@ -161,6 +198,40 @@ public class RemoteDownloadStorageServiceImpl implements DownloadStorageService
         easyFileClient.refreshExecuteProcess(registerId, executeProcess, nextUploadStatus);
     }
 
+    @Override
+    public void refreshExecuteProgress(List<RefreshExecuteProcessRequest> requestList) {
+        // 进度刷新不等待响应, 服务端只接受不小于当前值的进度, 迟到的刷新不会覆盖后续进度
+        // 进行中的异步刷新已达上限时同步刷新, 由刷新线程承接背压
+        if (!refreshPermits.tryAcquire()) {
+            try {
+                logRefreshResult(requestList, easyFileClient.batchRefreshExecuteProcess(requestList), null);
+            } catch (Exception ex) {
+                logRefreshResult(requestList, null, ex);
+            }
+            return;
+        }
+        try {
+            easyFileClient.batchRefreshExecuteProcessAsync(requestList).whenComplete((responseResult, ex) -> {
+                refreshPermits.release();
+                logRefreshResult(requestList, responseResult, ex);
+            });
+        } catch (Exception ex) {
+            refreshPermits.release();
+            logRefreshResult(requestList, null, ex);
+        }
+    }
+
+    private void logRefreshResult(List<RefreshExecuteProcessRequest> requestList, ResponseResult<?> responseResult,
+            Throwable ex) {
+        if (Objects.nonNull(ex)) {
+            log.error("[RemoteDownloadStorageServiceImpl#refreshExecuteProgress] refresh-error!,size:{}",
+                    requestList.size(), ex);
+        } else if (Objects.isNull(responseResult) || !responseResult.isSuccess()) {
+            log.error("[RemoteDownloadStorageServiceImpl#refreshExecuteProgress] refresh-failed!,size:{},result:{}",
+                    requestList.size(), responseResult);
+        }
+    }
+
     @Override
     public void resetExecuteProcess(Long registerId) {
         easyFileClient.resetExecuteProcess(registerId);
@@ -20,6 +20,10 @@ public final class RemoteUrlConstants {
 
     public static final String DOWNLOAD_ENABLE_RUNNING_URL = "/easyfile/download/enableRunning";
 
+    public static final String PREPARE_EXECUTION_URL = "/easyfile/download/prepareExecution";
+
+    public static final String REVERT_RUNNING_URL = "/easyfile/download/revertRunning";
+
     public static final String DOWNLOAD_RECORD_URL = "/easyfile/download/listExport";
 
     public static final String DOWNLOAD_FILE_URL = "/easyfile/download/file";
@@ -34,6 +38,8 @@ public final class RemoteUrlConstants {
 
     public static final String REFRESH_EXECUTE_PROCESS_URL = "/easyfile/download/refreshExecuteProcess";
 
+    public static final String BATCH_REFRESH_EXECUTE_PROCESS_URL = "/easyfile/download/batchRefreshExecuteProcess";
+
     public static final String GET_APP_TREE_URL = "/easyfile/download/getAppTree";
 
     public static final String GET_LOCALE_URL = "/easyfile/download/getLocale";
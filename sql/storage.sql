@@ -64,7 +64,23 @@ CREATE TABLE ef_async_download_trigger
     trigger_count     INT(3)      NOT NULL DEFAULT 0 COMMENT '触发次数',
     creating_owner    varchar(50) not null default '' comment '触发者',
     processing_owner  varchar(50) not null default '' comment '执行者',
+    claim_token       varchar(64) not null default '' comment '认领批次标识',
+    lease_expire_time DATETIME    NULL COMMENT '租约到期时间',
     UNIQUE `ux_register_id` (register_id),
+    KEY `idx_claim_token` (claim_token),
+    KEY `idx_trigger_status_lease` (trigger_status, lease_expire_time),
+    KEY `idx_trigger_status_execute_time` (trigger_status, last_execute_time),
     PRIMARY KEY (id)
 ) ENGINE = InnoDB
-  DEFAULT CHARSET = utf8mb4 COMMENT '触发执行';
\ No newline at end of file
+  DEFAULT CHARSET = utf8mb4 COMMENT '触发执行';
+
+CREATE TABLE ef_async_download_node
+(
+    id             BIGINT(20)  NOT NULL AUTO_INCREMENT COMMENT 'Id',
+    node_owner     VARCHAR(50) NOT NULL DEFAULT '' COMMENT '节点',
+    heartbeat_time DATETIME    NOT NULL COMMENT '最近心跳时间',
+    UNIQUE `ux_node_owner` (node_owner),
+    KEY `idx_heartbeat_time` (heartbeat_time),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4 COMMENT '触发节点';